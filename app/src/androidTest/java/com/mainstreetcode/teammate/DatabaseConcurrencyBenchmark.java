@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase.JournalMode;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.DbSchedulers;
+import com.mainstreetcode.teammate.persistence.UserDao;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures local reads per second while a writer keeps committing, for the journal mode and
+ * reader count the app ships with against the defaults it replaced.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseConcurrencyBenchmark {
+
+    private static final String TAG = "DbConcurrencyBench";
+    private static final String TEST_DB = "concurrency-benchmark";
+
+    private static final int USERS = 2_000;
+    private static final int WRITE_BATCH = 50;
+    private static final long DURATION_MILLIS = 3_000;
+
+    @Test
+    public void readsUnderWriteLoad() throws InterruptedException {
+        long truncate = run(JournalMode.TRUNCATE, 1);
+        long wal = run(JournalMode.WRITE_AHEAD_LOGGING, 1);
+        long walPooled = run(JournalMode.WRITE_AHEAD_LOGGING, DbSchedulers.READ_CONNECTIONS);
+
+        assertTrue(truncate > 0 && wal > 0 && walPooled > 0);
+    }
+
+    private long run(JournalMode journalMode, int readers) throws InterruptedException {
+        Context context = InstrumentationRegistry.getTargetContext();
+        context.deleteDatabase(TEST_DB);
+
+        AppDatabase database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .setJournalMode(journalMode)
+                .build();
+
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        seed(db);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+
+        threads.add(new Thread(() -> {
+            SupportSQLiteStatement update = db.compileStatement("UPDATE users SET user_about = ? WHERE user_id = ?");
+            for (int batch = 0; running.get(); batch++) {
+                db.beginTransaction();
+                try {
+                    for (int i = 0; i < WRITE_BATCH; i++) {
+                        update.bindString(1, "about-" + batch);
+                        update.bindString(2, userId((batch * WRITE_BATCH + i) % USERS));
+                        update.executeUpdateDelete();
+                    }
+                    db.setTransactionSuccessful();
+                }
+                finally {
+                    db.endTransaction();
+                }
+                writes.addAndGet(WRITE_BATCH);
+            }
+        }));
+
+        UserDao userDao = database.userDao();
+        for (int r = 0; r < readers; r++) {
+            int offset = r;
+            threads.add(new Thread(() -> {
+                for (int i = offset; running.get(); i += 7) {
+                    userDao.get(userId(i % USERS)).blockingGet();
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+
+        for (Thread thread : threads) thread.start();
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+        for (Thread thread : threads) thread.join();
+
+        database.close();
+        context.deleteDatabase(TEST_DB);
+
+        long readsPerSecond = reads.get() * 1000 / DURATION_MILLIS;
+        Log.i(TAG, journalMode + " with " + readers + " reader(s): " + readsPerSecond + " reads/s, "
+                + (writes.get() * 1000 / DURATION_MILLIS) + " writes/s");
+
+        return readsPerSecond;
+    }
+
+    private static void seed(SupportSQLiteDatabase db) {
+        SupportSQLiteStatement insert = db.compileStatement("INSERT INTO users" +
+                " (user_id, user_screen_name, user_first_name, user_last_name) VALUES (?, ?, ?, ?)");
+
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < USERS; i++) {
+                insert.bindString(1, userId(i));
+                insert.bindString(2, "screen" + i);
+                insert.bindString(3, "First" + i);
+                insert.bindString(4, "Last" + i);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        }
+        finally {
+            db.endTransaction();
+        }
+    }
+
+    private static String userId(int index) {
+        return "user-" + index;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.migrations.Migration7To8;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pages a team's games out of a 50k game database with the OR scan the games table used to
+ * need, and with the participant index that replaced it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GameParticipantBenchmark {
+
+    private static final String TAG = "GameParticipantBench";
+
+    private static final int GAMES = 50_000;
+    private static final int TEAMS = 50;
+    private static final int PAGES = 20;
+    private static final int PAGE_SIZE = 12;
+    private static final String TEAM = "team-0";
+
+    private static final String OR_SCAN = "SELECT game_id, game_created FROM games" +
+            " WHERE ((? = game_host AND game_ref_path = 'user')" +
+            " OR ? = game_home_entity" +
+            " OR ? = game_away_entity)" +
+            " AND (game_created < ? OR (game_created = ? AND game_id < ?))" +
+            " ORDER BY game_created DESC, game_id DESC" +
+            " LIMIT ?";
+
+    private static final String PARTICIPANT_SCAN = "SELECT games.game_id, games.game_created FROM game_participants AS participant" +
+            " INNER JOIN games ON games.game_id = participant.game_participant_game" +
+            " WHERE participant.game_participant_entity = ?" +
+            " AND (participant.game_participant_created < ?" +
+            " OR (participant.game_participant_created = ? AND participant.game_participant_game < ?))" +
+            " ORDER BY participant.game_participant_created DESC, participant.game_participant_game DESC" +
+            " LIMIT ?";
+
+    private AppDatabase database;
+    private SupportSQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(InstrumentationRegistry.getTargetContext(), AppDatabase.class).build();
+        db = database.getOpenHelper().getWritableDatabase();
+
+        SupportSQLiteStatement statement = db.compileStatement("INSERT INTO games" +
+                " (game_id, game_ref_path, game_home_entity, game_away_entity, game_created," +
+                " game_leg, game_seed, game_round, game_home_score, game_away_score, game_ended, game_can_draw)" +
+                " VALUES (?, 'team', ?, ?, ?, 0, 0, 0, 0, 0, 0, 0)");
+
+        long now = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < GAMES; i++) {
+                statement.bindString(1, String.format("game-%06d", i));
+                statement.bindString(2, "team-" + (i % TEAMS));
+                statement.bindString(3, "team-" + ((i + 7) % TEAMS));
+                // Pairs of games share a timestamp so pages have to break ties on the id
+                statement.bindLong(4, now - (i / 2) * 60_000L);
+                statement.executeInsert();
+            }
+            // Indexes the games with the same statements that upgrade existing installs
+            new Migration7To8().migrate(db);
+            db.setTransactionSuccessful();
+        }
+        finally {
+            db.endTransaction();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void participantIndexPagesMatchTheOrScan() {
+        long start = System.nanoTime();
+        List<String> scanned = page(true);
+        long orScan = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<String> indexed = page(false);
+        long participantScan = System.nanoTime() - start;
+
+        assertEquals(PAGES * PAGE_SIZE, indexed.size());
+        assertEquals(scanned, indexed);
+
+        Log.i(TAG, "OR scan: " + (orScan / PAGES / 1000) + " us per page");
+        Log.i(TAG, "Participant index: " + (participantScan / PAGES / 1000) + " us per page");
+    }
+
+    private List<String> page(boolean orScan) {
+        List<String> ids = new ArrayList<>();
+        long date = Long.MAX_VALUE;
+        String lastId = "";
+
+        for (int page = 0; page < PAGES; page++) {
+            Object[] args = orScan
+                    ? new Object[]{TEAM, TEAM, TEAM, date, date, lastId, PAGE_SIZE}
+                    : new Object[]{TEAM, date, date, lastId, PAGE_SIZE};
+
+            try (Cursor cursor = db.query(orScan ? OR_SCAN : PARTICIPANT_SCAN, args)) {
+                while (cursor.moveToNext()) {
+                    String id = cursor.getString(0);
+                    long created = cursor.getLong(1);
+
+                    assertTrue(created < date || (created == date && id.compareTo(lastId) < 0));
+                    ids.add(id);
+                    date = created;
+                    lastId = id;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate;
+
+import android.util.Log;
+
+import androidx.test.runner.AndroidJUnit4;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.mainstreetcode.teammate.model.Chat;
+import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.IdentityMap;
+import com.mainstreetcode.teammate.notifications.FeedItem;
+import com.mainstreetcode.teammate.rest.TeammateService;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Holds a 1,000 row chat page and a 1,000 row event feed in memory with and without the
+ * {@link IdentityMap}, and reports the heap retained by each.
+ */
+@RunWith(AndroidJUnit4.class)
+public class IdentityMapBenchmark {
+
+    private static final String TAG = "IdentityMapBench";
+
+    private static final int ROWS = 1_000;
+    private static final int TEAMS = 20;
+    private static final int USERS = 100;
+
+    private static final Type CHATS = new TypeToken<List<Chat>>() {}.getType();
+    private static final Type FEED = new TypeToken<List<FeedItem<Event>>>() {}.getType();
+
+    private final Gson gson = TeammateService.getGson();
+
+    @After
+    public void tearDown() {
+        IdentityMap.setEnabled(true);
+    }
+
+    @Test
+    public void internedRowsShareTeamsAndUsers() {
+        String chats = chats().toString();
+        String feed = feed().toString();
+
+        IdentityMap.setEnabled(false);
+        long copied = retained(chats, feed, false);
+
+        IdentityMap.setEnabled(true);
+        long interned = retained(chats, feed, true);
+
+        Log.i(TAG, "Without identity map: " + (copied / 1024) + " KB");
+        Log.i(TAG, "With identity map: " + (interned / 1024) + " KB");
+        Log.i(TAG, "Saved: " + ((copied - interned) / 1024) + " KB");
+    }
+
+    private long retained(String chatJson, String feedJson, boolean shared) {
+        long before = usedHeap();
+        List<Chat> chats = gson.fromJson(chatJson, CHATS);
+        List<FeedItem<Event>> feed = gson.fromJson(feedJson, FEED);
+        long after = usedHeap();
+
+        assertEquals(ROWS, chats.size());
+        assertEquals(ROWS, feed.size());
+
+        Chat first = chats.get(0);
+        Chat sameTeam = chats.get(TEAMS);
+        Event event = feed.get(0).getModel();
+
+        if (shared) {
+            assertSame(first.getTeam(), sameTeam.getTeam());
+            assertSame(first.getTeam(), event.getTeam());
+            assertSame(first.getUser(), chats.get(USERS).getUser());
+        }
+        else {
+            assertNotSame(first.getTeam(), sameTeam.getTeam());
+            assertNotSame(first.getTeam(), event.getTeam());
+        }
+
+        return after - before;
+    }
+
+    private JsonArray chats() {
+        JsonArray chats = new JsonArray();
+        for (int i = 0; i < ROWS; i++) {
+            JsonObject chat = new JsonObject();
+            chat.addProperty("_id", "chat-" + i);
+            chat.addProperty("kind", "text");
+            chat.addProperty("content", "Message " + i);
+            chat.addProperty("created", "2019-01-01T00:00:00.000Z");
+            chat.add("user", user(i % USERS));
+            chat.add("team", team(i % TEAMS));
+            chats.add(chat);
+        }
+        return chats;
+    }
+
+    private JsonArray feed() {
+        JsonArray feed = new JsonArray();
+        for (int i = 0; i < ROWS; i++) {
+            JsonObject event = new JsonObject();
+            event.addProperty("_id", "event-" + i);
+            event.addProperty("name", "Event " + i);
+            event.addProperty("notes", "");
+            event.addProperty("startDate", "2019-01-01T00:00:00.000Z");
+            event.addProperty("endDate", "2019-01-01T01:00:00.000Z");
+            event.add("team", team(i % TEAMS));
+
+            JsonObject item = new JsonObject();
+            item.addProperty("action", "");
+            item.addProperty("type", "event");
+            item.addProperty("title", "Event " + i);
+            item.addProperty("body", "");
+            item.add("model", event);
+            feed.add(item);
+        }
+        return feed;
+    }
+
+    private static JsonObject team(int index) {
+        JsonObject team = new JsonObject();
+        team.addProperty("_id", "team-" + index);
+        team.addProperty("name", "Team " + index);
+        team.addProperty("city", "Detroit");
+        team.addProperty("state", "MI");
+        team.addProperty("zip", "48201");
+        team.addProperty("description", "A team for benchmarking the identity map");
+        team.addProperty("imageUrl", "https://example.com/team/" + index + ".png");
+        team.addProperty("created", "2019-01-01T00:00:00.000Z");
+        return team;
+    }
+
+    private static JsonObject user(int index) {
+        JsonObject user = new JsonObject();
+        user.addProperty("_id", "user-" + index);
+        user.addProperty("firstName", "First" + index);
+        user.addProperty("lastName", "Last" + index);
+        user.addProperty("about", "A user for benchmarking the identity map");
+        user.addProperty("imageUrl", "https://example.com/user/" + index + ".png");
+        return user;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            runtime.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -24,16 +24,34 @@
 
 package com.mainstreetcode.teammate;
 
+import android.content.ContentValues;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
 import androidx.sqlite.db.SupportSQLiteDatabase;
 import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
 import androidx.room.testing.MigrationTestHelper;
 import androidx.test.InstrumentationRegistry;
 import androidx.test.runner.AndroidJUnit4;
 
+import com.mainstreetcode.teammate.model.enums.StatAttribute;
+import com.mainstreetcode.teammate.model.enums.StatAttributes;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.migrations.Migration1To2;
 import com.mainstreetcode.teammate.persistence.migrations.Migration2To3;
 import com.mainstreetcode.teammate.persistence.migrations.Migration3To4;
+import com.mainstreetcode.teammate.persistence.migrations.Migration4To5;
+import com.mainstreetcode.teammate.persistence.migrations.Migration5To6;
+import com.mainstreetcode.teammate.persistence.migrations.Migration6To7;
+import com.mainstreetcode.teammate.persistence.migrations.Migration7To8;
+import com.mainstreetcode.teammate.persistence.migrations.Migration8To9;
+import com.mainstreetcode.teammate.persistence.migrations.Migration9To10;
+import com.mainstreetcode.teammate.persistence.migrations.Migration10To11;
+import com.mainstreetcode.teammate.persistence.migrations.Migration11To12;
+import com.mainstreetcode.teammate.persistence.typeconverters.StatAttributesTypeConverter;
+import com.mainstreetcode.teammate.rest.TeammateService;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -41,6 +59,9 @@ import org.junit.runner.RunWith;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(AndroidJUnit4.class)
 public class MigrationTest {
 
@@ -88,6 +109,214 @@ public class MigrationTest {
         helper.runMigrationsAndValidate(TEST_DB, 4, true, new Migration3To4());
     }
 
+    @Test
+    public void migrate4To5() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 4);
+        insertTeam(db, "team");
+        insertChat(db, "chat-1", "team", 1L);
+        insertChat(db, "chat-2", "team", 2L);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 5, true, new Migration4To5());
+
+        assertEquals(2, count(db, "SELECT COUNT(*) FROM team_chats WHERE team_chat_team = 'team'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM sqlite_master" +
+                " WHERE type = 'index' AND name = 'index_team_chats_team_chat_team_team_chat_created'"));
+    }
+
+    @Test
+    public void migrate5To6() throws IOException {
+        StatAttributes attributes = new StatAttributes();
+        attributes.add(StatAttribute.of("header", "Header"));
+
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 5);
+        ContentValues values = new ContentValues();
+        values.put("stat_id", "stat");
+        values.put("stat_attributes", TeammateService.getGson().toJson(attributes));
+        values.put("stat_value", 1);
+        values.put("stat_time", 0F);
+        db.insert("stats", SQLiteDatabase.CONFLICT_NONE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 6, true, new Migration5To6());
+
+        try (Cursor cursor = db.query("SELECT typeof(stat_attributes), stat_attributes FROM stats WHERE stat_id = 'stat'")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("blob", cursor.getString(0));
+            // Rows copied as JSON still decode until they are next written
+            assertEquals(attributes, new StatAttributesTypeConverter().fromBlob(cursor.getBlob(1)));
+        }
+    }
+
+    @Test
+    public void migrate6To7() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 6);
+        insertTeam(db, "team");
+        insertChat(db, "chat", "team", 1L);
+        db.close();
+
+        // The search tables live outside of Room's schema, so they would fail the dropped table check
+        db = helper.runMigrationsAndValidate(TEST_DB, 7, false, new Migration6To7());
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM team_chats_fts WHERE team_chats_fts MATCH 'chat'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM teams_fts WHERE teams_fts MATCH 'team'"));
+
+        // Rows written after the migration are indexed by the triggers
+        insertChat(db, "later", "team", 2L);
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM team_chats_fts WHERE team_chats_fts MATCH 'later'"));
+    }
+
+    @Test
+    public void migrate7To8() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 7);
+        insertGame(db, "team-game", "team", "home-team", "away-team", "host-team");
+        insertGame(db, "user-game", "user", "home-user", "away-user", "host-user");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 8, true, new Migration7To8());
+
+        assertEquals(2, count(db, "SELECT COUNT(*) FROM game_participants WHERE game_participant_game = 'team-game'"));
+        assertEquals(3, count(db, "SELECT COUNT(*) FROM game_participants WHERE game_participant_game = 'user-game'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM game_participants" +
+                " WHERE game_participant_entity = 'host-user' AND game_participant_role = 'host'"));
+    }
+
+    @Test
+    public void migrate8To9() throws IOException {
+        SharedPreferences preferences = App.getInstance()
+                .getSharedPreferences("TeamRepository.team.seen.times", Context.MODE_PRIVATE);
+        preferences.edit().clear()
+                .putLong("team", 42L)
+                .putLong("uncached-team", 42L)
+                .commit();
+
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 8);
+        insertTeam(db, "team");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 9, true, new Migration8To9());
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM team_last_seen"));
+        assertEquals(42, count(db, "SELECT team_last_seen_date FROM team_last_seen WHERE team_last_seen_team = 'team'"));
+        // The preferences outlive the migration, and are only cleared once the database opens
+        assertEquals(2, preferences.getAll().size());
+
+        Migration8To9.clearLegacyPreferences();
+        assertTrue(preferences.getAll().isEmpty());
+    }
+
+    @Test
+    public void migrate9To10() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 9);
+        insertTeam(db, "team");
+        insertChat(db, "chat", "team", 1L);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 10, true, new Migration9To10());
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM teams"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM team_chats"));
+
+        ContentValues values = new ContentValues();
+        values.put("last_fetched_key", "TeamRepo:team");
+        values.put("last_fetched_date", 42L);
+        db.insert("last_fetched", SQLiteDatabase.CONFLICT_REPLACE, values);
+        values.put("last_fetched_date", 43L);
+        db.insert("last_fetched", SQLiteDatabase.CONFLICT_REPLACE, values);
+
+        assertEquals(43, count(db, "SELECT last_fetched_date FROM last_fetched WHERE last_fetched_key = 'TeamRepo:team'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM last_fetched"));
+    }
+
+    @Test
+    public void migrate10To11() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 10);
+        insertTeam(db, "team");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 11, true, new Migration10To11());
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM teams"));
+
+        ContentValues values = new ContentValues();
+        values.put("outbox_op", "PUT");
+        values.put("outbox_path", "api/teams/team");
+        values.put("outbox_model_type", "team");
+        values.put("outbox_model_id", "team");
+        values.put("outbox_status", "pending");
+        values.put("outbox_attempts", 0);
+        long first = db.insert("outbox", SQLiteDatabase.CONFLICT_NONE, values);
+        long second = db.insert("outbox", SQLiteDatabase.CONFLICT_NONE, values);
+
+        // Replay order follows the generated ids
+        assertTrue(second > first);
+        assertEquals(2, count(db, "SELECT COUNT(*) FROM outbox WHERE outbox_model_id = 'team'"));
+    }
+
+    @Test
+    public void migrate11To12() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 11);
+        insertTeam(db, "team");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 12, true, new Migration11To12());
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM teams"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM sync_tokens"));
+
+        ContentValues values = new ContentValues();
+        values.put("sync_token_team", "team");
+        values.put("sync_token_value", "1");
+        db.insert("sync_tokens", SQLiteDatabase.CONFLICT_REPLACE, values);
+        values.put("sync_token_value", "2");
+        db.insert("sync_tokens", SQLiteDatabase.CONFLICT_REPLACE, values);
+
+        // One token per team, the latest replaces the one before
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM sync_tokens WHERE sync_token_team = 'team'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM sync_tokens WHERE sync_token_value = '2'"));
+    }
+
+    private static void insertTeam(SupportSQLiteDatabase db, String teamId) {
+        ContentValues values = new ContentValues();
+        values.put("team_id", teamId);
+        values.put("team_name", teamId);
+        values.put("team_storage_used", 0);
+        values.put("team_max_storage", 0);
+        values.put("team_min_age", 0);
+        values.put("team_max_age", 0);
+        db.insert("teams", SQLiteDatabase.CONFLICT_NONE, values);
+    }
+
+    private static void insertChat(SupportSQLiteDatabase db, String chatId, String teamId, long created) {
+        ContentValues values = new ContentValues();
+        values.put("team_chat_id", chatId);
+        values.put("team_chat_kind", "text");
+        values.put("team_chat_content", chatId);
+        values.put("team_chat_team", teamId);
+        values.put("team_chat_created", created);
+        db.insert("team_chats", SQLiteDatabase.CONFLICT_NONE, values);
+    }
+
+    private static void insertGame(SupportSQLiteDatabase db, String gameId, String refPath,
+                                   String home, String away, String host) {
+        ContentValues values = new ContentValues();
+        values.put("game_id", gameId);
+        values.put("game_ref_path", refPath);
+        values.put("game_home_entity", home);
+        values.put("game_away_entity", away);
+        values.put("game_host", host);
+        values.put("game_created", 1L);
+        for (String column : new String[]{"game_leg", "game_seed", "game_round", "game_home_score",
+                "game_away_score", "game_ended", "game_can_draw"})
+            values.put(column, 0);
+        db.insert("games", SQLiteDatabase.CONFLICT_NONE, values);
+    }
+
+    private static long count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
 
 //    @Test
 //    public void migrationFrom2To3_containsCorrectData() throws
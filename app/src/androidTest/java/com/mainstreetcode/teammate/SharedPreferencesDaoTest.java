@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate;
+
+import android.util.Log;
+
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.model.Device;
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.DeviceDao;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(AndroidJUnit4.class)
+public class SharedPreferencesDaoTest {
+
+    private static final int READS = 100_000;
+
+    private final DeviceDao dao = AppDatabase.getInstance().deviceDao();
+
+    @After
+    public void tearDown() {
+        dao.deleteCurrent();
+    }
+
+    @Test
+    public void readsAfterTheFirstShareTheSnapshot() {
+        dao.insert(Collections.singletonList(new Device("snapshot-test").setFcmToken("token")));
+
+        Device first = dao.getCurrent();
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) assertSame(first, dao.getCurrent());
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals("token", first.getFcmToken());
+        Log.i("SharedPreferencesDaoTest", "getCurrent(): " + (elapsed / READS) + " ns per read");
+    }
+
+    @Test
+    public void writersCannotMutateTheSnapshot() {
+        Device inserted = new Device("mutation-test").setFcmToken("stored");
+        dao.insert(Collections.singletonList(inserted));
+
+        inserted.setFcmToken("changed after insert");
+
+        assertNotSame(inserted, dao.getCurrent());
+        assertEquals("stored", dao.getCurrent().getFcmToken());
+    }
+
+    @Test
+    public void writesInvalidateTheSnapshot() {
+        dao.insert(Collections.singletonList(new Device("first")));
+        Device first = dao.getCurrent();
+
+        dao.insert(Collections.singletonList(new Device("second")));
+        Device second = dao.getCurrent();
+
+        assertNotSame(first, second);
+        assertEquals("second", second.getId());
+
+        dao.deleteCurrent();
+        assertNotSame(second, dao.getCurrent());
+    }
+}
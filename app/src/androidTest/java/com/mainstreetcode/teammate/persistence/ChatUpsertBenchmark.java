@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.model.Chat;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Saves a 500 chat page twice, once as new rows and once as a refresh of existing ones, with
+ * the insert then update the chat DAO used to make, each committing on its own, and with the
+ * single write upsert in one transaction that replaced them.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ChatUpsertBenchmark {
+
+    private static final String TAG = "ChatUpsertBench";
+    private static final String TEST_DB = "chat-upsert-bench";
+
+    private static final int CHATS = 500;
+    private static final String TEAM = "team";
+    private static final int USERS = 20;
+
+    private Context context;
+    private AppDatabase database;
+    private ChatDao dao;
+    private List<Chat> chats;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getTargetContext();
+        context.deleteDatabase(TEST_DB);
+
+        // On disk, so commits pay for their journal writes as they would in the app
+        database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                .build();
+        dao = database.teamChatDao();
+
+        database.getOpenHelper().getWritableDatabase().execSQL("INSERT INTO teams" +
+                " (team_id, team_name, team_storage_used, team_max_storage, team_min_age, team_max_age)" +
+                " VALUES (?, 'Team', 0, 0, 0, 0)", new Object[]{TEAM});
+
+        Team team = Team.withId(TEAM);
+        long now = System.currentTimeMillis();
+        chats = new ArrayList<>(CHATS);
+
+        for (int i = 0; i < CHATS; i++) chats.add(new Chat(String.format("chat-%04d", i), "text",
+                "Chat " + i, User.withId("user-" + (i % USERS)), team, new Date(now - i * 1000L)));
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void upsertInTransactionOutpacesInsertThenUpdate() {
+        long insertThenUpdateNew = time(this::insertThenUpdate);
+        long insertThenUpdateExisting = time(this::insertThenUpdate);
+        clear();
+
+        long upsertNew = time(this::upsert);
+        long upsertExisting = time(this::upsert);
+
+        Log.i(TAG, "Insert then update, new rows: " + rowsPerSecond(insertThenUpdateNew) + " rows/s");
+        Log.i(TAG, "Insert then update, existing rows: " + rowsPerSecond(insertThenUpdateExisting) + " rows/s");
+        Log.i(TAG, "Upsert in a transaction, new rows: " + rowsPerSecond(upsertNew) + " rows/s");
+        Log.i(TAG, "Upsert in a transaction, existing rows: " + rowsPerSecond(upsertExisting) + " rows/s");
+    }
+
+    private void insertThenUpdate() {
+        dao.insert(chats);
+        dao.update(chats);
+    }
+
+    private void upsert() {
+        database.runInTransaction(() -> dao.upsert(chats));
+    }
+
+    private long time(Runnable save) {
+        long start = System.nanoTime();
+        save.run();
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(CHATS, dao.count());
+        return elapsed;
+    }
+
+    private void clear() {
+        database.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM team_chats");
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return CHATS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
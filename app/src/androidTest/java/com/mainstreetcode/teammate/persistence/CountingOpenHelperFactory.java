@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens databases through the framework helper and counts the statements Room prepares on
+ * them. Room's own invalidation bookkeeping is left out, so the count is what DAOs ran.
+ */
+final class CountingOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    private static final String INVALIDATION_TABLE = "room_table_modification_log";
+
+    private final SupportSQLiteOpenHelper.Factory delegate = new FrameworkSQLiteOpenHelperFactory();
+    private final AtomicInteger statements = new AtomicInteger();
+
+    int getStatements() {
+        return statements.get();
+    }
+
+    void reset() {
+        statements.set(0);
+    }
+
+    @Override
+    public SupportSQLiteOpenHelper create(SupportSQLiteOpenHelper.Configuration configuration) {
+        SupportSQLiteOpenHelper helper = delegate.create(configuration);
+        return proxy(SupportSQLiteOpenHelper.class, helper, (proxy, method, args) -> {
+            Object result = invoke(helper, method, args);
+            return result instanceof SupportSQLiteDatabase ? counting((SupportSQLiteDatabase) result) : result;
+        });
+    }
+
+    private SupportSQLiteDatabase counting(SupportSQLiteDatabase database) {
+        return proxy(SupportSQLiteDatabase.class, database, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("query") || name.equals("compileStatement")) count(args[0]);
+            return invoke(database, method, args);
+        });
+    }
+
+    private void count(Object statement) {
+        String sql = statement instanceof SupportSQLiteQuery
+                ? ((SupportSQLiteQuery) statement).getSql()
+                : String.valueOf(statement);
+
+        if (!sql.contains(INVALIDATION_TABLE)) statements.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.model.Game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class GameDaoTest {
+
+    private static final String GAME = "game";
+
+    private AppDatabase database;
+    private SupportSQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(InstrumentationRegistry.getTargetContext(), AppDatabase.class).build();
+        db = database.getOpenHelper().getWritableDatabase();
+
+        db.execSQL("INSERT INTO games" +
+                " (game_id, game_ref_path, game_home_entity, game_away_entity, game_created," +
+                " game_leg, game_seed, game_round, game_home_score, game_away_score, game_ended, game_can_draw)" +
+                " VALUES (?, 'team', 'home-team', 'away-team', 1, 0, 0, 0, 0, 0, 0, 0)", new Object[]{GAME});
+        db.execSQL("INSERT INTO game_participants VALUES (?, 'home-team', 'home', 1)", new Object[]{GAME});
+        db.execSQL("INSERT INTO game_participants VALUES (?, 'away-team', 'away', 1)", new Object[]{GAME});
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void ignoredInsertKeepsParticipants() {
+        // A stub game, as nested saves produce, carries no participants of its own
+        database.gameDao().insert(Collections.singletonList(Game.withId(GAME)));
+
+        assertEquals(2, participants(GAME));
+    }
+
+    private long participants(String gameId) {
+        try (Cursor cursor = db.query("SELECT COUNT(*) FROM game_participants WHERE game_participant_game = ?", new Object[]{gameId})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+}
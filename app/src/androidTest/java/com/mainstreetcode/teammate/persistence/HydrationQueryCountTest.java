@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.model.Chat;
+import com.mainstreetcode.teammate.model.IdentityMap;
+import com.mainstreetcode.teammate.model.PageCursor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Counts the statements a page of chats costs, which stays the same as the page grows: the
+ * chats, then one {@code IN (...)} read each for their teams and users.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HydrationQueryCountTest {
+
+    private static final int CHATS = 100;
+    private static final int USERS = 8;
+    private static final String TEAM = "team";
+
+    // The chat page, its teams and its users
+    private static final int STATEMENTS_PER_PAGE = 3;
+
+    private CountingOpenHelperFactory factory;
+    private AppDatabase database;
+
+    @Before
+    public void setUp() {
+        factory = new CountingOpenHelperFactory();
+        database = Room.inMemoryDatabaseBuilder(InstrumentationRegistry.getTargetContext(), AppDatabase.class)
+                .openHelperFactory(factory)
+                .build();
+
+        AppDatabase.setInstance(database);
+        IdentityMap.setEnabled(false);
+
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        long now = System.currentTimeMillis();
+
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT INTO teams (team_id, team_name, team_storage_used, team_max_storage, team_min_age, team_max_age)" +
+                    " VALUES (?, 'Team', 0, 0, 0, 0)", new Object[]{TEAM});
+
+            for (int i = 0; i < USERS; i++)
+                db.execSQL("INSERT INTO users (user_id, user_first_name) VALUES (?, ?)", new Object[]{"user-" + i, "User " + i});
+
+            for (int i = 0; i < CHATS; i++)
+                db.execSQL("INSERT INTO team_chats (team_chat_id, team_chat_kind, team_chat_content, team_chat_user, team_chat_team, team_chat_created)" +
+                        " VALUES (?, 'text', ?, ?, ?, ?)", new Object[]{"chat-" + i, "Chat " + i, "user-" + (i % USERS), TEAM, now - i * 1000L});
+
+            db.setTransactionSuccessful();
+        }
+        finally {
+            db.endTransaction();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        IdentityMap.setEnabled(true);
+        AppDatabase.setInstance(null);
+        database.close();
+    }
+
+    @Test
+    public void smallPageIsHydratedInConstantStatements() {
+        assertStatements(12);
+    }
+
+    @Test
+    public void largePageIsHydratedInConstantStatements() {
+        assertStatements(48);
+    }
+
+    @Test
+    public void uncachedUserKeepsItsId() {
+        database.getOpenHelper().getWritableDatabase().execSQL(
+                "INSERT INTO team_chats (team_chat_id, team_chat_kind, team_chat_content, team_chat_user, team_chat_team, team_chat_created)" +
+                        " VALUES ('chat-orphan', 'text', 'Orphan', 'user-missing', ?, ?)", new Object[]{TEAM, System.currentTimeMillis() + 1000L});
+
+        List<Chat> chats = database.teamChatDao()
+                .chatsBefore(TEAM, PageCursor.before(new Date(System.currentTimeMillis() + 2000L)), 1)
+                .blockingGet();
+
+        assertEquals(1, chats.size());
+        assertEquals("user-missing", chats.get(0).getUser().getId());
+    }
+
+    private void assertStatements(int limit) {
+        factory.reset();
+
+        List<Chat> chats = database.teamChatDao()
+                .chatsBefore(TEAM, PageCursor.before(new Date()), limit)
+                .blockingGet();
+
+        assertEquals(limit, chats.size());
+        assertEquals(STATEMENTS_PER_PAGE, factory.getStatements());
+
+        for (Chat chat : chats) {
+            assertEquals("Team", chat.getTeam().getName().toString());
+            assertFalse(chat.getUser().getFirstName().toString().isEmpty());
+        }
+    }
+}
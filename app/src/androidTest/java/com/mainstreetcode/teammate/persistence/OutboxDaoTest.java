@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.room.Room;
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.persistence.entity.OutboxEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Interleaves a coalesced put with the steps the outbox takes to drain an item
+ */
+@RunWith(AndroidJUnit4.class)
+public class OutboxDaoTest {
+
+    private static final String PATH = "api/teams/team";
+
+    private AppDatabase database;
+    private OutboxDao dao;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(InstrumentationRegistry.getTargetContext(), AppDatabase.class).build();
+        dao = database.outboxDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void putCoalescedAfterTheDrainReadIsSent() {
+        long id = dao.insert(put("{\"name\":\"first\"}"));
+
+        // The drain reads the row, then a newer put is coalesced onto it before it is claimed
+        OutboxEntity read = dao.unsent().get(0);
+        assertEquals(1, dao.coalesce(id, "{\"name\":\"latest\"}"));
+
+        assertEquals(1, dao.claim(read.getId()));
+        OutboxEntity claimed = dao.get(id);
+
+        assertEquals(OutboxEntity.STATUS_SENDING, claimed.getStatus());
+        assertEquals("{\"name\":\"latest\"}", claimed.getPayload());
+    }
+
+    @Test
+    public void claimedItemsAreNotCoalescedOnto() {
+        long id = dao.insert(put("{\"name\":\"first\"}"));
+        assertEquals(1, dao.claim(id));
+
+        // A put made while the item is in flight needs a row of its own, and a second claim fails
+        assertEquals(0, dao.coalesce(id, "{\"name\":\"latest\"}"));
+        assertEquals(0, dao.claim(id));
+        assertEquals("{\"name\":\"first\"}", dao.get(id).getPayload());
+    }
+
+    @Test
+    public void retriesKeepACoalescedPayload() {
+        long id = dao.insert(put("{\"name\":\"first\"}"));
+        assertEquals(1, dao.claim(id));
+
+        Date nextAttempt = new Date(System.currentTimeMillis() + 1000);
+        dao.retry(id, 1, nextAttempt);
+        assertEquals(1, dao.coalesce(id, "{\"name\":\"latest\"}"));
+
+        OutboxEntity retried = dao.get(id);
+        assertEquals(OutboxEntity.STATUS_PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertEquals(nextAttempt, retried.getNextAttempt());
+        assertEquals("{\"name\":\"latest\"}", retried.getPayload());
+    }
+
+    private static OutboxEntity put(String payload) {
+        return new OutboxEntity("PUT", PATH, "team", "team", payload, Collections.emptyList());
+    }
+}
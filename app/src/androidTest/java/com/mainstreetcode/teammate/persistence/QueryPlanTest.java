@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs {@code EXPLAIN QUERY PLAN} over every DAO query and fails on full table scans and on
+ * sorts of a whole result set, so a query that outgrows its index is caught before it ships.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+    private static final Class<?>[] DAOS = {
+            ChatDao.class, CompetitorDao.class, EventDao.class, GameDao.class, GuestDao.class,
+            JoinRequestDao.class, LastFetchedDao.class, MediaDao.class, OutboxDao.class, RoleDao.class,
+            StatDao.class, SyncTokenDao.class, TeamDao.class, TournamentDao.class, UserDao.class,
+    };
+
+    // Queries allowed to scan, with the reason
+    private static final Set<String> SCANS_ALLOWED = new HashSet<>(Arrays.asList(
+            // Bookkeeping tables of a few hundred rows at most, read or swept whole
+            "LastFetchedDao.GET_ALL",
+            "LastFetchedDao.DELETE_BEFORE",
+            "LastFetchedDao.DELETE_BY_PREFIX",
+            "OutboxDao.UNSENT",
+            "OutboxDao.RESET_SENDING",
+            "OutboxDao.DELETE_FAILED_BEFORE",
+            // Every team the user is in, by design
+            "TeamDao.GET_TEAMS",
+            // Runs once when a tournament is deleted
+            "TournamentDao.DELETE_TOURNAMENT_EVENTS",
+            // The OR over three game columns is answered by three indices, then sorted
+            "TournamentDao.LOAD_TOURNAMENTS",
+            // Eviction sweeps sort their candidates across teams, oldest first
+            "ChatDao.EVICT_BEFORE",
+            "MediaDao.EVICT_BEFORE",
+            // Scans the per team unread summary, one row per team
+            "ChatDao.UNREAD_CHATS"
+    ));
+
+    private static final Pattern STATEMENT = Pattern.compile("^\\s*(SELECT|INSERT|UPDATE|DELETE)\\b", Pattern.CASE_INSENSITIVE);
+
+    // "SCAN TABLE x" on older SQLite builds, "SCAN x" on newer ones; both without an index
+    private static final Pattern FULL_SCAN = Pattern.compile("^SCAN (TABLE )?\\w+( AS \\w+)?$");
+    // A temp b-tree for the right part of an ORDER BY only breaks ties within an index range
+    private static final Pattern FULL_SORT = Pattern.compile("^USE TEMP B-TREE FOR (ORDER BY|GROUP BY|DISTINCT)$");
+
+    private AppDatabase database;
+    private SupportSQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(InstrumentationRegistry.getTargetContext(), AppDatabase.class).build();
+        db = database.getOpenHelper().getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void daoQueriesUseIndices() throws IllegalAccessException {
+        List<String> failures = new ArrayList<>();
+        Set<String> explained = new HashSet<>();
+
+        for (Class<?> dao : DAOS) for (Field field : dao.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || field.getType() != String.class)
+                continue;
+
+            field.setAccessible(true);
+            String sql = (String) field.get(null);
+            if (!STATEMENT.matcher(sql).find()) continue;
+
+            String name = dao.getSimpleName() + "." + field.getName();
+            List<String> plan = explain(sql);
+            explained.add(name);
+
+            if (SCANS_ALLOWED.contains(name)) continue;
+
+            for (String detail : plan) if (FULL_SCAN.matcher(detail).matches() || FULL_SORT.matcher(detail).matches())
+                failures.add(name + ": " + detail + " in " + plan);
+        }
+
+        assertTrue("Stale allowed scans", explained.containsAll(SCANS_ALLOWED));
+        assertTrue(failures.toString(), failures.isEmpty());
+    }
+
+    private List<String> explain(String sql) {
+        List<String> plan = new ArrayList<>();
+        // Named parameters are left unbound, SQLite plans them as NULL
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) plan.add(cursor.getString(detail));
+        }
+        return plan;
+    }
+}
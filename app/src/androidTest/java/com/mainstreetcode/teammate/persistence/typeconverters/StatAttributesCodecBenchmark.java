@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.typeconverters;
+
+import android.util.Log;
+
+import androidx.test.runner.AndroidJUnit4;
+
+import com.mainstreetcode.teammate.model.enums.StatAttribute;
+import com.mainstreetcode.teammate.model.enums.StatAttributes;
+import com.mainstreetcode.teammate.rest.TeammateService;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Decodes a stat's attributes per row from the binary column, and from the JSON the column
+ * held before it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StatAttributesCodecBenchmark {
+
+    private static final String TAG = "StatAttributesBench";
+    private static final int ROWS = 200_000;
+
+    private final StatAttributesCodec codec = StatAttributesCodec.INSTANCE;
+
+    @Test
+    public void binaryDecodeOutpacesJson() {
+        StatAttributes attributes = attributes();
+        byte[] binary = codec.encode(attributes);
+        byte[] json = TeammateService.getGson().toJson(attributes).getBytes(Charset.forName("UTF-8"));
+
+        assertEquals(attributes, codec.decode(binary));
+        assertEquals(attributes, codec.decode(json));
+
+        long binaryDecode = time(binary);
+        long jsonDecode = time(json);
+
+        Log.i(TAG, "Binary: " + (binaryDecode / ROWS) + " ns per row, " + binary.length + " bytes");
+        Log.i(TAG, "JSON: " + (jsonDecode / ROWS) + " ns per row, " + json.length + " bytes");
+    }
+
+    private long time(byte[] blob) {
+        for (int i = 0; i < ROWS / 10; i++) codec.decode(blob); // Warm up
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) codec.decode(blob);
+        return System.nanoTime() - start;
+    }
+
+    private static StatAttributes attributes() {
+        StatAttributes attributes = new StatAttributes();
+        attributes.add(StatAttribute.of("header", "Header"));
+        attributes.add(StatAttribute.of("left_foot", "Left foot"));
+        attributes.add(StatAttribute.of("penalty", "Penalty"));
+        return attributes;
+    }
+}
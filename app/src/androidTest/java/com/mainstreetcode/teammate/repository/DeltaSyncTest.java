@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import androidx.test.runner.AndroidJUnit4;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.TeamChanges;
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
+import com.mainstreetcode.teammate.persistence.SyncTokenDao;
+import com.mainstreetcode.teammate.persistence.entity.SyncTokenEntity;
+import com.mainstreetcode.teammate.rest.TeammateApi;
+import com.mainstreetcode.teammate.rest.TeammateService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Syncs a team's events against a stand-in server that keeps a log of changes and answers
+ * with the ones after the token it is sent.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DeltaSyncTest {
+
+    private static final String TEAM_ID = "delta-sync-team";
+    private static final String EXPIRED = "expired";
+
+    private final MockWebServer server = new MockWebServer();
+    private final List<JsonObject> log = new ArrayList<>();
+
+    private SyncTokenDao dao;
+    private DeltaSync deltaSync;
+    private Team team;
+
+    @Before
+    public void setUp() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return changesSince(request.getRequestUrl().queryParameter(TeammateApi.SINCE_QUERY));
+            }
+        });
+        server.start();
+
+        TeammateApi api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(TeammateService.getGson()))
+                .build()
+                .create(TeammateApi.class);
+
+        dao = AppDatabase.getInstance().syncTokenDao();
+        dao.delete(TEAM_ID);
+        deltaSync = new DeltaSync(api, dao);
+        team = Team.withId(TEAM_ID);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        dao.delete(TEAM_ID);
+        for (Event event : events("event-1", "event-2", "event-3"))
+            AppDatabase.getInstance().eventDao().delete(event);
+        AppDatabase.getInstance().teamDao().delete(team);
+    }
+
+    @Test
+    public void fetchesOnlyWhatChangedSinceTheLastToken() throws Exception {
+        log.add(upsert("event-1", "Practice"));
+        log.add(upsert("event-2", "Scrimmage"));
+
+        TeamChanges snapshot = deltaSync.sync(team).blockingGet();
+        assertEquals(2, snapshot.getUpserted(Event.class).size());
+        assertNull(server.takeRequest().getRequestUrl().queryParameter(TeammateApi.SINCE_QUERY));
+        assertEquals("2", dao.token(TEAM_ID));
+
+        log.add(upsert("event-1", "Practice moved"));
+        log.add(removal("event-2"));
+        log.add(upsert("event-3", "Final"));
+
+        TeamChanges delta = deltaSync.sync(team).blockingGet();
+        assertEquals("2", server.takeRequest().getRequestUrl().queryParameter(TeammateApi.SINCE_QUERY));
+        assertEquals(2, delta.getUpserted(Event.class).size());
+        assertEquals(1, delta.getRemoved(Event.class).size());
+        assertEquals("5", dao.token(TEAM_ID));
+
+        List<Event> stored = events("event-1", "event-2", "event-3");
+        assertEquals(2, stored.size());
+        for (Event event : stored) {
+            assertNotEquals("event-2", event.getId());
+            if (event.getId().equals("event-1")) assertEquals("Practice moved", event.getName().toString());
+        }
+    }
+
+    @Test
+    public void expiredTokensFallBackToASnapshot() throws Exception {
+        log.add(upsert("event-1", "Practice"));
+        dao.upsert(new SyncTokenEntity(TEAM_ID, EXPIRED));
+
+        TeamChanges changes = deltaSync.sync(team).blockingGet();
+
+        assertEquals(EXPIRED, server.takeRequest().getRequestUrl().queryParameter(TeammateApi.SINCE_QUERY));
+        assertNull(server.takeRequest().getRequestUrl().queryParameter(TeammateApi.SINCE_QUERY));
+        assertEquals(1, changes.getUpserted(Event.class).size());
+        assertEquals("1", dao.token(TEAM_ID));
+    }
+
+    @Test
+    public void snapshotsDeleteWhatTheyDoNotList() throws Exception {
+        log.add(upsert("event-1", "Practice"));
+        log.add(upsert("event-2", "Scrimmage"));
+        deltaSync.sync(team).blockingGet();
+        assertEquals(2, events("event-1", "event-2").size());
+
+        // The server dropped its change log along with event-2
+        log.clear();
+        log.add(upsert("event-1", "Practice"));
+        dao.upsert(new SyncTokenEntity(TEAM_ID, EXPIRED));
+
+        TeamChanges snapshot = deltaSync.sync(team).blockingGet();
+
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(1, snapshot.getRemoved(Event.class).size());
+        assertEquals("event-2", snapshot.getRemoved(Event.class).get(0).getId());
+
+        List<Event> stored = events("event-1", "event-2");
+        assertEquals(1, stored.size());
+        assertEquals("event-1", stored.get(0).getId());
+    }
+
+    private MockResponse changesSince(String token) {
+        if (EXPIRED.equals(token)) return new MockResponse().setResponseCode(410);
+
+        int since = token == null ? 0 : Integer.parseInt(token);
+        JsonArray events = new JsonArray();
+        JsonArray removedEvents = new JsonArray();
+
+        // A snapshot only carries what still exists, a delta carries every entry after the token
+        for (int i = since; i < log.size(); i++) {
+            JsonObject entry = log.get(i);
+            String id = entry.get("_id").getAsString();
+            if (entry.has("removed")) removedEvents.add(id);
+            else events.add(entry);
+        }
+
+        JsonObject removed = new JsonObject();
+        removed.add("events", removedEvents);
+
+        JsonObject body = new JsonObject();
+        body.addProperty("token", String.valueOf(log.size()));
+        body.add("events", events);
+        body.add("removed", removed);
+
+        return new MockResponse().setBody(body.toString());
+    }
+
+    private static JsonObject upsert(String id, String name) {
+        JsonObject team = new JsonObject();
+        team.addProperty("_id", TEAM_ID);
+        team.addProperty("name", "Delta Sync");
+        team.addProperty("city", "Detroit");
+        team.addProperty("state", "MI");
+
+        JsonObject event = new JsonObject();
+        event.addProperty("_id", id);
+        event.addProperty("name", name);
+        event.addProperty("startDate", "2019-01-01T00:00:00.000Z");
+        event.addProperty("endDate", "2019-01-01T01:00:00.000Z");
+        event.add("team", team);
+        return event;
+    }
+
+    private static JsonObject removal(String id) {
+        JsonObject removal = new JsonObject();
+        removal.addProperty("_id", id);
+        removal.addProperty("removed", true);
+        return removal;
+    }
+
+    private static List<Event> events(String... ids) {
+        return ModelHydrator.findByIds(Event.class, Arrays.asList(ids));
+    }
+}
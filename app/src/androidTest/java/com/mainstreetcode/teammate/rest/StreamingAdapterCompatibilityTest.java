@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.rest;
+
+import androidx.test.runner.AndroidJUnit4;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import com.mainstreetcode.teammate.model.Chat;
+import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.IdentityMap;
+import com.mainstreetcode.teammate.model.Media;
+import com.mainstreetcode.teammate.model.Role;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.User;
+import com.mainstreetcode.teammate.notifications.FeedItem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Type;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Parses the same payloads with the streaming readers and with the {@link com.google.gson.JsonElement}
+ * tree adapters they replace, and checks every field of the resulting models is the same.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StreamingAdapterCompatibilityTest {
+
+    private static final String TEAM = "{\"_id\":\"team-1\",\"name\":\"Pistons\",\"screenName\":\"pistons\",\"city\":\"Detroit\","
+            + "\"state\":\"MI\",\"zip\":48201,\"sport\":\"basketball\",\"description\":\"Bad boys\",\"imageUrl\":\"https://example.com/t.png\","
+            + "\"created\":\"2019-01-01T00:00:00.000Z\",\"location\":[-83.05,\"42.33\"],\"storageUsed\":\"1.5e3\",\"maxStorage\":20000,"
+            + "\"minAge\":12.7,\"maxAge\":true,\"members\":[{\"_id\":\"ignored\"}],\"__v\":0}";
+
+    private static final String USER = "{\"_id\":\"user-1\",\"firstName\":\"Isiah\",\"lastName\":{\"first\":\"nested\"},"
+            + "\"screenName\":null,\"primaryEmail\":\"isiah@example.com\",\"about\":false,\"imageUrl\":\"https://example.com/u.png\"}";
+
+    private final Type chats = new TypeToken<List<Chat>>() {}.getType();
+    private final Type media = new TypeToken<List<Media>>() {}.getType();
+    private final Type roles = new TypeToken<List<Role>>() {}.getType();
+    private final Type teams = new TypeToken<List<Team>>() {}.getType();
+    private final Type users = new TypeToken<List<User>>() {}.getType();
+    private final Type games = new TypeToken<List<Game>>() {}.getType();
+    private final Type events = new TypeToken<List<Event>>() {}.getType();
+    private final Type feed = new TypeToken<List<FeedItem>>() {}.getType();
+
+    private final Gson tree = TeammateService.getTreeGsonBuilder().create();
+    private final Gson streaming = TeammateService.getGson();
+
+    private Gson fields;
+
+    @Before
+    public void setUp() {
+        // Shared instances would make both parses return the same objects
+        IdentityMap.setEnabled(false);
+
+        // Values the adapters default to the current time are compared as such
+        long start = System.currentTimeMillis();
+        fields = new GsonBuilder()
+                .serializeNulls()
+                .registerTypeAdapter(Date.class, (JsonSerializer<Date>) (src, type, context) ->
+                        new JsonPrimitive(src.getTime() >= start ? "now" : String.valueOf(src.getTime())))
+                .registerTypeHierarchyAdapter(CharSequence.class, (JsonSerializer<CharSequence>) (src, type, context) ->
+                        new JsonPrimitive(src.toString()))
+                .registerTypeHierarchyAdapter(Class.class, (JsonSerializer<Class>) (src, type, context) ->
+                        new JsonPrimitive(src.getName()))
+                .create();
+    }
+
+    @After
+    public void tearDown() {
+        IdentityMap.setEnabled(true);
+    }
+
+    @Test
+    public void teams() {
+        assertSameModels(teams, "[" + TEAM + ",\"team-2\",42,"
+                + "{\"_id\":\"team-3\",\"location\":[1,2,3],\"sport\":null},"
+                + "{\"_id\":\"team-4\",\"location\":{\"lng\":1,\"lat\":2},\"created\":\"not a date\"},"
+                + "{}]");
+    }
+
+    @Test
+    public void users() {
+        assertSameModels(users, "[" + USER + ",\"user-2\",{\"_id\":7,\"password\":\"hidden\"},{}]");
+    }
+
+    @Test
+    public void chats() {
+        assertSameModels(chats, "["
+                + "{\"_id\":\"chat-1\",\"kind\":\"text\",\"content\":\"Hi\",\"created\":\"2019-01-01T00:00:00.000Z\","
+                + "\"user\":" + USER + ",\"team\":" + TEAM + "},"
+                + "{\"_id\":\"chat-2\",\"kind\":\"text\",\"content\":12,\"user\":\"user-1\",\"team\":\"team-1\"},"
+                + "{\"_id\":\"chat-3\",\"content\":null,\"user\":null,\"extra\":[1,{\"a\":[]}]}]");
+    }
+
+    @Test
+    public void media() {
+        assertSameModels(media, "["
+                + "{\"_id\":\"media-1\",\"url\":\"https://example.com/m.jpg\",\"mimetype\":\"image/jpeg\","
+                + "\"thumbnail\":\"https://example.com/m-thumb.jpg\",\"created\":\"2019-02-01T10:30:00.000Z\","
+                + "\"flagged\":true,\"user\":" + USER + ",\"team\":\"team-1\"},"
+                + "{\"_id\":\"media-2\",\"flagged\":\"true\",\"user\":\"user-1\"},"
+                + "{\"_id\":\"media-3\",\"flagged\":1,\"team\":null},"
+                + "{\"_id\":\"media-4\",\"flagged\":{\"value\":true},\"thumbnail\":[]}]");
+    }
+
+    @Test
+    public void roles() {
+        assertSameModels(roles, "["
+                + "{\"_id\":\"role-1\",\"name\":\"coach\",\"nickname\":\"Chuck\",\"imageUrl\":\"https://example.com/r.png\","
+                + "\"created\":\"2019-01-01T00:00:00.000Z\",\"user\":" + USER + ",\"team\":" + TEAM + "},"
+                + "{\"_id\":\"role-2\",\"name\":\"unknown-position\",\"user\":\"user-1\",\"team\":\"team-1\"},"
+                + "{\"_id\":\"role-3\"}]");
+    }
+
+    @Test
+    public void events() {
+        assertSameModels(events, "["
+                + "{\"_id\":\"event-1\",\"game\":\"game-1\",\"name\":\"Finals\",\"notes\":\"Game 7\",\"imageUrl\":\"\","
+                + "\"visibility\":\"public\",\"locationName\":\"The Palace\",\"startDate\":\"2019-06-01T19:00:00.000Z\","
+                + "\"endDate\":\"2019-06-01T22:00:00.000Z\",\"location\":[-83.25,42.7],\"spots\":\"15\",\"team\":" + TEAM + "},"
+                + "{\"_id\":\"event-2\",\"spots\":0,\"team\":\"team-1\",\"location\":[\"x\",1]},"
+                + "{\"_id\":\"event-3\",\"spots\":2.9,\"location\":null,\"team\":null},"
+                + "\"event-4\"]");
+    }
+
+    @Test
+    public void games() {
+        assertSameModels(games, "["
+                + "{\"_id\":\"game-1\",\"name\":\"Round 1\",\"refPath\":\"teams\",\"score\":\"101 - 99\",\"matchUp\":\"A vs B\","
+                + "\"homeEntity\":\"team-1\",\"awayEntity\":\"team-2\",\"winnerEntity\":\"team-1\",\"created\":\"2019-01-01T00:00:00.000Z\","
+                + "\"sport\":\"basketball\",\"seed\":1,\"leg\":\"2\",\"round\":3.0,\"homeScore\":101,\"awayScore\":99,"
+                + "\"ended\":\"true\",\"canDraw\":false,\"referee\":" + USER + ",\"host\":" + TEAM + ",\"event\":\"event-1\"},"
+                + "{\"_id\":\"game-2\",\"winner\":null,\"referee\":\"user-1\",\"host\":\"team-1\"},"
+                + "\"game-3\"]");
+    }
+
+    @Test
+    public void feed() {
+        String event = "{\"_id\":\"event-1\",\"name\":\"Practice\",\"startDate\":\"2019-01-01T00:00:00.000Z\","
+                + "\"endDate\":\"2019-01-01T01:00:00.000Z\",\"team\":" + TEAM + "}";
+
+        assertSameModels(feed, "["
+                + "{\"action\":\"created\",\"type\":\"event\",\"title\":\"New event\",\"body\":\"Practice\",\"model\":" + event + "},"
+                + "{\"model\":" + event + ",\"title\":\"Type after model\",\"type\":\"event\"},"
+                + "{\"type\":\"team-chat\",\"model\":{\"_id\":\"chat-1\",\"content\":\"Hi\",\"user\":\"user-1\",\"team\":\"team-1\"}},"
+                + "{\"type\":\"team-media\",\"model\":\"media-1\"},"
+                + "{\"type\":\"role\",\"title\":null,\"model\":{\"_id\":\"role-1\",\"user\":" + USER + "}}]");
+    }
+
+    @Test
+    public void writesAreUnchanged() {
+        String payload = "[{\"_id\":\"chat-1\",\"kind\":\"text\",\"content\":\"Hi\",\"user\":\"user-1\",\"team\":" + TEAM + "}]";
+        List<Chat> parsed = tree.fromJson(payload, chats);
+
+        assertEquals(tree.toJson(parsed, chats), streaming.toJson(parsed, chats));
+        assertEquals(tree.toJson(parsed.get(0).getTeam()), streaming.toJson(parsed.get(0).getTeam()));
+        assertEquals(tree.toJson(parsed.get(0).getUser()), streaming.toJson(parsed.get(0).getUser()));
+    }
+
+    private void assertSameModels(Type type, String json) {
+        List<?> expected = tree.fromJson(json, type);
+        List<?> actual = streaming.fromJson(json, type);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals("Element " + i, fields.toJson(expected.get(i)), fields.toJson(actual.get(i)));
+    }
+}
@@ -32,10 +32,18 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
 
+import com.mainstreetcode.teammate.persistence.CacheEvictor;
+import com.mainstreetcode.teammate.repository.ChatRepo;
 import com.mainstreetcode.teammate.repository.ConfigRepo;
+import com.mainstreetcode.teammate.repository.DeltaSync;
+import com.mainstreetcode.teammate.repository.EventRepo;
+import com.mainstreetcode.teammate.repository.FeedCache;
+import com.mainstreetcode.teammate.repository.Outbox;
 import com.mainstreetcode.teammate.repository.RepoProvider;
 import com.mainstreetcode.teammate.repository.RoleRepo;
+import com.mainstreetcode.teammate.repository.TeamRepo;
 import com.mainstreetcode.teammate.repository.UserRepo;
+import com.mainstreetcode.teammate.repository.WarmUp;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.util.Logger;
 import com.mainstreetcode.teammate.viewmodel.events.Alert;
@@ -59,6 +67,18 @@ public class App extends Application {
 
     private static final String EMOJI_INIT_TAG = "EmojiCompatInit";
     private static final String EMOJI_GET_TAG = "EmojiCompatGet";
+    private static final String WARM_UP_TAG = "WarmUp";
+
+    private static final String WARM_UP_ME = "me";
+    private static final String WARM_UP_CONFIG = "config";
+    private static final String WARM_UP_ROLES = "roles";
+    private static final String WARM_UP_CHATS = "default team chats";
+    private static final String WARM_UP_EVENTS = "default team events";
+    private static final String WARM_UP_FEED = "feed";
+    private static final String WARM_UP_TEAM_CHANGES = "default team changes";
+
+    // Sports, positions and default images are needed to draw the first screen
+    private static final long CONFIG_DEADLINE_MILLIS = 1500;
 
     static App INSTANCE;
 
@@ -80,6 +100,7 @@ public class App extends Application {
         INSTANCE = this;
         initializeEmoji();
         registerReceiver(mediaDownloadListener, new IntentFilter(DownloadManager.ACTION_DOWNLOAD_COMPLETE));
+        CacheEvictor.getInstance().scheduleWhenIdle();
         //MobileAds.initialize(this, getString(R.string.admob_app_id));
     }
 
@@ -90,11 +111,25 @@ public class App extends Application {
         UserRepo userRepository = RepoProvider.forRepo(UserRepo.class);
         if (!userRepository.isSignedIn()) return;
 
-        userRepository.getMe()
-                .lastOrError()
-                .flatMap(ignored -> RepoProvider.forRepo(ConfigRepo.class).get("").lastOrError())
-                .flatMap(ignored -> RepoProvider.forRepo(RoleRepo.class).getMyRoles().lastOrError())
-                .subscribe(ignored -> {}, ErrorHandler.EMPTY);
+        Outbox.getInstance().replay();
+
+        TeamRepo teamRepository = RepoProvider.forRepo(TeamRepo.class);
+
+        WarmUp warmUp = new WarmUp()
+                .task(WARM_UP_CONFIG, CONFIG_DEADLINE_MILLIS, RepoProvider.forRepo(ConfigRepo.class).get("").ignoreElements())
+                .task(WARM_UP_ME, userRepository.getMe().ignoreElements())
+                .task(WARM_UP_ROLES, RepoProvider.forRepo(RoleRepo.class).getMyRoles().ignoreElements())
+                .task(WARM_UP_CHATS, teamRepository.getDefaultTeam().flatMapCompletable(team ->
+                        RepoProvider.forRepo(ChatRepo.class).modelsBefore(team, null).ignoreElements()), WARM_UP_ROLES)
+                .task(WARM_UP_EVENTS, teamRepository.getDefaultTeam().flatMapCompletable(team ->
+                        RepoProvider.forRepo(EventRepo.class).modelsBefore(team, null).ignoreElements()), WARM_UP_ROLES)
+                .task(WARM_UP_FEED, FeedCache.getInstance().prefetch(), WARM_UP_ROLES)
+                .task(WARM_UP_TEAM_CHANGES, teamRepository.getDefaultTeam().flatMapCompletable(team ->
+                        DeltaSync.getInstance().sync(team).ignoreElement()), WARM_UP_ROLES);
+
+        warmUp.start().subscribe(() -> {
+            for (WarmUp.Timing timing : warmUp.getTimings()) Logger.log(WARM_UP_TAG, timing.toString());
+        }, ErrorHandler.EMPTY);
     }
 
    public void pushAlert(Alert alert) { eventSource.onNext(alert); }
@@ -47,6 +47,7 @@ import com.mainstreetcode.teammate.util.ModelUtils;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
@@ -106,6 +107,10 @@ public class MediaTransferIntentService extends IntentService {
         return downloadStats;
     }
 
+    public static List<String> getPendingUploadIds() {
+        return uploadStats == null ? Collections.emptyList() : uploadStats.getPendingIds();
+    }
+
     @Override
     protected void onHandleIntent(Intent intent) {
         if (intent == null) return;
@@ -186,6 +191,12 @@ public class MediaTransferIntentService extends IntentService {
 
         public boolean isComplete() {return uploadQueue.isEmpty();}
 
+        List<String> getPendingIds() {
+            List<String> ids = new ArrayList<>(uploadQueue.size());
+            for (Media media : uploadQueue) ids.add(media.getId());
+            return ids;
+        }
+
         public boolean isAtMaxStorage() {return !TextUtils.isEmpty(maxStorageMessage);}
 
         public String getMaxStorageMessage() {return maxStorageMessage;}
@@ -68,18 +68,23 @@ import com.mainstreetcode.teammate.model.Item;
 import com.mainstreetcode.teammate.model.JoinRequest;
 import com.mainstreetcode.teammate.model.Model;
 import com.mainstreetcode.teammate.model.Tournament;
+import com.mainstreetcode.teammate.model.UnreadChats;
 import com.mainstreetcode.teammate.persistence.entity.JoinRequestEntity;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.util.ViewHolderUtil;
 import com.mainstreetcode.teammate.util.nav.BottomNav;
 import com.mainstreetcode.teammate.util.nav.NavDialogFragment;
 import com.mainstreetcode.teammate.util.nav.NavItem;
+import com.mainstreetcode.teammate.util.nav.ViewHolder;
+import com.mainstreetcode.teammate.viewmodel.ChatViewModel;
 import com.mainstreetcode.teammate.viewmodel.TeamViewModel;
 import com.mainstreetcode.teammate.viewmodel.UserViewModel;
 import com.tunjid.androidbootstrap.core.abstractclasses.BaseFragment;
 import com.tunjid.androidbootstrap.functions.Supplier;
 import com.tunjid.androidbootstrap.view.animator.ViewHider;
 
+import java.util.List;
+
 import androidx.annotation.IdRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -238,6 +243,9 @@ public class MainActivity extends TeammatesBaseActivity
                         team.getImageUrl(),
                         getResources().getDimensionPixelSize(R.dimen.double_margin), R.drawable.ic_supervisor_white_24dp))
                 .subscribe(this::updateToolbarIcon, ErrorHandler.EMPTY));
+
+        disposables.add(ViewModelProviders.of(this).get(ChatViewModel.class).listenForUnreadChats()
+                .subscribe(this::updateChatBadge, ErrorHandler.EMPTY));
     }
 
     @Override
@@ -357,6 +365,15 @@ public class MainActivity extends TeammatesBaseActivity
         if (current != null) updated.startTransition(HIDER_DURATION);
     }
 
+    private void updateChatBadge(List<UnreadChats> unreadChats) {
+        ViewHolder viewHolder = bottomNav.getViewHolder(R.id.action_messages);
+        if (viewHolder == null) return;
+
+        int count = 0;
+        for (UnreadChats unread : unreadChats) count += unread.getUnreadCount();
+        viewHolder.setBadgeCount(count);
+    }
+
     private boolean onNavItemSelected(@IdRes int id) {
         switch (id) {
             case R.id.action_home:
@@ -42,6 +42,7 @@ import com.mainstreetcode.teammate.model.ListableModel;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.model.enums.BlockReason;
+import com.mainstreetcode.teammate.repository.Outbox;
 import com.mainstreetcode.teammate.util.AppBarListener;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.viewmodel.gofers.Gofer;
@@ -69,6 +70,8 @@ public abstract class HeaderedFragment<T extends HeaderedModel<T> & ListableMode
         ImageWorkerFragment.ImagePickerListener {
 
     private static final int FAB_DELAY = 400;
+    // Changes usually sync within this; only report those that take longer
+    private static final int SYNC_STATUS_DELAY = 1500;
 
     private boolean imageJustCropped;
 
@@ -115,6 +118,10 @@ public abstract class HeaderedFragment<T extends HeaderedModel<T> & ListableMode
     public void onResume() {
         super.onResume();
         fetch();
+        disposables.add(gofer().syncStatus()
+                .debounce(SYNC_STATUS_DELAY, MILLISECONDS)
+                .observeOn(mainThread())
+                .subscribe(this::onSyncStatus, ErrorHandler.EMPTY));
     }
 
     @Override
@@ -189,6 +196,11 @@ public abstract class HeaderedFragment<T extends HeaderedModel<T> & ListableMode
         disposables.add(gofer().watchForChange().subscribe(value -> onPrepComplete(), ErrorHandler.EMPTY));
     }
 
+    private void onSyncStatus(Outbox.Status status) {
+        if (status == Outbox.Status.PENDING) showSnackbar(getString(R.string.sync_pending));
+        else if (status == Outbox.Status.FAILED) showSnackbar(getString(R.string.sync_failed));
+    }
+
     private void onAppBarOffset(AppBarListener.OffsetProps offsetProps) {
         if (!offsetProps.appBarUnmeasured()) updateFabForScrollState(offsetProps.getDy());
     }
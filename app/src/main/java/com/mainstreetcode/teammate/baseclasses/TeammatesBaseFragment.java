@@ -44,6 +44,7 @@ import com.mainstreetcode.teammate.adapters.viewholders.ChoiceBar;
 import com.mainstreetcode.teammate.model.Config;
 import com.mainstreetcode.teammate.model.Message;
 import com.mainstreetcode.teammate.model.UiState;
+import com.mainstreetcode.teammate.repository.IdResolver;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.util.Validator;
 import com.tunjid.androidbootstrap.core.abstractclasses.BaseFragment;
@@ -90,6 +91,7 @@ public class TeammatesBaseFragment extends BaseFragment implements View.OnClickL
     @Override
     public void onResume() {
         super.onResume();
+        IdResolver.onScreenShown(getStableTag());
         if (getView() != null) togglePersistentUi();
     }
 
@@ -170,11 +170,15 @@ public class ChatFragment extends MainActivityFragment
         super.onResume();
         subscribeToChat();
         fetchChatsBefore(true);
+        disposables.add(chatViewModel.listenForChanges(team).subscribe(scrollManager::onDiff, emptyErrorHandler));
     }
 
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         switch (item.getItemId()) {
+            case R.id.action_search_chats:
+                showFragment(ChatSearchFragment.newInstance(team));
+                return true;
             case R.id.action_pick_team:
                 TeamPickerFragment.change(getActivity(), R.id.request_chat_team_pick);
                 return true;
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.fragments.main;
+
+import android.os.Bundle;
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.mainstreetcode.teammate.R;
+import com.mainstreetcode.teammate.adapters.TeamChatAdapter;
+import com.mainstreetcode.teammate.adapters.viewholders.EmptyViewHolder;
+import com.mainstreetcode.teammate.adapters.viewholders.TeamChatViewHolder;
+import com.mainstreetcode.teammate.baseclasses.MainActivityFragment;
+import com.mainstreetcode.teammate.model.Chat;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.util.InstantSearch;
+import com.mainstreetcode.teammate.util.ScrollManager;
+import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.widget.SearchView;
+
+/**
+ * Searches a team's cached chats
+ */
+
+public final class ChatSearchFragment extends MainActivityFragment
+        implements
+        SearchView.OnQueryTextListener,
+        TeamChatAdapter.ChatAdapterListener {
+
+    private static final String ARG_TEAM = "team";
+    private static final int[] EXCLUDED_VIEWS = {R.id.list_layout};
+
+    private Team team;
+    private SearchView searchView;
+    private InstantSearch<String, Chat> instantSearch;
+
+    private final List<Differentiable> items = new ArrayList<>();
+
+    public static ChatSearchFragment newInstance(Team team) {
+        ChatSearchFragment fragment = new ChatSearchFragment();
+        Bundle args = new Bundle();
+
+        args.putParcelable(ARG_TEAM, team);
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    @Override
+    @SuppressWarnings("ConstantConditions")
+    public String getStableTag() {
+        String superResult = super.getStableTag();
+        Team team = getArguments().getParcelable(ARG_TEAM);
+
+        return (team != null)
+                ? superResult + "-" + team.hashCode()
+                : superResult;
+    }
+
+    @Override
+    @SuppressWarnings("ConstantConditions")
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        team = getArguments().getParcelable(ARG_TEAM);
+        instantSearch = chatViewModel.instantSearch(team);
+    }
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        View rootView = inflater.inflate(R.layout.fragment_chat_search, container, false);
+        searchView = rootView.findViewById(R.id.searchView);
+
+        scrollManager = ScrollManager.<TeamChatViewHolder>with(rootView.findViewById(R.id.list_layout))
+                .withPlaceholder(new EmptyViewHolder(rootView, R.drawable.ic_message_black_24dp, R.string.no_chat_search_results))
+                .withInconsistencyHandler(this::onInconsistencyDetected)
+                .withAdapter(new TeamChatAdapter(items, userViewModel.getCurrentUser(), this))
+                .withLinearLayoutManager()
+                .build();
+
+        searchView.setOnQueryTextListener(this);
+        searchView.setIconifiedByDefault(false);
+        searchView.setIconified(false);
+
+        return rootView;
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        subScribeToSearch(searchView.getQuery().toString());
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        searchView.clearFocus();
+        searchView = null;
+    }
+
+    @Override
+    public int[] staticViews() {return EXCLUDED_VIEWS;}
+
+    @Override
+    public boolean showsFab() { return false; }
+
+    @Override
+    public boolean showsToolBar() { return false; }
+
+    @Override
+    public void onChatClicked(Chat chat) {}
+
+    @Override
+    public boolean onQueryTextSubmit(String s) {
+        return false;
+    }
+
+    @Override
+    public boolean onQueryTextChange(String queryText) {
+        if (getView() == null || TextUtils.isEmpty(queryText)) return true;
+        instantSearch.postSearch(queryText);
+        return true;
+    }
+
+    private void subScribeToSearch(String query) {
+        if (instantSearch.postSearch(query)) return;
+        disposables.add(instantSearch.subscribe()
+                .doOnSubscribe(subscription -> subScribeToSearch(query))
+                .subscribe(this::onChatsUpdated, defaultErrorHandler));
+    }
+
+    private void onChatsUpdated(List<Chat> chats) {
+        this.items.clear();
+        this.items.addAll(chats);
+        scrollManager.notifyDataSetChanged();
+    }
+}
@@ -120,6 +120,7 @@ public final class EventsFragment extends MainActivityFragment
         super.onResume();
         fetchEvents(true);
         watchForRoleChanges(team, this::togglePersistentUi);
+        disposables.add(eventViewModel.listenForChanges(team).subscribe(this::onEventsUpdated, emptyErrorHandler));
     }
 
     @Override
@@ -268,7 +268,7 @@ public final class GameFragment extends MainActivityFragment
 
     private void onRemoveRefereeClicked() {
         if (!privilegeStatus.get()) return;
-        game.getReferee().update(User.empty());
+        game.setReferee(User.empty());
         toggleProgress(true);
         updateGame();
     }
@@ -305,7 +305,7 @@ public final class GameFragment extends MainActivityFragment
                 .setTitle(R.string.game_add_referee_title)
                 .setMessage(R.string.game_add_referee_prompt)
                 .setPositiveButton(R.string.yes, (dialog, which) -> {
-                    game.getReferee().update(user);
+                    game.setReferee(user);
                     toggleProgress(true);
                     updateGame();
                 })
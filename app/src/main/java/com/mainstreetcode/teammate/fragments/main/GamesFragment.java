@@ -126,6 +126,7 @@ public final class GamesFragment extends MainActivityFragment
         super.onResume();
         fetchGames(true);
         watchForRoleChanges(team, this::togglePersistentUi);
+        disposables.add(gameViewModel.listenForChanges(team).subscribe(this::onGamesUpdated, emptyErrorHandler));
     }
 
     @Override
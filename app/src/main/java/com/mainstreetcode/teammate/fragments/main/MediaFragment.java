@@ -134,6 +134,7 @@ public class MediaFragment extends MainActivityFragment
         fetchMedia(true);
         toggleContextMenu(mediaViewModel.hasSelections(team));
         disposables.add(mediaViewModel.listenForUploads().subscribe(this::onMediaUpdated, emptyErrorHandler));
+        disposables.add(mediaViewModel.listenForChanges(team).subscribe(this::onMediaUpdated, emptyErrorHandler));
     }
 
     @Override
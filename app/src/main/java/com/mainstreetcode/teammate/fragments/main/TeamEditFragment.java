@@ -68,7 +68,8 @@ public class TeamEditFragment extends HeaderedFragment<Team>
 
     static TeamEditFragment newCreateInstance() {return newInstance(Team.empty());}
 
-    static TeamEditFragment newEditInstance(Team team) {return newInstance(team);}
+    // Edit a copy, the team may be shared with other screens
+    static TeamEditFragment newEditInstance(Team team) {return newInstance((Team) team.makeCopy());}
 
     private static TeamEditFragment newInstance(Team team) {
         TeamEditFragment fragment = new TeamEditFragment();
@@ -125,6 +125,7 @@ public class TeamMembersFragment extends MainActivityFragment
         super.onResume();
         fetchTeamMembers(true);
         watchForRoleChanges(team, this::togglePersistentUi);
+        disposables.add(teamMemberViewModel.listenForChanges(team).subscribe(this::onTeamUpdated, emptyErrorHandler));
     }
 
     @Override
@@ -122,6 +122,7 @@ public final class TournamentsFragment extends MainActivityFragment
         super.onResume();
         fetchTournaments(true);
         watchForRoleChanges(team, this::togglePersistentUi);
+        disposables.add(tournamentViewModel.listenForChanges(team).subscribe(this::onTournamentsUpdated, emptyErrorHandler));
     }
 
     @Override
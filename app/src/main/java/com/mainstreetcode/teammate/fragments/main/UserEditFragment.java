@@ -61,7 +61,8 @@ public class UserEditFragment extends HeaderedFragment<User>
         UserEditFragment fragment = new UserEditFragment();
         Bundle args = new Bundle();
 
-        args.putParcelable(ARG_USER, user);
+        // Edit a copy, the user may be shared with other screens
+        args.putParcelable(ARG_USER, user.makeCopy());
         fragment.setArguments(args);
         return fragment;
     }
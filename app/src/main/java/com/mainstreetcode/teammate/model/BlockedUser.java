@@ -58,8 +58,8 @@ public class BlockedUser implements UserHost,
         ListableModel<BlockedUser> {
 
     private String id;
-    private final User user;
-    private final Team team;
+    private User user;
+    private Team team;
     private final BlockReason reason;
     private final Date created;
 
@@ -118,8 +118,8 @@ public class BlockedUser implements UserHost,
     public void update(BlockedUser updated) {
         this.id = updated.id;
         this.reason.update(updated.reason);
-        if (updated.user.hasMajorFields()) this.user.update(updated.user);
-        if (updated.team.hasMajorFields()) this.team.update(updated.team);
+        if (updated.user.hasMajorFields()) this.user = updated.user;
+        if (updated.team.hasMajorFields()) this.team = updated.team;
     }
 
     @Override
@@ -29,6 +29,7 @@ import android.annotation.SuppressLint;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -36,11 +37,14 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.mainstreetcode.teammate.persistence.entity.TeamEntity;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.mainstreetcode.teammate.util.ObjectId;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -50,6 +54,7 @@ import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 
@@ -58,7 +63,11 @@ import static com.mainstreetcode.teammate.util.ModelUtils.processString;
 
 @Entity(
         tableName = "team_chats",
-        foreignKeys = @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "team_chat_team", onDelete = CASCADE)
+        foreignKeys = @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "team_chat_team", onDelete = CASCADE),
+        indices = {
+                @Index(value = {"team_chat_team", "team_chat_created"}),
+                @Index(value = "team_chat_user")
+        }
 )
 public class Chat implements
         TeamHost,
@@ -149,8 +158,8 @@ public class Chat implements
         created = updated.created;
         isSuccessful = updated.isSuccessful;
 
-        user.update(updated.user);
-        team.update(updated.team);
+        user = updated.user;
+        team = updated.team;
     }
 
     @Override
@@ -256,6 +265,35 @@ public class Chat implements
             return new Chat(id, kind, content, user, team, created);
         }
 
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         */
+        public static Chat read(JsonReader in, Gson gson) throws IOException {
+            String id = "";
+            String kind = "";
+            String content = "";
+            String created = "";
+            User user = null;
+            Team team = null;
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case UID_KEY: id = JsonStreams.nextString(in); break;
+                case KIND_KEY: kind = JsonStreams.nextString(in); break;
+                case CONTENT_KEY: content = JsonStreams.nextString(in); break;
+                case DATE_KEY: created = JsonStreams.nextString(in); break;
+                case USER_KEY: user = gson.getAdapter(User.class).read(in); break;
+                case TEAM_KEY: team = gson.getAdapter(Team.class).read(in); break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            if (user == null) user = User.empty();
+            if (team == null) team = Team.empty();
+
+            return new Chat(id, kind, content, user, team, ModelUtils.parseDate(created));
+        }
+
         @Override
         public JsonElement serialize(Chat src, Type typeOfSrc, JsonSerializationContext context) {
             JsonObject team = new JsonObject();
@@ -62,6 +62,12 @@ public class Competitor extends CompetitorEntity
         return new Competitor("", "", null, null, entity, new Date(), -1, false, false);
     }
 
+    public static Competitor withId(String id) {
+        Competitor empty = empty();
+        empty.id = id;
+        return empty;
+    }
+
     public Competitor(@NonNull String id, String refPath, String tournamentId, String gameId,
                       Competitive entity, Date created,
                       int seed, boolean accepted, boolean declined) {
@@ -110,7 +116,7 @@ public class Competitor extends CompetitorEntity
     }
 
     public void updateEntity(Competitive updated) {
-        if (entity.update(updated)) return;
+        // Replaced rather than updated, the entity may be a shared team or user
         entity = updated.makeCopy();
     }
 
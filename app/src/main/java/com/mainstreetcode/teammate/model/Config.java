@@ -186,6 +186,7 @@ public class Config implements Model<Config> {
         this.defaultTeamLogo = updated.defaultTeamLogo;
         this.defaultEventLogo = updated.defaultEventLogo;
         this.defaultUserAvatar = updated.defaultUserAvatar;
+        this.defaultTournamentLogo = updated.defaultTournamentLogo;
         ModelUtils.replaceStringList(privileged, updated.privileged);
 
         ModelUtils.replaceList(sports, updated.sports);
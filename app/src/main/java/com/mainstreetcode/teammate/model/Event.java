@@ -35,6 +35,7 @@ import com.google.android.gms.location.places.Place;
 import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -43,14 +44,17 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.mainstreetcode.teammate.R;
 import com.mainstreetcode.teammate.model.enums.Visibility;
 import com.mainstreetcode.teammate.persistence.entity.EventEntity;
 import com.mainstreetcode.teammate.util.IdCache;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.mainstreetcode.teammate.util.TextBitmapUtil;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Date;
@@ -80,6 +84,12 @@ public class Event extends EventEntity
         return new Event("", "", Config.getDefaultEventLogo(), "", "", "", date, date, Team.empty(), null, Visibility.empty(), DEFAULT_NUM_SPOTS);
     }
 
+    public static Event withId(String id) {
+        Event empty = empty();
+        empty.id = id;
+        return empty;
+    }
+
     public Event(String id, String gameId, String imageUrl, CharSequence name, CharSequence notes, CharSequence locationName,
                  Date startDate, Date endDate, Team team, LatLng location, Visibility visibility, int spots) {
         super(id, gameId, imageUrl, name, notes, locationName, startDate, endDate, team, location, visibility, spots);
@@ -149,7 +159,7 @@ public class Event extends EventEntity
         this.location = updatedEvent.location;
         this.locationName = updatedEvent.locationName;
         this.visibility.update(updatedEvent.visibility);
-        if (updatedEvent.team.hasMajorFields()) this.team.update(updatedEvent.team);
+        if (updatedEvent.team.hasMajorFields()) this.team = updatedEvent.team;
     }
 
     @Override
@@ -165,7 +175,7 @@ public class Event extends EventEntity
     }
 
     public void setTeam(Team team) {
-        this.team.update(team);
+        this.team = team;
     }
 
     @SuppressLint("CheckResult")
@@ -248,6 +258,53 @@ public class Event extends EventEntity
             return serialized;
         }
 
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         */
+        public static Event read(JsonReader in, Gson gson) throws IOException {
+            if (JsonStreams.isPrimitive(in.peek())) {
+                return new Event(JsonStreams.nextString(in), "", "", "", "", "", new Date(), new Date(), Team.empty(), null, Visibility.empty(), DEFAULT_NUM_SPOTS);
+            }
+
+            String id = "";
+            String gameId = "";
+            String name = "";
+            String notes = "";
+            String imageUrl = "";
+            String visibilityCode = "";
+            String locationName = "";
+            String startDate = "";
+            String endDate = "";
+            int spots = 0;
+            Team team = null;
+            LatLng location = null;
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case ID_KEY: id = JsonStreams.nextString(in); break;
+                case GAME: gameId = JsonStreams.nextString(in); break;
+                case NAME_KEY: name = JsonStreams.nextString(in); break;
+                case NOTES_KEY: notes = JsonStreams.nextString(in); break;
+                case IMAGE_KEY: imageUrl = JsonStreams.nextString(in); break;
+                case VISIBILITY_KEY: visibilityCode = JsonStreams.nextString(in); break;
+                case LOCATION_NAME_KEY: locationName = JsonStreams.nextString(in); break;
+                case START_DATE_KEY: startDate = JsonStreams.nextString(in); break;
+                case END_DATE_KEY: endDate = JsonStreams.nextString(in); break;
+                case SPOTS_KEY: spots = (int) JsonStreams.nextFloat(in); break;
+                case TEAM_KEY: team = gson.getAdapter(Team.class).read(in); break;
+                case LOCATION_KEY: location = JsonStreams.nextCoordinates(in); break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            if (spots == 0) spots = DEFAULT_NUM_SPOTS;
+            if (team == null) team = Team.empty();
+
+            return new Event(id, gameId, imageUrl,
+                    ModelUtils.processString(name), ModelUtils.processString(notes), ModelUtils.processString(locationName),
+                    ModelUtils.parseDate(startDate), ModelUtils.parseDate(endDate), team, location, Config.visibilityFromCode(visibilityCode), spots);
+        }
+
         @Override
         public Event deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
             if (json.isJsonPrimitive()) {
@@ -29,6 +29,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 import android.text.TextUtils;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -36,13 +37,16 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.mainstreetcode.teammate.R;
 import com.mainstreetcode.teammate.model.enums.Sport;
 import com.mainstreetcode.teammate.persistence.entity.GameEntity;
 import com.mainstreetcode.teammate.util.IdCache;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Date;
@@ -152,9 +156,9 @@ public class Game extends GameEntity
         this.awayEntityId = updatedGame.awayEntityId;
         this.winnerEntityId = updatedGame.winnerEntityId;
         if (updatedGame.referee.hasMajorFields())
-            this.referee.update(updatedGame.referee);
+            this.referee = updatedGame.referee;
         if (updatedGame.host.hasMajorFields())
-            this.host.update(updatedGame.host);
+            this.host = updatedGame.host;
         if (updatedGame.tournament.hasMajorFields())
             this.tournament.update(updatedGame.tournament);
         if (updatedGame.home.hasMajorFields() && this.home.hasSameType(updatedGame.home))
@@ -236,6 +240,86 @@ public class Game extends GameEntity
             return body;
         }
 
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         */
+        public static Game read(JsonReader in, Gson gson) throws IOException {
+            if (JsonStreams.isPrimitive(in.peek())) {
+                return new Game(JsonStreams.nextString(in), "", "", "TBD", "", "", "", "",
+                        new Date(), Sport.empty(), User.empty(), Team.empty(), Event.empty(), Tournament.empty(Team.empty()),
+                        Competitor.empty(), Competitor.empty(), Competitor.empty(),
+                        0, 0, 0, 0, 0, false, false);
+            }
+
+            String id = "";
+            String name = "";
+            String refPath = "";
+            String score = "";
+            String matchUp = "";
+            String homeEntityId = "";
+            String awayEntityId = "";
+            String winnerEntityId = "";
+            String created = "";
+            String sportCode = "";
+
+            int seed = 0;
+            int leg = 0;
+            int round = 0;
+            int homeScore = 0;
+            int awayScore = 0;
+            boolean ended = false;
+            boolean canDraw = false;
+
+            User referee = null;
+            Team host = null;
+            Event event = null;
+            Tournament tournament = null;
+            Competitor home = null;
+            Competitor away = null;
+            Competitor winner = Competitor.empty();
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case ID_KEY: id = JsonStreams.nextString(in); break;
+                case NAME: name = JsonStreams.nextString(in); break;
+                case REF_PATH: refPath = JsonStreams.nextString(in); break;
+                case SCORE: score = JsonStreams.nextString(in); break;
+                case MATCH_UP: matchUp = JsonStreams.nextString(in); break;
+                case HOME_ENTITY_ID: homeEntityId = JsonStreams.nextString(in); break;
+                case AWAY_ENTITY_ID: awayEntityId = JsonStreams.nextString(in); break;
+                case WINNER_ENTITY_ID: winnerEntityId = JsonStreams.nextString(in); break;
+                case CREATED_KEY: created = JsonStreams.nextString(in); break;
+                case SPORT_KEY: sportCode = JsonStreams.nextString(in); break;
+                case SEED: seed = (int) JsonStreams.nextFloat(in); break;
+                case LEG: leg = (int) JsonStreams.nextFloat(in); break;
+                case ROUND: round = (int) JsonStreams.nextFloat(in); break;
+                case HOME_SCORE: homeScore = (int) JsonStreams.nextFloat(in); break;
+                case AWAY_SCORE: awayScore = (int) JsonStreams.nextFloat(in); break;
+                case ENDED: ended = JsonStreams.nextBoolean(in); break;
+                case CAN_DRAW: canDraw = JsonStreams.nextBoolean(in); break;
+                case REFEREE: referee = gson.getAdapter(User.class).read(in); break;
+                case HOST: host = gson.getAdapter(Team.class).read(in); break;
+                case EVENT: event = gson.getAdapter(Event.class).read(in); break;
+                case TOURNAMENT: tournament = gson.getAdapter(Tournament.class).read(in); break;
+                case HOME: home = gson.getAdapter(Competitor.class).read(in); break;
+                case AWAY: away = gson.getAdapter(Competitor.class).read(in); break;
+                case WINNER: winner = gson.getAdapter(Competitor.class).read(in); break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            if (referee == null) referee = User.empty();
+            if (host == null) host = Team.empty();
+            if (event == null) event = Event.empty();
+            if (home == null) home = Competitor.empty();
+            if (away == null) away = Competitor.empty();
+            if (tournament == null) tournament = Tournament.empty();
+
+            return new Game(id, name, refPath, score, matchUp, homeEntityId, awayEntityId, winnerEntityId,
+                    ModelUtils.parseDate(created), Config.sportFromCode(sportCode), referee, host, event, tournament,
+                    home, away, winner, seed, leg, round, homeScore, awayScore, ended, canDraw);
+        }
+
         @Override
         public Game deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
             if (json.isJsonPrimitive()) {
@@ -119,7 +119,7 @@ public class Guest extends GuestEntity
         id = updated.id;
         attending = updated.attending;
         created = updated.created;
-        if (updated.user.hasMajorFields()) user.update(updated.user);
+        if (updated.user.hasMajorFields()) user = updated.user;
     }
 
     @Override
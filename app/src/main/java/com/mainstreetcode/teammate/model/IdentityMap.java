@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.model;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process wide identity map so a {@link Team} or {@link User} read from the network or the
+ * database is represented by a single instance, however many {@link Role roles},
+ * {@link Chat chats}, {@link Media media} or {@link Event events} reference it.
+ * <p>
+ * Values are held weakly, an instance lives only as long as something on screen or in a
+ * cache references it. Interning an id only stub returns the shared instance as is.
+ * <p>
+ * Shared instances are copied on write. A populated copy whose displayed contents differ
+ * replaces the shared instance instead of being folded into it, so lists that hold the old one
+ * still diff against what they show. Only fields that do not change what is displayed are
+ * written into the shared instance. Screens that edit a team or user work on a copy of it.
+ */
+public final class IdentityMap {
+
+    private static final Map<Key, Entry> instances = new HashMap<>();
+    private static final ReferenceQueue<Model<?>> collected = new ReferenceQueue<>();
+
+    private static boolean enabled = true;
+
+    private IdentityMap() {}
+
+    /**
+     * @return the shared instance for the model's type and id, updated with the model's values
+     * if it is populated and displays the same, or the model itself if it is the first of its
+     * kind to be interned or displays differently.
+     */
+    public static synchronized <T extends Model<T>> T intern(T model) {
+        if (!enabled || model.isEmpty() || TextUtils.isEmpty(model.getId())) return model;
+
+        purge();
+
+        Key key = new Key(model.getClass(), model.getId());
+        T shared = get(key);
+
+        if (shared == model) return model;
+
+        boolean populated = model.hasMajorFields();
+        if (shared == null || (populated && !shared.areContentsTheSame(model))) {
+            instances.put(key, new Entry(key, model, collected));
+            return model;
+        }
+
+        if (populated) shared.update(model);
+        return shared;
+    }
+
+    public static synchronized void clear() {
+        instances.clear();
+        purge();
+    }
+
+    @VisibleForTesting
+    public static synchronized void setEnabled(boolean enabled) {
+        IdentityMap.enabled = enabled;
+        clear();
+    }
+
+    @VisibleForTesting
+    public static synchronized int size() {
+        purge();
+        return instances.size();
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <T extends Model<T>> T get(Key key) {
+        Entry entry = instances.get(key);
+        return entry == null ? null : (T) entry.get();
+    }
+
+    private static void purge() {
+        for (Entry entry; (entry = (Entry) collected.poll()) != null; )
+            if (instances.get(entry.key) == entry) instances.remove(entry.key);
+    }
+
+    private static final class Entry extends WeakReference<Model<?>> {
+        private final Key key;
+
+        Entry(Key key, Model<?> referent, ReferenceQueue<Model<?>> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final String id;
+
+        Key(Class<?> type, String id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return type == other.type && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + id.hashCode();
+        }
+    }
+}
@@ -147,8 +147,8 @@ public class JoinRequest extends JoinRequestEntity
         this.id = updated.id;
 
         position.update(updated.position);
-        if (updated.team.hasMajorFields()) team.update(updated.team);
-        if (updated.user.hasMajorFields()) user.update(updated.user);
+        if (updated.team.hasMajorFields()) team = updated.team;
+        if (updated.user.hasMajorFields()) user = updated.user;
     }
 
     @Override
@@ -28,6 +28,7 @@ package com.mainstreetcode.teammate.model;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.net.Uri;
 import android.os.Parcel;
@@ -35,6 +36,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import android.text.TextUtils;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -43,12 +45,15 @@ import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.mainstreetcode.teammate.persistence.entity.TeamEntity;
 import com.mainstreetcode.teammate.persistence.entity.UserEntity;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.mainstreetcode.teammate.util.ObjectId;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Date;
 
@@ -59,6 +64,10 @@ import static androidx.room.ForeignKey.CASCADE;
         foreignKeys = {
                 @ForeignKey(entity = UserEntity.class, parentColumns = "user_id", childColumns = "media_user", onDelete = CASCADE),
                 @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "media_team", onDelete = CASCADE)
+        },
+        indices = {
+                @Index(value = {"media_team", "media_created"}),
+                @Index(value = "media_user")
         }
 )
 public class Media implements
@@ -157,8 +166,8 @@ public class Media implements
         mimeType = updated.mimeType;
         created = updated.created;
 
-        team.update(updated.team);
-        user.update(updated.user);
+        team = updated.team;
+        user = updated.user;
         flagged = updated.flagged;
     }
 
@@ -266,6 +275,38 @@ public class Media implements
             return new Media(id, url, mimeType, thumbnail, user, team, created, flagged);
         }
 
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         */
+        public static Media read(JsonReader in, Gson gson) throws IOException {
+            String id = "";
+            String url = "";
+            String mimeType = "";
+            String thumbnail = "";
+            String created = "";
+            boolean flagged = false;
+            User user = null;
+            Team team = null;
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case UID_KEY: id = JsonStreams.nextString(in); break;
+                case URL_KEY: url = JsonStreams.nextString(in); break;
+                case MIME_TYPE_KEY: mimeType = JsonStreams.nextString(in); break;
+                case THUMBNAIL_KEY: thumbnail = JsonStreams.nextString(in); break;
+                case DATE_KEY: created = JsonStreams.nextString(in); break;
+                case FLAGGED_KEY: flagged = JsonStreams.nextBoolean(in); break;
+                case USER_KEY: user = gson.getAdapter(User.class).read(in); break;
+                case TEAM_KEY: team = gson.getAdapter(Team.class).read(in); break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            if (user == null) user = User.empty();
+
+            return new Media(id, url, mimeType, thumbnail, user, team, ModelUtils.parseDate(created), flagged);
+        }
+
         @Override
         public JsonElement serialize(Media src, Type typeOfSrc, JsonSerializationContext context) {
 //            JsonObject media = new JsonObject();
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Date;
+
+/**
+ * A keyset position in a list sorted by a date then id, both descending. Rows that share a
+ * date are ordered by id, so a page boundary never skips or repeats them.
+ */
+public final class PageCursor {
+
+    private static final String NO_ID = "";
+
+    private final Date date;
+    private final String id;
+
+    private PageCursor(Date date, String id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static PageCursor of(@NonNull Date date, @NonNull String id) {
+        return new PageCursor(date, id);
+    }
+
+    /**
+     * A cursor for everything strictly before {@code date}, for the first page of a list.
+     */
+    public static PageCursor before(@NonNull Date date) {
+        return new PageCursor(date, NO_ID);
+    }
+
+    public Date getDate() { return date; }
+
+    public String getId() { return id; }
+
+    @Nullable
+    public static Date dateOf(@Nullable PageCursor cursor) {
+        return cursor == null ? null : cursor.date;
+    }
+
+    @Nullable
+    public static String idOf(@Nullable PageCursor cursor) {
+        return cursor == null || NO_ID.equals(cursor.id) ? null : cursor.id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PageCursor)) return false;
+        PageCursor that = (PageCursor) o;
+        return date.equals(that.date) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * date.hashCode() + id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{" + date + ", " + id + "}";
+    }
+}
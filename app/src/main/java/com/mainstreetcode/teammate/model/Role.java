@@ -28,6 +28,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.text.TextUtils;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -35,14 +36,17 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.mainstreetcode.teammate.R;
 import com.mainstreetcode.teammate.model.enums.Position;
 import com.mainstreetcode.teammate.persistence.entity.RoleEntity;
 import com.mainstreetcode.teammate.util.IdCache;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.tunjid.androidbootstrap.core.text.SpanBuilder;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Date;
@@ -124,8 +128,8 @@ public class Role extends RoleEntity
         this.imageUrl = updated.imageUrl;
         this.nickname = updated.nickname;
         this.position.update(updated.position);
-        if (updated.team.hasMajorFields()) this.team.update(updated.team);
-        if (updated.user.hasMajorFields()) this.user.update(updated.user);
+        if (updated.team.hasMajorFields()) this.team = updated.team;
+        if (updated.user.hasMajorFields()) this.user = updated.user;
     }
 
     @Override
@@ -207,6 +211,36 @@ public class Role extends RoleEntity
             return serialized;
         }
 
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         */
+        public static Role read(JsonReader in, Gson gson) throws IOException {
+            String id = "";
+            String imageUrl = "";
+            String nickname = "";
+            String positionName = "";
+            String created = "";
+            Team team = null;
+            User user = null;
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case ID_KEY: id = JsonStreams.nextString(in); break;
+                case IMAGE_KEY: imageUrl = JsonStreams.nextString(in); break;
+                case NICK_NAME_KEY: nickname = JsonStreams.nextString(in); break;
+                case NAME_KEY: positionName = JsonStreams.nextString(in); break;
+                case CREATED_KEY: created = JsonStreams.nextString(in); break;
+                case TEAM_KEY: team = gson.getAdapter(Team.class).read(in); break;
+                case USER_KEY: user = gson.getAdapter(User.class).read(in); break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            if (user == null) user = User.empty();
+
+            return new Role(id, imageUrl, nickname, Config.positionFromCode(positionName), team, user, ModelUtils.parseDate(created));
+        }
+
         @Override
         public Role deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
 
@@ -128,8 +128,8 @@ public class Stat extends StatEntity
         this.time = updatedStat.time;
         this.statType.update(updatedStat.statType);
         this.sport.update(updatedStat.sport);
-        if (updatedStat.user.hasMajorFields()) this.user.update(updatedStat.user);
-        if (updatedStat.team.hasMajorFields()) this.team.update(updatedStat.team);
+        if (updatedStat.user.hasMajorFields()) this.user = updatedStat.user;
+        if (updatedStat.team.hasMajorFields()) this.team = updatedStat.team;
         if (updatedStat.game.hasMajorFields()) this.game.update(updatedStat.game);
     }
 
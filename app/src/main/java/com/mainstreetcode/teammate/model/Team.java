@@ -32,6 +32,7 @@ import androidx.annotation.NonNull;
 import android.text.TextUtils;
 
 import com.google.android.gms.maps.model.LatLng;
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -40,13 +41,16 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.mainstreetcode.teammate.R;
 import com.mainstreetcode.teammate.model.enums.Sport;
 import com.mainstreetcode.teammate.persistence.entity.TeamEntity;
 import com.mainstreetcode.teammate.util.IdCache;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Date;
@@ -90,6 +94,12 @@ public class Team extends TeamEntity
         return new Team(NEW_TEAM, Config.getDefaultTeamLogo(), "", "Detroit️", "", "", "My Team", "", new Date(), null, Sport.empty(), 0, 0, 0, 0);
     }
 
+    public static Team withId(String id) {
+        Team empty = empty();
+        empty.id = id;
+        return empty;
+    }
+
     @Override
     public List<Item<Team>> asItems() {
         return Arrays.asList(
@@ -234,7 +244,7 @@ public class Team extends TeamEntity
         @Override
         public Team deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
             if (json.isJsonPrimitive()) {
-                return new Team(json.getAsString(), "", "", "", "", "", "", "", new Date(), new LatLng(0, 0), Sport.empty(), 0, 0, 0, 0);
+                return IdentityMap.intern(new Team(json.getAsString(), "", "", "", "", "", "", "", new Date(), new LatLng(0, 0), Sport.empty(), 0, 0, 0, 0));
             }
 
             JsonObject teamJson = json.getAsJsonObject();
@@ -256,9 +266,60 @@ public class Team extends TeamEntity
             int minAge = (int) ModelUtils.asFloat(MIN_AGE_KEY, teamJson);
             int maxAge = (int) ModelUtils.asFloat(MAX_AGE_KEY, teamJson);
 
-            return new Team(id, imageUrl, screenName, city, state, zip,
+            return IdentityMap.intern(new Team(id, imageUrl, screenName, city, state, zip,
+                    ModelUtils.processString(name), ModelUtils.processString(description),
+                    created, location, sport, storageUsed, maxStorage, minAge, maxAge));
+        }
+
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         */
+        public static Team read(JsonReader in, Gson gson) throws IOException {
+            if (JsonStreams.isPrimitive(in.peek())) {
+                return IdentityMap.intern(new Team(JsonStreams.nextString(in), "", "", "", "", "", "", "", new Date(), new LatLng(0, 0), Sport.empty(), 0, 0, 0, 0));
+            }
+
+            String id = "";
+            String name = "";
+            String screenName = "";
+            String city = "";
+            String state = "";
+            String zip = "";
+            String sportCode = "";
+            String description = "";
+            String imageUrl = "";
+            String created = "";
+            LatLng location = null;
+            long storageUsed = 0;
+            long maxStorage = 0;
+            int minAge = 0;
+            int maxAge = 0;
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case UID_KEY: id = JsonStreams.nextString(in); break;
+                case NAME_KEY: name = JsonStreams.nextString(in); break;
+                case SCREEN_NAME: screenName = JsonStreams.nextString(in); break;
+                case CITY_KEY: city = JsonStreams.nextString(in); break;
+                case STATE_KEY: state = JsonStreams.nextString(in); break;
+                case ZIP_KEY: zip = JsonStreams.nextString(in); break;
+                case SPORT_KEY: sportCode = JsonStreams.nextString(in); break;
+                case DESCRIPTION_KEY: description = JsonStreams.nextString(in); break;
+                case IMAGE_URL_KEY: imageUrl = JsonStreams.nextString(in); break;
+                case CREATED_KEY: created = JsonStreams.nextString(in); break;
+                case LOCATION_KEY: location = JsonStreams.nextCoordinates(in); break;
+                case STORAGE_USED_KEY: storageUsed = (long) JsonStreams.nextFloat(in); break;
+                case MAX_STORAGE_KEY: maxStorage = (long) JsonStreams.nextFloat(in); break;
+                case MIN_AGE_KEY: minAge = (int) JsonStreams.nextFloat(in); break;
+                case MAX_AGE_KEY: maxAge = (int) JsonStreams.nextFloat(in); break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            return IdentityMap.intern(new Team(id, imageUrl, screenName, city, state, zip,
                     ModelUtils.processString(name), ModelUtils.processString(description),
-                    created, location, sport, storageUsed, maxStorage, minAge, maxAge);
+                    ModelUtils.parseDate(created), location, Config.sportFromCode(sportCode),
+                    storageUsed, maxStorage, minAge, maxAge));
         }
 
         @Override
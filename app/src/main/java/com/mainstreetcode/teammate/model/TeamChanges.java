@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.model;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.mainstreetcode.teammate.util.ModelUtils;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What changed in a team after a sync token: the models created or updated since, stubs for
+ * the ones deleted since, and the token to send on the next sync. Without a token the server
+ * answers with a snapshot, every model the team still has.
+ */
+public class TeamChanges {
+
+    private static final Map<Class<? extends Model>, String> TYPES = new LinkedHashMap<>();
+
+    static {
+        TYPES.put(Event.class, "events");
+        TYPES.put(Game.class, "games");
+        TYPES.put(Tournament.class, "tournaments");
+        TYPES.put(Role.class, "roles");
+        TYPES.put(Media.class, "media");
+    }
+
+    private final String token;
+    private boolean snapshot;
+    private final Map<Class<? extends Model>, List<Model>> upserted = new LinkedHashMap<>();
+    private final Map<Class<? extends Model>, List<Model>> removed = new LinkedHashMap<>();
+
+    private TeamChanges(String token) {
+        this.token = token;
+    }
+
+    public static Iterable<Class<? extends Model>> types() { return TYPES.keySet(); }
+
+    public String getToken() { return token; }
+
+    public boolean isSnapshot() { return snapshot; }
+
+    public TeamChanges asSnapshot() {
+        snapshot = true;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        for (List<Model> models : upserted.values()) if (!models.isEmpty()) return false;
+        for (List<Model> models : removed.values()) if (!models.isEmpty()) return false;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Model> List<T> getUpserted(Class<T> type) {
+        List<Model> models = upserted.get(type);
+        return models == null ? Collections.emptyList() : (List<T>) models;
+    }
+
+    /**
+     * @return stubs carrying only the ids of the models deleted since the last sync
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Model> List<T> getRemoved(Class<T> type) {
+        List<Model> models = removed.get(type);
+        return models == null ? Collections.emptyList() : (List<T>) models;
+    }
+
+    /**
+     * Marks {@code models} as deleted, for stored models a snapshot no longer has
+     */
+    public void addRemoved(Class<? extends Model> type, List<? extends Model> models) {
+        List<Model> removed = this.removed.get(type);
+        if (removed == null) this.removed.put(type, removed = new ArrayList<>());
+        removed.addAll(models);
+    }
+
+    public static class GsonAdapter
+            implements
+            JsonDeserializer<TeamChanges> {
+
+        private static final String UID_KEY = "_id";
+        private static final String TOKEN_KEY = "token";
+        private static final String REMOVED_KEY = "removed";
+
+        @Override
+        public TeamChanges deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+            JsonObject changesJson = json.getAsJsonObject();
+            JsonObject removedJson = changesJson.has(REMOVED_KEY) ? changesJson.getAsJsonObject(REMOVED_KEY) : new JsonObject();
+
+            TeamChanges changes = new TeamChanges(ModelUtils.asString(TOKEN_KEY, changesJson));
+
+            for (Map.Entry<Class<? extends Model>, String> entry : TYPES.entrySet()) {
+                Class<? extends Model> type = entry.getKey();
+                String key = entry.getValue();
+
+                List<Model> upserted = new ArrayList<>();
+                if (changesJson.has(key)) for (JsonElement element : changesJson.getAsJsonArray(key))
+                    upserted.add(context.deserialize(element, type));
+
+                List<Model> removed = new ArrayList<>();
+                if (removedJson.has(key)) for (JsonElement element : removedJson.getAsJsonArray(key))
+                    removed.add(context.deserialize(stub(element), type));
+
+                changes.upserted.put(type, upserted);
+                changes.removed.put(type, removed);
+            }
+
+            return changes;
+        }
+
+        // Tombstones are bare ids; the model adapters fill every other field with its default
+        private static JsonObject stub(JsonElement id) {
+            JsonObject stub = new JsonObject();
+            stub.addProperty(UID_KEY, id.getAsString());
+            return stub;
+        }
+    }
+}
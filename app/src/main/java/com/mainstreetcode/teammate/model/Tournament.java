@@ -147,7 +147,7 @@ public class Tournament extends TournamentEntity
         return TextUtils.isEmpty(id);
     }
 
-    public void updateHost(Team team) { host.update(team); }
+    public void updateHost(Team team) { host = team; }
 
     @Override
     @SuppressWarnings("unchecked")
@@ -166,7 +166,7 @@ public class Tournament extends TournamentEntity
         this.type.update(updatedTournament.type);
         this.style.update(updatedTournament.style);
         this.sport.update(updatedTournament.sport);
-        if (updatedTournament.host.hasMajorFields()) this.host.update(updatedTournament.host);
+        if (updatedTournament.host.hasMajorFields()) this.host = updatedTournament.host;
         if (this.winner.hasSameType(updatedTournament.winner))
             winner.update(updatedTournament.winner);
         else this.winner = updatedTournament.winner;
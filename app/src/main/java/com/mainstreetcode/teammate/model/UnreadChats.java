@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.model;
+
+import java.util.List;
+
+/**
+ * The newest unread chats in a team, and how many chats are unread in all
+ */
+public class UnreadChats {
+
+    private final Team team;
+    private final List<Chat> chats;
+    private final int unreadCount;
+
+    public UnreadChats(Team team, List<Chat> chats, int unreadCount) {
+        this.team = team;
+        this.chats = chats;
+        this.unreadCount = unreadCount;
+    }
+
+    public Team getTeam() { return team; }
+
+    /**
+     * The newest unread chats, newest first. There may be fewer than {@link #getUnreadCount()}.
+     */
+    public List<Chat> getChats() { return chats; }
+
+    public int getUnreadCount() { return unreadCount; }
+}
@@ -30,6 +30,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import android.text.TextUtils;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -37,12 +38,15 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
 import com.mainstreetcode.teammate.R;
 import com.mainstreetcode.teammate.persistence.entity.UserEntity;
 import com.mainstreetcode.teammate.util.IdCache;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.List;
@@ -76,6 +80,12 @@ public class User extends UserEntity implements
         return new User("", Config.getDefaultUserAvatar(), "", "", "", "", "");
     }
 
+    public static User withId(String id) {
+        User empty = empty();
+        empty.id = id;
+        return empty;
+    }
+
     public void setId(String id) { this.id = id; }
 
     @Override
@@ -206,7 +216,7 @@ public class User extends UserEntity implements
         @Override
         public User deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
             if (json.isJsonPrimitive()) {
-                return new User(json.getAsString(), "", "", "", "", "", "");
+                return IdentityMap.intern(new User(json.getAsString(), "", "", "", "", "", ""));
             }
 
             JsonObject userObject = json.getAsJsonObject();
@@ -219,8 +229,41 @@ public class User extends UserEntity implements
             String lastName = asString(LAST_NAME_KEY, userObject);
             String about = asString(ABOUT_KEY, userObject);
 
-            return new User(id, imageUrl, screenName, primaryEmail,
-                    ModelUtils.processString(firstName), ModelUtils.processString(lastName), ModelUtils.processString(about));
+            return IdentityMap.intern(new User(id, imageUrl, screenName, primaryEmail,
+                    ModelUtils.processString(firstName), ModelUtils.processString(lastName), ModelUtils.processString(about)));
+        }
+
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         */
+        public static User read(JsonReader in, Gson gson) throws IOException {
+            if (JsonStreams.isPrimitive(in.peek())) {
+                return IdentityMap.intern(new User(JsonStreams.nextString(in), "", "", "", "", "", ""));
+            }
+
+            String id = "";
+            String imageUrl = "";
+            String screenName = "";
+            String primaryEmail = "";
+            String firstName = "";
+            String lastName = "";
+            String about = "";
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case UID_KEY: id = JsonStreams.nextString(in); break;
+                case IMAGE_KEY: imageUrl = JsonStreams.nextString(in); break;
+                case SCREEN_NAME: screenName = JsonStreams.nextString(in); break;
+                case PRIMARY_EMAIL_KEY: primaryEmail = JsonStreams.nextString(in); break;
+                case FIRST_NAME_KEY: firstName = JsonStreams.nextString(in); break;
+                case LAST_NAME_KEY: lastName = JsonStreams.nextString(in); break;
+                case ABOUT_KEY: about = JsonStreams.nextString(in); break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            return IdentityMap.intern(new User(id, imageUrl, screenName, primaryEmail,
+                    ModelUtils.processString(firstName), ModelUtils.processString(lastName), ModelUtils.processString(about)));
         }
 
         @Override
@@ -35,6 +35,10 @@ public class StatAttribute extends MetaData {
         super(code, name);
     }
 
+    public static StatAttribute of(String code, String name) {
+        return new StatAttribute(code, name);
+    }
+
     public static StatAttribute empty() {
         return new StatAttribute("", "");
     }
@@ -43,6 +43,7 @@ import android.os.Bundle;
 import com.mainstreetcode.teammate.R;
 import com.mainstreetcode.teammate.model.Chat;
 import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.UnreadChats;
 import com.mainstreetcode.teammate.repository.ChatRepo;
 import com.mainstreetcode.teammate.repository.ModelRepo;
 import com.mainstreetcode.teammate.repository.RepoProvider;
@@ -130,8 +131,8 @@ public class ChatNotifier extends Notifier<Chat> {
         //noinspection ResultOfMethodCallIgnored
         repository.get(received)
                 .flatMap(chat -> repository.fetchUnreadChats())
-                .doOnNext(chats -> count.incrementAndGet())
-                .map(unreadChats -> new Pair<>(buildNotification(item, unreadChats, count.get()), unreadChats.get(0)))
+                .doOnNext(unread -> count.incrementAndGet())
+                .map(unread -> new Pair<>(buildNotification(item, unread, count.get()), unread.getChats().get(0)))
                 .observeOn(mainThread())
                 .subscribe(
                         notificationChatPair -> sendNotification(notificationChatPair.first, notificationChatPair.second),
@@ -139,8 +140,9 @@ public class ChatNotifier extends Notifier<Chat> {
                         () -> buildSummary(item, count.get()));
     }
 
-    private Notification buildNotification(FeedItem<Chat> item, List<Chat> chats, int count) {
-        int size = chats.size();
+    private Notification buildNotification(FeedItem<Chat> item, UnreadChats unread, int count) {
+        List<Chat> chats = unread.getChats();
+        int size = unread.getUnreadCount();
         Chat latest = chats.get(0);
         CharSequence teamName = latest.getTeam().getName();
 
@@ -160,7 +162,7 @@ public class ChatNotifier extends Notifier<Chat> {
                 .setContentText(latest.getContent())
                 .build();
 
-        int min = Math.min(size - 1, MAX_LINES);
+        int min = Math.min(chats.size() - 1, MAX_LINES);
         NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle();
 
         for (int i = min; i >= 0; i--) style.addLine(getChatLine(chats.get(i)));
@@ -255,12 +257,13 @@ public class ChatNotifier extends Notifier<Chat> {
                 case ACTION_MARK_AS_READ:
                     Chat read = intent.getParcelableExtra(EXTRA_CHAT);
 
-                    repository.updateLastSeen(read.getTeam());
                     //noinspection ResultOfMethodCallIgnored
-                    repository.fetchUnreadChats().count().subscribe(count -> {
-                        notifier.clearNotifications(read);
-                        if (count < 1) notifier.clearNotifications(Chat.empty());
-                    });
+                    repository.updateLastSeen(read.getTeam())
+                            .andThen(repository.fetchUnreadChats().count())
+                            .subscribe(count -> {
+                                notifier.clearNotifications(read);
+                                if (count < 1) notifier.clearNotifications(Chat.empty());
+                            }, ErrorHandler.EMPTY);
                     break;
             }
         }
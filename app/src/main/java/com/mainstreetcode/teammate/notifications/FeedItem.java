@@ -38,6 +38,8 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.mainstreetcode.teammate.model.Chat;
 import com.mainstreetcode.teammate.model.Competitor;
 import com.mainstreetcode.teammate.model.Event;
@@ -51,9 +53,11 @@ import com.mainstreetcode.teammate.model.Role;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.Tournament;
 import com.mainstreetcode.teammate.rest.TeammateService;
+import com.mainstreetcode.teammate.util.JsonStreams;
 import com.mainstreetcode.teammate.util.Logger;
 import com.mainstreetcode.teammate.util.ModelUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Map;
 
@@ -219,6 +223,52 @@ public class FeedItem<T extends Model<T>> implements
         public GsonAdapter() {
         }
 
+        /**
+         * Streaming equivalent of {@link #deserialize(JsonElement, Type, JsonDeserializationContext)}.
+         * The model is read directly when its type precedes it, and is buffered otherwise.
+         */
+        @SuppressWarnings("unchecked")
+        public static FeedItem<?> read(JsonReader in, Gson gson) throws IOException {
+            String action = "";
+            String type = null;
+            String title = "";
+            String body = "";
+            Object model = null;
+            JsonElement modelElement = null;
+
+            in.beginObject();
+            while (in.hasNext()) switch (in.nextName()) {
+                case ACTION_KEY: action = JsonStreams.nextString(in); break;
+                case TYPE_KEY: type = JsonStreams.nextString(in); break;
+                case TITLE_KEY: title = JsonStreams.nextString(in); break;
+                case BODY_KEY: body = JsonStreams.nextString(in); break;
+                case MODEL_KEY:
+                    model = null;
+                    modelElement = null;
+                    if (type != null && in.peek() == JsonToken.BEGIN_OBJECT)
+                        model = gson.getAdapter(forType(type)).read(in);
+                    else modelElement = gson.getAdapter(JsonElement.class).read(in);
+                    break;
+                default: in.skipValue();
+            }
+            in.endObject();
+
+            if (type == null) type = "";
+            Class itemClass = forType(type);
+
+            if (modelElement != null) {
+                if (modelElement.isJsonPrimitive()) {
+                    JsonObject modelBody = new JsonObject();
+                    modelBody.addProperty(MODEL_ID_KEY, modelElement.getAsString());
+                    modelElement = modelBody;
+                }
+                model = gson.getAdapter(itemClass).fromJsonTree(modelElement);
+            }
+            else if (model == null) throw new JsonParseException("Feed item without a model");
+
+            return new FeedItem(action, title, body, type, (Model) model, itemClass);
+        }
+
         @Override
         @SuppressWarnings("unchecked")
         public FeedItem<T> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
@@ -44,12 +44,14 @@ import com.mainstreetcode.teammate.util.SingletonCache;
 
 public class NotifierProvider {
 
-    private static NotifierProvider ourInstance;
+    private static final String TAG = "NotifierProvider";
+
+    private static volatile NotifierProvider ourInstance;
 
     private final SingletonCache<Model, Notifier> singletonCache;
 
     private NotifierProvider() {
-        singletonCache = new SingletonCache<Model, Notifier>(itemClass -> {
+        singletonCache = new SingletonCache<Model, Notifier>(TAG, itemClass -> {
             if (itemClass.equals(Team.class)) return TeamNotifier.class;
             if (itemClass.equals(Role.class)) return RoleNotifier.class;
             if (itemClass.equals(Chat.class)) return ChatNotifier.class;
@@ -61,21 +63,23 @@ public class NotifierProvider {
             if (itemClass.equals(JoinRequest.class)) return JoinRequestNotifier.class;
             return falseNotifier.getClass();
         }, NotifierProvider::get,
-                new Pair<>(falseNotifier.getClass(), falseNotifier),
-                new Pair<>(TeamNotifier.class, new TeamNotifier()),
-                new Pair<>(RoleNotifier.class, new RoleNotifier()),
-                new Pair<>(ChatNotifier.class, new ChatNotifier()),
-                new Pair<>(GameNotifier.class, new GameNotifier()),
-                new Pair<>(MediaNotifier.class, new MediaNotifier()),
-                new Pair<>(EventNotifier.class, new EventNotifier()),
-                new Pair<>(TournamentNotifier.class, new TournamentNotifier()),
-                new Pair<>(CompetitorNotifier.class, new CompetitorNotifier()),
-                new Pair<>(JoinRequestNotifier.class, new JoinRequestNotifier())
+                new Pair<>(falseNotifier.getClass(), () -> falseNotifier),
+                new Pair<>(TeamNotifier.class, TeamNotifier::new),
+                new Pair<>(RoleNotifier.class, RoleNotifier::new),
+                new Pair<>(ChatNotifier.class, ChatNotifier::new),
+                new Pair<>(GameNotifier.class, GameNotifier::new),
+                new Pair<>(MediaNotifier.class, MediaNotifier::new),
+                new Pair<>(EventNotifier.class, EventNotifier::new),
+                new Pair<>(TournamentNotifier.class, TournamentNotifier::new),
+                new Pair<>(CompetitorNotifier.class, CompetitorNotifier::new),
+                new Pair<>(JoinRequestNotifier.class, JoinRequestNotifier::new)
         );
     }
 
     private static NotifierProvider getInstance() {
-        if (ourInstance == null) ourInstance = new NotifierProvider();
+        if (ourInstance == null) synchronized (NotifierProvider.class) {
+            if (ourInstance == null) ourInstance = new NotifierProvider();
+        }
         return ourInstance;
     }
 
@@ -91,7 +95,7 @@ public class NotifierProvider {
     }
 
     private static Notifier get(Class<? extends Notifier> unknown) {
-        { Logger.log("NotifierProvider", "Dummy Notifier created for unrecognized class" + unknown.getName()); }
+        { Logger.log(TAG, "Dummy Notifier created for unrecognized class" + unknown.getName()); }
         return falseNotifier;
     }
 
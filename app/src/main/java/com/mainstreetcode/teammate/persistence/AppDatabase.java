@@ -24,10 +24,15 @@
 
 package com.mainstreetcode.teammate.persistence;
 
+import android.os.SystemClock;
+
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 import androidx.core.util.Pair;
 
 import com.mainstreetcode.teammate.App;
@@ -37,16 +42,29 @@ import com.mainstreetcode.teammate.model.Media;
 import com.mainstreetcode.teammate.persistence.entity.CompetitorEntity;
 import com.mainstreetcode.teammate.persistence.entity.EventEntity;
 import com.mainstreetcode.teammate.persistence.entity.GameEntity;
+import com.mainstreetcode.teammate.persistence.entity.GameParticipantEntity;
 import com.mainstreetcode.teammate.persistence.entity.GuestEntity;
 import com.mainstreetcode.teammate.persistence.entity.JoinRequestEntity;
+import com.mainstreetcode.teammate.persistence.entity.LastFetchedEntity;
+import com.mainstreetcode.teammate.persistence.entity.OutboxEntity;
+import com.mainstreetcode.teammate.persistence.entity.LastSeenEntity;
 import com.mainstreetcode.teammate.persistence.entity.RoleEntity;
 import com.mainstreetcode.teammate.persistence.entity.StatEntity;
+import com.mainstreetcode.teammate.persistence.entity.SyncTokenEntity;
 import com.mainstreetcode.teammate.persistence.entity.TeamEntity;
 import com.mainstreetcode.teammate.persistence.entity.TournamentEntity;
 import com.mainstreetcode.teammate.persistence.entity.UserEntity;
 import com.mainstreetcode.teammate.persistence.migrations.Migration1To2;
 import com.mainstreetcode.teammate.persistence.migrations.Migration2To3;
 import com.mainstreetcode.teammate.persistence.migrations.Migration3To4;
+import com.mainstreetcode.teammate.persistence.migrations.Migration4To5;
+import com.mainstreetcode.teammate.persistence.migrations.Migration5To6;
+import com.mainstreetcode.teammate.persistence.migrations.Migration6To7;
+import com.mainstreetcode.teammate.persistence.migrations.Migration7To8;
+import com.mainstreetcode.teammate.persistence.migrations.Migration8To9;
+import com.mainstreetcode.teammate.persistence.migrations.Migration9To10;
+import com.mainstreetcode.teammate.persistence.migrations.Migration10To11;
+import com.mainstreetcode.teammate.persistence.migrations.Migration11To12;
 import com.mainstreetcode.teammate.persistence.typeconverters.CharSequenceConverter;
 import com.mainstreetcode.teammate.persistence.typeconverters.CompetitiveTypeConverter;
 import com.mainstreetcode.teammate.persistence.typeconverters.CompetitorTypeConverter;
@@ -64,9 +82,11 @@ import com.mainstreetcode.teammate.persistence.typeconverters.TournamentTypeConv
 import com.mainstreetcode.teammate.persistence.typeconverters.TournamentTypeTypeConverter;
 import com.mainstreetcode.teammate.persistence.typeconverters.UserTypeConverter;
 import com.mainstreetcode.teammate.persistence.typeconverters.VisibilityTypeConverter;
+import com.mainstreetcode.teammate.rest.HttpCache;
 import com.mainstreetcode.teammate.util.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import io.reactivex.Single;
@@ -77,8 +97,9 @@ import io.reactivex.Single;
 
 @Database(entities = {UserEntity.class, TeamEntity.class, EventEntity.class,
         RoleEntity.class, JoinRequestEntity.class, GuestEntity.class,
-        TournamentEntity.class, CompetitorEntity.class, GameEntity.class, StatEntity.class,
-        Chat.class, Media.class}, version = 4)
+        TournamentEntity.class, CompetitorEntity.class, GameEntity.class, GameParticipantEntity.class,
+        StatEntity.class, Chat.class, Media.class, LastSeenEntity.class, LastFetchedEntity.class,
+        OutboxEntity.class, SyncTokenEntity.class}, version = 12)
 
 @TypeConverters({LatLngTypeConverter.class, DateTypeConverter.class, CharSequenceConverter.class,
         UserTypeConverter.class, TeamTypeConverter.class, EventTypeConverter.class,
@@ -93,20 +114,58 @@ public abstract class AppDatabase extends RoomDatabase {
     private static final String TAG = "AppDatabase";
     private static final String PROD_DB = "database-name";
     private static final String DEV_DB = "teammate-dev-db";
+    private static final String[] BOOKKEEPING_TABLES = {"outbox", "last_fetched", "sync_tokens"};
     private static AppDatabase INSTANCE;
 
+    private final PrefsDao prefsDao = new PrefsDao();
+    private final DeviceDao deviceDao = new DeviceDao();
+    private final ConfigDao configDao = new ConfigDao();
+
     public static AppDatabase getInstance() {
         if (INSTANCE == null) {
-            INSTANCE = Room.databaseBuilder(App.getInstance(), AppDatabase.class, BuildConfig.DEV ? DEV_DB : PROD_DB)
+            INSTANCE = Room.databaseBuilder(App.getInstance(), AppDatabase.class, getDatabaseName())
                     .addMigrations(new Migration1To2())
                     .addMigrations(new Migration2To3())
                     .addMigrations(new Migration3To4())
+                    .addMigrations(new Migration4To5())
+                    .addMigrations(new Migration5To6())
+                    .addMigrations(new Migration6To7())
+                    .addMigrations(new Migration7To8())
+                    .addMigrations(new Migration8To9())
+                    .addMigrations(new Migration9To10())
+                    .addMigrations(new Migration10To11())
+                    .addMigrations(new Migration11To12())
+                    .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                    .setQueryExecutor(DbSchedulers.readExecutor())
+                    .addCallback(new Callback() {
+                        @Override
+                        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                            // Fresh and destructively migrated databases skip the migrations
+                            SearchIndex.create(db);
+                            // A 304 for rows this database no longer has would leave nothing to show
+                            HttpCache.evictAll();
+                        }
+
+                        @Override
+                        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                            Migration8To9.clearLegacyPreferences();
+                        }
+                    })
                     .fallbackToDestructiveMigration()
                     .build();
         }
         return INSTANCE;
     }
 
+    @VisibleForTesting
+    static void setInstance(AppDatabase database) {
+        INSTANCE = database;
+    }
+
+    private static String getDatabaseName() {
+        return BuildConfig.DEV ? DEV_DB : PROD_DB;
+    }
+
     public abstract UserDao userDao();
 
     public abstract TeamDao teamDao();
@@ -131,35 +190,61 @@ public abstract class AppDatabase extends RoomDatabase {
 
     public abstract JoinRequestDao joinRequestDao();
 
+    public abstract LastFetchedDao lastFetchedDao();
+
+    public abstract OutboxDao outboxDao();
+
+    public abstract SyncTokenDao syncTokenDao();
+
 
-    public PrefsDao prefsDao() {return new PrefsDao();}
+    public PrefsDao prefsDao() {return prefsDao;}
 
-    public DeviceDao deviceDao() {return new DeviceDao();}
+    public DeviceDao deviceDao() {return deviceDao;}
 
-    public ConfigDao configDao() {return new ConfigDao();}
+    public ConfigDao configDao() {return configDao;}
 
     public TeamMemberDao teamMemberDao() {return new TeamMemberDao();}
 
+    /**
+     * Deletes every cached row in a single transaction, reporting the rows cleared per table.
+     */
     public Single<List<Pair<String, Integer>>> clearTables() {
-        final List<Single<Pair<String, Integer>>> singles = new ArrayList<>();
-        final List<Pair<String, Integer>> collector = new ArrayList<>();
-
-        singles.add(clearTable(competitorDao()));
-        singles.add(clearTable(statDao()));
-        singles.add(clearTable(gameDao()));
-        singles.add(clearTable(tournamentDao()));
-        singles.add(clearTable(teamChatDao()));
-        singles.add(clearTable(joinRequestDao()));
-        singles.add(clearTable(guestDao()));
-        singles.add(clearTable(eventDao()));
-        singles.add(clearTable(mediaDao()));
-        singles.add(clearTable(roleDao()));
-        singles.add(clearTable(teamDao()));
-        singles.add(clearTable(userDao()));
-        singles.add(clearTable(deviceDao()));
-        singles.add(clearTable(configDao()));
-
-        return Single.concat(singles).collectInto(collector, List::add);
+        return Single.fromCallable(this::wipe)
+                .subscribeOn(DbSchedulers.writes())
+                .flatMap(collector -> Single.concat(clearTable(deviceDao()), clearTable(configDao()))
+                        .collectInto(collector, List::add));
+    }
+
+    private synchronized List<Pair<String, Integer>> wipe() {
+        long start = SystemClock.elapsedRealtime();
+        List<Pair<String, Integer>> counts = wipeRows();
+
+        Logger.log(TAG, "Cleared tables in " + (SystemClock.elapsedRealtime() - start) + " ms: " + counts);
+        return counts;
+    }
+
+    private List<Pair<String, Integer>> wipeRows() {
+        return runInTransaction(() -> {
+            SupportSQLiteDatabase db = getOpenHelper().getWritableDatabase();
+            List<Pair<String, Integer>> counts = new ArrayList<>();
+
+            // Tables go children first, so cascades have nothing left to visit
+            db.execSQL("PRAGMA defer_foreign_keys = ON");
+            for (EntityDao<?> dao : tableDaos()) delete(db, dao.getTableName(), counts);
+            // Queued writes, fetch times and sync tokens of the signed out user go with its rows,
+            // but are not reported
+            for (String tableName : BOOKKEEPING_TABLES) db.execSQL("DELETE FROM " + tableName);
+            return counts;
+        });
+    }
+
+    private static void delete(SupportSQLiteDatabase db, String tableName, List<Pair<String, Integer>> counts) {
+        counts.add(new Pair<>(tableName, db.compileStatement("DELETE FROM " + tableName).executeUpdateDelete()));
+    }
+
+    private List<EntityDao<?>> tableDaos() {
+        return Arrays.asList(competitorDao(), statDao(), gameDao(), tournamentDao(), teamChatDao(),
+                joinRequestDao(), guestDao(), eventDao(), mediaDao(), roleDao(), teamDao(), userDao());
     }
 
     private Single<Pair<String, Integer>> clearTable(EntityDao<?> entityDao) {
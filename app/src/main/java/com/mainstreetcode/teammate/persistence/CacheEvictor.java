@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import android.annotation.SuppressLint;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Pair;
+
+import com.mainstreetcode.teammate.MediaTransferIntentService;
+import com.mainstreetcode.teammate.util.ErrorHandler;
+import com.mainstreetcode.teammate.util.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.Single;
+
+/**
+ * Keeps the chat and media caches within budget. Each team keeps its newest rows; older rows
+ * are dropped once past their time to live, or oldest first while a table is over its row
+ * budget. Work is done a batch at a time whenever the main thread goes idle.
+ */
+public final class CacheEvictor {
+
+    private static final String TAG = "CacheEvictor";
+    private static final int BATCH_SIZE = 250;
+
+    private static final CacheEvictor instance = new CacheEvictor();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final List<Budget> budgets = new ArrayList<>();
+
+    private CacheEvictor() {
+        budgets.add(new Budget("team_chats", 200, TimeUnit.DAYS.toMillis(30), 5000) {
+            @Override
+            int count(AppDatabase database) { return database.teamChatDao().count(); }
+
+            @Override
+            int evict(AppDatabase database, Date cutoff, int limit) {
+                return database.teamChatDao().evictBefore(cutoff, keepPerTeam, Collections.emptyList(), limit);
+            }
+        });
+        budgets.add(new Budget("team_media", 120, TimeUnit.DAYS.toMillis(60), 2000) {
+            @Override
+            int count(AppDatabase database) { return database.mediaDao().count(); }
+
+            @Override
+            int evict(AppDatabase database, Date cutoff, int limit) {
+                List<String> uploading = MediaTransferIntentService.getPendingUploadIds();
+                return database.mediaDao().evictBefore(cutoff, keepPerTeam, uploading, limit);
+            }
+        });
+    }
+
+    public static CacheEvictor getInstance() {
+        return instance;
+    }
+
+    /**
+     * Runs a pass the next time the main thread is idle, and keeps running passes on later idle
+     * periods until every table is within budget.
+     */
+    public void scheduleWhenIdle() {
+        mainHandler.post(() -> Looper.myQueue().addIdleHandler(() -> {
+            runPass();
+            return false;
+        }));
+    }
+
+    /**
+     * Evicts at most one batch from each table.
+     *
+     * @return the number of rows reclaimed from each table
+     */
+    public Single<List<Pair<String, Integer>>> evictBatch() {
+        return Single.fromCallable(() -> {
+            AppDatabase database = AppDatabase.getInstance();
+            List<Pair<String, Integer>> reclaimed = new ArrayList<>(budgets.size());
+
+            for (Budget budget : budgets) reclaimed.add(new Pair<>(budget.tableName, evict(database, budget)));
+            return reclaimed;
+        });
+    }
+
+    @SuppressLint("CheckResult")
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private void runPass() {
+        if (!running.compareAndSet(false, true)) return;
+
+        evictBatch().subscribeOn(DbSchedulers.writes())
+                .doFinally(() -> running.set(false))
+                .subscribe(this::onPassComplete, ErrorHandler.EMPTY);
+    }
+
+    private void onPassComplete(List<Pair<String, Integer>> reclaimed) {
+        boolean hasMore = false;
+        for (Pair<String, Integer> pair : reclaimed) {
+            if (pair.second > 0) Logger.log(TAG, "Reclaimed " + pair.second + " rows from " + pair.first);
+            hasMore |= pair.second >= BATCH_SIZE;
+        }
+        if (hasMore) scheduleWhenIdle();
+    }
+
+    private int evict(AppDatabase database, Budget budget) {
+        try {
+            Date expired = new Date(System.currentTimeMillis() - budget.timeToLive);
+            int evicted = budget.evict(database, expired, BATCH_SIZE);
+
+            int overBudget = budget.count(database) - budget.maxRows;
+            int remaining = BATCH_SIZE - evicted;
+            if (overBudget > 0 && remaining > 0)
+                evicted += budget.evict(database, new Date(), Math.min(overBudget, remaining));
+
+            return evicted;
+        }
+        catch (Exception e) {
+            Logger.log(TAG, "Unable to evict from " + budget.tableName, e);
+            return 0;
+        }
+    }
+
+    private abstract static class Budget {
+        final String tableName;
+        final int keepPerTeam;
+        final long timeToLive;
+        final int maxRows;
+
+        Budget(String tableName, int keepPerTeam, long timeToLive, int maxRows) {
+            this.tableName = tableName;
+            this.keepPerTeam = keepPerTeam;
+            this.timeToLive = timeToLive;
+            this.maxRows = maxRows;
+        }
+
+        abstract int count(AppDatabase database);
+
+        abstract int evict(AppDatabase database, Date cutoff, int limit);
+    }
+}
@@ -26,7 +26,10 @@ package com.mainstreetcode.teammate.persistence;
 
 import com.mainstreetcode.teammate.model.Chat;
 import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.PageCursor;
+import com.mainstreetcode.teammate.persistence.entity.LastSeenEntity;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -35,7 +38,10 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 
 /**
@@ -45,28 +51,120 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class ChatDao extends EntityDao<Chat> {
 
+    static final String LOAD_CHATS_BEFORE = "SELECT * FROM team_chats" +
+            " WHERE team_chat_team = :teamId" +
+            " AND (team_chat_created < :date OR (team_chat_created = :date AND team_chat_id < :lastId))" +
+            " ORDER BY team_chat_created DESC, team_chat_id DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_CHATS_SINCE = "SELECT * FROM team_chats" +
+            " WHERE team_chat_team = :teamId" +
+            " AND team_chat_created >= :date" +
+            " ORDER BY team_chat_created DESC";
+
+    static final String LOAD_BY_ID = "SELECT * FROM team_chats" +
+            " WHERE :id = team_chat_id";
+
+    static final String COUNT = "SELECT COUNT(*) FROM team_chats";
+
+    static final String EVICT_BEFORE = "DELETE FROM team_chats WHERE team_chat_id IN (" +
+            " SELECT chat.team_chat_id FROM team_chats AS chat" +
+            " INNER JOIN (SELECT team.team_chat_team AS boundary_team," +
+            "   (SELECT newest.team_chat_created FROM team_chats AS newest" +
+            "     WHERE newest.team_chat_team = team.team_chat_team" +
+            "     ORDER BY newest.team_chat_created DESC LIMIT 1 OFFSET :keep - 1) AS boundary_created" +
+            "   FROM team_chats AS team GROUP BY team.team_chat_team) AS boundary" +
+            " ON chat.team_chat_team = boundary.boundary_team" +
+            " WHERE chat.team_chat_created < boundary.boundary_created" +
+            " AND chat.team_chat_created < :cutoff" +
+            " AND chat.team_chat_id NOT IN (:protectedIds)" +
+            " ORDER BY chat.team_chat_created ASC" +
+            " LIMIT :limit)";
+
+    /**
+     * The newest {@code :limit} unread chats of every team the user has a role in, with the
+     * number unread per team. Chats are unread if newer than the team's {@code team_last_seen}
+     * row. Teams without one count chats from the last {@code :unseenWindow} milliseconds, measured
+     * from when the query runs so observers re-evaluate it on every emission. Teams with the latest
+     * chats go first.
+     */
+    static final String UNREAD_CHATS = "SELECT chat.*, unread.unread_count FROM team_chats AS chat" +
+            " INNER JOIN (SELECT team_chat_team AS unread_team, COUNT(*) AS unread_count," +
+            "   MAX(team_chat_created) AS unread_latest," +
+            "   COALESCE(seen.team_last_seen_date, strftime('%s', 'now') * 1000 - :unseenWindow) AS unread_since" +
+            "   FROM team_chats" +
+            "   LEFT JOIN team_last_seen AS seen ON seen.team_last_seen_team = team_chat_team" +
+            "   WHERE team_chat_team IN (SELECT role_team FROM roles WHERE role_user = :userId)" +
+            "   AND team_chat_created > COALESCE(seen.team_last_seen_date, strftime('%s', 'now') * 1000 - :unseenWindow)" +
+            "   GROUP BY team_chat_team) AS unread" +
+            " ON chat.team_chat_team = unread.unread_team" +
+            " WHERE chat.team_chat_created > unread.unread_since" +
+            " AND (SELECT COUNT(*) FROM team_chats AS newer" +
+            "   WHERE newer.team_chat_team = chat.team_chat_team" +
+            "   AND newer.team_chat_created > chat.team_chat_created) < :limit" +
+            " ORDER BY unread.unread_latest DESC, chat.team_chat_created DESC";
+
     @Override
     protected String getTableName() {
         return "team_chats";
     }
 
-    @Query("SELECT * FROM team_chats" +
-            " WHERE team_chat_team = :teamId" +
-            " AND team_chat_created < :date" +
-            " ORDER BY team_chat_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Chat>> chatsBefore(String teamId, Date date, int limit);
+    @Query(LOAD_CHATS_BEFORE)
+    protected abstract Maybe<List<Chat>> loadChatsBefore(String teamId, Date date, String lastId, int limit);
 
-    @Query("SELECT * FROM team_chats" +
-            " WHERE team_chat_team = :teamId" +
-            " AND team_chat_created > :date" +
-            " ORDER BY team_chat_created DESC" +
-            " LIMIT 10")
-    public abstract Maybe<List<Chat>> unreadChats(String teamId, Date date);
+    public Maybe<List<Chat>> chatsBefore(String teamId, PageCursor cursor, int limit) {
+        return loadChatsBefore(teamId, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_CHATS_SINCE)
+    protected abstract Flowable<List<Chat>> loadChatsSince(String teamId, Date date);
+
+    /**
+     * Re-emits every chat in the team at or after {@code date} whenever the table is invalidated
+     */
+    public Flowable<List<Chat>> observeChatsSince(String teamId, Date date) {
+        return loadChatsSince(teamId, date).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(UNREAD_CHATS)
+    protected abstract Maybe<List<UnreadChat>> loadUnreadChats(String userId, long unseenWindow, int limit);
 
-    @Query("SELECT * FROM team_chats" +
-            " WHERE :id = team_chat_id")
-    public abstract Maybe<Chat> get(String id);
+    @Query(UNREAD_CHATS)
+    protected abstract Flowable<List<UnreadChat>> loadUnreadChatsFlowable(String userId, long unseenWindow, int limit);
+
+    public Maybe<List<UnreadChat>> unreadChats(String userId, long unseenWindow, int limit) {
+        return loadUnreadChats(userId, unseenWindow, limit).map(ChatDao::hydrateUnread);
+    }
+
+    /**
+     * Re-emits the unread chats whenever chats, roles or last seen times change
+     */
+    public Flowable<List<UnreadChat>> observeUnreadChats(String userId, long unseenWindow, int limit) {
+        return loadUnreadChatsFlowable(userId, unseenWindow, limit).map(ChatDao::hydrateUnread);
+    }
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void upsertLastSeen(LastSeenEntity lastSeen);
+
+    /**
+     * The team's newest chats matching {@code query}, drawing on the {@link SearchIndex}
+     */
+    public Maybe<List<Chat>> search(String teamId, CharSequence query, int limit) {
+        String match = SearchIndex.matchExpression(query);
+        if (match == null) return Maybe.empty();
+
+        return Maybe.fromCallable(() -> ModelHydrator.hydrateAll(search(SearchIndex.chats(teamId, match, limit))));
+    }
+
+    @RawQuery
+    protected abstract List<Chat> search(SupportSQLiteQuery query);
+
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Chat> loadById(String id);
+
+    public Maybe<Chat> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<Chat> teams);
@@ -74,6 +172,27 @@ public abstract class ChatDao extends EntityDao<Chat> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<Chat> teams);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(Chat chat);
+
     @Delete
     public abstract void delete(Chat chat);
+
+    private static List<UnreadChat> hydrateUnread(List<UnreadChat> unread) {
+        List<Chat> chats = new ArrayList<>(unread.size());
+        for (UnreadChat row : unread) chats.add(row.getChat());
+        ModelHydrator.hydrateAll(chats);
+        return unread;
+    }
+
+    @Query(COUNT)
+    abstract int count();
+
+    /**
+     * Deletes up to {@code limit} chats created before {@code cutoff} that are not among the
+     * newest {@code keep} chats of their team. Each team's boundary, its {@code keep}th newest
+     * chat, is read once off the team index rather than counted per row.
+     */
+    @Query(EVICT_BEFORE)
+    abstract int evictBefore(Date cutoff, int keep, List<String> protectedIds, int limit);
 }
@@ -46,20 +46,38 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class CompetitorDao extends EntityDao<CompetitorEntity> {
 
+    static final String LOAD_COMPETITORS = "SELECT * FROM competitors" +
+            " WHERE :tournamentId = competitor_tournament" +
+            " ORDER BY competitor_created DESC" +
+            " LIMIT 40";
+
+    static final String LOAD_BY_ID = "SELECT * FROM competitors" +
+            " WHERE :id = competitor_id";
+
+    static final String FIND_BY_IDS = "SELECT * FROM competitors" +
+            " WHERE competitor_id IN (:ids)";
+
     @Override
     protected String getTableName() {
         return "competitors";
     }
 
-    @Query("SELECT * FROM competitors" +
-            " WHERE :tournamentId = competitor_tournament" +
-            " ORDER BY competitor_created DESC" +
-            " LIMIT 40")
-    public abstract Maybe<List<Competitor>> getCompetitors(String tournamentId);
+    @Query(LOAD_COMPETITORS)
+    protected abstract Maybe<List<Competitor>> loadCompetitors(String tournamentId);
 
-    @Query("SELECT * FROM competitors" +
-            " WHERE :id = competitor_id")
-    public abstract Maybe<Competitor> get(String id);
+    public Maybe<List<Competitor>> getCompetitors(String tournamentId) {
+        return loadCompetitors(tournamentId).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Competitor> loadById(String id);
+
+    public Maybe<Competitor> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
+
+    @Query(FIND_BY_IDS)
+    abstract List<Competitor> findByIds(List<String> ids);
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<CompetitorEntity> tournaments);
@@ -67,6 +85,9 @@ public abstract class CompetitorDao extends EntityDao<CompetitorEntity> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<CompetitorEntity> tournaments);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(CompetitorEntity competitor);
+
     @Delete
     public abstract void delete(CompetitorEntity tournament);
 }
@@ -27,6 +27,7 @@ package com.mainstreetcode.teammate.persistence;
 import androidx.room.Dao;
 import androidx.annotation.NonNull;
 
+import com.google.gson.Gson;
 import com.mainstreetcode.teammate.model.Config;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
@@ -37,6 +38,8 @@ import com.mainstreetcode.teammate.rest.TeammateService;
 @Dao
 public class ConfigDao extends SharedPreferencesDao<Config> {
 
+    private static final Gson GSON = TeammateService.getGson();
+
     @NonNull
     @Override
     Config getEmpty() { return Config.empty(); }
@@ -45,8 +48,8 @@ public class ConfigDao extends SharedPreferencesDao<Config> {
     String preferenceName() {return "config";}
 
     @Override
-    String to(Config device) {return TeammateService.getGson().toJson(device);}
+    String to(Config device) {return GSON.toJson(device);}
 
     @Override
-    Config from(String json) {return TeammateService.getGson().fromJson(json, Config.class);}
+    Config from(String json) {return GSON.fromJson(json, Config.class);}
 }
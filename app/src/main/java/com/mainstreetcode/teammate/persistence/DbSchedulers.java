@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Threads for database work. Reads share a small pool sized to the reader connections SQLite
+ * keeps open in WAL mode, so parallel reads don't queue behind each other or behind a write.
+ * Writes go through a single thread, as SQLite only allows one writer at a time anyway.
+ */
+public final class DbSchedulers {
+
+    /**
+     * Concurrent reads allowed. The framework caps the WAL connection pool itself, usually at
+     * 4, so readers past that would only wait on a connection.
+     */
+    public static final int READ_CONNECTIONS = 4;
+
+    private static final ExecutorService readExecutor = Executors.newFixedThreadPool(READ_CONNECTIONS, named("db-read"));
+    private static final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(named("db-write"));
+
+    private static final Scheduler reads = Schedulers.from(readExecutor);
+    private static final Scheduler writes = Schedulers.from(writeExecutor);
+
+    private DbSchedulers() {}
+
+    public static Scheduler reads() { return reads; }
+
+    public static Scheduler writes() { return writes; }
+
+    static ExecutorService readExecutor() { return readExecutor; }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -26,6 +26,8 @@ package com.mainstreetcode.teammate.persistence;
 
 import androidx.room.Delete;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import io.reactivex.Single;
@@ -39,15 +41,25 @@ public abstract class EntityDao<T> {
 
     protected abstract void update(List<T> models);
 
+    /**
+     * @return the number of rows updated, 0 if the model has not been inserted yet
+     */
+    protected abstract int update(T model);
+
     @Delete
     public abstract void delete(T model);
 
     @Delete
     public abstract void delete(List<T> models);
 
+    /**
+     * Writes each model once: existing rows are updated in place, and only the models without
+     * a row are inserted. Callers should run this in a transaction to share a single commit.
+     */
     public void upsert(List<T> models) {
-        insert(models);
-        update(models);
+        List<T> inserts = new ArrayList<>();
+        for (T model : models) if (update(model) == 0) inserts.add(model);
+        if (!inserts.isEmpty()) insert(Collections.unmodifiableList(inserts));
     }
 
     Single<Integer> deleteAll() {
@@ -66,6 +78,9 @@ public abstract class EntityDao<T> {
             @Override
             protected void update(List<T> models) {}
 
+            @Override
+            protected int update(T model) { return 0; }
+
             @Override
             public void delete(T model) {}
 
@@ -32,11 +32,13 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.persistence.entity.EventEntity;
 
 import java.util.Date;
 import java.util.List;
 
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 
 /**
@@ -46,21 +48,63 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class EventDao extends EntityDao<EventEntity> {
 
+    static final String LOAD_EVENTS = "SELECT * FROM events as event" +
+            " WHERE :teamId = event_team" +
+            " AND (event_start_date < :date OR (event_start_date = :date AND event_id < :lastId))" +
+            " ORDER BY event_start_date DESC, event_id DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_EVENTS_SINCE = "SELECT * FROM events as event" +
+            " WHERE :teamId = event_team" +
+            " AND event_start_date >= :date" +
+            " ORDER BY event_start_date DESC";
+
+    static final String LOAD_BY_ID = "SELECT * FROM events" +
+            " WHERE :id = event_id";
+
+    static final String FIND_BY_IDS = "SELECT * FROM events" +
+            " WHERE event_id IN (:ids)";
+
+    static final String FIND_BY_TEAM = "SELECT * FROM events" +
+            " WHERE :teamId = event_team";
+
     @Override
     protected String getTableName() {
         return "events";
     }
 
-    @Query("SELECT * FROM events as event" +
-            " WHERE :teamId = event_team" +
-            " AND event_start_date < :date" +
-            " ORDER BY event_start_date DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Event>> getEvents(String teamId, Date date, int limit);
+    @Query(LOAD_EVENTS)
+    protected abstract Maybe<List<Event>> loadEvents(String teamId, Date date, String lastId, int limit);
+
+    public Maybe<List<Event>> getEvents(String teamId, PageCursor cursor, int limit) {
+        return loadEvents(teamId, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
 
-    @Query("SELECT * FROM events" +
-            " WHERE :id = event_id")
-    public abstract Maybe<Event> get(String id);
+    @Query(LOAD_EVENTS_SINCE)
+    protected abstract Flowable<List<Event>> loadEventsSince(String teamId, Date date);
+
+    /**
+     * Re-emits every event in the team starting at or after {@code date} whenever the table is invalidated
+     */
+    public Flowable<List<Event>> observeEventsSince(String teamId, Date date) {
+        return loadEventsSince(teamId, date).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Event> loadById(String id);
+
+    public Maybe<Event> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
+
+    @Query(FIND_BY_IDS)
+    abstract List<Event> findByIds(List<String> ids);
+
+    /**
+     * Every stored event in the team, read without hydrating what it references
+     */
+    @Query(FIND_BY_TEAM)
+    public abstract List<Event> findByTeam(String teamId);
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<EventEntity> teams);
@@ -68,6 +112,9 @@ public abstract class EventDao extends EntityDao<EventEntity> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<EventEntity> teams);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(EventEntity event);
+
     @Delete
     public abstract void delete(EventEntity event);
 }
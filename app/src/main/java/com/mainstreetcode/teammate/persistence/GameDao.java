@@ -33,8 +33,12 @@ import androidx.room.Update;
 
 import com.mainstreetcode.teammate.model.Event;
 import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.persistence.entity.GameEntity;
+import com.mainstreetcode.teammate.persistence.entity.GameParticipantEntity;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -47,36 +51,130 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class GameDao extends EntityDao<GameEntity> {
 
+    static final String LOAD_ENTITY_GAMES = "SELECT games.* FROM game_participants AS participant" +
+            " INNER JOIN games ON games.game_id = participant.game_participant_game" +
+            " WHERE participant.game_participant_entity = :entityId" +
+            " AND (participant.game_participant_created < :date" +
+            " OR (participant.game_participant_created = :date AND participant.game_participant_game < :lastId))" +
+            " ORDER BY participant.game_participant_created DESC, participant.game_participant_game DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_TOURNAMENT_GAMES = "SELECT * FROM games as game" +
+            " WHERE :tournamentId = game_tournament" +
+            " AND game_round = :round" +
+            " ORDER BY game_created DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_BY_ID = "SELECT * FROM games" +
+            " WHERE :id = game_id";
+
+    static final String FIND_BY_IDS = "SELECT * FROM games" +
+            " WHERE game_id IN (:ids)";
+
+    static final String FIND_BY_TEAM = "SELECT games.* FROM game_participants AS participant" +
+            " INNER JOIN games ON games.game_id = participant.game_participant_game" +
+            " WHERE participant.game_participant_entity = :teamId";
+
+    static final String DELETE_PARTICIPANTS = "DELETE FROM game_participants" +
+            " WHERE game_participant_game IN (:gameIds)";
+
     @Override
     protected String getTableName() {
         return "games";
     }
 
-    @Query("SELECT * FROM games as game" +
-            " WHERE (:teamId = game_host AND game_ref_path = 'user')" +
-            " OR :teamId = game_home_entity" +
-            " OR :teamId = game_away_entity" +
-            " AND game_created < :date" +
-            " ORDER BY game_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Game>> getGames(String teamId, Date date, int limit);
+    @Query(LOAD_ENTITY_GAMES)
+    protected abstract Maybe<List<Game>> loadGames(String entityId, Date date, String lastId, int limit);
 
-    @Query("SELECT * FROM games as game" +
-            " WHERE :tournamentId = game_tournament" +
-            " AND game_round = :round" +
-            " ORDER BY game_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Game>> getGames(String tournamentId, int round, int limit);
+    /**
+     * Games the team or user hosted or competed in, paged on the participant index
+     */
+    public Maybe<List<Game>> getGames(String entityId, PageCursor cursor, int limit) {
+        return loadGames(entityId, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_TOURNAMENT_GAMES)
+    protected abstract Maybe<List<Game>> loadGames(String tournamentId, int round, int limit);
+
+    public Maybe<List<Game>> getGames(String tournamentId, int round, int limit) {
+        return loadGames(tournamentId, round, limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Game> loadById(String id);
+
+    public Maybe<Game> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
+
+    @Query(FIND_BY_IDS)
+    abstract List<Game> findByIds(List<String> ids);
 
-    @Query("SELECT * FROM games" +
-            " WHERE :id = game_id")
-    public abstract Maybe<Game> get(String id);
+    /**
+     * Every stored game in the team, read without hydrating what it references
+     */
+    @Query(FIND_BY_TEAM)
+    public abstract List<Game> findByTeam(String teamId);
+
+    /**
+     * Inserts the games that do not exist yet. Games ignored as duplicates keep the participant
+     * rows of the stored game, which a placeholder game would otherwise wipe.
+     */
+    @Override
+    public void insert(List<GameEntity> games) {
+        long[] rowIds = insertGames(games);
+        List<GameEntity> inserted = new ArrayList<>(games.size());
+
+        for (int i = 0; i < rowIds.length; i++) if (rowIds[i] != -1) inserted.add(games.get(i));
+        indexParticipants(inserted);
+    }
+
+    @Override
+    protected void update(List<GameEntity> games) {
+        updateGames(games);
+        indexParticipants(games);
+    }
+
+    @Override
+    protected int update(GameEntity game) {
+        int updated = updateGame(game);
+        if (updated > 0) indexParticipants(Collections.singletonList(game));
+        return updated;
+    }
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
-    public abstract void insert(List<GameEntity> games);
+    protected abstract long[] insertGames(List<GameEntity> games);
 
     @Update(onConflict = OnConflictStrategy.IGNORE)
-    protected abstract void update(List<GameEntity> games);
+    protected abstract void updateGames(List<GameEntity> games);
+
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int updateGame(GameEntity game);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract void insertParticipants(List<GameParticipantEntity> participants);
+
+    @Query(DELETE_PARTICIPANTS)
+    protected abstract void deleteParticipants(List<String> gameIds);
+
+    /**
+     * Rewrites the participant rows of the games, so every write to {@code games} keeps the
+     * index current. Callers already hold the save transaction.
+     */
+    private void indexParticipants(List<GameEntity> games) {
+        if (games.isEmpty()) return;
+
+        List<String> gameIds = new ArrayList<>(games.size());
+        List<GameParticipantEntity> participants = new ArrayList<>(games.size() * 2);
+
+        for (GameEntity game : games) {
+            gameIds.add(game.getId());
+            participants.addAll(GameParticipantEntity.from(game));
+        }
+
+        deleteParticipants(gameIds);
+        if (!participants.isEmpty()) insertParticipants(participants);
+    }
 
     @Delete
     public abstract void delete(GameEntity game);
@@ -32,6 +32,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.mainstreetcode.teammate.model.Guest;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.persistence.entity.GuestEntity;
 
 import java.util.Date;
@@ -42,14 +43,42 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class GuestDao extends EntityDao<GuestEntity> {
 
+    static final String LOAD_BY_ID = "SELECT * FROM guests" +
+            " WHERE :id = guest_id";
+
+    static final String DELETE_USERS = "DELETE FROM guests " +
+            " WHERE guest_user = :userId" +
+            " AND guest_event IN (" +
+            " SELECT event_id FROM events event " +
+            " INNER JOIN teams team" +
+            " ON (event.event_team = team.team_id)" +
+            " WHERE team.team_id = :teamId" +
+            ")";
+
+    static final String LOAD_GUESTS = "SELECT * FROM guests" +
+            " WHERE :eventId = guest_event" +
+            " AND (guest_created < :date OR (guest_created = :date AND guest_id < :lastId))" +
+            " ORDER BY guest_created DESC, guest_id DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_RSVP_LIST = "SELECT * FROM guests" +
+            " WHERE :userId = guest_user" +
+            " AND guest_created < :date" +
+            " AND guest_attending = 1" +
+            " ORDER BY guest_created DESC" +
+            " LIMIT 40";
+
     @Override
     protected String getTableName() {
         return "guests";
     }
 
-    @Query("SELECT * FROM guests" +
-            " WHERE :id = guest_id")
-    public abstract Maybe<Guest> get(String id);
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Guest> loadById(String id);
+
+    public Maybe<Guest> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<GuestEntity> guests);
@@ -57,31 +86,26 @@ public abstract class GuestDao extends EntityDao<GuestEntity> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<GuestEntity> guests);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(GuestEntity guest);
+
     @Delete
     public abstract void delete(List<GuestEntity> guests);
 
-    @Query("DELETE FROM guests " +
-            " WHERE guest_user = :userId" +
-            " AND guest_event IN (" +
-            " SELECT event_id FROM events event " +
-            " INNER JOIN teams team" +
-            " ON (event.event_team = team.team_id)" +
-            " WHERE team.team_id = :teamId" +
-            ")")
+    @Query(DELETE_USERS)
     public abstract void deleteUsers(String userId, String teamId);
 
-    @Query("SELECT * FROM guests" +
-            " WHERE :eventId = guest_event" +
-            " AND guest_created < :date" +
-            " ORDER BY guest_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Guest>> getGuests(String eventId, Date date, int limit);
+    @Query(LOAD_GUESTS)
+    protected abstract Maybe<List<Guest>> loadGuests(String eventId, Date date, String lastId, int limit);
 
-    @Query("SELECT * FROM guests" +
-            " WHERE :userId = guest_user" +
-            " AND guest_created < :date" +
-            " AND guest_attending = 1" +
-            " ORDER BY guest_created DESC" +
-            " LIMIT 40")
-    public abstract Maybe<List<Guest>> getRsvpList(String userId, Date date);
+    public Maybe<List<Guest>> getGuests(String eventId, PageCursor cursor, int limit) {
+        return loadGuests(eventId, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_RSVP_LIST)
+    protected abstract Maybe<List<Guest>> loadRsvpList(String userId, Date date);
+
+    public Maybe<List<Guest>> getRsvpList(String userId, Date date) {
+        return loadRsvpList(userId, date).map(ModelHydrator::hydrateAll);
+    }
 }
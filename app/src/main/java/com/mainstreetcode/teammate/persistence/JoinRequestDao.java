@@ -33,6 +33,7 @@ import androidx.room.Update;
 import android.text.TextUtils;
 
 import com.mainstreetcode.teammate.model.JoinRequest;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.persistence.entity.JoinRequestEntity;
 import com.mainstreetcode.teammate.util.Logger;
 
@@ -50,6 +51,21 @@ import static com.mainstreetcode.teammate.BuildConfig.DEV;
 @Dao
 public abstract class JoinRequestDao extends EntityDao<JoinRequestEntity> {
 
+    static final String LOAD_BY_ID = "SELECT * FROM join_requests" +
+            " WHERE :id = join_request_id";
+
+    static final String DELETE_BY_TEAM = "DELETE FROM join_requests WHERE join_request_team = :teamId";
+
+    static final String DELETE_USERS = "DELETE FROM join_requests WHERE join_request_user = :userId AND join_request_team = :teamId";
+
+    static final String DELETE_REQUESTS_FROM_TEAM = "DELETE FROM join_requests WHERE join_request_user IN (:userIds) AND join_request_team = :teamId";
+
+    static final String LOAD_REQUESTS = "SELECT * FROM join_requests as request" +
+            " WHERE :teamId = join_request_team" +
+            " AND (join_request_created < :date OR (join_request_created = :date AND join_request_id < :lastId))" +
+            " ORDER BY join_request_created DESC, join_request_id DESC" +
+            " LIMIT :limit";
+
     private static final String MULTI_DELETION_STATEMENT = "DELETE FROM join_requests WHERE join_request_team = '%1$s' AND join_request_user IN (%2$s)";
     private static final String COMMA_DELIMITER = ", ";
 
@@ -58,9 +74,12 @@ public abstract class JoinRequestDao extends EntityDao<JoinRequestEntity> {
         return "join_requests";
     }
 
-    @Query("SELECT * FROM join_requests" +
-            " WHERE :id = join_request_id")
-    public abstract Maybe<JoinRequest> get(String id);
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<JoinRequest> loadById(String id);
+
+    public Maybe<JoinRequest> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<JoinRequestEntity> teams);
@@ -68,16 +87,19 @@ public abstract class JoinRequestDao extends EntityDao<JoinRequestEntity> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<JoinRequestEntity> teams);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(JoinRequestEntity joinRequest);
+
     @Delete
     public abstract void delete(List<JoinRequestEntity> roles);
 
-    @Query("DELETE FROM join_requests WHERE join_request_team = :teamId")
+    @Query(DELETE_BY_TEAM)
     public abstract void deleteByTeam(String teamId);
 
-    @Query("DELETE FROM join_requests WHERE join_request_user = :userId AND join_request_team = :teamId")
+    @Query(DELETE_USERS)
     public abstract void deleteUsers(String userId, String teamId);
 
-    @Query("DELETE FROM join_requests WHERE join_request_user IN (:userIds) AND join_request_team = :teamId")
+    @Query(DELETE_REQUESTS_FROM_TEAM)
     public void deleteRequestsFromTeam(String teamId, String[] userIds) {
         for (int i = 0; i < userIds.length; i++) userIds[i] = "'" + userIds[i] + "'";
 
@@ -88,10 +110,10 @@ public abstract class JoinRequestDao extends EntityDao<JoinRequestEntity> {
         if (DEV) Logger.log(getTableName(), "Deleted " + deleted + " rows");
     }
 
-    @Query("SELECT * FROM join_requests as request" +
-            " WHERE :teamId = join_request_team" +
-            " AND join_request_created < :date" +
-            " ORDER BY join_request_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<JoinRequest>> getRequests(String teamId, Date date, int limit);
+    @Query(LOAD_REQUESTS)
+    protected abstract Maybe<List<JoinRequest>> loadRequests(String teamId, Date date, String lastId, int limit);
+
+    public Maybe<List<JoinRequest>> getRequests(String teamId, PageCursor cursor, int limit) {
+        return loadRequests(teamId, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.mainstreetcode.teammate.persistence.entity.LastFetchedEntity;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * DAO for {@link LastFetchedEntity}
+ */
+
+@Dao
+public abstract class LastFetchedDao {
+
+    static final String GET_ALL = "SELECT * FROM last_fetched";
+
+    static final String DELETE_BEFORE = "DELETE FROM last_fetched" +
+            " WHERE last_fetched_date < :date";
+
+    static final String DELETE_BY_PREFIX = "DELETE FROM last_fetched" +
+            " WHERE last_fetched_key LIKE :prefix || '%'";
+
+    @Query(GET_ALL)
+    public abstract List<LastFetchedEntity> getAll();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void upsert(LastFetchedEntity lastFetched);
+
+    @Query(DELETE_BEFORE)
+    public abstract int deleteBefore(Date date);
+
+    @Query(DELETE_BY_PREFIX)
+    public abstract void deleteByPrefix(String prefix);
+}
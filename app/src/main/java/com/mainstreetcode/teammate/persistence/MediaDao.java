@@ -32,12 +32,14 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.mainstreetcode.teammate.model.Media;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.User;
 
 import java.util.Date;
 import java.util.List;
 
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 
 /**
@@ -47,6 +49,45 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class MediaDao extends EntityDao<Media> {
 
+    static final String LOAD_BY_ID = "SELECT *" +
+            " FROM team_media" +
+            " WHERE :id = media_id";
+
+    static final String FIND_BY_TEAM = "SELECT *" +
+            " FROM team_media" +
+            " WHERE :teamId = media_team";
+
+    static final String LOAD_TEAM_MEDIA = "SELECT *" +
+            " FROM team_media" +
+            " WHERE :team = media_team" +
+            " AND (media_created < :date OR (media_created = :date AND media_id < :lastId))" +
+            " AND media_flagged = 0" +
+            " ORDER BY media_created DESC, media_id DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_TEAM_MEDIA_SINCE = "SELECT *" +
+            " FROM team_media" +
+            " WHERE :team = media_team" +
+            " AND media_created >= :date" +
+            " AND media_flagged = 0" +
+            " ORDER BY media_created DESC";
+
+    static final String COUNT = "SELECT COUNT(*) FROM team_media";
+
+    static final String EVICT_BEFORE = "DELETE FROM team_media WHERE media_id IN (" +
+            " SELECT media.media_id FROM team_media AS media" +
+            " INNER JOIN (SELECT team.media_team AS boundary_team," +
+            "   (SELECT newest.media_created FROM team_media AS newest" +
+            "     WHERE newest.media_team = team.media_team" +
+            "     ORDER BY newest.media_created DESC LIMIT 1 OFFSET :keep - 1) AS boundary_created" +
+            "   FROM team_media AS team GROUP BY team.media_team) AS boundary" +
+            " ON media.media_team = boundary.boundary_team" +
+            " WHERE media.media_created < boundary.boundary_created" +
+            " AND media.media_created < :cutoff" +
+            " AND media.media_id NOT IN (:protectedIds)" +
+            " ORDER BY media.media_created ASC" +
+            " LIMIT :limit)";
+
     @Override
     protected String getTableName() {
         return "team_media";
@@ -58,20 +99,49 @@ public abstract class MediaDao extends EntityDao<Media> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<Media> roles);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(Media media);
+
     @Delete
     public abstract void delete(List<Media> roles);
 
-    @Query("SELECT *" +
-            " FROM team_media" +
-            " WHERE :id = media_id")
-    public abstract Maybe<Media> get(String id);
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Media> loadById(String id);
 
-    @Query("SELECT *" +
-            " FROM team_media" +
-            " WHERE :team = media_team" +
-            " AND media_created < :date" +
-            " AND media_flagged = 0" +
-            " ORDER BY media_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Media>> getTeamMedia(Team team, Date date, int limit);
+    public Maybe<Media> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
+
+    /**
+     * Every stored media in the team, read without hydrating what it references
+     */
+    @Query(FIND_BY_TEAM)
+    public abstract List<Media> findByTeam(String teamId);
+
+    @Query(LOAD_TEAM_MEDIA)
+    protected abstract Maybe<List<Media>> loadTeamMedia(Team team, Date date, String lastId, int limit);
+
+    public Maybe<List<Media>> getTeamMedia(Team team, PageCursor cursor, int limit) {
+        return loadTeamMedia(team, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_TEAM_MEDIA_SINCE)
+    protected abstract Flowable<List<Media>> loadTeamMediaSince(Team team, Date date);
+
+    /**
+     * Re-emits every unflagged media in the team at or after {@code date} whenever the table is invalidated
+     */
+    public Flowable<List<Media>> observeTeamMediaSince(Team team, Date date) {
+        return loadTeamMediaSince(team, date).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(COUNT)
+    abstract int count();
+
+    /**
+     * Deletes up to {@code limit} media created before {@code cutoff} that are not among the
+     * newest {@code keep} media of their team.
+     */
+    @Query(EVICT_BEFORE)
+    abstract int evictBefore(Date cutoff, int keep, List<String> protectedIds, int limit);
 }
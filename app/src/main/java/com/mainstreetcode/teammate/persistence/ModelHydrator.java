@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.annotation.Nullable;
+
+import com.mainstreetcode.teammate.model.Chat;
+import com.mainstreetcode.teammate.model.Competitive;
+import com.mainstreetcode.teammate.model.Competitor;
+import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.IdentityMap;
+import com.mainstreetcode.teammate.model.Media;
+import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.Tournament;
+import com.mainstreetcode.teammate.model.User;
+import com.mainstreetcode.teammate.persistence.entity.CompetitorEntity;
+import com.mainstreetcode.teammate.persistence.entity.EventEntity;
+import com.mainstreetcode.teammate.persistence.entity.GameEntity;
+import com.mainstreetcode.teammate.persistence.entity.GuestEntity;
+import com.mainstreetcode.teammate.persistence.entity.JoinRequestEntity;
+import com.mainstreetcode.teammate.persistence.entity.RoleEntity;
+import com.mainstreetcode.teammate.persistence.entity.StatEntity;
+import com.mainstreetcode.teammate.persistence.entity.TournamentEntity;
+import com.tunjid.androidbootstrap.functions.Consumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the relations of rows read from the database in batches.
+ * <p>
+ * The type converters for {@link Team}, {@link User}, {@link Competitor}, {@link Game},
+ * {@link Event} and {@link Tournament} columns only create stubs carrying the stored id.
+ * After the parent rows are read, the distinct ids of every stub are resolved with a single
+ * {@code IN (...)} query per table, level by level, and the stubs are updated in place.
+ * A page of rows therefore costs a number of queries bounded by the depth of the object graph,
+ * not by the number of rows.
+ * <p>
+ * {@link Team} and {@link User} stubs are interned through the {@link IdentityMap}, so a stub
+ * that already holds values is shared with the rest of the app and is left as is.
+ */
+public final class ModelHydrator {
+
+    // SQLite's default SQLITE_MAX_VARIABLE_NUMBER
+    private static final int MAX_QUERY_ARGS = 999;
+
+    private static final String TEAM = "team";
+    private static final String USER = "user";
+    private static final String GAME = "game";
+    private static final String EVENT = "event";
+    private static final String COMPETITOR = "competitor";
+    private static final String TOURNAMENT = "tournament";
+
+    private final AppDatabase database;
+    private final Map<String, Model<?>> resolved = new HashMap<>();
+    private final Set<String> queried = new LinkedHashSet<>();
+
+    private ModelHydrator(AppDatabase database) {
+        this.database = database;
+    }
+
+    public static <T> T hydrate(T model) {
+        hydrateAll(Collections.singletonList(model));
+        return model;
+    }
+
+    public static <T> List<T> hydrateAll(List<T> models) {
+        if (!models.isEmpty()) new ModelHydrator(AppDatabase.getInstance()).run(models);
+        return models;
+    }
+
+    /**
+     * Reads and hydrates the cached {@link Team}, {@link User}, {@link Competitor}, {@link Game},
+     * {@link Event} or {@link Tournament} rows with the given ids.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Model<T>> List<T> findByIds(Class<T> modelClass, List<String> ids) {
+        String type = typeOf(modelClass);
+        if (type == null || ids.isEmpty()) return new ArrayList<>();
+
+        ModelHydrator hydrator = new ModelHydrator(AppDatabase.getInstance());
+        List<T> found = new ArrayList<>();
+
+        for (int start = 0, size = ids.size(); start < size; start += MAX_QUERY_ARGS)
+            found.addAll((List<T>) hydrator.query(type, ids.subList(start, Math.min(size, start + MAX_QUERY_ARGS))));
+
+        return hydrateAll(found);
+    }
+
+    private void run(List<?> roots) {
+        List<Object> frontier = new ArrayList<>(roots);
+        while (!frontier.isEmpty()) frontier = resolveRelations(frontier);
+
+        Set<Object> stitched = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object root : roots) stitch(root, stitched);
+    }
+
+    /**
+     * Reads every relation referenced by the frontier that has not been read yet.
+     *
+     * @return the newly read models, whose own relations form the next frontier
+     */
+    private List<Object> resolveRelations(List<Object> frontier) {
+        Map<String, Set<String>> pending = new LinkedHashMap<>();
+
+        for (Object model : frontier) forEachRelation(model, stub -> {
+            String type = typeOf(stub);
+            String id = stub.getId();
+            if (type == null || id == null || !queried.add(key(type, id))) return;
+
+            Set<String> ids = pending.get(type);
+            if (ids == null) pending.put(type, ids = new LinkedHashSet<>());
+            ids.add(id);
+        });
+
+        List<Object> read = new ArrayList<>();
+
+        for (Map.Entry<String, Set<String>> entry : pending.entrySet()) {
+            String type = entry.getKey();
+            List<String> ids = new ArrayList<>(entry.getValue());
+
+            for (int start = 0, size = ids.size(); start < size; start += MAX_QUERY_ARGS) {
+                List<String> chunk = ids.subList(start, Math.min(size, start + MAX_QUERY_ARGS));
+                for (Model<?> model : query(type, chunk)) {
+                    resolved.put(key(type, model.getId()), model);
+                    read.add(model);
+                }
+            }
+        }
+
+        return read;
+    }
+
+    /**
+     * Copies resolved values into the stubs of a model, hydrating the resolved values first
+     * so nested relations are complete by the time they are copied.
+     */
+    private void stitch(Object model, Set<Object> stitched) {
+        forEachRelation(model, stub -> {
+            String type = typeOf(stub);
+            if (type == null) return;
+
+            // A row that isn't cached leaves the stub as is. Team and user stubs are shared, so
+            // blanking one would blank every holder of its id
+            Model<?> value = resolved.get(key(type, stub.getId()));
+            if (value == null) return;
+            if (stitched.add(value)) stitch(value, stitched);
+
+            // Shared instances are interned from a response before it is saved, so they are
+            // at least as recent as the stored row
+            if (isShared(stub) && stub.hasMajorFields()) return;
+
+            update(stub, value);
+        });
+    }
+
+    private List<? extends Model<?>> query(String type, List<String> ids) {
+        switch (type) {
+            case TEAM:
+                return database.teamDao().findByIds(ids);
+            case USER:
+                return database.userDao().findByIds(ids);
+            case GAME:
+                return database.gameDao().findByIds(ids);
+            case EVENT:
+                return database.eventDao().findByIds(ids);
+            case COMPETITOR:
+                return database.competitorDao().findByIds(ids);
+            case TOURNAMENT:
+                return database.tournamentDao().findByIds(ids);
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Visits the {@link Model} relations of a row or of a model read from the network.
+     */
+    public static void forEachRelation(Object model, Consumer<Model<?>> consumer) {
+        if (model instanceof Chat) {
+            Chat chat = (Chat) model;
+            consumer.accept(chat.getUser());
+            consumer.accept(chat.getTeam());
+        }
+        else if (model instanceof Media) {
+            Media media = (Media) model;
+            consumer.accept(media.getUser());
+            consumer.accept(media.getTeam());
+        }
+        else if (model instanceof RoleEntity) {
+            RoleEntity role = (RoleEntity) model;
+            consumer.accept(role.getUser());
+            consumer.accept(role.getTeam());
+        }
+        else if (model instanceof JoinRequestEntity) {
+            JoinRequestEntity request = (JoinRequestEntity) model;
+            consumer.accept(request.getUser());
+            consumer.accept(request.getTeam());
+        }
+        else if (model instanceof GuestEntity) {
+            GuestEntity guest = (GuestEntity) model;
+            consumer.accept(guest.getUser());
+            consumer.accept(guest.getEvent());
+        }
+        else if (model instanceof EventEntity) {
+            consumer.accept(((EventEntity) model).getTeam());
+        }
+        else if (model instanceof TournamentEntity) {
+            TournamentEntity tournament = (TournamentEntity) model;
+            consumer.accept(tournament.getHost());
+            consumer.accept(tournament.getWinner());
+        }
+        else if (model instanceof GameEntity) {
+            GameEntity game = (GameEntity) model;
+            consumer.accept(game.getHost());
+            consumer.accept(game.getReferee());
+            consumer.accept(game.getEvent());
+            consumer.accept(game.getTournament());
+            consumer.accept(game.getHome());
+            consumer.accept(game.getAway());
+            consumer.accept(game.getWinner());
+        }
+        else if (model instanceof CompetitorEntity) {
+            Competitive entity = ((CompetitorEntity) model).getEntity();
+            if (entity instanceof Model) consumer.accept((Model<?>) entity);
+        }
+        else if (model instanceof StatEntity) {
+            StatEntity stat = (StatEntity) model;
+            consumer.accept(stat.getUser());
+            consumer.accept(stat.getTeam());
+            consumer.accept(stat.getGame());
+        }
+    }
+
+    private static void update(Model<?> stub, Model<?> value) {
+        if (stub instanceof Team) ((Team) stub).update((Team) value);
+        else if (stub instanceof User) ((User) stub).update((User) value);
+        else if (stub instanceof Game) ((Game) stub).update((Game) value);
+        else if (stub instanceof Event) ((Event) stub).update((Event) value);
+        else if (stub instanceof Competitor) ((Competitor) stub).update((Competitor) value);
+        else if (stub instanceof Tournament) ((Tournament) stub).update((Tournament) value);
+    }
+
+    private static boolean isShared(Model<?> stub) {
+        return stub instanceof Team || stub instanceof User;
+    }
+
+    @Nullable
+    private static String typeOf(Class<?> modelClass) {
+        if (modelClass == Team.class) return TEAM;
+        if (modelClass == User.class) return USER;
+        if (modelClass == Game.class) return GAME;
+        if (modelClass == Event.class) return EVENT;
+        if (modelClass == Competitor.class) return COMPETITOR;
+        if (modelClass == Tournament.class) return TOURNAMENT;
+        return null;
+    }
+
+    @Nullable
+    private static String typeOf(@Nullable Model<?> stub) {
+        if (stub instanceof Team) return TEAM;
+        if (stub instanceof User) return USER;
+        if (stub instanceof Game) return GAME;
+        if (stub instanceof Event) return EVENT;
+        if (stub instanceof Competitor) return COMPETITOR;
+        if (stub instanceof Tournament) return TOURNAMENT;
+        return null;
+    }
+
+    private static String key(String type, String id) { return type + "," + id; }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.annotation.Nullable;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import com.mainstreetcode.teammate.persistence.entity.OutboxEntity;
+
+import java.util.Date;
+import java.util.List;
+
+import io.reactivex.Flowable;
+
+/**
+ * DAO for {@link OutboxEntity}
+ */
+
+@Dao
+public abstract class OutboxDao {
+
+    static final String UNSENT = "SELECT * FROM outbox" +
+            " WHERE outbox_status != '" + OutboxEntity.STATUS_FAILED + "'" +
+            " ORDER BY outbox_id";
+
+    static final String GET = "SELECT * FROM outbox WHERE outbox_id = :id";
+
+    static final String LATEST = "SELECT * FROM outbox" +
+            " WHERE outbox_model_id = :modelId" +
+            " ORDER BY outbox_id DESC" +
+            " LIMIT 1";
+
+    static final String COUNT_UNSENT = "SELECT COUNT(*) FROM outbox" +
+            " WHERE outbox_model_id = :modelId" +
+            " AND outbox_status != '" + OutboxEntity.STATUS_FAILED + "'";
+
+    static final String OBSERVE = "SELECT * FROM outbox" +
+            " WHERE outbox_model_id = :modelId" +
+            " ORDER BY outbox_id";
+
+    static final String RESET_SENDING = "UPDATE outbox SET outbox_status = '" + OutboxEntity.STATUS_PENDING + "'" +
+            " WHERE outbox_status = '" + OutboxEntity.STATUS_SENDING + "'";
+
+    static final String COALESCE = "UPDATE outbox SET outbox_payload = :payload" +
+            " WHERE outbox_id = :id" +
+            " AND outbox_status = '" + OutboxEntity.STATUS_PENDING + "'";
+
+    static final String CLAIM = "UPDATE outbox SET outbox_status = '" + OutboxEntity.STATUS_SENDING + "'" +
+            " WHERE outbox_id = :id" +
+            " AND outbox_status = '" + OutboxEntity.STATUS_PENDING + "'";
+
+    static final String RETRY = "UPDATE outbox SET outbox_status = '" + OutboxEntity.STATUS_PENDING + "'," +
+            " outbox_attempts = :attempts, outbox_next_attempt = :nextAttempt" +
+            " WHERE outbox_id = :id";
+
+    static final String FAIL = "UPDATE outbox SET outbox_status = '" + OutboxEntity.STATUS_FAILED + "'" +
+            " WHERE outbox_id = :id";
+
+    static final String DELETE = "DELETE FROM outbox WHERE outbox_id = :id";
+
+    static final String DELETE_FAILED_BEFORE = "DELETE FROM outbox" +
+            " WHERE outbox_status = '" + OutboxEntity.STATUS_FAILED + "'" +
+            " AND outbox_created < :date";
+
+    @Insert
+    public abstract long insert(OutboxEntity item);
+
+    @Query(UNSENT)
+    public abstract List<OutboxEntity> unsent();
+
+    @Nullable
+    @Query(GET)
+    public abstract OutboxEntity get(long id);
+
+    @Nullable
+    @Query(LATEST)
+    public abstract OutboxEntity latest(String modelId);
+
+    @Query(COUNT_UNSENT)
+    public abstract int countUnsent(String modelId);
+
+    @Query(OBSERVE)
+    public abstract Flowable<List<OutboxEntity>> observe(String modelId);
+
+    /**
+     * Replaces the payload of an item that has not been claimed for sending yet
+     *
+     * @return 1 if the item was still pending, 0 otherwise
+     */
+    @Query(COALESCE)
+    public abstract int coalesce(long id, String payload);
+
+    /**
+     * Marks a pending item as sending. Only status columns are written, so a payload coalesced
+     * after the item was read is kept and sent.
+     *
+     * @return 1 if this call claimed the item, 0 if it was not pending
+     */
+    @Query(CLAIM)
+    public abstract int claim(long id);
+
+    @Query(RETRY)
+    public abstract void retry(long id, int attempts, Date nextAttempt);
+
+    @Query(FAIL)
+    public abstract void fail(long id);
+
+    @Query(RESET_SENDING)
+    public abstract void resetSending();
+
+    @Query(DELETE)
+    public abstract void delete(long id);
+
+    @Query(DELETE_FAILED_BEFORE)
+    public abstract void deleteFailedBefore(Date date);
+}
@@ -27,6 +27,7 @@ package com.mainstreetcode.teammate.persistence;
 import androidx.room.Dao;
 import androidx.annotation.NonNull;
 
+import com.google.gson.Gson;
 import com.mainstreetcode.teammate.model.Config;
 import com.mainstreetcode.teammate.model.Prefs;
 import com.mainstreetcode.teammate.rest.TeammateService;
@@ -38,6 +39,8 @@ import com.mainstreetcode.teammate.rest.TeammateService;
 @Dao
 public class PrefsDao extends SharedPreferencesDao<Prefs> {
 
+    private static final Gson GSON = TeammateService.getGson();
+
     @Override
     String preferenceName() {return "device-prefs";}
 
@@ -46,8 +49,8 @@ public class PrefsDao extends SharedPreferencesDao<Prefs> {
     Prefs getEmpty() { return Prefs.empty(); }
 
     @Override
-    String to(Prefs device) {return TeammateService.getGson().toJson(device);}
+    String to(Prefs device) {return GSON.toJson(device);}
 
     @Override
-    Prefs from(String json) {return TeammateService.getGson().fromJson(json, Prefs.class);}
+    Prefs from(String json) {return GSON.fromJson(json, Prefs.class);}
 }
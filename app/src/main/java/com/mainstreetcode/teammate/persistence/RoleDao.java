@@ -31,6 +31,7 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
 
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Role;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.entity.RoleEntity;
@@ -38,6 +39,7 @@ import com.mainstreetcode.teammate.persistence.entity.RoleEntity;
 import java.util.Date;
 import java.util.List;
 
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 
 /**
@@ -49,14 +51,53 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class RoleDao extends EntityDao<RoleEntity> {
 
+    static final String LOAD_BY_ID = "SELECT * FROM roles" +
+            " WHERE :id = role_id";
+
+    static final String FIND_BY_TEAM = "SELECT * FROM roles" +
+            " WHERE :teamId = role_team";
+
+    static final String LOAD_ROLE_IN_TEAM = "SELECT *" +
+            " FROM roles" +
+            " WHERE :teamId = role_team" +
+            " AND :userId = role_user";
+
+    static final String LOAD_USER_ROLES = "SELECT *" +
+            " FROM roles" +
+            " WHERE :userId = role_user";
+
+    static final String DELETE_BY_TEAM = "DELETE FROM roles WHERE role_team = :teamId";
+
+    static final String DELETE_USERS = "DELETE FROM roles WHERE role_user = :userId AND role_team = :teamId";
+
+    static final String LOAD_ROLES = "SELECT * FROM roles as role" +
+            " WHERE :teamId = role_team" +
+            " AND (role_created < :date OR (role_created = :date AND role_id < :lastId))" +
+            " ORDER BY role_created DESC, role_id DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_ROLES_SINCE = "SELECT * FROM roles as role" +
+            " WHERE :teamId = role_team" +
+            " AND role_created >= :date" +
+            " ORDER BY role_created DESC";
+
     @Override
     protected String getTableName() {
         return "roles";
     }
 
-    @Query("SELECT * FROM roles" +
-            " WHERE :id = role_id")
-    public abstract Maybe<Role> get(String id);
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Role> loadById(String id);
+
+    public Maybe<Role> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
+
+    /**
+     * Every stored role in the team, read without hydrating what it references
+     */
+    @Query(FIND_BY_TEAM)
+    public abstract List<Role> findByTeam(String teamId);
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<RoleEntity> roles);
@@ -64,30 +105,46 @@ public abstract class RoleDao extends EntityDao<RoleEntity> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<RoleEntity> roles);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(RoleEntity role);
+
     @Delete
     public abstract void delete(List<RoleEntity> roles);
 
-    @Query("SELECT *" +
-            " FROM roles" +
-            " WHERE :teamId = role_team" +
-            " AND :userId = role_user")
-    public abstract Maybe<Role> getRoleInTeam(String userId, String teamId);
+    @Query(LOAD_ROLE_IN_TEAM)
+    protected abstract Maybe<Role> loadRoleInTeam(String userId, String teamId);
 
-    @Query("SELECT *" +
-            " FROM roles" +
-            " WHERE :userId = role_user")
-    public abstract Maybe<List<Role>> userRoles(String userId);
+    public Maybe<Role> getRoleInTeam(String userId, String teamId) {
+        return loadRoleInTeam(userId, teamId).map(ModelHydrator::hydrate);
+    }
 
-    @Query("DELETE FROM roles WHERE role_team = :teamId")
+    @Query(LOAD_USER_ROLES)
+    protected abstract Maybe<List<Role>> loadUserRoles(String userId);
+
+    public Maybe<List<Role>> userRoles(String userId) {
+        return loadUserRoles(userId).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(DELETE_BY_TEAM)
     public abstract void deleteByTeam(String teamId);
 
-    @Query("DELETE FROM roles WHERE role_user = :userId AND role_team = :teamId")
+    @Query(DELETE_USERS)
     public abstract void deleteUsers(String userId, String teamId);
 
-    @Query("SELECT * FROM roles as role" +
-            " WHERE :teamId = role_team" +
-            " AND role_created < :date" +
-            " ORDER BY role_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Role>> getRoles(String teamId, Date date, int limit);
+    @Query(LOAD_ROLES)
+    protected abstract Maybe<List<Role>> loadRoles(String teamId, Date date, String lastId, int limit);
+
+    public Maybe<List<Role>> getRoles(String teamId, PageCursor cursor, int limit) {
+        return loadRoles(teamId, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_ROLES_SINCE)
+    protected abstract Flowable<List<Role>> loadRolesSince(String teamId, Date date);
+
+    /**
+     * Re-emits every role in the team created at or after {@code date} whenever the table is invalidated
+     */
+    public Flowable<List<Role>> observeRolesSince(String teamId, Date date) {
+        return loadRolesSince(teamId, date).map(ModelHydrator::hydrateAll);
+    }
 }
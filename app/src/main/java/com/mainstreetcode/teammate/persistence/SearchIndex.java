@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * FTS4 shadow tables over chat content, team names and user names. They use their source
+ * table as external content, so only the token index is stored, and triggers keep them in sync.
+ * <p>
+ * The tables live outside of Room's entities, so they are created by both a migration and the
+ * database's create callback, and queried with raw queries.
+ */
+public final class SearchIndex {
+
+    private static final String[][] INDICES = {
+            {"team_chats", "team_chats_fts", "team_chat_content"},
+            {"teams", "teams_fts", "team_name", "team_screen_name"},
+            {"users", "users_fts", "user_first_name", "user_last_name", "user_screen_name"},
+    };
+
+    private SearchIndex() {}
+
+    /**
+     * Creates the shadow tables and their triggers, then indexes rows already in the source tables.
+     */
+    public static void create(SupportSQLiteDatabase database) {
+        for (String[] index : INDICES) {
+            String source = index[0];
+            String fts = index[1];
+            String columns = join(index, "");
+            String newValues = join(index, "new.");
+
+            database.execSQL("DROP TABLE IF EXISTS `" + fts + "`");
+            database.execSQL("CREATE VIRTUAL TABLE `" + fts + "` USING fts4(content=`" + source + "`, " + columns + ")");
+
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS `" + fts + "_before_update` BEFORE UPDATE ON `" + source + "`" +
+                    " BEGIN DELETE FROM `" + fts + "` WHERE docid = old.rowid; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS `" + fts + "_before_delete` BEFORE DELETE ON `" + source + "`" +
+                    " BEGIN DELETE FROM `" + fts + "` WHERE docid = old.rowid; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS `" + fts + "_after_update` AFTER UPDATE ON `" + source + "`" +
+                    " BEGIN INSERT INTO `" + fts + "`(docid, " + columns + ") VALUES (new.rowid, " + newValues + "); END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS `" + fts + "_after_insert` AFTER INSERT ON `" + source + "`" +
+                    " BEGIN INSERT INTO `" + fts + "`(docid, " + columns + ") VALUES (new.rowid, " + newValues + "); END");
+
+            database.execSQL("INSERT INTO `" + fts + "`(`" + fts + "`) VALUES('rebuild')");
+        }
+    }
+
+    static SupportSQLiteQuery teams(String match, String prefix, @Nullable String sport, int limit) {
+        List<Object> args = new ArrayList<>();
+        args.add(match);
+
+        StringBuilder sql = new StringBuilder("SELECT teams.* FROM teams" +
+                " INNER JOIN teams_fts ON teams.rowid = teams_fts.docid" +
+                " WHERE teams_fts MATCH ?");
+
+        if (!TextUtils.isEmpty(sport)) {
+            sql.append(" AND teams.team_sport = ?");
+            args.add(sport);
+        }
+
+        sql.append(" ORDER BY CASE" +
+                " WHEN teams.team_name LIKE ? THEN 0" +
+                " WHEN teams.team_screen_name LIKE ? THEN 1" +
+                " ELSE 2 END, length(teams.team_name)" +
+                " LIMIT ?");
+        args.add(prefix);
+        args.add(prefix);
+        args.add(limit);
+
+        return new SimpleSQLiteQuery(sql.toString(), args.toArray());
+    }
+
+    static SupportSQLiteQuery users(String match, String prefix, int limit) {
+        return new SimpleSQLiteQuery("SELECT users.* FROM users" +
+                " INNER JOIN users_fts ON users.rowid = users_fts.docid" +
+                " WHERE users_fts MATCH ?" +
+                " ORDER BY CASE" +
+                " WHEN users.user_screen_name LIKE ? THEN 0" +
+                " WHEN users.user_first_name LIKE ? THEN 1" +
+                " WHEN users.user_last_name LIKE ? THEN 1" +
+                " ELSE 2 END, length(users.user_first_name) + length(users.user_last_name)" +
+                " LIMIT ?", new Object[]{match, prefix, prefix, prefix, limit});
+    }
+
+    static SupportSQLiteQuery chats(String teamId, String match, int limit) {
+        return new SimpleSQLiteQuery("SELECT team_chats.* FROM team_chats" +
+                " INNER JOIN team_chats_fts ON team_chats.rowid = team_chats_fts.docid" +
+                " WHERE team_chats_fts MATCH ?" +
+                " AND team_chats.team_chat_team = ?" +
+                " ORDER BY team_chats.team_chat_created DESC" +
+                " LIMIT ?", new Object[]{match, teamId, limit});
+    }
+
+    /**
+     * Turns user input into an FTS expression that prefix matches every word, or null if the
+     * input has no words.
+     */
+    @Nullable
+    static String matchExpression(@Nullable CharSequence input) {
+        List<String> tokens = tokens(input);
+        if (tokens.isEmpty()) return null;
+
+        StringBuilder builder = new StringBuilder();
+        for (String token : tokens) builder.append(token).append("* ");
+        return builder.toString().trim();
+    }
+
+    /**
+     * A LIKE pattern for rows whose primary field starts with the first word of the input.
+     */
+    @NonNull
+    static String prefixPattern(@Nullable CharSequence input) {
+        List<String> tokens = tokens(input);
+        return tokens.isEmpty() ? "" : tokens.get(0) + "%";
+    }
+
+    private static List<String> tokens(@Nullable CharSequence input) {
+        List<String> tokens = new ArrayList<>();
+        if (TextUtils.isEmpty(input)) return tokens;
+
+        for (String token : input.toString().toLowerCase(Locale.US).split("[^\\p{L}\\p{N}]+"))
+            if (!token.isEmpty()) tokens.add(token);
+
+        return tokens;
+    }
+
+    private static String join(String[] index, String prefix) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 2; i < index.length; i++) {
+            if (i > 2) builder.append(", ");
+            builder.append(prefix).append('`').append(index[i]).append('`');
+        }
+        return builder.toString();
+    }
+}
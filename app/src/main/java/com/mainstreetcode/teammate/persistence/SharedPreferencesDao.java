@@ -32,8 +32,11 @@ import android.text.TextUtils;
 
 import com.mainstreetcode.teammate.App;
 import com.mainstreetcode.teammate.model.Device;
+import com.mainstreetcode.teammate.model.Model;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.Single;
 
@@ -42,10 +45,13 @@ import io.reactivex.Single;
  */
 
 @Dao
-public abstract class SharedPreferencesDao<T> extends EntityDao<T> {
+public abstract class SharedPreferencesDao<T extends Model<T>> extends EntityDao<T> {
 
     private static final String KEY = "SharedPreferencesDao";
 
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile Snapshot<T> snapshot;
+
     @Override
     protected String getTableName() {
         return preferenceName();
@@ -54,13 +60,23 @@ public abstract class SharedPreferencesDao<T> extends EntityDao<T> {
     @NonNull
     abstract T getEmpty();
 
+    /**
+     * Returns the decoded value, parsing the stored preference only when it has been written
+     * since the last read. Every caller shares the same instance until the next write, so it is
+     * read only: copy it before editing, then write the copy back.
+     */
     @NonNull
     public T getCurrent() {
+        int expected = version.get();
+        Snapshot<T> current = snapshot;
+        if (current != null && current.version == expected) return current.value;
+
         SharedPreferences preferences = getPreferences();
         String deserialized = preferences.getString(KEY, "");
 
-        if (TextUtils.isEmpty(deserialized)) return getEmpty();
-        return from(deserialized);
+        T value = TextUtils.isEmpty(deserialized) ? getEmpty() : from(deserialized);
+        snapshot = new Snapshot<>(expected, value);
+        return value;
     }
 
     @Override
@@ -70,6 +86,7 @@ public abstract class SharedPreferencesDao<T> extends EntityDao<T> {
 
     public void deleteCurrent() {
         getPreferences().edit().remove(KEY).apply();
+        version.incrementAndGet();
     }
 
     @Override
@@ -78,6 +95,7 @@ public abstract class SharedPreferencesDao<T> extends EntityDao<T> {
 
         T device = models.get(0);
         getPreferences().edit().putString(KEY, to(device)).apply();
+        snapshot = new Snapshot<>(version.incrementAndGet(), copy(device));
     }
 
     @Override
@@ -85,6 +103,12 @@ public abstract class SharedPreferencesDao<T> extends EntityDao<T> {
         insert(models);
     }
 
+    @Override
+    protected int update(T model) {
+        insert(Collections.singletonList(model));
+        return 1;
+    }
+
     @Override
     public void delete(List<T> models) {
         deleteCurrent();
@@ -98,6 +122,12 @@ public abstract class SharedPreferencesDao<T> extends EntityDao<T> {
         });
     }
 
+    private T copy(T value) {
+        T copy = getEmpty();
+        copy.update(value);
+        return copy;
+    }
+
     private SharedPreferences getPreferences() {
         return App.getInstance().getSharedPreferences(getTableName(), Context.MODE_PRIVATE);
     }
@@ -107,4 +137,14 @@ public abstract class SharedPreferencesDao<T> extends EntityDao<T> {
     abstract String to(T t);
 
     abstract T from(String deserialized);
+
+    private static final class Snapshot<T> {
+        private final int version;
+        private final T value;
+
+        private Snapshot(int version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
 }
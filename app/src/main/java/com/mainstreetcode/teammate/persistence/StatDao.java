@@ -32,6 +32,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Stat;
 import com.mainstreetcode.teammate.persistence.entity.StatEntity;
 
@@ -47,21 +48,33 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class StatDao extends EntityDao<StatEntity> {
 
+    static final String LOAD_STATS = "SELECT * FROM stats as stat" +
+            " WHERE :game_id = stat_game" +
+            " AND (stat_created < :date OR (stat_created = :date AND stat_id < :lastId))" +
+            " ORDER BY stat_created DESC, stat_id DESC" +
+            " LIMIT :limit";
+
+    static final String LOAD_BY_ID = "SELECT * FROM stats" +
+            " WHERE :id = stat_id";
+
     @Override
     protected String getTableName() {
         return "stats";
     }
 
-    @Query("SELECT * FROM stats as stat" +
-            " WHERE :game_id = stat_game" +
-            " AND stat_created < :date" +
-            " ORDER BY stat_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Stat>> getStats(String game_id, Date date, int limit);
+    @Query(LOAD_STATS)
+    protected abstract Maybe<List<Stat>> loadStats(String game_id, Date date, String lastId, int limit);
+
+    public Maybe<List<Stat>> getStats(String game_id, PageCursor cursor, int limit) {
+        return loadStats(game_id, cursor.getDate(), cursor.getId(), limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Stat> loadById(String id);
 
-    @Query("SELECT * FROM stats" +
-            " WHERE :id = stat_id")
-    public abstract Maybe<Stat> get(String id);
+    public Maybe<Stat> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<StatEntity> stats);
@@ -69,6 +82,9 @@ public abstract class StatDao extends EntityDao<StatEntity> {
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<StatEntity> stats);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(StatEntity stat);
+
     @Delete
     public abstract void delete(StatEntity stat);
 }
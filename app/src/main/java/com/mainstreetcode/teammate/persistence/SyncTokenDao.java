@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence;
+
+import androidx.annotation.Nullable;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.mainstreetcode.teammate.persistence.entity.SyncTokenEntity;
+
+/**
+ * DAO for {@link SyncTokenEntity}
+ */
+
+@Dao
+public abstract class SyncTokenDao {
+
+    static final String TOKEN = "SELECT sync_token_value FROM sync_tokens" +
+            " WHERE sync_token_team = :teamId";
+
+    static final String DELETE = "DELETE FROM sync_tokens" +
+            " WHERE sync_token_team = :teamId";
+
+    @Nullable
+    @Query(TOKEN)
+    public abstract String token(String teamId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void upsert(SyncTokenEntity syncToken);
+
+    @Query(DELETE)
+    public abstract void delete(String teamId);
+}
@@ -29,7 +29,9 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.persistence.entity.TeamEntity;
@@ -47,24 +49,50 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class TeamDao extends EntityDao<TeamEntity> {
 
+    static final String GET = "SELECT * FROM teams" +
+            " WHERE :id = team_id";
+
+    static final String GET_TEAMS = "SELECT * FROM teams";
+
+    static final String FIND_BY_IDS = "SELECT * FROM teams" +
+            " WHERE team_id IN (:ids)";
+
     @Override
     protected String getTableName() {
         return "teams";
     }
 
-    @Query("SELECT * FROM teams" +
-            " WHERE :id = team_id")
+    @Query(GET)
     public abstract Maybe<Team> get(String id);
 
-    @Query("SELECT * FROM teams")
+    @Query(GET_TEAMS)
     public abstract Maybe<List<Team>> getTeams();
 
+    @Query(FIND_BY_IDS)
+    abstract List<Team> findByIds(List<String> ids);
+
+    /**
+     * Ranked local matches for a team search, drawing on the {@link SearchIndex}
+     */
+    public Maybe<List<Team>> search(CharSequence name, String sport, int limit) {
+        String match = SearchIndex.matchExpression(name);
+        if (match == null) return Maybe.empty();
+
+        return Maybe.fromCallable(() -> search(SearchIndex.teams(match, SearchIndex.prefixPattern(name), sport, limit)));
+    }
+
+    @RawQuery
+    protected abstract List<Team> search(SupportSQLiteQuery query);
+
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<TeamEntity> teams);
 
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<TeamEntity> teams);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(TeamEntity team);
+
     @Delete
     public abstract void delete(TeamEntity teamEntity);
 }
@@ -59,6 +59,25 @@ public class TeamMemberDao extends EntityDao<TeamMember> {
         }));
     }
 
+    @Override
+    protected int update(TeamMember model) {
+        int[] updated = new int[1];
+        daos((roleDao, requestDao) -> {
+            Model wrapped = model.getWrappedModel();
+            if (wrapped instanceof Role) updated[0] = roleDao.update((Role) wrapped);
+            if (wrapped instanceof JoinRequest) updated[0] = requestDao.update((JoinRequest) wrapped);
+        });
+        return updated[0];
+    }
+
+    @Override
+    public void upsert(List<TeamMember> models) {
+        daos((roleDao, requestDao) -> TeamMember.split(models, (roles, requests) -> {
+            roleDao.upsert(Collections.unmodifiableList(roles));
+            requestDao.upsert(Collections.unmodifiableList(requests));
+        }));
+    }
+
     @Override
     public void delete(TeamMember model) {
         daos((roleDao, requestDao) -> {
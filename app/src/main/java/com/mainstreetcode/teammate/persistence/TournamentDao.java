@@ -47,12 +47,7 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class TournamentDao extends EntityDao<TournamentEntity> {
 
-    @Override
-    protected String getTableName() {
-        return "tournaments";
-    }
-
-    @Query("SELECT * FROM tournaments as tournament" +
+    static final String LOAD_TOURNAMENTS = "SELECT * FROM tournaments as tournament" +
             " INNER JOIN games AS game" +
             " ON tournament.tournament_id = game.game_tournament" +
             " WHERE :teamId = game.game_host" +
@@ -60,26 +55,63 @@ public abstract class TournamentDao extends EntityDao<TournamentEntity> {
             " OR :teamId = game.game_away_entity" +
             " AND tournament.tournament_created < :date" +
             " ORDER BY tournament.tournament_created DESC" +
-            " LIMIT :limit")
-    public abstract Maybe<List<Tournament>> getTournaments(String teamId, Date date, int limit);
+            " LIMIT :limit";
 
-    @Query("SELECT * FROM tournaments" +
-            " WHERE :id = tournament_id")
-    public abstract Maybe<Tournament> get(String id);
+    static final String LOAD_BY_ID = "SELECT * FROM tournaments" +
+            " WHERE :id = tournament_id";
 
-    @Query("DELETE FROM events " +
+    static final String DELETE_TOURNAMENT_EVENTS = "DELETE FROM events " +
             " WHERE event_game_id IN (" +
             " SELECT game_id FROM games  " +
             " WHERE game_tournament = :tournamentId" +
-            ")")
+            ")";
+
+    static final String FIND_BY_IDS = "SELECT * FROM tournaments" +
+            " WHERE tournament_id IN (:ids)";
+
+    static final String FIND_BY_TEAM = "SELECT * FROM tournaments" +
+            " WHERE :teamId = tournament_host";
+
+    @Override
+    protected String getTableName() {
+        return "tournaments";
+    }
+
+    @Query(LOAD_TOURNAMENTS)
+    protected abstract Maybe<List<Tournament>> loadTournaments(String teamId, Date date, int limit);
+
+    public Maybe<List<Tournament>> getTournaments(String teamId, Date date, int limit) {
+        return loadTournaments(teamId, date, limit).map(ModelHydrator::hydrateAll);
+    }
+
+    @Query(LOAD_BY_ID)
+    protected abstract Maybe<Tournament> loadById(String id);
+
+    public Maybe<Tournament> get(String id) {
+        return loadById(id).map(ModelHydrator::hydrate);
+    }
+
+    @Query(DELETE_TOURNAMENT_EVENTS)
     public abstract void deleteTournamentEvents(String tournamentId);
 
+    @Query(FIND_BY_IDS)
+    abstract List<Tournament> findByIds(List<String> ids);
+
+    /**
+     * Every stored tournament in the team, read without hydrating what it references
+     */
+    @Query(FIND_BY_TEAM)
+    public abstract List<Tournament> findByTeam(String teamId);
+
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<TournamentEntity> tournaments);
 
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<TournamentEntity> tournaments);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(TournamentEntity tournament);
+
     @Delete
     public abstract void delete(TournamentEntity tournament);
 }
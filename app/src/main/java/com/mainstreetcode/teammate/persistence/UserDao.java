@@ -29,7 +29,9 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.entity.UserEntity;
@@ -47,20 +49,44 @@ import io.reactivex.Maybe;
 @Dao
 public abstract class UserDao extends EntityDao<UserEntity> {
 
+    static final String GET = "SELECT * FROM users WHERE :id = user_id";
+
+    static final String FIND_BY_IDS = "SELECT * FROM users" +
+            " WHERE user_id IN (:ids)";
+
     @Override
     protected String getTableName() {
         return "users";
     }
 
-    @Query("SELECT * FROM users WHERE :id = user_id")
+    @Query(GET)
     public abstract Maybe<User> get(String id );
 
+    @Query(FIND_BY_IDS)
+    abstract List<User> findByIds(List<String> ids);
+
+    /**
+     * Ranked local matches for a user search, drawing on the {@link SearchIndex}
+     */
+    public Maybe<List<User>> search(CharSequence name, int limit) {
+        String match = SearchIndex.matchExpression(name);
+        if (match == null) return Maybe.empty();
+
+        return Maybe.fromCallable(() -> search(SearchIndex.users(match, SearchIndex.prefixPattern(name), limit)));
+    }
+
+    @RawQuery
+    protected abstract List<User> search(SupportSQLiteQuery query);
+
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract void insert(List<UserEntity> roles);
 
     @Update(onConflict = OnConflictStrategy.IGNORE)
     protected abstract void update(List<UserEntity> roles);
 
+    @Update(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract int update(UserEntity user);
+
     @Delete
     public abstract void delete(UserEntity user);
 }
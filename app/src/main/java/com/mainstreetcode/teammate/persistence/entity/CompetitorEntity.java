@@ -28,6 +28,7 @@ package com.mainstreetcode.teammate.persistence.entity;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -47,6 +48,10 @@ import static androidx.room.ForeignKey.CASCADE;
         foreignKeys = {
                 @ForeignKey(entity = TournamentEntity.class, parentColumns = "tournament_id", childColumns = "competitor_tournament", onDelete = CASCADE),
                 @ForeignKey(entity = GameEntity.class, parentColumns = "game_id", childColumns = "competitor_game", onDelete = CASCADE),
+        },
+        indices = {
+                @Index(value = {"competitor_tournament", "competitor_created"}),
+                @Index(value = "competitor_game")
         }
 )
 public class CompetitorEntity implements Parcelable {
@@ -39,6 +39,7 @@ import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import static androidx.room.ForeignKey.CASCADE;
@@ -47,7 +48,10 @@ import static com.mainstreetcode.teammate.util.ModelUtils.processString;
 
 
 @Entity(tableName = "events",
-        foreignKeys = @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "event_team", onDelete = CASCADE)
+        foreignKeys = @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "event_team", onDelete = CASCADE),
+        indices = {
+                @Index(value = {"event_team", "event_start_date"})
+        }
 )
 public class EventEntity implements Parcelable {
 
@@ -27,6 +27,7 @@ package com.mainstreetcode.teammate.persistence.entity;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -51,7 +52,13 @@ import static com.mainstreetcode.teammate.util.ModelUtils.parse;
 
 
 @Entity(tableName = "games",
-        foreignKeys = @ForeignKey(entity = TournamentEntity.class, parentColumns = "tournament_id", childColumns = "game_tournament", onDelete = CASCADE)
+        foreignKeys = @ForeignKey(entity = TournamentEntity.class, parentColumns = "tournament_id", childColumns = "game_tournament", onDelete = CASCADE),
+        indices = {
+                @Index(value = {"game_tournament", "game_round", "game_created"}),
+                @Index(value = {"game_host", "game_created"}),
+                @Index(value = {"game_home_entity", "game_created"}),
+                @Index(value = {"game_away_entity", "game_created"})
+        }
 )
 public class GameEntity implements Parcelable {
 
@@ -234,6 +241,10 @@ public class GameEntity implements Parcelable {
         this.ended = ended;
     }
 
+    public void setReferee(User referee) {
+        this.referee = referee;
+    }
+
     @SuppressWarnings("WeakerAccess")
     public void setHomeScore(String homeScore) { this.homeScore = parse(homeScore); }
 
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+import com.mainstreetcode.teammate.model.User;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static androidx.room.ForeignKey.CASCADE;
+
+/**
+ * A row per team or user taking part in a game, so a participant's games are a single range
+ * scan on one index rather than an OR across the host, home and away columns of {@code games}.
+ */
+@Entity(
+        tableName = "game_participants",
+        primaryKeys = {"game_participant_game", "game_participant_entity"},
+        foreignKeys = @ForeignKey(entity = GameEntity.class, parentColumns = "game_id", childColumns = "game_participant_game", onDelete = CASCADE),
+        indices = @Index(value = {"game_participant_entity", "game_participant_created", "game_participant_game"})
+)
+public class GameParticipantEntity {
+
+    public static final String HOST = "host";
+    public static final String HOME = "home";
+    public static final String AWAY = "away";
+
+    @NonNull
+    @ColumnInfo(name = "game_participant_game") private String gameId;
+    @NonNull
+    @ColumnInfo(name = "game_participant_entity") private String entityId;
+    @ColumnInfo(name = "game_participant_role") private String role;
+    @ColumnInfo(name = "game_participant_created") private Date created;
+
+    public GameParticipantEntity(@NonNull String gameId, @NonNull String entityId, String role, Date created) {
+        this.gameId = gameId;
+        this.entityId = entityId;
+        this.role = role;
+        this.created = created;
+    }
+
+    /**
+     * The participants of a game: its home and away competitors, and the hosting team of games
+     * between users.
+     */
+    public static List<GameParticipantEntity> from(GameEntity game) {
+        List<GameParticipantEntity> participants = new ArrayList<>(3);
+        String gameId = game.getId();
+        Date created = game.getCreated();
+
+        addIfValid(participants, gameId, game.getHomeEntityId(), HOME, created);
+        addIfValid(participants, gameId, game.getAwayEntityId(), AWAY, created);
+        if (User.COMPETITOR_TYPE.equals(game.getRefPath()))
+            addIfValid(participants, gameId, game.getHost().getId(), HOST, created);
+
+        return participants;
+    }
+
+    @NonNull
+    public String getGameId() { return gameId; }
+
+    @NonNull
+    public String getEntityId() { return entityId; }
+
+    public String getRole() { return role; }
+
+    public Date getCreated() { return created; }
+
+    private static void addIfValid(List<GameParticipantEntity> participants, String gameId, String entityId, String role, Date created) {
+        if (entityId == null || entityId.isEmpty()) return;
+        participants.add(new GameParticipantEntity(gameId, entityId, role, created));
+    }
+}
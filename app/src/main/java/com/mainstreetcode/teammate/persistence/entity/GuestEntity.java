@@ -28,6 +28,7 @@ package com.mainstreetcode.teammate.persistence.entity;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -45,6 +46,10 @@ import static androidx.room.ForeignKey.CASCADE;
         foreignKeys = {
                 @ForeignKey(entity = UserEntity.class, parentColumns = "user_id", childColumns = "guest_user", onDelete = CASCADE),
                 @ForeignKey(entity = EventEntity.class, parentColumns = "event_id", childColumns = "guest_event", onDelete = CASCADE)
+        },
+        indices = {
+                @Index(value = {"guest_event", "guest_created"}),
+                @Index(value = {"guest_user", "guest_created"})
         }
 )
 public class GuestEntity implements Parcelable{
@@ -28,6 +28,7 @@ package com.mainstreetcode.teammate.persistence.entity;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -47,6 +48,10 @@ import static androidx.room.ForeignKey.CASCADE;
         foreignKeys = {
                 @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "join_request_team", onDelete = CASCADE),
                 @ForeignKey(entity = UserEntity.class, parentColumns = "user_id", childColumns = "join_request_user", onDelete = CASCADE)
+        },
+        indices = {
+                @Index(value = {"join_request_team", "join_request_created"}),
+                @Index(value = {"join_request_user", "join_request_team"})
         }
 )
 public class JoinRequestEntity implements Parcelable {
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.entity;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A mutation accepted locally and waiting to be sent to the server, in the order it was made.
+ * The request is kept as an HTTP method, a path relative to the API and a serialized body.
+ */
+@Entity(
+        tableName = "outbox",
+        indices = @Index(value = "outbox_model_id")
+)
+public class OutboxEntity {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_SENDING = "sending";
+    public static final String STATUS_FAILED = "failed";
+
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "outbox_id") private long id;
+    @NonNull @ColumnInfo(name = "outbox_op") private String op;
+    @NonNull @ColumnInfo(name = "outbox_path") private String path;
+    @NonNull @ColumnInfo(name = "outbox_model_type") private String modelType;
+    @NonNull @ColumnInfo(name = "outbox_model_id") private String modelId;
+    @ColumnInfo(name = "outbox_payload") private String payload;
+    @ColumnInfo(name = "outbox_dependencies") private String dependencies;
+    @NonNull @ColumnInfo(name = "outbox_status") private String status;
+    @ColumnInfo(name = "outbox_attempts") private int attempts;
+    @ColumnInfo(name = "outbox_next_attempt") private Date nextAttempt;
+    @ColumnInfo(name = "outbox_created") private Date created;
+
+    public OutboxEntity(long id, @NonNull String op, @NonNull String path,
+                        @NonNull String modelType, @NonNull String modelId,
+                        String payload, String dependencies, @NonNull String status,
+                        int attempts, Date nextAttempt, Date created) {
+        this.id = id;
+        this.op = op;
+        this.path = path;
+        this.modelType = modelType;
+        this.modelId = modelId;
+        this.payload = payload;
+        this.dependencies = dependencies;
+        this.status = status;
+        this.attempts = attempts;
+        this.nextAttempt = nextAttempt;
+        this.created = created;
+    }
+
+    @Ignore
+    public OutboxEntity(@NonNull String op, @NonNull String path, @NonNull String modelType,
+                        @NonNull String modelId, String payload, List<String> dependencies) {
+        this(0, op, path, modelType, modelId, payload, TextUtils.join(",", dependencies),
+                STATUS_PENDING, 0, new Date(), new Date());
+    }
+
+    public long getId() { return id; }
+
+    @NonNull
+    public String getOp() { return op; }
+
+    @NonNull
+    public String getPath() { return path; }
+
+    @NonNull
+    public String getModelType() { return modelType; }
+
+    @NonNull
+    public String getModelId() { return modelId; }
+
+    public String getPayload() { return payload; }
+
+    public String getDependencies() { return dependencies; }
+
+    public List<String> getDependencyIds() {
+        return TextUtils.isEmpty(dependencies) ? Collections.emptyList() : Arrays.asList(dependencies.split(","));
+    }
+
+    @NonNull
+    public String getStatus() { return status; }
+
+    public int getAttempts() { return attempts; }
+
+    public Date getNextAttempt() { return nextAttempt; }
+
+    public Date getCreated() { return created; }
+}
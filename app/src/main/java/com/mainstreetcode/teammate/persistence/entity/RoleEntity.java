@@ -28,6 +28,7 @@ package com.mainstreetcode.teammate.persistence.entity;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -48,6 +49,10 @@ import static androidx.room.ForeignKey.CASCADE;
         foreignKeys = {
                 @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "role_team", onDelete = CASCADE),
                 @ForeignKey(entity = UserEntity.class, parentColumns = "user_id", childColumns = "role_user", onDelete = CASCADE)
+        },
+        indices = {
+                @Index(value = {"role_team", "role_created"}),
+                @Index(value = {"role_user", "role_team"})
         }
 )
 public class RoleEntity implements Parcelable {
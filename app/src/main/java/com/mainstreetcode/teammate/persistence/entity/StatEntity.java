@@ -27,6 +27,7 @@ package com.mainstreetcode.teammate.persistence.entity;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -54,6 +55,11 @@ import static com.mainstreetcode.teammate.util.ModelUtils.parseFloat;
                 @ForeignKey(entity = GameEntity.class, parentColumns = "game_id", childColumns = "stat_game", onDelete = CASCADE),
                 @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "stat_team", onDelete = CASCADE),
                 @ForeignKey(entity = UserEntity.class, parentColumns = "user_id", childColumns = "stat_user", onDelete = CASCADE),
+        },
+        indices = {
+                @Index(value = {"stat_game", "stat_created"}),
+                @Index(value = "stat_team"),
+                @Index(value = "stat_user")
         }
 )
 public class StatEntity implements Parcelable {
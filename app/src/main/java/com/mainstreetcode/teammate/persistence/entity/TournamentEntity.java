@@ -27,6 +27,7 @@ package com.mainstreetcode.teammate.persistence.entity;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -48,7 +49,10 @@ import static com.mainstreetcode.teammate.util.ModelUtils.processString;
 
 
 @Entity(tableName = "tournaments",
-        foreignKeys = @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "tournament_host", onDelete = CASCADE)
+        foreignKeys = @ForeignKey(entity = TeamEntity.class, parentColumns = "team_id", childColumns = "tournament_host", onDelete = CASCADE),
+        indices = {
+                @Index(value = {"tournament_host", "tournament_created"})
+        }
 )
 public class TournamentEntity implements Parcelable {
 
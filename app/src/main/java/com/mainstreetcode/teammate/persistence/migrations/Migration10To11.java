@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.migrations;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.room.migration.Migration;
+import androidx.annotation.NonNull;
+
+public class Migration10To11 extends Migration {
+
+    public Migration10To11() {
+        super(10, 11);
+    }
+
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+        database.execSQL("CREATE TABLE IF NOT EXISTS `outbox` (" +
+                "`outbox_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                "`outbox_op` TEXT NOT NULL, " +
+                "`outbox_path` TEXT NOT NULL, " +
+                "`outbox_model_type` TEXT NOT NULL, " +
+                "`outbox_model_id` TEXT NOT NULL, " +
+                "`outbox_payload` TEXT, " +
+                "`outbox_dependencies` TEXT, " +
+                "`outbox_status` TEXT NOT NULL, " +
+                "`outbox_attempts` INTEGER NOT NULL, " +
+                "`outbox_next_attempt` INTEGER, " +
+                "`outbox_created` INTEGER)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_outbox_outbox_model_id` ON `outbox` (`outbox_model_id`)");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.migrations;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.room.migration.Migration;
+import androidx.annotation.NonNull;
+
+public class Migration4To5 extends Migration {
+
+    public Migration4To5() {
+        super(4, 5);
+    }
+
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_team_chats_team_chat_team_team_chat_created` ON `team_chats` (`team_chat_team`, `team_chat_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_team_chats_team_chat_user` ON `team_chats` (`team_chat_user`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_team_media_media_team_media_created` ON `team_media` (`media_team`, `media_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_team_media_media_user` ON `team_media` (`media_user`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_events_event_team_event_start_date` ON `events` (`event_team`, `event_start_date`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_guests_guest_event_guest_created` ON `guests` (`guest_event`, `guest_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_guests_guest_user_guest_created` ON `guests` (`guest_user`, `guest_created`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_roles_role_team_role_created` ON `roles` (`role_team`, `role_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_roles_role_user_role_team` ON `roles` (`role_user`, `role_team`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_join_requests_join_request_team_join_request_created` ON `join_requests` (`join_request_team`, `join_request_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_join_requests_join_request_user_join_request_team` ON `join_requests` (`join_request_user`, `join_request_team`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_tournaments_tournament_host_tournament_created` ON `tournaments` (`tournament_host`, `tournament_created`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_games_game_tournament_game_round_game_created` ON `games` (`game_tournament`, `game_round`, `game_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_games_game_host_game_created` ON `games` (`game_host`, `game_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_games_game_home_entity_game_created` ON `games` (`game_home_entity`, `game_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_games_game_away_entity_game_created` ON `games` (`game_away_entity`, `game_created`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_competitors_competitor_tournament_competitor_created` ON `competitors` (`competitor_tournament`, `competitor_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_competitors_competitor_game` ON `competitors` (`competitor_game`)");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_stats_stat_game_stat_created` ON `stats` (`stat_game`, `stat_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_stats_stat_team` ON `stats` (`stat_team`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_stats_stat_user` ON `stats` (`stat_user`)");
+    }
+}
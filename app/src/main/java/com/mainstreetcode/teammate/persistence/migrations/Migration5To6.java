@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.migrations;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.room.migration.Migration;
+import androidx.annotation.NonNull;
+
+public class Migration5To6 extends Migration {
+
+    public Migration5To6() {
+        super(5, 6);
+    }
+
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+        // stat_attributes moves from JSON TEXT to a BLOB; SQLite can't alter a column's type so
+        // the table is rebuilt. Existing JSON is copied as is, and decoded as such until rewritten.
+        database.execSQL("CREATE TABLE IF NOT EXISTS `stats_new` (" +
+                "`stat_id` TEXT NOT NULL, " +
+                "`stat_created` INTEGER, " +
+                "`stat_type` TEXT, " +
+                "`stat_sport` TEXT, " +
+                "`stat_user` TEXT, " +
+                "`stat_team` TEXT, " +
+                "`stat_game` TEXT, " +
+                "`stat_attributes` BLOB, " +
+                "`stat_value` INTEGER NOT NULL, " +
+                "`stat_time` REAL NOT NULL, " +
+                "PRIMARY KEY(`stat_id`), " +
+                "FOREIGN KEY(`stat_game`) REFERENCES `games`(`game_id`) ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                "FOREIGN KEY(`stat_team`) REFERENCES `teams`(`team_id`) ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                "FOREIGN KEY(`stat_user`) REFERENCES `users`(`user_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+
+        database.execSQL("INSERT INTO `stats_new` (`stat_id`, `stat_created`, `stat_type`, `stat_sport`, `stat_user`, `stat_team`, `stat_game`, `stat_attributes`, `stat_value`, `stat_time`) " +
+                "SELECT `stat_id`, `stat_created`, `stat_type`, `stat_sport`, `stat_user`, `stat_team`, `stat_game`, CAST(`stat_attributes` AS BLOB), `stat_value`, `stat_time` FROM `stats`");
+
+        database.execSQL("DROP TABLE `stats`");
+        database.execSQL("ALTER TABLE `stats_new` RENAME TO `stats`");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_stats_stat_game_stat_created` ON `stats` (`stat_game`, `stat_created`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_stats_stat_team` ON `stats` (`stat_team`)");
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_stats_stat_user` ON `stats` (`stat_user`)");
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.migrations;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.room.migration.Migration;
+import androidx.annotation.NonNull;
+
+public class Migration7To8 extends Migration {
+
+    public Migration7To8() {
+        super(7, 8);
+    }
+
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+        database.execSQL("CREATE TABLE IF NOT EXISTS `game_participants` (" +
+                "`game_participant_game` TEXT NOT NULL, " +
+                "`game_participant_entity` TEXT NOT NULL, " +
+                "`game_participant_role` TEXT, " +
+                "`game_participant_created` INTEGER, " +
+                "PRIMARY KEY(`game_participant_game`, `game_participant_entity`), " +
+                "FOREIGN KEY(`game_participant_game`) REFERENCES `games`(`game_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+
+        database.execSQL("CREATE INDEX IF NOT EXISTS `index_game_participants_game_participant_entity_game_participant_created_game_participant_game` " +
+                "ON `game_participants` (`game_participant_entity`, `game_participant_created`, `game_participant_game`)");
+
+        // Index the games already cached, mirroring GameParticipantEntity.from()
+        database.execSQL("INSERT OR IGNORE INTO `game_participants` " +
+                "SELECT `game_id`, `game_home_entity`, 'home', `game_created` FROM `games` " +
+                "WHERE `game_home_entity` IS NOT NULL AND `game_home_entity` != ''");
+        database.execSQL("INSERT OR IGNORE INTO `game_participants` " +
+                "SELECT `game_id`, `game_away_entity`, 'away', `game_created` FROM `games` " +
+                "WHERE `game_away_entity` IS NOT NULL AND `game_away_entity` != ''");
+        database.execSQL("INSERT OR IGNORE INTO `game_participants` " +
+                "SELECT `game_id`, `game_host`, 'host', `game_created` FROM `games` " +
+                "WHERE `game_ref_path` = 'user' AND `game_host` IS NOT NULL AND `game_host` != ''");
+    }
+}
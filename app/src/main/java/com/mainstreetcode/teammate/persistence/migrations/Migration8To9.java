@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.migrations;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.room.migration.Migration;
+import androidx.annotation.NonNull;
+
+import com.mainstreetcode.teammate.App;
+
+import java.util.Map;
+
+public class Migration8To9 extends Migration {
+
+    private static final String TEAM_SEEN_TIMES = "TeamRepository.team.seen.times";
+
+    public Migration8To9() {
+        super(8, 9);
+    }
+
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+        database.execSQL("CREATE TABLE IF NOT EXISTS `team_last_seen` (" +
+                "`team_last_seen_team` TEXT NOT NULL, " +
+                "`team_last_seen_date` INTEGER, " +
+                "PRIMARY KEY(`team_last_seen_team`), " +
+                "FOREIGN KEY(`team_last_seen_team`) REFERENCES `teams`(`team_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+
+        // Last seen times used to be kept in shared preferences; carry over those of cached teams
+        SharedPreferences preferences = getLegacyPreferences();
+        for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+            if (!(entry.getValue() instanceof Long)) continue;
+            database.execSQL("INSERT OR REPLACE INTO `team_last_seen` (`team_last_seen_team`, `team_last_seen_date`) " +
+                    "SELECT `team_id`, ? FROM `teams` WHERE `team_id` = ?", new Object[]{entry.getValue(), entry.getKey()});
+        }
+    }
+
+    /**
+     * Deletes the last seen times kept in shared preferences. Called once the database has opened,
+     * so a migration that fails and rolls back can copy them again on the next attempt.
+     */
+    public static void clearLegacyPreferences() {
+        SharedPreferences preferences = getLegacyPreferences();
+        if (!preferences.getAll().isEmpty()) preferences.edit().clear().apply();
+    }
+
+    private static SharedPreferences getLegacyPreferences() {
+        return App.getInstance().getSharedPreferences(TEAM_SEEN_TIMES, Context.MODE_PRIVATE);
+    }
+}
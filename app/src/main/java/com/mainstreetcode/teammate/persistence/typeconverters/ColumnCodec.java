@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.typeconverters;
+
+import androidx.annotation.Nullable;
+
+import com.mainstreetcode.teammate.util.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Encodes small structured column values as a binary blob prefixed with a version byte.
+ * <p>
+ * Columns that used to hold JSON text still decode: SQLite hands the text back as its UTF-8
+ * bytes, and JSON never starts with a byte a version can take, so those rows are routed to
+ * {@link #readLegacy(String)} until they are next written.
+ */
+public abstract class ColumnCodec<T> {
+
+    private static final String TAG = "ColumnCodec";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final byte version;
+
+    ColumnCodec(int version) {
+        if (version < 1 || version > 31) throw new IllegalArgumentException("Versions are 1 - 31");
+        this.version = (byte) version;
+    }
+
+    @Nullable
+    public final byte[] encode(@Nullable T value) {
+        if (value == null) return null;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(version);
+            write(out, value);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public final T decode(@Nullable byte[] blob) {
+        if (blob == null || blob.length == 0) return empty();
+
+        byte stored = blob[0];
+        if (stored > 31) return readLegacy(new String(blob, UTF_8));
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(blob, 1, blob.length - 1))) {
+            return read(in, stored);
+        }
+        catch (IOException e) {
+            Logger.log(TAG, "Unable to decode column of version " + stored, e);
+            return empty();
+        }
+    }
+
+    abstract T empty();
+
+    abstract void write(DataOutputStream out, T value) throws IOException;
+
+    /**
+     * @param version the version the value was written with, at most the current version
+     */
+    abstract T read(DataInputStream in, byte version) throws IOException;
+
+    abstract T readLegacy(String text);
+}
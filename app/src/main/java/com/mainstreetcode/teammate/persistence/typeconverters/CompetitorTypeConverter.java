@@ -27,9 +27,11 @@ package com.mainstreetcode.teammate.persistence.typeconverters;
 import androidx.room.TypeConverter;
 
 import com.mainstreetcode.teammate.model.Competitor;
-import com.mainstreetcode.teammate.persistence.AppDatabase;
-
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
 
+/**
+ * Converts a competitor id to a stub; the stub is filled by the {@link ModelHydrator}
+ */
 public class CompetitorTypeConverter {
 
     @TypeConverter
@@ -39,7 +41,6 @@ public class CompetitorTypeConverter {
 
     @TypeConverter
     public Competitor fromId(String id) {
-        Competitor found = AppDatabase.getInstance().competitorDao().get(id).blockingGet();
-        return found == null ? Competitor.empty() : found;
+        return id == null ? Competitor.empty() : Competitor.withId(id);
     }
 }
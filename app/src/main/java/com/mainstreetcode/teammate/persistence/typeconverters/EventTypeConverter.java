@@ -27,9 +27,11 @@ package com.mainstreetcode.teammate.persistence.typeconverters;
 import androidx.room.TypeConverter;
 
 import com.mainstreetcode.teammate.model.Event;
-import com.mainstreetcode.teammate.persistence.AppDatabase;
-
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
 
+/**
+ * Converts an event id to a stub; the stub is filled by the {@link ModelHydrator}
+ */
 public class EventTypeConverter {
 
     @TypeConverter
@@ -39,7 +41,6 @@ public class EventTypeConverter {
 
     @TypeConverter
     public Event fromId(String id) {
-        return AppDatabase.getInstance().eventDao().get(id)
-                .onErrorReturn(error -> Event.empty()).blockingGet(Event.empty());
+        return id == null ? Event.empty() : Event.withId(id);
     }
 }
@@ -28,9 +28,11 @@ import androidx.room.TypeConverter;
 
 import com.mainstreetcode.teammate.model.Game;
 import com.mainstreetcode.teammate.model.Team;
-import com.mainstreetcode.teammate.persistence.AppDatabase;
-
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
 
+/**
+ * Converts a game id to a stub; the stub is filled by the {@link ModelHydrator}
+ */
 public class GameTypeConverter {
 
     @TypeConverter
@@ -40,6 +42,6 @@ public class GameTypeConverter {
 
     @TypeConverter
     public Game fromId(String id) {
-        return AppDatabase.getInstance().gameDao().get(id).blockingGet(Game.empty(Team.empty()));
+        return id == null ? Game.empty(Team.empty()) : Game.withId(id);
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.typeconverters;
+
+import com.google.gson.Gson;
+import com.mainstreetcode.teammate.model.enums.StatAttribute;
+import com.mainstreetcode.teammate.model.enums.StatAttributes;
+import com.mainstreetcode.teammate.rest.TeammateService;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes {@link StatAttributes} as a count followed by each attribute's code and name.
+ */
+final class StatAttributesCodec extends ColumnCodec<StatAttributes> {
+
+    static final StatAttributesCodec INSTANCE = new StatAttributesCodec();
+
+    private static final int VERSION = 1;
+
+    private StatAttributesCodec() {
+        super(VERSION);
+    }
+
+    @Override
+    StatAttributes empty() {
+        return new StatAttributes();
+    }
+
+    @Override
+    void write(DataOutputStream out, StatAttributes attributes) throws IOException {
+        out.writeShort(attributes.size());
+        for (StatAttribute attribute : attributes) {
+            out.writeUTF(nullToEmpty(attribute.getCode()));
+            out.writeUTF(nullToEmpty(attribute.getName()));
+        }
+    }
+
+    @Override
+    StatAttributes read(DataInputStream in, byte version) throws IOException {
+        int size = in.readUnsignedShort();
+        StatAttributes attributes = new StatAttributes();
+        attributes.ensureCapacity(size);
+
+        for (int i = 0; i < size; i++) attributes.add(StatAttribute.of(in.readUTF(), in.readUTF()));
+        return attributes;
+    }
+
+    @Override
+    StatAttributes readLegacy(String json) {
+        StatAttributes attributes = LegacyGson.INSTANCE.fromJson(json, StatAttributes.class);
+        return attributes == null ? empty() : attributes;
+    }
+
+    private static String nullToEmpty(CharSequence text) {
+        return text == null ? "" : text.toString();
+    }
+
+    // Only built if a JSON row is actually read
+    private static final class LegacyGson {
+        private static final Gson INSTANCE = TeammateService.getGson();
+    }
+}
@@ -26,10 +26,14 @@ package com.mainstreetcode.teammate.persistence.typeconverters;
 
 import androidx.room.TypeConverter;
 
+import com.mainstreetcode.teammate.model.IdentityMap;
 import com.mainstreetcode.teammate.model.Team;
-import com.mainstreetcode.teammate.persistence.AppDatabase;
-
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
 
+/**
+ * Converts a team id to its shared {@link IdentityMap} instance, or to a stub that is filled
+ * by the {@link ModelHydrator}
+ */
 public class TeamTypeConverter {
 
     @TypeConverter
@@ -39,7 +43,6 @@ public class TeamTypeConverter {
 
     @TypeConverter
     public Team fromId(String id) {
-        return AppDatabase.getInstance().teamDao().get(id)
-                .onErrorReturn(error -> Team.empty()).blockingGet(Team.empty());
+        return id == null ? Team.empty() : IdentityMap.intern(Team.withId(id));
     }
 }
@@ -28,9 +28,11 @@ import androidx.room.TypeConverter;
 
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.Tournament;
-import com.mainstreetcode.teammate.persistence.AppDatabase;
-
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
 
+/**
+ * Converts a tournament id to a stub; the stub is filled by the {@link ModelHydrator}
+ */
 public class TournamentTypeConverter {
 
     @TypeConverter
@@ -40,7 +42,6 @@ public class TournamentTypeConverter {
 
     @TypeConverter
     public Tournament fromId(String id) {
-        return AppDatabase.getInstance().tournamentDao().get(id)
-                .onErrorReturn(error -> Tournament.empty(Team.empty())).blockingGet(Tournament.empty(Team.empty()));
+        return id == null ? Tournament.empty(Team.empty()) : Tournament.withId(id);
     }
 }
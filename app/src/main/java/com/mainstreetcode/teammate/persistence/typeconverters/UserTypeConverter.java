@@ -26,10 +26,14 @@ package com.mainstreetcode.teammate.persistence.typeconverters;
 
 import androidx.room.TypeConverter;
 
+import com.mainstreetcode.teammate.model.IdentityMap;
 import com.mainstreetcode.teammate.model.User;
-import com.mainstreetcode.teammate.persistence.AppDatabase;
-
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
 
+/**
+ * Converts a user id to its shared {@link IdentityMap} instance, or to a stub that is filled
+ * by the {@link ModelHydrator}
+ */
 public class UserTypeConverter {
 
     @TypeConverter
@@ -39,7 +43,6 @@ public class UserTypeConverter {
 
     @TypeConverter
     public User fromId(String id) {
-        return AppDatabase.getInstance().userDao().get(id)
-                .onErrorReturn(error -> User.empty()).blockingGet(User.empty());
+        return id == null ? User.empty() : IdentityMap.intern(User.withId(id));
     }
 }
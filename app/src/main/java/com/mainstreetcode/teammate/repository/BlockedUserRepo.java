@@ -26,6 +26,7 @@ package com.mainstreetcode.teammate.repository;
 
 
 import com.mainstreetcode.teammate.model.BlockedUser;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
@@ -33,7 +34,6 @@ import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
-import java.util.Date;
 import java.util.List;
 
 import androidx.annotation.Nullable;
@@ -42,6 +42,9 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+
 public class BlockedUserRepo extends TeamQueryRepo<BlockedUser> {
 
     private final TeammateApi api;
@@ -72,13 +75,13 @@ public class BlockedUserRepo extends TeamQueryRepo<BlockedUser> {
     }
 
     @Override
-    Maybe<List<BlockedUser>> localModelsBefore(Team key, @Nullable Date date) {
+    Maybe<List<BlockedUser>> localModelsBefore(Team key, @Nullable PageCursor cursor, int limit) {
         return Maybe.empty();
     }
 
     @Override
-    Maybe<List<BlockedUser>> remoteModelsBefore(Team key, @Nullable Date date) {
-        return api.blockedUsers(key.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<BlockedUser>> remoteModelsBefore(Team key, @Nullable PageCursor cursor, int limit) {
+        return api.blockedUsers(key.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
     @Override
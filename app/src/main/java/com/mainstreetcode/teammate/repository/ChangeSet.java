@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableTransformer;
+
+/**
+ * The rows that changed between two consecutive emissions of an observable query.
+ * Rows that left the query's range are reported as removed.
+ */
+public final class ChangeSet<T extends Differentiable> {
+
+    private final List<T> upserted;
+    private final List<T> removed;
+
+    private ChangeSet(List<T> upserted, List<T> removed) {
+        this.upserted = Collections.unmodifiableList(upserted);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    public List<T> getUpserted() {
+        return upserted;
+    }
+
+    public List<T> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return upserted.isEmpty() && removed.isEmpty();
+    }
+
+    public static <T extends Differentiable> ChangeSet<T> of(List<T> upserted, List<T> removed) {
+        return new ChangeSet<>(upserted, removed);
+    }
+
+    /**
+     * Turns a stream of query snapshots into a stream of changes. The first snapshot is taken
+     * as the baseline since the caller already has it from its paged fetch.
+     */
+    static <T extends Differentiable> FlowableTransformer<List<T>, ChangeSet<T>> diffed() {
+        return upstream -> Flowable.defer(() -> {
+            Map<String, T> snapshot = new HashMap<>();
+            return upstream.map(rows -> diff(snapshot, rows)).skip(1).filter(changes -> !changes.isEmpty());
+        });
+    }
+
+    private static <T extends Differentiable> ChangeSet<T> diff(Map<String, T> snapshot, List<T> rows) {
+        Map<String, T> current = new LinkedHashMap<>(rows.size());
+        List<T> upserted = new ArrayList<>();
+
+        for (T row : rows) {
+            String id = row.getId();
+            T previous = snapshot.remove(id);
+            if (previous == null || !previous.areContentsTheSame(row)) upserted.add(row);
+            current.put(id, row);
+        }
+
+        List<T> removed = new ArrayList<>(snapshot.values());
+        snapshot.clear();
+        snapshot.putAll(current);
+
+        return new ChangeSet<>(upserted, removed);
+    }
+}
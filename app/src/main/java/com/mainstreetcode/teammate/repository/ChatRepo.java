@@ -24,23 +24,23 @@
 
 package com.mainstreetcode.teammate.repository;
 
-import android.content.Context;
-import android.content.SharedPreferences;
-import android.util.Pair;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
-import com.mainstreetcode.teammate.App;
 import com.mainstreetcode.teammate.model.Chat;
-import com.mainstreetcode.teammate.model.Role;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.UnreadChats;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.ChatDao;
+import com.mainstreetcode.teammate.persistence.DbSchedulers;
 import com.mainstreetcode.teammate.persistence.EntityDao;
+import com.mainstreetcode.teammate.persistence.UnreadChat;
+import com.mainstreetcode.teammate.persistence.entity.LastSeenEntity;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 import com.mainstreetcode.teammate.socket.SocketFactory;
@@ -50,8 +50,12 @@ import org.json.JSONObject;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import androidx.annotation.Nullable;
@@ -62,23 +66,24 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 import static com.mainstreetcode.teammate.socket.SocketFactory.EVENT_NEW_MESSAGE;
-import static io.reactivex.schedulers.Schedulers.io;
 import static io.socket.client.Socket.EVENT_ERROR;
 
 public class ChatRepo extends TeamQueryRepo<Chat> {
 
 
-    private static final String TEAM_SEEN_TIMES = "TeamRepository.team.seen.times";
-    private static final int TEAM_NOT_SEEN = -1;
+    private static final int UNREAD_LIMIT = 10;
+    // Teams that have never been seen only count chats from the last couple of minutes as unread
+    private static final long UNSEEN_WINDOW = TimeUnit.MINUTES.toMillis(2);
     private static final Gson CHAT_GSON = getChatGson();
 
-    private final App app;
     private final TeammateApi api;
     private final ChatDao chatDao;
 
     ChatRepo() {
-        app = App.getInstance();
         api = TeammateService.getApiInstance();
         chatDao = AppDatabase.getInstance().teamChatDao();
     }
@@ -95,8 +100,8 @@ public class ChatRepo extends TeamQueryRepo<Chat> {
 
     @Override
     public Flowable<Chat> get(String id) {
-        Maybe<Chat> local = chatDao.get(id).subscribeOn(io());
-        Maybe<Chat> remote = api.getTeamChat(id).map(getSaveFunction()).toMaybe();
+        Maybe<Chat> local = chatDao.get(id).subscribeOn(reads());
+        Maybe<Chat> remote = api.getTeamChat(id).map(getDeferredSaveFunction()).toMaybe();
 
         return fetchThenGetModel(local, remote);
     }
@@ -112,44 +117,51 @@ public class ChatRepo extends TeamQueryRepo<Chat> {
 
     @Override
     Function<List<Chat>, List<Chat>> provideSaveManyFunction() {
-        return chats -> {
-            int size = chats.size();
-            List<User> users = new ArrayList<>(size);
-            List<Team> teams = new ArrayList<>(size);
-
-            for (Chat chat : chats) {
-                users.add(chat.getUser());
-                teams.add(chat.getTeam());
-            }
-
-            RepoProvider.forModel(User.class).saveAsNested().apply(users);
-            RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
+        return GraphWriter::write;
+    }
 
-            chatDao.upsert(chats);
-            return chats;
-        };
+    @Override
+    Maybe<List<Chat>> localModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        if (cursor == null) cursor = PageCursor.before(new Date());
+        return chatDao.chatsBefore(team.getId(), cursor, limit).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Chat>> localModelsBefore(Team team, @Nullable Date date) {
-        if (date == null) date = new Date();
-        return chatDao.chatsBefore(team.getId(), date, DEF_QUERY_LIMIT).subscribeOn(io());
+    Flowable<List<Chat>> observeModelsSince(Team team, PageCursor since) {
+        return chatDao.observeChatsSince(team.getId(), since.getDate()).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Chat>> remoteModelsBefore(Team team, @Nullable Date date) {
-        return api.chatsBefore(team.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<Chat>> remoteModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        return api.chatsBefore(team.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
-    public Flowable<List<Chat>> fetchUnreadChats() {
-        return RepoProvider.forRepo(RoleRepo.class).getMyRoles()
-                .firstElement()
+    /**
+     * Cached chats in the team matching the query, newest first. Chats are not searchable remotely.
+     */
+    public Flowable<List<Chat>> searchChats(Team team, String query) {
+        return chatDao.search(team.getId(), query, DEF_QUERY_LIMIT)
+                .defaultIfEmpty(Collections.emptyList())
                 .toFlowable()
-                .flatMap(Flowable::fromIterable)
-                .map(Role::getTeam)
-                .map(team -> new Pair<>(team.getId(), getLastTeamSeen(team)))
-                .flatMapMaybe(teamDatePair -> chatDao.unreadChats(teamDatePair.first, teamDatePair.second))
-                .filter(chats -> !chats.isEmpty());
+                .subscribeOn(reads());
+    }
+
+    /**
+     * The unread chats of each of the user's teams that has any, read with a single query
+     */
+    public Flowable<UnreadChats> fetchUnreadChats() {
+        return chatDao.unreadChats(getCurrentUserId(), UNSEEN_WINDOW, UNREAD_LIMIT)
+                .flattenAsFlowable(ChatRepo::groupByTeam)
+                .subscribeOn(reads());
+    }
+
+    /**
+     * Emits the unread chats of the user's teams again whenever a chat arrives or a team is seen
+     */
+    public Flowable<List<UnreadChats>> observeUnreadChats() {
+        return chatDao.observeUnreadChats(getCurrentUserId(), UNSEEN_WINDOW, UNREAD_LIMIT)
+                .map(ChatRepo::groupByTeam)
+                .subscribeOn(reads());
     }
 
     public Flowable<Chat> listenForChat(Team team) {
@@ -194,19 +206,34 @@ public class ChatRepo extends TeamQueryRepo<Chat> {
                 : Completable.error(throwable);
     }
 
-    public void updateLastSeen(Team team) {
-        SharedPreferences preferences = app.getSharedPreferences(TEAM_SEEN_TIMES, Context.MODE_PRIVATE);
-        preferences.edit().putLong(team.getId(), new Date().getTime()).apply();
+    public Completable updateLastSeen(Team team) {
+        return Completable.fromAction(() -> chatDao.upsertLastSeen(new LastSeenEntity(team.getId(), new Date())))
+                .subscribeOn(DbSchedulers.writes());
+    }
+
+    private String getCurrentUserId() {
+        return RepoProvider.forRepo(UserRepo.class).getCurrentUser().getId();
     }
 
-    private Date getLastTeamSeen(Team team) {
-        SharedPreferences preferences = app.getSharedPreferences(TEAM_SEEN_TIMES, Context.MODE_PRIVATE);
-        long timeStamp = preferences.getLong(team.getId(), TEAM_NOT_SEEN);
-        if (timeStamp == TEAM_NOT_SEEN) {
-            updateLastSeen(team);
-            timeStamp = new Date().getTime() - (1000 * 60 * 2);
+    private static List<UnreadChats> groupByTeam(List<UnreadChat> rows) {
+        Map<String, List<Chat>> chats = new LinkedHashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (UnreadChat row : rows) {
+            String teamId = row.getChat().getTeam().getId();
+            List<Chat> teamChats = chats.get(teamId);
+            if (teamChats == null) chats.put(teamId, teamChats = new ArrayList<>());
+
+            teamChats.add(row.getChat());
+            counts.put(teamId, row.getUnreadCount());
+        }
+
+        List<UnreadChats> result = new ArrayList<>(chats.size());
+        for (Map.Entry<String, List<Chat>> entry : chats.entrySet()) {
+            List<Chat> teamChats = entry.getValue();
+            result.add(new UnreadChats(teamChats.get(0).getTeam(), teamChats, counts.get(entry.getKey())));
         }
-        return new Date(timeStamp);
+        return result;
     }
 
     @Nullable
@@ -27,12 +27,8 @@ package com.mainstreetcode.teammate.repository;
 
 import androidx.annotation.Nullable;
 
-import com.mainstreetcode.teammate.model.Competitive;
 import com.mainstreetcode.teammate.model.Competitor;
-import com.mainstreetcode.teammate.model.Game;
-import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.Tournament;
-import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.CompetitorDao;
 import com.mainstreetcode.teammate.persistence.EntityDao;
@@ -40,8 +36,6 @@ import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 import com.mainstreetcode.teammate.util.TeammateException;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -50,7 +44,7 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class CompetitorRepo extends QueryRepo<Competitor, Tournament, Integer> {
 
@@ -80,8 +74,8 @@ public class CompetitorRepo extends QueryRepo<Competitor, Tournament, Integer> {
 
     @Override
     public Flowable<Competitor> get(String id) {
-        Maybe<Competitor> local = competitorDao.get(id).subscribeOn(io());
-        Maybe<Competitor> remote = api.getCompetitor(id).map(getSaveFunction()).toMaybe();
+        Maybe<Competitor> local = competitorDao.get(id).subscribeOn(reads());
+        Maybe<Competitor> remote = api.getCompetitor(id).map(getDeferredSaveFunction()).toMaybe();
 
         return fetchThenGetModel(local, remote);
     }
@@ -96,36 +90,17 @@ public class CompetitorRepo extends QueryRepo<Competitor, Tournament, Integer> {
     }
 
     @Override
-    Maybe<List<Competitor>> localModelsBefore(Tournament tournament, @Nullable Integer voided) {
-        return competitorDao.getCompetitors(tournament.getId()).subscribeOn(io());
+    Maybe<List<Competitor>> localModelsBefore(Tournament tournament, @Nullable Integer voided, int limit) {
+        return competitorDao.getCompetitors(tournament.getId()).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Competitor>> remoteModelsBefore(Tournament tournament, @Nullable Integer voided) {
-        return api.getCompetitors(tournament.getId()).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<Competitor>> remoteModelsBefore(Tournament tournament, @Nullable Integer voided, int limit) {
+        return api.getCompetitors(tournament.getId()).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
     @Override
     Function<List<Competitor>, List<Competitor>> provideSaveManyFunction() {
-        return models -> {
-            List<Team> teams = new ArrayList<>(models.size());
-            List<User> users = new ArrayList<>(models.size());
-            List<Game> games = new ArrayList<>(models.size());
-
-            for (Competitor competitor : models) {
-                Game game = competitor.getGame();
-                Competitive entity = competitor.getEntity();
-                if (entity instanceof Team) teams.add((Team) entity);
-                else if (entity instanceof User) users.add((User) entity);
-                if (!game.isEmpty()) games.add(game);
-            }
-
-            RepoProvider.forModel(User.class).saveAsNested().apply(users);
-            RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-            RepoProvider.forModel(Game.class).saveAsNested().apply(games);
-            competitorDao.upsert(Collections.unmodifiableList(models));
-
-            return models;
-        };
+        return GraphWriter::write;
     }
 }
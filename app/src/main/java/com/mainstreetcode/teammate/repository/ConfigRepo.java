@@ -45,9 +45,8 @@ import io.reactivex.functions.Function;
 
 public class ConfigRepo extends ModelRepo<Config> {
 
-    private static final int REFRESH_THRESHOLD = 10;
+    private static final String CURRENT = "current";
 
-    private int numRefreshes = 0;
     private int retryPeriod = 3;
 
     private final TeammateApi api;
@@ -74,7 +73,7 @@ public class ConfigRepo extends ModelRepo<Config> {
     public Flowable<Config> get(String ignored) {
         Config config = dao.getCurrent();
         return config.isEmpty()
-                ? api.getConfig().map(getSaveFunction()).toFlowable()
+                ? fetchConfig().toFlowable()
                 : Flowable.just(config).doFinally(this::refreshConfig);
     }
 
@@ -92,22 +91,30 @@ public class ConfigRepo extends ModelRepo<Config> {
         };
     }
 
+    /**
+     * Revalidates the cached config in the background once it is older than the config TTL.
+     */
     @SuppressLint("CheckResult")
     @SuppressWarnings("ResultOfMethodCallIgnored")
     private void refreshConfig() {
-        if (numRefreshes++ % REFRESH_THRESHOLD != 0) return;
-        api.getConfig().map(getSaveFunction())
+        if (FreshnessPolicy.getInstance().isFresh(this, CURRENT)) return;
+        fetchConfig()
                 .onErrorResumeNext(retryConfig()::apply)
                 .subscribe(ignored -> {}, ErrorHandler.EMPTY);
     }
 
+    private Single<Config> fetchConfig() {
+        return api.getConfig()
+                .map(getSaveFunction())
+                .doOnSuccess(ignored -> FreshnessPolicy.getInstance().onFetched(this, CURRENT));
+    }
+
     private Function<Throwable, Single<Config>> retryConfig() {
         return throwable -> {
-            numRefreshes = 0;
             retryPeriod *= retryPeriod;
             retryPeriod = Math.min(retryPeriod, 60);
             return Completable.timer(retryPeriod, TimeUnit.SECONDS)
-                    .andThen(api.getConfig().map(getSaveFunction()).onErrorResumeNext(retryConfig()::apply));
+                    .andThen(fetchConfig().onErrorResumeNext(retryConfig()::apply));
         };
     }
 }
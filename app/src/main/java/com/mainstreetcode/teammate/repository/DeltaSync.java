@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import android.annotation.SuppressLint;
+import android.text.TextUtils;
+
+import androidx.core.util.Pair;
+
+import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.Media;
+import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.Role;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.TeamChanges;
+import com.mainstreetcode.teammate.model.Tournament;
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.DbSchedulers;
+import com.mainstreetcode.teammate.persistence.OutboxDao;
+import com.mainstreetcode.teammate.persistence.SyncTokenDao;
+import com.mainstreetcode.teammate.persistence.entity.SyncTokenEntity;
+import com.mainstreetcode.teammate.rest.TeammateApi;
+import com.mainstreetcode.teammate.rest.TeammateService;
+import com.mainstreetcode.teammate.util.ErrorHandler;
+import com.mainstreetcode.teammate.util.Logger;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.processors.FlowableProcessor;
+import io.reactivex.processors.PublishProcessor;
+import retrofit2.HttpException;
+
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
+
+/**
+ * Keeps a team's events, games, tournaments, roles and media current by asking the server for
+ * what changed since the last sync, instead of paging them in again.
+ * <p>
+ * Every response carries a token for the next sync. Upserts, tombstones and the new token are
+ * written in one transaction, so a token is never stored for changes that were not applied.
+ * A snapshot, fetched without a token or after it expired, has no tombstones; the team's stored
+ * models it does not list are deleted in the same transaction instead.
+ * Models with mutations still queued in the {@link Outbox} are left alone; the outbox applies
+ * the server's copy once they are sent. Applied changes land in the database, where observed
+ * queries pick them up, and are published per team for lists that page from the network.
+ */
+@SuppressWarnings("unchecked")
+public final class DeltaSync {
+
+    private static final String TAG = "DeltaSync";
+
+    private static final DeltaSync ourInstance = new DeltaSync();
+
+    private final TeammateApi api;
+    private final SyncTokenDao dao;
+    private final SingleFlight<String, TeamChanges> syncFlights = new SingleFlight<>();
+    private final FlowableProcessor<Pair<String, TeamChanges>> applied = PublishProcessor.<Pair<String, TeamChanges>>create().toSerialized();
+
+    private DeltaSync() {
+        this(TeammateService.getApiInstance(), AppDatabase.getInstance().syncTokenDao());
+    }
+
+    DeltaSync(TeammateApi api, SyncTokenDao dao) {
+        this.api = api;
+        this.dao = dao;
+    }
+
+    public static DeltaSync getInstance() { return ourInstance; }
+
+    /**
+     * Fetches and applies what changed in {@code team} since it was last synced. Concurrent
+     * calls for the same team share one request.
+     */
+    public Single<TeamChanges> sync(Team team) {
+        String teamId = team.getId();
+        return syncFlights.join(teamId, () -> fetch(teamId).toFlowable()).singleOrError();
+    }
+
+    @SuppressLint("CheckResult")
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    public void syncInBackground(Team team) {
+        if (!team.isEmpty()) sync(team).subscribe(ignored -> {}, ErrorHandler.EMPTY);
+    }
+
+    /**
+     * The models of {@code type} in {@code team} that each sync created, updated or deleted.
+     */
+    public <T extends Model<T>> Flowable<ChangeSet<T>> changes(Team team, Class<T> type) {
+        String teamId = team.getId();
+        return applied.filter(pair -> teamId.equals(pair.first))
+                .map(pair -> ChangeSet.of(pair.second.getUpserted(type), pair.second.getRemoved(type)))
+                .filter(changes -> !changes.isEmpty());
+    }
+
+    private Single<TeamChanges> fetch(String teamId) {
+        return Single.fromCallable(() -> tokenOf(teamId)).subscribeOn(reads())
+                .flatMap(token -> changesSince(teamId, token))
+                .onErrorResumeNext(throwable -> isExpired(throwable)
+                        ? changesSince(teamId, "")
+                        : Single.error(throwable))
+                .map(this::resolve)
+                .flatMap(changes -> Single.fromCallable(() -> apply(teamId, changes)).subscribeOn(DbSchedulers.writes()));
+    }
+
+    private Single<TeamChanges> changesSince(String teamId, String token) {
+        // A missing token asks the server for a snapshot of the team
+        return TextUtils.isEmpty(token)
+                ? api.getTeamChanges(teamId, null).map(TeamChanges::asSnapshot)
+                : api.getTeamChanges(teamId, token);
+    }
+
+    private String tokenOf(String teamId) {
+        String token = dao.token(teamId);
+        return token == null ? "" : token;
+    }
+
+    private TeamChanges resolve(TeamChanges changes) {
+        for (Class type : TeamChanges.types()) IdResolver.resolveAll(changes.getUpserted(type));
+        return changes;
+    }
+
+    private TeamChanges apply(String teamId, TeamChanges changes) {
+        AppDatabase database = AppDatabase.getInstance();
+        OutboxDao outbox = database.outboxDao();
+
+        database.runInTransaction(() -> {
+            if (changes.isSnapshot()) for (Class type : TeamChanges.types())
+                changes.addRemoved(type, absent(database, type, teamId, changes));
+
+            GraphWriter writer = new GraphWriter();
+            for (Class type : TeamChanges.types()) writer.addAll(skipQueued(outbox, changes.getUpserted(type)));
+            writer.write();
+
+            for (Class type : TeamChanges.types()) {
+                ModelRepo repo = RepoProvider.forModel(type);
+                for (Model model : skipQueued(outbox, changes.getRemoved(type))) repo.deleteLocally(model);
+            }
+
+            if (!TextUtils.isEmpty(changes.getToken()))
+                dao.upsert(new SyncTokenEntity(teamId, changes.getToken()));
+        });
+
+        if (!changes.isEmpty()) applied.onNext(new Pair<>(teamId, changes));
+        Logger.log(TAG, "Synced team " + teamId + (changes.isEmpty() ? ", no changes" : ""));
+
+        return changes;
+    }
+
+    private static List<Model> absent(AppDatabase database, Class type, String teamId, TeamChanges changes) {
+        Set<Model> listed = new HashSet<>(changes.getUpserted(type));
+        listed.addAll(changes.getRemoved(type));
+
+        List<Model> absent = new ArrayList<>();
+        for (Model model : stored(database, type, teamId)) if (!listed.contains(model)) absent.add(model);
+        return absent;
+    }
+
+    private static List<? extends Model> stored(AppDatabase database, Class type, String teamId) {
+        if (type == Event.class) return database.eventDao().findByTeam(teamId);
+        if (type == Game.class) return database.gameDao().findByTeam(teamId);
+        if (type == Tournament.class) return database.tournamentDao().findByTeam(teamId);
+        if (type == Role.class) return database.roleDao().findByTeam(teamId);
+        if (type == Media.class) return database.mediaDao().findByTeam(teamId);
+        return Collections.emptyList();
+    }
+
+    private static <T extends Model> List<T> skipQueued(OutboxDao outbox, List<T> models) {
+        for (Iterator<T> iterator = models.iterator(); iterator.hasNext(); )
+            if (outbox.countUnsent(iterator.next().getId()) > 0) iterator.remove();
+        return models;
+    }
+
+    private static boolean isExpired(Throwable throwable) {
+        // The server no longer has the changes after this token, so start over from a snapshot
+        return throwable instanceof HttpException && ((HttpException) throwable).code() == HttpURLConnection.HTTP_GONE;
+    }
+}
@@ -61,7 +61,8 @@ public class DeviceRepo extends ModelRepo<Device> {
 
     @Override
     public Single<Device> createOrUpdate(Device model) {
-        Device current = dao.getCurrent();
+        Device current = Device.empty();
+        current.update(dao.getCurrent());
         Consumer<Device> saveFunction = device -> dao.upsert(Collections.singletonList(device));
 
         if (isEmpty(model.getFcmToken())) return Single.error(new TeammateException("No token"));
@@ -30,6 +30,7 @@ import androidx.annotation.Nullable;
 import com.mainstreetcode.teammate.model.Event;
 import com.mainstreetcode.teammate.model.Game;
 import com.mainstreetcode.teammate.model.Guest;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
@@ -40,7 +41,6 @@ import com.mainstreetcode.teammate.rest.TeammateService;
 import com.tunjid.androidbootstrap.functions.collections.Lists;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -50,7 +50,9 @@ import io.reactivex.Single;
 import io.reactivex.functions.Function;
 import okhttp3.MultipartBody;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class EventRepo extends TeamQueryRepo<Event> {
 
@@ -69,13 +71,16 @@ public class EventRepo extends TeamQueryRepo<Event> {
 
     @Override
     public Single<Event> createOrUpdate(Event event) {
+        MultipartBody.Part body = getBody(event.getHeaderItem().getValue(), Event.PHOTO_UPLOAD_KEY);
+        if (!event.isEmpty() && body == null)
+            return Outbox.getInstance().put(this, event, "api/events/" + event.getId(), event.getTeam().getId());
+
         Single<Event> eventSingle = event.isEmpty()
                 ? api.createEvent(event).map(getLocalUpdateFunction(event))
                 : api.updateEvent(event.getId(), event)
                 .map(getLocalUpdateFunction(event))
                 .doOnError(throwable -> deleteInvalidModel(event, throwable));
 
-        MultipartBody.Part body = getBody(event.getHeaderItem().getValue(), Event.PHOTO_UPLOAD_KEY);
         if (body != null) {
             eventSingle = eventSingle.flatMap(put -> api.uploadEventPhoto(event.getId(), body));
         }
@@ -85,28 +90,31 @@ public class EventRepo extends TeamQueryRepo<Event> {
 
     @Override
     public Flowable<Event> get(String id) {
-        Maybe<Event> local = eventDao.get(id).subscribeOn(io());
-        Maybe<Event> remote = api.getEvent(id).map(getSaveFunction()).toMaybe();
+        Maybe<Event> local = eventDao.get(id).subscribeOn(reads());
+        Maybe<Event> remote = api.getEvent(id).map(getDeferredSaveFunction()).toMaybe();
 
         return fetchThenGetModel(local, remote);
     }
 
     @Override
     public Single<Event> delete(Event event) {
-        return api.deleteEvent(event.getId())
-                .map(this::deleteLocally)
-                .doOnError(throwable -> deleteInvalidModel(event, throwable));
+        return Outbox.getInstance().delete(this, event, "api/events/" + event.getId(), event.getTeam().getId());
     }
 
     @Override
-    Maybe<List<Event>> localModelsBefore(Team team, @Nullable Date date) {
-        if (date == null) date = getFutureDate();
-        return eventDao.getEvents(team.getId(), date, DEF_QUERY_LIMIT).subscribeOn(io());
+    Maybe<List<Event>> localModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        if (cursor == null) cursor = PageCursor.before(getFutureDate());
+        return eventDao.getEvents(team.getId(), cursor, limit).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Event>> remoteModelsBefore(Team team, @Nullable Date date) {
-        return api.getEvents(team.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+    Flowable<List<Event>> observeModelsSince(Team team, PageCursor since) {
+        return eventDao.observeEventsSince(team.getId(), since.getDate()).subscribeOn(reads());
+    }
+
+    @Override
+    Maybe<List<Event>> remoteModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        return api.getEvents(team.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
     public Flowable<List<Event>> attending(@Nullable Date date) {
@@ -115,24 +123,16 @@ public class EventRepo extends TeamQueryRepo<Event> {
 
         Maybe<List<Event>> local = AppDatabase.getInstance().guestDao().getRsvpList(current.getId(), localDate)
                 .map(guests -> (List<Event>) new ArrayList<>(Lists.transform(guests, Guest::getEvent)))
-                .subscribeOn(io());
+                .subscribeOn(reads());
 
-        Maybe<List<Event>> remote = api.eventsAttending(date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+        Maybe<List<Event>> remote = api.eventsAttending(date, DEF_QUERY_LIMIT).map(getDeferredSaveManyFunction()).toMaybe();
 
-        return fetchThenGet(local, remote);
+        return fetchUnlessFresh("attending/" + current.getId() + "/" + date, local, remote);
     }
 
     @Override
     Function<List<Event>, List<Event>> provideSaveManyFunction() {
-        return models -> {
-            List<Team> teams = new ArrayList<>(models.size());
-            for (Event event : models) teams.add(event.getTeam());
-
-            RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-            eventDao.upsert(Collections.unmodifiableList(models));
-
-            return models;
-        };
+        return GraphWriter::write;
     }
 
     @Override
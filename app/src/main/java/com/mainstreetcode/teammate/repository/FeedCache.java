@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mainstreetcode.teammate.repository;
+
+import com.mainstreetcode.teammate.notifications.FeedItem;
+import com.mainstreetcode.teammate.rest.TeammateApi;
+import com.mainstreetcode.teammate.rest.TeammateService;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+
+/**
+ * Holds the feed fetched while the app warms up, so the feed screen does not download it again.
+ * The prefetched feed is handed out once, later reads go to the network. A read made while the
+ * prefetch is still running joins it.
+ */
+public final class FeedCache {
+
+    private static final String FEED_KEY = "feed";
+
+    private static final FeedCache ourInstance = new FeedCache();
+
+    private final TeammateApi api;
+    private final SingleFlight<String, List<FeedItem>> feedFlights = new SingleFlight<>();
+    private final AtomicReference<List<FeedItem>> prefetched = new AtomicReference<>();
+
+    private FeedCache() {
+        api = TeammateService.getApiInstance();
+    }
+
+    public static FeedCache getInstance() { return ourInstance; }
+
+    /**
+     * Fetches the feed and keeps it for the next call to {@link #get()}
+     */
+    public Completable prefetch() {
+        return fetch().doOnNext(prefetched::set).ignoreElements();
+    }
+
+    public Flowable<List<FeedItem>> get() {
+        List<FeedItem> cached = prefetched.getAndSet(null);
+        return cached != null
+                ? Flowable.just(cached)
+                : fetch().doOnNext(ignored -> prefetched.set(null));
+    }
+
+    public void clear() {
+        prefetched.set(null);
+    }
+
+    private Flowable<List<FeedItem>> fetch() {
+        return feedFlights.join(FEED_KEY, () -> api.getFeed().map(IdResolver::resolveAll).toFlowable());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import android.annotation.SuppressLint;
+
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.DbSchedulers;
+import com.mainstreetcode.teammate.persistence.LastFetchedDao;
+import com.mainstreetcode.teammate.persistence.entity.LastFetchedEntity;
+import com.mainstreetcode.teammate.util.ErrorHandler;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+
+/**
+ * Decides whether a repository may serve local data without asking the network.
+ * <p>
+ * Each repository type has a time to live; anything it fetched within that window is fresh.
+ * Fetch times are kept in memory and persisted to the last fetched table, which is loaded once
+ * in the background so freshness survives process death. Repositories without a TTL are never
+ * fresh and always revalidate.
+ */
+@SuppressLint("CheckResult")
+@SuppressWarnings("ResultOfMethodCallIgnored")
+final class FreshnessPolicy {
+
+    private static final String SEPARATOR = ":";
+
+    private static final FreshnessPolicy ourInstance = new FreshnessPolicy();
+
+    private final Map<Class<?>, Long> timesToLive = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> fetchTimes = new ConcurrentHashMap<>();
+    private final LastFetchedDao dao;
+
+    private FreshnessPolicy() {
+        dao = AppDatabase.getInstance().lastFetchedDao();
+
+        timeToLive(ConfigRepo.class, 1, TimeUnit.HOURS);
+        timeToLive(UserRepo.class, 5, TimeUnit.MINUTES);
+        timeToLive(TeamRepo.class, 5, TimeUnit.MINUTES);
+        timeToLive(TournamentRepo.class, 5, TimeUnit.MINUTES);
+        timeToLive(RoleRepo.class, 2, TimeUnit.MINUTES);
+        timeToLive(CompetitorRepo.class, 2, TimeUnit.MINUTES);
+        timeToLive(EventRepo.class, 1, TimeUnit.MINUTES);
+        timeToLive(GameRepo.class, 30, TimeUnit.SECONDS);
+        timeToLive(StatRepo.class, 30, TimeUnit.SECONDS);
+
+        Completable.fromAction(this::load)
+                .subscribeOn(DbSchedulers.writes())
+                .subscribe(() -> {}, ErrorHandler.EMPTY);
+    }
+
+    static FreshnessPolicy getInstance() { return ourInstance; }
+
+    /**
+     * Sets how long what {@code repoClass} fetches stays fresh. A non positive value turns
+     * freshness off for the repository.
+     */
+    void timeToLive(Class<? extends ModelRepo> repoClass, long duration, TimeUnit unit) {
+        timesToLive.put(repoClass, unit.toMillis(duration));
+    }
+
+    boolean isFresh(ModelRepo<?> repo, String key) {
+        long timeToLive = timeToLiveOf(repo);
+        if (timeToLive <= 0) return false;
+
+        Long fetchedAt = fetchTimes.get(keyOf(repo, key));
+        return fetchedAt != null && System.currentTimeMillis() - fetchedAt < timeToLive;
+    }
+
+    void onFetched(ModelRepo<?> repo, String key) {
+        if (timeToLiveOf(repo) <= 0) return;
+
+        String fullKey = keyOf(repo, key);
+        long now = System.currentTimeMillis();
+        fetchTimes.put(fullKey, now);
+
+        Completable.fromAction(() -> dao.upsert(new LastFetchedEntity(fullKey, new Date(now))))
+                .subscribeOn(DbSchedulers.writes())
+                .subscribe(() -> {}, ErrorHandler.EMPTY);
+    }
+
+    /**
+     * Marks everything {@code repo} has fetched as stale, so its next reads revalidate.
+     */
+    void expire(ModelRepo<?> repo) {
+        String prefix = repo.getClass().getSimpleName() + SEPARATOR;
+
+        Iterator<String> iterator = fetchTimes.keySet().iterator();
+        while (iterator.hasNext()) if (iterator.next().startsWith(prefix)) iterator.remove();
+
+        Completable.fromAction(() -> dao.deleteByPrefix(prefix))
+                .subscribeOn(DbSchedulers.writes())
+                .subscribe(() -> {}, ErrorHandler.EMPTY);
+    }
+
+    /**
+     * Marks {@code key} as stale, so the next read of it revalidates.
+     */
+    void expire(ModelRepo<?> repo, String key) {
+        String fullKey = keyOf(repo, key);
+        fetchTimes.remove(fullKey);
+
+        Completable.fromAction(() -> dao.deleteByPrefix(fullKey))
+                .subscribeOn(DbSchedulers.writes())
+                .subscribe(() -> {}, ErrorHandler.EMPTY);
+    }
+
+    /**
+     * Forgets fetch times held in memory. Their rows are deleted with the rest of the database.
+     */
+    void clear() {
+        fetchTimes.clear();
+    }
+
+    private void load() {
+        long maxTimeToLive = 0;
+        for (Long timeToLive : timesToLive.values()) maxTimeToLive = Math.max(maxTimeToLive, timeToLive);
+
+        dao.deleteBefore(new Date(System.currentTimeMillis() - maxTimeToLive));
+        for (LastFetchedEntity entity : dao.getAll()) {
+            if (entity.getDate() != null) fetchTimes.putIfAbsent(entity.getKey(), entity.getDate().getTime());
+        }
+    }
+
+    private long timeToLiveOf(ModelRepo<?> repo) {
+        Long timeToLive = timesToLive.get(repo.getClass());
+        return timeToLive == null ? 0 : timeToLive;
+    }
+
+    private static String keyOf(ModelRepo<?> repo, String key) {
+        return repo.getClass().getSimpleName() + SEPARATOR + key;
+    }
+}
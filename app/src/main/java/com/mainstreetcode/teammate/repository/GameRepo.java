@@ -27,22 +27,15 @@ package com.mainstreetcode.teammate.repository;
 
 import androidx.annotation.Nullable;
 
-import com.mainstreetcode.teammate.model.Competitive;
-import com.mainstreetcode.teammate.model.Competitor;
-import com.mainstreetcode.teammate.model.Event;
 import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
-import com.mainstreetcode.teammate.model.Tournament;
-import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.persistence.GameDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
 import java.util.List;
 
 import io.reactivex.Flowable;
@@ -50,7 +43,9 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class GameRepo extends TeamQueryRepo<Game> {
 
@@ -71,79 +66,36 @@ public class GameRepo extends TeamQueryRepo<Game> {
     public Single<Game> createOrUpdate(Game game) {
         return game.isEmpty()
                 ? api.createGame(game.getHost().getId(), game).map(getLocalUpdateFunction(game))
-                : api.updateGame(game.getId(), game)
-                .doOnError(throwable -> deleteInvalidModel(game, throwable))
-                .map(getLocalUpdateFunction(game))
-                .map(getSaveFunction());
+                : Outbox.getInstance().put(this, game, "api/games/" + game.getId(), game.getTournament().getId());
     }
 
     @Override
     public Flowable<Game> get(String id) {
-        Maybe<Game> local = gameDao.get(id).subscribeOn(io());
-        Maybe<Game> remote = api.getGame(id).map(getSaveFunction()).toMaybe();
+        Maybe<Game> local = gameDao.get(id).subscribeOn(reads());
+        Maybe<Game> remote = api.getGame(id).map(getDeferredSaveFunction()).toMaybe();
 
         return fetchThenGetModel(local, remote);
     }
 
     @Override
     public Single<Game> delete(Game game) {
-        return api.deleteGame(game.getId())
-                .map(this::deleteLocally)
-                .doOnError(throwable -> deleteInvalidModel(game, throwable));
+        return Outbox.getInstance().delete(this, game, "api/games/" + game.getId(), game.getTournament().getId());
     }
 
     @Override
-    Maybe<List<Game>> localModelsBefore(Team team, @Nullable Date date) {
-        if (date == null) date = getFutureDate();
-        return gameDao.getGames(team.getId(), date, DEF_QUERY_LIMIT).subscribeOn(io());
+    Maybe<List<Game>> localModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        if (cursor == null) cursor = PageCursor.before(getFutureDate());
+        return gameDao.getGames(team.getId(), cursor, limit).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Game>> remoteModelsBefore(Team team, @Nullable Date date) {
-        return api.getGames(team.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<Game>> remoteModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        return api.getGames(team.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
     @Override
     Function<List<Game>, List<Game>> provideSaveManyFunction() {
-        return models -> {
-            List<Team> teams = new ArrayList<>(models.size());
-            List<User> users = new ArrayList<>(models.size());
-            List<Event> events = new ArrayList<>(models.size());
-            List<Tournament> tournaments = new ArrayList<>(models.size());
-            List<Competitor> competitors = new ArrayList<>(models.size());
-
-            for (Game game : models) {
-                User referee = game.getReferee();
-                Team team = game.getTeam();
-                Event event = game.getEvent();
-                Competitor home = game.getHome();
-                Competitor away = game.getAway();
-                Tournament tournament = game.getTournament();
-
-                if (!referee.isEmpty()) users.add(referee);
-                if (!team.isEmpty()) teams.add(team);
-                if (!event.isEmpty() && !event.getTeam().isEmpty()) events.add(event);
-                if (!tournament.isEmpty() && !team.isEmpty()) {
-                    tournament.updateHost(team);
-                    tournaments.add(tournament);
-                }
-
-                addIfValid(home, users, teams);
-                addIfValid(away, users, teams);
-                if (!home.isEmpty()) competitors.add(home);
-                if (!away.isEmpty()) competitors.add(away);
-            }
-
-            RepoProvider.forModel(User.class).saveAsNested().apply(users);
-            RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-            RepoProvider.forModel(Event.class).saveAsNested().apply(events);
-            RepoProvider.forModel(Tournament.class).saveAsNested().apply(tournaments);
-            RepoProvider.forModel(Competitor.class).saveAsNested().apply(competitors);
-
-            gameDao.upsert(Collections.unmodifiableList(models));
-
-            return models;
-        };
+        return GraphWriter::write;
     }
 
     @Override
@@ -151,10 +103,4 @@ public class GameRepo extends TeamQueryRepo<Game> {
         AppDatabase.getInstance().eventDao().delete(model.getEvent());
         return super.deleteLocally(model);
     }
-
-    private void addIfValid(Competitor competitor, List<User> users, List<Team> teams) {
-        Competitive entity = competitor.getEntity();
-        if (entity instanceof User) users.add((User) entity);
-        if (entity instanceof Team) teams.add((Team) entity);
-    }
 }
@@ -42,7 +42,7 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class GameRoundRepo extends QueryRepo<Game, Tournament, Integer> {
 
@@ -75,18 +75,18 @@ public class GameRoundRepo extends QueryRepo<Game, Tournament, Integer> {
     }
 
     @Override
-    Maybe<List<Game>> localModelsBefore(Tournament tournament, @Nullable Integer round) {
+    Maybe<List<Game>> localModelsBefore(Tournament tournament, @Nullable Integer round, int limit) {
         if (round == null) round = 0;
-        return gameDao.getGames(tournament.getId(), round, 30).subscribeOn(io());
+        return gameDao.getGames(tournament.getId(), round, 30).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Game>> remoteModelsBefore(Tournament tournament, @Nullable Integer round) {
-        return api.getGamesForRound(tournament.getId(), round == null ? 0 : round, 30).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<Game>> remoteModelsBefore(Tournament tournament, @Nullable Integer round, int limit) {
+        return api.getGamesForRound(tournament.getId(), round == null ? 0 : round, 30).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
     @Override
     Function<List<Game>, List<Game>> provideSaveManyFunction() {
-        return list -> RepoProvider.forRepo(GameRepo.class).provideSaveManyFunction().apply(list);
+        return GraphWriter::write;
     }
 }
@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import androidx.annotation.Nullable;
+
+import com.mainstreetcode.teammate.model.Chat;
+import com.mainstreetcode.teammate.model.Competitive;
+import com.mainstreetcode.teammate.model.Competitor;
+import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.Guest;
+import com.mainstreetcode.teammate.model.JoinRequest;
+import com.mainstreetcode.teammate.model.Media;
+import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.Role;
+import com.mainstreetcode.teammate.model.Stat;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.Tournament;
+import com.mainstreetcode.teammate.model.User;
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.EntityDao;
+import com.tunjid.androidbootstrap.functions.Consumer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Saves a graph of models in one transaction.
+ * <p>
+ * The models passed in and everything they reference are walked once and deduplicated by type
+ * and id. When the same entity is seen more than once, the version with its major fields is
+ * kept, so a page of chats writes its team once, not once per chat. Tables are then written
+ * parents first, so foreign keys hold. The models passed in are upserted, as are referenced
+ * models with their major fields; referenced placeholders are only inserted if missing, so
+ * they never overwrite a cached row.
+ */
+@SuppressWarnings("unchecked")
+final class GraphWriter {
+
+    // Tables in foreign key order, parents first
+    private static final List<Class<? extends Model>> WRITE_ORDER = Arrays.asList(
+            User.class, Team.class, Event.class, Tournament.class, Game.class, Competitor.class,
+            Guest.class, Role.class, JoinRequest.class, Stat.class, Chat.class, Media.class);
+
+    private final Map<Class<? extends Model>, Map<String, Model>> nodes = new HashMap<>();
+    private final Set<Model> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Model> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    GraphWriter() {}
+
+    static <T extends Model<T>> List<T> write(List<T> models) {
+        if (!models.isEmpty()) new GraphWriter().addAll(models).write();
+        return models;
+    }
+
+    GraphWriter addAll(List<? extends Model> models) {
+        for (Model model : models) {
+            Class<? extends Model> type = typeOf(model);
+            if (type == null) throw new IllegalArgumentException("No table for " + model.getClass().getName());
+
+            roots.add(model);
+            nodesOf(type).put(model.getId(), model);
+        }
+        for (Model model : models) visit(model);
+        return this;
+    }
+
+    void write() {
+        AppDatabase.getInstance().runInTransaction(() -> {
+            for (Class<? extends Model> type : WRITE_ORDER) write(type, nodes.get(type));
+        });
+    }
+
+    private void write(Class<? extends Model> type, @Nullable Map<String, Model> byId) {
+        if (byId == null || byId.isEmpty()) return;
+
+        List<Model> upserts = new ArrayList<>(byId.size());
+        List<Model> inserts = new ArrayList<>();
+        for (Model model : byId.values())
+            (roots.contains(model) || model.hasMajorFields() ? upserts : inserts).add(model);
+
+        EntityDao dao = RepoProvider.forModel((Class) type).dao();
+        if (!upserts.isEmpty()) dao.upsert(Collections.unmodifiableList(upserts));
+        if (!inserts.isEmpty()) dao.insert(Collections.unmodifiableList(inserts));
+    }
+
+    private void visit(Model model) {
+        if (visited.add(model)) forEachReference(model, this::add);
+    }
+
+    private void add(@Nullable Model model) {
+        Class<? extends Model> type = typeOf(model);
+        if (type == null || model.isEmpty()) return;
+
+        Map<String, Model> byId = nodesOf(type);
+        Model existing = byId.get(model.getId());
+
+        boolean richer = existing == null
+                || (!roots.contains(existing) && !existing.hasMajorFields() && model.hasMajorFields());
+
+        if (richer) byId.put(model.getId(), model);
+        visit(model);
+    }
+
+    private Map<String, Model> nodesOf(Class<? extends Model> type) {
+        Map<String, Model> byId = nodes.get(type);
+        if (byId == null) nodes.put(type, byId = new LinkedHashMap<>());
+        return byId;
+    }
+
+    private static void forEachReference(Model model, Consumer<Model> consumer) {
+        if (model instanceof Chat) {
+            Chat chat = (Chat) model;
+            consumer.accept(chat.getUser());
+            consumer.accept(chat.getTeam());
+        }
+        else if (model instanceof Media) {
+            Media media = (Media) model;
+            consumer.accept(media.getUser());
+            consumer.accept(media.getTeam());
+        }
+        else if (model instanceof Role) {
+            Role role = (Role) model;
+            consumer.accept(role.getUser());
+            consumer.accept(role.getTeam());
+        }
+        else if (model instanceof JoinRequest) {
+            JoinRequest request = (JoinRequest) model;
+            consumer.accept(request.getUser());
+            consumer.accept(request.getTeam());
+        }
+        else if (model instanceof Guest) {
+            Guest guest = (Guest) model;
+            consumer.accept(guest.getUser());
+            consumer.accept(guest.getEvent());
+        }
+        else if (model instanceof Event) {
+            consumer.accept(((Event) model).getTeam());
+        }
+        else if (model instanceof Stat) {
+            Stat stat = (Stat) model;
+            consumer.accept(stat.getUser());
+            consumer.accept(stat.getTeam());
+            consumer.accept(stat.getGame());
+        }
+        else if (model instanceof Tournament) {
+            Tournament tournament = (Tournament) model;
+            consumer.accept(tournament.getTeam());
+            consumer.accept(tournament.getWinner());
+        }
+        else if (model instanceof Competitor) {
+            Competitor competitor = (Competitor) model;
+            Competitive entity = competitor.getEntity();
+            if (entity instanceof Model) consumer.accept((Model) entity);
+            consumer.accept(competitor.getGame());
+        }
+        else if (model instanceof Game) {
+            Game game = (Game) model;
+            Team team = game.getTeam();
+            Event event = game.getEvent();
+            Tournament tournament = game.getTournament();
+
+            consumer.accept(game.getReferee());
+            consumer.accept(team);
+            if (!event.getTeam().isEmpty()) consumer.accept(event);
+            if (!tournament.isEmpty() && !team.isEmpty()) {
+                tournament.updateHost(team);
+                consumer.accept(tournament);
+            }
+            consumer.accept(game.getHome());
+            consumer.accept(game.getAway());
+        }
+    }
+
+    @Nullable
+    private static Class<? extends Model> typeOf(@Nullable Model model) {
+        if (model == null) return null;
+        for (Class<? extends Model> type : WRITE_ORDER) if (type.isInstance(model)) return type;
+        return null;
+    }
+}
@@ -24,21 +24,21 @@
 
 package com.mainstreetcode.teammate.repository;
 
+import android.annotation.SuppressLint;
+
 import androidx.annotation.Nullable;
 
 import com.mainstreetcode.teammate.model.Event;
 import com.mainstreetcode.teammate.model.Guest;
-import com.mainstreetcode.teammate.model.User;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.persistence.GuestDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
+import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.util.TeammateException;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
 import java.util.List;
 
 import io.reactivex.Flowable;
@@ -46,9 +46,13 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
+
+public class GuestRepo extends QueryRepo<Guest, Event, PageCursor> {
 
-public class GuestRepo extends QueryRepo<Guest, Event, Date> {
+    private static final String RSVP_KEY = "rsvp:";
 
     private final TeammateApi api;
     private final GuestDao guestDao;
@@ -65,14 +69,14 @@ public class GuestRepo extends QueryRepo<Guest, Event, Date> {
 
     @Override
     public Single<Guest> createOrUpdate(Guest model) {
-        return api.rsvpEvent(model.getEvent().getId(), model.isAttending())
-                .map(getLocalUpdateFunction(model))
-                .map(getSaveFunction());
+        String eventId = model.getEvent().getId();
+        String path = "api/events/" + eventId + "/rsvpGuest?attending=" + model.isAttending();
+        return Outbox.getInstance().get(this, model, RSVP_KEY + eventId, path, eventId);
     }
 
     @Override
     public Flowable<Guest> get(String id) {
-        Maybe<Guest> local = guestDao.get(id).subscribeOn(io());
+        Maybe<Guest> local = guestDao.get(id).subscribeOn(reads());
         Maybe<Guest> remote = api.getGuest(id).toMaybe();
 
         return fetchThenGetModel(local, remote);
@@ -83,34 +87,38 @@ public class GuestRepo extends QueryRepo<Guest, Event, Date> {
         return Single.error(new TeammateException("Unimplemented"));
     }
 
+    /**
+     * RSVPs are queued by event rather than by guest, so a rejected one is undone by refetching
+     * the event's guests.
+     */
     @Override
-    Maybe<List<Guest>> localModelsBefore(Event key, @Nullable Date date) {
-        if (date == null) date = getFutureDate();
-        return guestDao.getGuests(key.getId(), date, DEF_QUERY_LIMIT).subscribeOn(io());
+    @SuppressLint("CheckResult")
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    void refetch(String id) {
+        if (!id.startsWith(RSVP_KEY)) {
+            super.refetch(id);
+            return;
+        }
+
+        String eventId = id.substring(RSVP_KEY.length());
+        api.getEventGuests(eventId, null, null, DEF_QUERY_LIMIT)
+                .map(getDeferredSaveManyFunction())
+                .subscribe(ignored -> {}, ErrorHandler.EMPTY);
     }
 
     @Override
-    Maybe<List<Guest>> remoteModelsBefore(Event key, @Nullable Date date) {
-        return api.getEventGuests(key.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<Guest>> localModelsBefore(Event key, @Nullable PageCursor cursor, int limit) {
+        if (cursor == null) cursor = PageCursor.before(getFutureDate());
+        return guestDao.getGuests(key.getId(), cursor, limit).subscribeOn(reads());
     }
 
     @Override
-    Function<List<Guest>, List<Guest>> provideSaveManyFunction() {
-        return models -> {
-            List<User> users = new ArrayList<>(models.size());
-            List<Event> events = new ArrayList<>(models.size());
-
-            for (Guest guest : models) {
-                users.add(guest.getUser());
-                events.add(guest.getEvent());
-            }
-
-            if (!users.isEmpty()) RepoProvider.forModel(User.class).saveAsNested().apply(users);
-            if (!events.isEmpty()) RepoProvider.forModel(Event.class).saveAsNested().apply(events);
-
-            dao().upsert(Collections.unmodifiableList(models));
+    Maybe<List<Guest>> remoteModelsBefore(Event key, @Nullable PageCursor cursor, int limit) {
+        return api.getEventGuests(key.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction()).toMaybe();
+    }
 
-            return models;
-        };
+    @Override
+    Function<List<Guest>, List<Guest>> provideSaveManyFunction() {
+        return GraphWriter::write;
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+
+/**
+ * Coalesces id lookups of one type. Ids requested within a short window of the first are
+ * fetched together, a chunk of ids per request, and every caller in the window shares the
+ * result. A failed batch is reported to {@code onFailure} and resolves to an empty map so
+ * callers keep their placeholders.
+ */
+final class IdBatcher<T> {
+
+    private final long windowMillis;
+    private final int maxIdsPerRequest;
+    private final Function<T, String> idFunction;
+    private final Function<List<String>, Single<List<T>>> fetchFunction;
+    private final Consumer<Throwable> onFailure;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong idsRequested = new AtomicLong();
+
+    private Batch open;
+
+    IdBatcher(long windowMillis, int maxIdsPerRequest,
+              Function<T, String> idFunction,
+              Function<List<String>, Single<List<T>>> fetchFunction,
+              Consumer<Throwable> onFailure) {
+        this.windowMillis = windowMillis;
+        this.maxIdsPerRequest = maxIdsPerRequest;
+        this.idFunction = idFunction;
+        this.fetchFunction = fetchFunction;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Adds {@code ids} to the open batch, opening one if needed.
+     *
+     * @return the models fetched for the whole batch, keyed by id
+     */
+    synchronized Single<Map<String, T>> request(Collection<String> ids) {
+        if (ids.isEmpty()) return Single.just(Collections.emptyMap());
+
+        if (open == null) open = new Batch();
+        open.ids.addAll(ids);
+        return open.result;
+    }
+
+    /**
+     * Requests made since the process started
+     */
+    long getRequests() { return requests.get(); }
+
+    /**
+     * Distinct ids sent since the process started; each would otherwise be its own request
+     */
+    long getIdsRequested() { return idsRequested.get(); }
+
+    private synchronized List<String> close(Batch batch) {
+        if (open == batch) open = null;
+        return new ArrayList<>(batch.ids);
+    }
+
+    private Single<Map<String, T>> fetch(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int start = 0, size = ids.size(); start < size; start += maxIdsPerRequest)
+            chunks.add(ids.subList(start, Math.min(size, start + maxIdsPerRequest)));
+
+        requests.addAndGet(chunks.size());
+        idsRequested.addAndGet(ids.size());
+
+        return Flowable.fromIterable(chunks)
+                .concatMapSingle(fetchFunction::apply)
+                .collect(HashMap<String, T>::new, (map, models) -> {
+                    for (T model : models) map.put(idFunction.apply(model), model);
+                })
+                .map(map -> (Map<String, T>) map)
+                .onErrorReturn(throwable -> {
+                    onFailure.accept(throwable);
+                    return Collections.emptyMap();
+                });
+    }
+
+    private final class Batch {
+        private final Set<String> ids = new LinkedHashSet<>();
+        private final Single<Map<String, T>> result = Completable.timer(windowMillis, TimeUnit.MILLISECONDS)
+                .andThen(Single.defer(() -> fetch(close(this))))
+                .cache();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import com.mainstreetcode.teammate.model.BlockedUser;
+import com.mainstreetcode.teammate.model.Competitive;
+import com.mainstreetcode.teammate.model.Competitor;
+import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.Row;
+import com.mainstreetcode.teammate.model.StatRank;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.User;
+import com.mainstreetcode.teammate.notifications.FeedItem;
+import com.mainstreetcode.teammate.persistence.ModelHydrator;
+import com.mainstreetcode.teammate.rest.TeammateApi;
+import com.mainstreetcode.teammate.rest.TeammateService;
+import com.mainstreetcode.teammate.util.Logger;
+import com.tunjid.androidbootstrap.functions.Consumer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the {@link Team}, {@link User} and {@link Competitor} placeholders a response carries
+ * as bare ids.
+ * <p>
+ * The distinct ids of every placeholder in a response are looked up in the database first.
+ * Ids still missing are sent as one {@code ?ids=} request per type, shared with any other
+ * response resolving within {@link #WINDOW_MILLIS}, instead of a {@code get(id)} round trip
+ * each. Competitors are resolved before teams and users so the entities they carry are
+ * resolved too.
+ */
+public final class IdResolver {
+
+    private static final String TAG = "IdResolver";
+
+    private static final long WINDOW_MILLIS = 20;
+    private static final int MAX_IDS_PER_REQUEST = 50;
+
+    private static final IdResolver ourInstance = new IdResolver();
+
+    private final IdBatcher<Team> teams;
+    private final IdBatcher<User> users;
+    private final IdBatcher<Competitor> competitors;
+
+    private final AtomicLong idsResolved = new AtomicLong();
+    private final AtomicLong requestsMade = new AtomicLong();
+    private volatile String screen = "";
+
+    private IdResolver() {
+        TeammateApi api = TeammateService.getApiInstance();
+        teams = new IdBatcher<>(WINDOW_MILLIS, MAX_IDS_PER_REQUEST, Team::getId,
+                ids -> api.getTeams(join(ids)), throwable -> onBatchFailed("teams", throwable));
+        users = new IdBatcher<>(WINDOW_MILLIS, MAX_IDS_PER_REQUEST, User::getId,
+                ids -> api.getUsers(join(ids)), throwable -> onBatchFailed("users", throwable));
+        competitors = new IdBatcher<>(WINDOW_MILLIS, MAX_IDS_PER_REQUEST, Competitor::getId,
+                ids -> api.getCompetitorsByIds(join(ids)), throwable -> onBatchFailed("competitors", throwable));
+    }
+
+    /**
+     * Resolves the placeholders of {@code models} in place. Blocks for the database read and
+     * the batched requests, so it is meant for network response chains.
+     */
+    public static <T> List<T> resolveAll(List<T> models) {
+        if (!models.isEmpty()) ourInstance.resolve(models);
+        return models;
+    }
+
+    /**
+     * Logs the round trips batching saved since the previous screen was shown, and starts
+     * counting for {@code screen}.
+     */
+    public static void onScreenShown(String screen) {
+        IdResolver resolver = ourInstance;
+        long resolved = resolver.idsResolved.getAndSet(0);
+        long requests = resolver.requestsMade.getAndSet(0);
+
+        if (resolved > 0) Logger.log(TAG, resolver.screen + " resolved " + resolved
+                + " ids in " + requests + " requests, saving " + (resolved - requests) + " round trips");
+
+        resolver.screen = screen;
+    }
+
+    private void resolve(List<?> models) {
+        Map<String, List<Competitor>> competitorStubs = stubs(models, Competitor.class);
+        resolve(competitorStubs, Competitor.class, competitors, RepoProvider.forModel(Competitor.class));
+
+        List<Object> roots = new ArrayList<>(models);
+        for (List<Competitor> stubs : competitorStubs.values()) roots.addAll(stubs);
+
+        resolve(stubs(roots, Team.class), Team.class, teams, RepoProvider.forModel(Team.class));
+        resolve(stubs(roots, User.class), User.class, users, RepoProvider.forModel(User.class));
+    }
+
+    private <T extends Model<T>> void resolve(Map<String, List<T>> stubs, Class<T> modelClass,
+                                              IdBatcher<T> batcher, ModelRepo<T> repo) {
+        if (stubs.isEmpty()) return;
+
+        Map<String, T> resolved = new LinkedHashMap<>();
+        for (T local : ModelHydrator.findByIds(modelClass, new ArrayList<>(stubs.keySet())))
+            if (local.hasMajorFields()) resolved.put(local.getId(), local);
+
+        Set<String> missing = new LinkedHashSet<>(stubs.keySet());
+        missing.removeAll(resolved.keySet());
+
+        if (!missing.isEmpty()) {
+            long requestsBefore = batcher.getRequests();
+            Map<String, T> fetched = batcher.request(missing).blockingGet();
+            requestsMade.addAndGet(batcher.getRequests() - requestsBefore);
+
+            List<T> toSave = new ArrayList<>(fetched.size());
+            for (String id : missing) {
+                T model = fetched.get(id);
+                if (model == null) continue;
+                resolved.put(id, model);
+                toSave.add(model);
+            }
+            if (!toSave.isEmpty()) saveQuietly(repo, toSave);
+        }
+
+        idsResolved.addAndGet(resolved.size());
+        for (Map.Entry<String, T> entry : resolved.entrySet())
+            for (T stub : stubs.get(entry.getKey())) stub.update(entry.getValue());
+    }
+
+    private static <T extends Model<T>> Map<String, List<T>> stubs(List<?> roots, Class<T> modelClass) {
+        Map<String, List<T>> stubs = new LinkedHashMap<>();
+        Consumer<Model<?>> collector = model -> {
+            if (!modelClass.isInstance(model) || model.isEmpty() || model.hasMajorFields()) return;
+
+            T stub = modelClass.cast(model);
+            List<T> withId = stubs.get(stub.getId());
+            if (withId == null) stubs.put(stub.getId(), withId = new ArrayList<>());
+            withId.add(stub);
+        };
+
+        for (Object root : roots) forEachPlaceholder(root, collector);
+        return stubs;
+    }
+
+    private static void forEachPlaceholder(Object root, Consumer<Model<?>> consumer) {
+        if (root instanceof FeedItem) root = ((FeedItem) root).getModel();
+
+        if (root instanceof Model) consumer.accept((Model<?>) root);
+
+        if (root instanceof Row) {
+            consumer.accept(((Row) root).getCompetitor());
+        }
+        else if (root instanceof StatRank) {
+            consumer.accept(((StatRank) root).getTeam());
+            consumer.accept(((StatRank) root).getUser());
+        }
+        else if (root instanceof BlockedUser) {
+            consumer.accept(((BlockedUser) root).getTeam());
+            consumer.accept(((BlockedUser) root).getUser());
+        }
+        else ModelHydrator.forEachRelation(root, model -> {
+            consumer.accept(model);
+            if (!(model instanceof Competitor)) return;
+
+            Competitive entity = ((Competitor) model).getEntity();
+            if (entity instanceof Model) consumer.accept((Model<?>) entity);
+        });
+    }
+
+    private static String join(List<String> ids) {
+        StringBuilder joined = new StringBuilder();
+        for (String id : ids) joined.append(joined.length() == 0 ? "" : ",").append(id);
+        return joined.toString();
+    }
+
+    private static void onBatchFailed(String type, Throwable throwable) {
+        Logger.log(TAG, "Unable to resolve " + type, throwable);
+    }
+
+    private static <T extends Model<T>> void saveQuietly(ModelRepo<T> repo, List<T> models) {
+        try { repo.getDeferredSaveManyFunction().apply(models); }
+        catch (Exception e) { Logger.log(TAG, "Unable to save resolved models", e); }
+    }
+}
@@ -25,16 +25,12 @@
 package com.mainstreetcode.teammate.repository;
 
 import com.mainstreetcode.teammate.model.JoinRequest;
-import com.mainstreetcode.teammate.model.Team;
-import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.persistence.JoinRequestDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import io.reactivex.Flowable;
@@ -42,7 +38,7 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class JoinRequestRepo extends ModelRepo<JoinRequest> {
 
@@ -67,7 +63,7 @@ public class JoinRequestRepo extends ModelRepo<JoinRequest> {
 
     @Override
     public Flowable<JoinRequest> get(String id) {
-        Maybe<JoinRequest> local = joinRequestDao.get(id).subscribeOn(io());
+        Maybe<JoinRequest> local = joinRequestDao.get(id).subscribeOn(reads());
         Maybe<JoinRequest> remote = api.getJoinRequest(id).toMaybe();
 
         return fetchThenGetModel(local, remote);
@@ -82,21 +78,6 @@ public class JoinRequestRepo extends ModelRepo<JoinRequest> {
 
     @Override
     Function<List<JoinRequest>, List<JoinRequest>> provideSaveManyFunction() {
-        return models -> {
-            List<Team> teams = new ArrayList<>(models.size());
-            List<User> users = new ArrayList<>(models.size());
-
-            for (JoinRequest request : models) {
-                teams.add(request.getTeam());
-                users.add(request.getUser());
-            }
-
-            if (!teams.isEmpty()) RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-            if (!users.isEmpty()) RepoProvider.forModel(User.class).saveAsNested().apply(users);
-
-            joinRequestDao.upsert(Collections.unmodifiableList(models));
-
-            return models;
-        };
+        return GraphWriter::write;
     }
 }
@@ -30,8 +30,8 @@ import androidx.annotation.Nullable;
 
 import com.mainstreetcode.teammate.App;
 import com.mainstreetcode.teammate.model.Media;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
-import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.notifications.MediaNotifier;
 import com.mainstreetcode.teammate.notifications.NotifierProvider;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
@@ -42,7 +42,6 @@ import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 import com.mainstreetcode.teammate.util.TeammateException;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -58,7 +57,9 @@ import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
 import okhttp3.logging.HttpLoggingInterceptor;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class MediaRepo extends TeamQueryRepo<Media> {
 
@@ -92,8 +93,8 @@ public class MediaRepo extends TeamQueryRepo<Media> {
 
     @Override
     public Flowable<Media> get(String id) {
-        Maybe<Media> local = mediaDao.get(id).subscribeOn(io());
-        Maybe<Media> remote = api.getMedia(id).map(getSaveFunction()).toMaybe();
+        Maybe<Media> local = mediaDao.get(id).subscribeOn(reads());
+        Maybe<Media> remote = api.getMedia(id).map(getDeferredSaveFunction()).toMaybe();
 
         return fetchThenGetModel(local, remote);
     }
@@ -113,33 +114,23 @@ public class MediaRepo extends TeamQueryRepo<Media> {
 
     @Override
     Function<List<Media>, List<Media>> provideSaveManyFunction() {
-        return models -> {
-            List<User> users = new ArrayList<>(models.size());
-            List<Team> teams = new ArrayList<>(models.size());
-
-            for (Media media : models) {
-                users.add(media.getUser());
-                teams.add(media.getTeam());
-            }
-
-            RepoProvider.forModel(User.class).saveAsNested().apply(users);
-            RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-
-            mediaDao.upsert(Collections.unmodifiableList(models));
+        return GraphWriter::write;
+    }
 
-            return models;
-        };
+    @Override
+    Maybe<List<Media>> localModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        if (cursor == null) cursor = PageCursor.before(new Date());
+        return mediaDao.getTeamMedia(team, cursor, limit).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Media>> localModelsBefore(Team team, @Nullable Date date) {
-        if (date == null) date = new Date();
-        return mediaDao.getTeamMedia(team, date, DEF_QUERY_LIMIT).subscribeOn(io());
+    Flowable<List<Media>> observeModelsSince(Team team, PageCursor since) {
+        return mediaDao.observeTeamMediaSince(team, since.getDate()).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Media>> remoteModelsBefore(Team team, @Nullable Date date) {
-        return api.getTeamMedia(team.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<Media>> remoteModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        return api.getTeamMedia(team.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
     public Single<List<Media>> ownerDelete(List<Media> models) {
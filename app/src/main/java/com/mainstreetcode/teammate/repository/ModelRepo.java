@@ -30,13 +30,21 @@ import android.webkit.MimeTypeMap;
 
 import com.mainstreetcode.teammate.model.Message;
 import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.DbSchedulers;
 import com.mainstreetcode.teammate.persistence.EntityDao;
+import com.mainstreetcode.teammate.rest.HttpCache;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import androidx.annotation.Nullable;
@@ -45,7 +53,6 @@ import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
-import io.reactivex.schedulers.Schedulers;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
@@ -61,8 +68,11 @@ public abstract class ModelRepo<T extends Model<T>> {
 
     static final int DEF_QUERY_LIMIT = 12;
 
-    private final Function<List<T>, List<T>> saveListFunction = provideSaveManyFunction();
+    private final Function<List<T>, List<T>> saveListFunction = inTransaction(provideSaveManyFunction());
     private final Function<T, T> saveFunction = model -> saveListFunction.apply(Collections.singletonList(model)).get(0);
+    private final Function<List<T>, List<T>> deferredSaveListFunction = models -> WriteBehindQueue.getInstance().enqueue(this, models);
+    private final Function<T, T> deferredSaveFunction = model -> deferredSaveListFunction.apply(Collections.singletonList(model)).get(0);
+    private final SingleFlight<String, T> getFlights = new SingleFlight<>();
 
     public abstract EntityDao<? super T> dao();
 
@@ -77,20 +87,21 @@ public abstract class ModelRepo<T extends Model<T>> {
     public final Flowable<T> get(T model) {
         return model.isEmpty()
                 ? Flowable.error(new IllegalArgumentException("Model does not exist"))
-                : get(model.getId()).map(getLocalUpdateFunction(model));
+                : getFlights.join(model.getId(), () -> get(model.getId())).map(getLocalUpdateFunction(model));
     }
 
     @SuppressLint("CheckResult")
     @SuppressWarnings("ResultOfMethodCallIgnored")
     public final void queueForLocalDeletion(T model) {
         Completable.fromRunnable(() -> deleteLocally(model))
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(DbSchedulers.writes())
                 .subscribe(() -> {}, ErrorHandler.EMPTY);
     }
 
     final Function<T, T> getLocalUpdateFunction(T original) {
         return emitted -> {
-            original.update(emitted);
+            // Interned models may come back as the very instance that was sent
+            if (emitted != original) original.update(emitted);
             return original;
         };
     }
@@ -103,24 +114,100 @@ public abstract class ModelRepo<T extends Model<T>> {
         return saveFunction;
     }
 
-    final Function<List<T>, List<T>> saveAsNested() {
-        return models -> {
-            if (models.isEmpty()) return models;
+    /**
+     * Save functions for network responses that only refresh the local cache. The models are
+     * handed to the {@link WriteBehindQueue} and returned immediately. Responses that were not
+     * modified are saved too, as their rows may have been evicted since they were first saved.
+     */
+    final Function<List<T>, List<T>> getDeferredSaveManyFunction() {
+        return deferredSaveListFunction;
+    }
 
-            T litmus = models.get(0);
-            if (litmus.hasMajorFields()) return saveListFunction.apply(models);
+    final Function<T, T> getDeferredSaveFunction() {
+        return deferredSaveFunction;
+    }
 
-            dao().insert(Collections.unmodifiableList(models));
-            return models;
-        };
+    final T withPendingWrite(T model) {
+        T pending = WriteBehindQueue.getInstance().pending(this, model.getId());
+        return pending == null ? model : pending;
+    }
+
+    final List<T> withPendingWrites(List<T> models) {
+        for (int i = 0; i < models.size(); i++) models.set(i, withPendingWrite(models.get(i)));
+        return models;
+    }
+
+    /**
+     * Marks everything this repository has fetched as stale, so the next reads go to the network
+     * regardless of the {@link FreshnessPolicy}. Used for pull to refresh.
+     */
+    public final void forceRefresh() {
+        FreshnessPolicy.getInstance().expire(this);
     }
 
+    /**
+     * Emits the local model, then the remote one unless the local model was fetched within this
+     * repository's time to live.
+     */
     final Flowable<T> fetchThenGetModel(Maybe<T> local, Maybe<T> remote) {
+        FreshnessPolicy policy = FreshnessPolicy.getInstance();
         AtomicReference<T> reference = new AtomicReference<>();
-        local = local.doOnSuccess(reference::set);
-        remote = remote.doOnError(throwable -> deleteInvalidModel(reference.get(), throwable));
 
-        return fetchThenGet(local, remote);
+        local = local.map(this::withPendingWrite).doOnSuccess(reference::set);
+        Maybe<T> revalidate = Maybe.defer(() -> {
+            T cached = reference.get();
+            return cached != null && policy.isFresh(this, cached.getId())
+                    ? Maybe.<T>empty()
+                    : remote.doOnSuccess(model -> policy.onFetched(this, model.getId()))
+                    .doOnError(throwable -> deleteInvalidModel(cached, throwable));
+        });
+
+        return fetchThenGet(local, revalidate);
+    }
+
+    /**
+     * Emits the local list, then the remote one unless the local list has items and
+     * {@code key} was fetched within this repository's time to live.
+     */
+    final <R> Flowable<List<R>> fetchUnlessFresh(String key, Maybe<List<R>> local, Maybe<List<R>> remote) {
+        FreshnessPolicy policy = FreshnessPolicy.getInstance();
+        AtomicBoolean hasLocal = new AtomicBoolean();
+
+        local = local.doOnSuccess(models -> hasLocal.set(!models.isEmpty()));
+        Maybe<List<R>> revalidate = Maybe.defer(() -> hasLocal.get() && policy.isFresh(this, key)
+                ? Maybe.<List<R>>empty()
+                : remote.doOnSuccess(ignored -> policy.onFetched(this, key)));
+
+        return fetchThenGet(local, revalidate);
+    }
+
+    /**
+     * Emits the ranked local matches of a search as soon as they are read, then the local matches
+     * merged with the remote ones once they arrive. Remote copies replace local ones in place, and
+     * remote only matches follow. A failed remote search keeps the local results if there are any.
+     */
+    final Flowable<List<T>> searchThenMerge(Maybe<List<T>> local, Single<List<T>> remote) {
+        AtomicReference<List<T>> reference = new AtomicReference<>(Collections.emptyList());
+        local = local.subscribeOn(DbSchedulers.reads()).doOnSuccess(reference::set);
+
+        Maybe<List<T>> merged = remote.toMaybe()
+                .map(remoteMatches -> merge(reference.get(), remoteMatches))
+                .onErrorResumeNext((Throwable throwable) -> reference.get().isEmpty() ? Maybe.error(throwable) : Maybe.empty());
+
+        return fetchThenGet(local, merged);
+    }
+
+    /**
+     * Replaces the local copy of the model with {@code id} with the server's, deleting it if the
+     * server no longer has it. Used to undo local changes the server rejected.
+     */
+    @SuppressLint("CheckResult")
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    void refetch(String id) {
+        FreshnessPolicy.getInstance().expire(this, id);
+        get(id).lastElement()
+                .map(getDeferredSaveFunction())
+                .subscribe(ignored -> {}, ErrorHandler.EMPTY);
     }
 
     final void deleteInvalidModel(T model, Throwable throwable) {
@@ -131,6 +218,7 @@ public abstract class ModelRepo<T extends Model<T>> {
     }
 
     T deleteLocally(T model) {
+        WriteBehindQueue.getInstance().discard(this, model);
         dao().delete(model);
         return model;
     }
@@ -152,8 +240,41 @@ public abstract class ModelRepo<T extends Model<T>> {
         return MultipartBody.Part.createFormData(photoKey, file.getName(), requestBody);
     }
 
+    /**
+     * Runs a save function in a single database transaction, so the rows it writes and the
+     * nested models it saves share one commit instead of committing statement by statement.
+     */
+    private static <R> Function<List<R>, List<R>> inTransaction(Function<List<R>, List<R>> saveFunction) {
+        return models -> models.isEmpty()
+                ? models
+                : AppDatabase.getInstance().runInTransaction(() -> saveFunction.apply(models));
+    }
+
+    private static <R extends Model<R>> List<R> merge(List<R> local, List<R> remote) {
+        Map<String, R> merged = new LinkedHashMap<>();
+        for (R model : local) merged.put(model.getId(), model);
+        for (R model : remote) merged.put(model.getId(), model);
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Emits the local value, then the remote one. A remote value that was not modified since it
+     * was last fetched is not emitted again when the local value already holds everything in it,
+     * which spares a diff that would find no changes.
+     */
     static <R> Flowable<R> fetchThenGet(Maybe<R> local, Maybe<R> remote) {
+        AtomicReference<R> cached = new AtomicReference<>();
+        local = local.doOnSuccess(cached::set);
+        remote = remote.filter(fetched -> !coversNotModified(cached.get(), fetched));
+
         return concatDelayError(Arrays.asList(local, remote));
     }
 
+    private static boolean coversNotModified(@Nullable Object local, Object remote) {
+        boolean notModified = HttpCache.consumeNotModified(remote);
+        if (local == null || !notModified) return false;
+        if (!(remote instanceof List)) return true;
+        return local instanceof List && new HashSet<>((List<?>) local).containsAll((List<?>) remote);
+    }
+
 }
@@ -0,0 +1,448 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkRequest;
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.mainstreetcode.teammate.App;
+import com.mainstreetcode.teammate.model.Event;
+import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.Guest;
+import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.Stat;
+import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.DbSchedulers;
+import com.mainstreetcode.teammate.persistence.OutboxDao;
+import com.mainstreetcode.teammate.persistence.entity.OutboxEntity;
+import com.mainstreetcode.teammate.rest.TeammateApi;
+import com.mainstreetcode.teammate.rest.TeammateService;
+import com.mainstreetcode.teammate.util.ErrorHandler;
+import com.mainstreetcode.teammate.util.Logger;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.MaybeSubject;
+import retrofit2.HttpException;
+
+/**
+ * Durable queue of mutations made locally, replayed against the server when it can be reached.
+ * <p>
+ * A mutation is applied to the database and recorded in the outbox in one transaction, so it is
+ * visible immediately and survives process death. Replay sends items in the order they were
+ * made; an item waits while an earlier item for the same model, or for a model it depends on,
+ * is unsent. Network and server errors back off exponentially, other errors fail the item
+ * without blocking the rest and undo its local change by refetching the model. Successive
+ * updates to a model that have not been sent are coalesced into one.
+ * <p>
+ * Callers wait for their item while it can be sent straight away, and get the server's copy of
+ * the model or the error that failed it. Items that have to wait for the network, a backoff or
+ * an earlier item resolve to the local copy, and keep syncing in the background.
+ */
+@SuppressLint("CheckResult")
+@SuppressWarnings({"ResultOfMethodCallIgnored", "unchecked"})
+public final class Outbox {
+
+    public enum Status {SYNCED, PENDING, SENDING, FAILED}
+
+    private static final String TAG = "Outbox";
+
+    private static final String GET = "GET";
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DELETE";
+
+    private static final long BASE_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(2);
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long FAILED_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    // Stable names for the types the outbox replays; class names do not survive minification
+    private static final Map<String, Class<? extends Model>> TYPES = new HashMap<>();
+
+    static {
+        TYPES.put("team", Team.class);
+        TYPES.put("event", Event.class);
+        TYPES.put("game", Game.class);
+        TYPES.put("stat", Stat.class);
+        TYPES.put("guest", Guest.class);
+    }
+
+    private static final Outbox ourInstance = new Outbox();
+
+    private final Gson gson;
+    private final TeammateApi api;
+    private final OutboxDao dao;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+    // Results of items callers are waiting on, by item id
+    private final Map<Long, MaybeSubject<Model>> awaiting = new HashMap<>();
+    private Disposable wake = Disposables.disposed();
+
+    private Outbox() {
+        gson = TeammateService.getGson();
+        api = TeammateService.getApiInstance();
+        dao = AppDatabase.getInstance().outboxDao();
+
+        Completable.fromAction(dao::resetSending)
+                .subscribeOn(DbSchedulers.writes())
+                .subscribe(this::replay, ErrorHandler.EMPTY);
+
+        registerNetworkCallback();
+    }
+
+    public static Outbox getInstance() { return ourInstance; }
+
+    /**
+     * The sync state of the latest mutations made to the model with {@code modelId}
+     */
+    public Flowable<Status> observe(String modelId) {
+        return dao.observe(modelId).map(Outbox::statusOf).distinctUntilChanged();
+    }
+
+    /**
+     * Sends every item that is due, then schedules the next retry if any item is backing off.
+     */
+    public void replay() {
+        requested.set(true);
+        if (!draining.compareAndSet(false, true)) return;
+
+        Completable.fromAction(() -> { while (requested.getAndSet(false)) drain(); })
+                .subscribeOn(Schedulers.io())
+                .doFinally(() -> {
+                    draining.set(false);
+                    if (requested.get()) replay();
+                })
+                .subscribe(() -> {}, ErrorHandler.EMPTY);
+    }
+
+    /**
+     * Saves {@code model} locally and queues a PUT of it to {@code path}.
+     */
+    <T extends Model<T>> Single<T> put(ModelRepo<T> repo, T model, String path, String... dependencyIds) {
+        return enqueue(repo, model, model.getId(), PUT, path, gson.toJsonTree(model).toString(),
+                () -> repo.getSaveFunction().apply(model), dependencyIds);
+    }
+
+    /**
+     * Saves {@code model} locally, if it has been saved before, and queues a GET to {@code path}
+     * for endpoints that mutate through query parameters. {@code key} identifies what is mutated.
+     */
+    <T extends Model<T>> Single<T> get(ModelRepo<T> repo, T model, String key, String path, String... dependencyIds) {
+        return enqueue(repo, model, key, GET, path, null,
+                () -> { if (!model.isEmpty()) repo.getSaveFunction().apply(model); }, dependencyIds);
+    }
+
+    /**
+     * Deletes {@code model} locally and queues a DELETE to {@code path}.
+     */
+    <T extends Model<T>> Single<T> delete(ModelRepo<T> repo, T model, String path, String... dependencyIds) {
+        return enqueue(repo, model, model.getId(), DELETE, path, null,
+                () -> repo.deleteLocally(model), dependencyIds);
+    }
+
+    private <T extends Model<T>> Single<T> enqueue(ModelRepo<T> repo, T model, String key, String op,
+                                                   String path, @Nullable String payload,
+                                                   Runnable localChange, String... dependencyIds) {
+        String type = typeOf(model);
+        if (type == null) return Single.error(new IllegalArgumentException("Outbox can't replay " + model.getClass().getName()));
+
+        List<String> dependencies = new ArrayList<>(dependencyIds.length);
+        for (String id : dependencyIds) if (!TextUtils.isEmpty(id)) dependencies.add(id);
+
+        OutboxEntity item = new OutboxEntity(op, path, type, key, payload, dependencies);
+
+        // Waits on the item before it commits, so a replay already running can't resolve it first
+        return Single.fromCallable(() -> AppDatabase.getInstance().runInTransaction(() -> {
+            localChange.run();
+            return await(record(item));
+        }))
+                .subscribeOn(DbSchedulers.writes())
+                .doOnSuccess(ignored -> replay())
+                .flatMap(result -> result.map(sent -> (T) sent)
+                        .map(repo.getLocalUpdateFunction(model))
+                        .toSingle(model));
+    }
+
+    private long record(OutboxEntity item) {
+        OutboxEntity latest = dao.latest(item.getModelId());
+        boolean coalesce = latest != null
+                && !DELETE.equals(item.getOp())
+                && OutboxEntity.STATUS_PENDING.equals(latest.getStatus())
+                && latest.getOp().equals(item.getOp())
+                && latest.getPath().equals(item.getPath());
+
+        return coalesce && dao.coalesce(latest.getId(), item.getPayload()) > 0
+                ? latest.getId()
+                : dao.insert(item);
+    }
+
+    private void drain() {
+        write(() -> dao.deleteFailedBefore(new Date(System.currentTimeMillis() - FAILED_RETENTION_MILLIS)));
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            long wakeAt = Long.MAX_VALUE;
+            OutboxEntity next = null;
+            Set<String> unsent = new HashSet<>();
+            List<OutboxEntity> waiting = new ArrayList<>();
+
+            for (OutboxEntity item : dao.unsent()) {
+                boolean ready = !unsent.contains(item.getModelId())
+                        && Collections.disjoint(unsent, item.getDependencyIds());
+
+                unsent.add(item.getModelId());
+                if (!ready) {
+                    waiting.add(item);
+                    continue;
+                }
+
+                // A row still marked as sending is released by resetSending() on the next start
+                if (!OutboxEntity.STATUS_PENDING.equals(item.getStatus())) {
+                    waiting.add(item);
+                    continue;
+                }
+
+                long dueAt = item.getNextAttempt() == null ? 0 : item.getNextAttempt().getTime();
+                if (dueAt <= now) {
+                    next = item;
+                    break;
+                }
+                waiting.add(item);
+                wakeAt = Math.min(wakeAt, dueAt);
+            }
+
+            if (next != null) {
+                send(next);
+                continue;
+            }
+
+            // Whatever is left can't be sent yet; its callers make do with the local copy
+            for (OutboxEntity item : waiting) resolve(item.getId(), null);
+            if (wakeAt != Long.MAX_VALUE) scheduleWake(wakeAt - now);
+            return;
+        }
+    }
+
+    private void send(OutboxEntity next) {
+        // Sends what the claimed row holds, a put coalesced since drain() read it included
+        OutboxEntity item = write(() -> dao.claim(next.getId()) > 0 ? dao.get(next.getId()) : null);
+        if (item == null) return;
+
+        JsonElement response;
+        try { response = request(item).blockingGet(); }
+        catch (RuntimeException e) {
+            onFailure(item, e);
+            return;
+        }
+
+        Model sent = write(() -> {
+            dao.delete(item.getId());
+            return DELETE.equals(item.getOp()) || dao.countUnsent(item.getModelId()) > 0 ? null : apply(item, response);
+        });
+        resolve(item.getId(), sent);
+    }
+
+    private Single<JsonElement> request(OutboxEntity item) {
+        switch (item.getOp()) {
+            case PUT:
+                return api.replayPut(item.getPath(), new JsonParser().parse(item.getPayload()));
+            case DELETE:
+                return api.replayDelete(item.getPath());
+            default:
+                return api.replayGet(item.getPath());
+        }
+    }
+
+    /**
+     * Saves the server's copy of a replayed model. Called only when no newer local changes to
+     * the model are unsent.
+     *
+     * @return the saved copy, or null if the response doesn't hold one
+     */
+    @Nullable
+    private Model apply(OutboxEntity item, JsonElement response) {
+        Class modelClass = TYPES.get(item.getModelType());
+        if (modelClass == null || response == null || !response.isJsonObject()) return null;
+
+        try {
+            Model model = (Model) gson.fromJson(response, modelClass);
+            if (model.isEmpty()) return null;
+            return (Model) RepoProvider.forModel(modelClass).getSaveFunction().apply(model);
+        }
+        catch (Exception e) {
+            Logger.log(TAG, "Unable to save the response for " + item.getPath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Undoes the local change of an item the server rejected by refetching the model, unless
+     * newer changes to it are still unsent.
+     */
+    private void rollBack(OutboxEntity item) {
+        Class modelClass = TYPES.get(item.getModelType());
+        if (modelClass == null || dao.countUnsent(item.getModelId()) > 0) return;
+
+        RepoProvider.forModel(modelClass).refetch(item.getModelId());
+    }
+
+    private void onFailure(OutboxEntity item, Throwable throwable) {
+        Throwable error = throwable.getCause() instanceof IOException ? throwable.getCause() : throwable;
+
+        boolean retry = isRetryable(error);
+
+        if (retry) {
+            int attempts = item.getAttempts() + 1;
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempts - 1, 16));
+            Date nextAttempt = new Date(System.currentTimeMillis() + backoff);
+
+            write(() -> dao.retry(item.getId(), attempts, nextAttempt));
+        }
+        else write(() -> dao.fail(item.getId()));
+
+        Logger.log(TAG, item.getOp() + " " + item.getPath() + " failed, "
+                + (retry ? OutboxEntity.STATUS_PENDING : OutboxEntity.STATUS_FAILED), error);
+
+        if (retry) {
+            resolve(item.getId(), null);
+            return;
+        }
+
+        rollBack(item);
+        MaybeSubject<Model> result = release(item.getId());
+        if (result != null) result.onError(error);
+    }
+
+    private synchronized Maybe<Model> await(long itemId) {
+        MaybeSubject<Model> result = awaiting.get(itemId);
+        if (result == null) awaiting.put(itemId, result = MaybeSubject.create());
+        return result;
+    }
+
+    @Nullable
+    private synchronized MaybeSubject<Model> release(long itemId) {
+        return awaiting.remove(itemId);
+    }
+
+    private void resolve(long itemId, @Nullable Model sent) {
+        MaybeSubject<Model> result = release(itemId);
+        if (result == null) return;
+
+        if (sent == null) result.onComplete();
+        else result.onSuccess(sent);
+    }
+
+    /**
+     * Runs a database write on the write scheduler, waiting for it to finish
+     */
+    private void write(Runnable write) {
+        Completable.fromRunnable(write).subscribeOn(DbSchedulers.writes()).blockingAwait();
+    }
+
+    @Nullable
+    private <R> R write(Callable<R> write) {
+        return Maybe.fromCallable(write).subscribeOn(DbSchedulers.writes()).blockingGet();
+    }
+
+    private synchronized void scheduleWake(long delayMillis) {
+        wake.dispose();
+        wake = Completable.timer(delayMillis, TimeUnit.MILLISECONDS)
+                .subscribe(this::replay, ErrorHandler.EMPTY);
+    }
+
+    private void registerNetworkCallback() {
+        App app = App.getInstance();
+        ConnectivityManager manager = app == null ? null : (ConnectivityManager) app.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (manager == null) return;
+
+        NetworkRequest request = new NetworkRequest.Builder()
+                .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                .build();
+
+        manager.registerNetworkCallback(request, new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(Network network) { replay(); }
+        });
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof IOException) return true;
+        if (!(error instanceof HttpException)) return false;
+
+        int code = ((HttpException) error).code();
+        return code >= HttpURLConnection.HTTP_INTERNAL_ERROR
+                || code == HttpURLConnection.HTTP_CLIENT_TIMEOUT
+                || code == 429;
+    }
+
+    private static Status statusOf(List<OutboxEntity> items) {
+        if (items.isEmpty()) return Status.SYNCED;
+
+        Status status = Status.PENDING;
+        for (OutboxEntity item : items) {
+            if (OutboxEntity.STATUS_FAILED.equals(item.getStatus())) return Status.FAILED;
+            if (OutboxEntity.STATUS_SENDING.equals(item.getStatus())) status = Status.SENDING;
+        }
+        return status;
+    }
+
+    @Nullable
+    private static String typeOf(Model<?> model) {
+        for (Map.Entry<String, Class<? extends Model>> entry : TYPES.entrySet())
+            if (entry.getValue().isInstance(model)) return entry.getKey();
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+
+import static com.mainstreetcode.teammate.repository.ModelRepo.DEF_QUERY_LIMIT;
+
+/**
+ * Sizes pages to fill the screen, and fetches more screens at a time when round trips are slow.
+ */
+final class PageSizer {
+
+    private static final int MAX_PAGE_SIZE = 60;
+    private static final int ROW_HEIGHT_DP = 72;
+    private static final int MAX_SCREENS = 4;
+    private static final long SCREEN_LATENCY_MILLIS = 400;
+    private static final float LATENCY_SMOOTHING = 0.25F;
+
+    private static final PageSizer instance = new PageSizer();
+
+    private final int rowsPerScreen;
+    private volatile float latencyMillis = SCREEN_LATENCY_MILLIS;
+
+    private PageSizer() {
+        DisplayMetrics metrics = Resources.getSystem().getDisplayMetrics();
+        float heightDp = metrics.heightPixels / metrics.density;
+        rowsPerScreen = (int) Math.ceil(heightDp / ROW_HEIGHT_DP);
+    }
+
+    static PageSizer getInstance() {
+        return instance;
+    }
+
+    /**
+     * One screen of rows, plus another screen for every {@link #SCREEN_LATENCY_MILLIS} a round
+     * trip takes on average.
+     */
+    int getPageSize() {
+        float screens = Math.min(MAX_SCREENS, 1 + latencyMillis / SCREEN_LATENCY_MILLIS);
+        int size = Math.round(rowsPerScreen * screens);
+        return Math.max(DEF_QUERY_LIMIT, Math.min(MAX_PAGE_SIZE, size));
+    }
+
+    void onRoundTrip(long elapsedMillis) {
+        latencyMillis += LATENCY_SMOOTHING * (elapsedMillis - latencyMillis);
+    }
+}
@@ -25,10 +25,14 @@
 package com.mainstreetcode.teammate.repository;
 
 
+import android.os.SystemClock;
+
 import androidx.annotation.Nullable;
+import androidx.core.util.Pair;
 
 import com.mainstreetcode.teammate.model.Model;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -38,15 +42,49 @@ import io.reactivex.Maybe;
 
 abstract class QueryRepo<T extends Model<T>, S extends Model<S>, R> extends ModelRepo<T> {
 
+    private final SingleFlight<Pair<S, R>, List<T>> pageFlights = new SingleFlight<>();
+
     QueryRepo() {}
 
+    /**
+     * Pages in models before {@code pagination}. Concurrent calls for the same page share one
+     * local read and remote request, and each caller gets its own copy of the emitted lists.
+     */
     public final Flowable<List<T>> modelsBefore(S key, @Nullable R pagination) {
-        return fetchThenGet(localModelsBefore(key, pagination), remoteModelsBefore(key, pagination));
+        return pageFlights.join(new Pair<>(key, pagination), () -> fetchModelsBefore(key, pagination))
+                .map(ArrayList::new);
+    }
+
+    private Flowable<List<T>> fetchModelsBefore(S key, @Nullable R pagination) {
+        PageSizer sizer = PageSizer.getInstance();
+        int limit = sizer.getPageSize();
+
+        Maybe<List<T>> remote = Maybe.defer(() -> {
+            long start = SystemClock.elapsedRealtime();
+            return remoteModelsBefore(key, pagination, limit)
+                    .map(IdResolver::resolveAll)
+                    .doOnSuccess(ignored -> sizer.onRoundTrip(SystemClock.elapsedRealtime() - start));
+        });
+
+        String freshnessKey = key.getId() + "/" + pagination;
+        return fetchUnlessFresh(freshnessKey, localModelsBefore(key, pagination, limit).map(this::withPendingWrites), remote);
+    }
+
+    /**
+     * Pushes the rows that changed locally in the range from {@code since} onwards, which is
+     * usually the oldest item already paged in. Repos without an observable query never emit.
+     */
+    public final Flowable<ChangeSet<T>> changesSince(S key, R since) {
+        return observeModelsSince(key, since).compose(ChangeSet.diffed());
     }
 
-    abstract Maybe<List<T>> localModelsBefore(S key, @Nullable R pagination);
+    abstract Maybe<List<T>> localModelsBefore(S key, @Nullable R pagination, int limit);
 
-    abstract Maybe<List<T>> remoteModelsBefore(S key, @Nullable R pagination);
+    abstract Maybe<List<T>> remoteModelsBefore(S key, @Nullable R pagination, int limit);
+
+    Flowable<List<T>> observeModelsSince(S key, R since) {
+        return Flowable.empty();
+    }
 
     Date getFutureDate() {
         Calendar calendar = Calendar.getInstance();
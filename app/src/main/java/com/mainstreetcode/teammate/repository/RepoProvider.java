@@ -58,14 +58,16 @@ import io.reactivex.functions.Function;
 
 public class RepoProvider {
 
-    private static RepoProvider ourInstance;
+    private static final String TAG = "RepoProvider";
+
+    private static volatile RepoProvider ourInstance;
 
     private final SingletonCache<Model, ModelRepo> singletonCache;
 
     private RepoProvider() {
 
         //noinspection unchecked
-        singletonCache = new SingletonCache<Model, ModelRepo>(itemClass -> {
+        singletonCache = new SingletonCache<Model, ModelRepo>(TAG, itemClass -> {
             if (itemClass.equals(User.class)) return UserRepo.class;
             if (itemClass.equals(Team.class)) return TeamRepo.class;
             if (itemClass.equals(Role.class)) return RoleRepo.class;
@@ -86,30 +88,32 @@ public class RepoProvider {
             return falseRepo.getClass();
         },
                 RepoProvider::get,
-                new Pair<>(falseRepo.getClass(), falseRepo),
-                new Pair<>(UserRepo.class, new UserRepo()),
-                new Pair<>(TeamRepo.class, new TeamRepo()),
-                new Pair<>(RoleRepo.class, new RoleRepo()),
-                new Pair<>(ChatRepo.class, new ChatRepo()),
-                new Pair<>(GameRepo.class, new GameRepo()),
-                new Pair<>(StatRepo.class, new StatRepo()),
-                new Pair<>(PrefsRepo.class, new PrefsRepo()),
-                new Pair<>(MediaRepo.class, new MediaRepo()),
-                new Pair<>(GuestRepo.class, new GuestRepo()),
-                new Pair<>(EventRepo.class, new EventRepo()),
-                new Pair<>(ConfigRepo.class, new ConfigRepo()),
-                new Pair<>(DeviceRepo.class, new DeviceRepo()),
-                new Pair<>(GameRoundRepo.class, new GameRoundRepo()),
-                new Pair<>(TournamentRepo.class, new TournamentRepo()),
-                new Pair<>(CompetitorRepo.class, new CompetitorRepo()),
-                new Pair<>(BlockedUserRepo.class, new BlockedUserRepo()),
-                new Pair<>(JoinRequestRepo.class, new JoinRequestRepo()),
-                new Pair<>(TeamMemberRepo.class, new TeamMemberRepo())
+                new Pair<>(falseRepo.getClass(), () -> falseRepo),
+                new Pair<>(UserRepo.class, UserRepo::new),
+                new Pair<>(TeamRepo.class, TeamRepo::new),
+                new Pair<>(RoleRepo.class, RoleRepo::new),
+                new Pair<>(ChatRepo.class, ChatRepo::new),
+                new Pair<>(GameRepo.class, GameRepo::new),
+                new Pair<>(StatRepo.class, StatRepo::new),
+                new Pair<>(PrefsRepo.class, PrefsRepo::new),
+                new Pair<>(MediaRepo.class, MediaRepo::new),
+                new Pair<>(GuestRepo.class, GuestRepo::new),
+                new Pair<>(EventRepo.class, EventRepo::new),
+                new Pair<>(ConfigRepo.class, ConfigRepo::new),
+                new Pair<>(DeviceRepo.class, DeviceRepo::new),
+                new Pair<>(GameRoundRepo.class, GameRoundRepo::new),
+                new Pair<>(TournamentRepo.class, TournamentRepo::new),
+                new Pair<>(CompetitorRepo.class, CompetitorRepo::new),
+                new Pair<>(BlockedUserRepo.class, BlockedUserRepo::new),
+                new Pair<>(JoinRequestRepo.class, JoinRequestRepo::new),
+                new Pair<>(TeamMemberRepo.class, TeamMemberRepo::new)
         );
     }
 
     static RepoProvider getInstance() {
-        if (ourInstance == null) ourInstance = new RepoProvider();
+        if (ourInstance == null) synchronized (RepoProvider.class) {
+            if (ourInstance == null) ourInstance = new RepoProvider();
+        }
         return ourInstance;
     }
 
@@ -127,7 +131,7 @@ public class RepoProvider {
     }
 
     private static ModelRepo get(Class<? extends ModelRepo> unknown) {
-        Logger.log("RepoProvider", "Dummy Repo created for unrecognized class" + unknown.getName());
+        Logger.log(TAG, "Dummy Repo created for unrecognized class" + unknown.getName());
         return falseRepo;
     }
 
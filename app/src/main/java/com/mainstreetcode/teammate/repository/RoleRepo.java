@@ -25,17 +25,13 @@
 package com.mainstreetcode.teammate.repository;
 
 import com.mainstreetcode.teammate.model.Role;
-import com.mainstreetcode.teammate.model.Team;
-import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.persistence.RoleDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import io.reactivex.Flowable;
@@ -44,7 +40,7 @@ import io.reactivex.Single;
 import io.reactivex.functions.Function;
 import okhttp3.MultipartBody;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class RoleRepo extends ModelRepo<Role> {
 
@@ -77,7 +73,7 @@ public class RoleRepo extends ModelRepo<Role> {
 
     @Override
     public Flowable<Role> get(String id) {
-        Maybe<Role> local = roleDao.get(id).subscribeOn(io());
+        Maybe<Role> local = roleDao.get(id).subscribeOn(reads());
         Maybe<Role> remote = api.getRole(id).toMaybe();
 
         return fetchThenGetModel(local, remote);
@@ -92,37 +88,20 @@ public class RoleRepo extends ModelRepo<Role> {
 
     @Override
     Function<List<Role>, List<Role>> provideSaveManyFunction() {
-        return models -> {
-            int size = models.size();
-            List<Team> teams = new ArrayList<>(size);
-            List<User> users = new ArrayList<>(size);
-
-            for (int i = 0; i < size; i++) {
-                Role role = models.get(i);
-                users.add(role.getUser());
-                teams.add(role.getTeam());
-            }
-
-            if (!teams.isEmpty()) RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-            if (!users.isEmpty()) RepoProvider.forModel(User.class).saveAsNested().apply(users);
-
-            roleDao.upsert(Collections.unmodifiableList(models));
-
-            return models;
-        };
+        return GraphWriter::write;
     }
 
     public Flowable<Role> getRoleInTeam(String userId, String teamId) {
         Function<Role, Flowable<Role>> function = role -> Maybe.concatDelayError(Arrays.asList(Maybe.just(role), api.getRole(role.getId()).toMaybe()));
-        return roleDao.getRoleInTeam(userId, teamId).subscribeOn(io())
+        return roleDao.getRoleInTeam(userId, teamId).subscribeOn(reads())
                 .flatMapPublisher(function);
     }
 
     public Flowable<List<Role>> getMyRoles() {
         String userId = RepoProvider.forRepo(UserRepo.class).getCurrentUser().getId();
-        Maybe<List<Role>> local = roleDao.userRoles(userId).subscribeOn(io());
-        Maybe<List<Role>> remote = api.getMyRoles().map(getSaveManyFunction()).toMaybe();
+        Maybe<List<Role>> local = roleDao.userRoles(userId).subscribeOn(reads());
+        Maybe<List<Role>> remote = api.getMyRoles().map(getDeferredSaveManyFunction()).toMaybe();
 
-        return fetchThenGet(local, remote);
+        return fetchUnlessFresh("mine/" + userId, local, remote);
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Flowable;
+
+/**
+ * Registry of requests in flight, keyed by what they fetch. Subscribing while a request for the
+ * same key is running joins it, replaying what it has already emitted, instead of starting a
+ * duplicate local read and network call. The entry is dropped once the request terminates or
+ * every subscriber has left.
+ */
+final class SingleFlight<K, V> {
+
+    private static final AtomicLong totalCalls = new AtomicLong();
+    private static final AtomicLong totalDeduplicated = new AtomicLong();
+
+    private final Map<K, Flowable<V>> inFlight = new HashMap<>();
+
+    Flowable<V> join(K key, Callable<Flowable<V>> request) {
+        return Flowable.defer(() -> {
+            totalCalls.incrementAndGet();
+            synchronized (inFlight) {
+                Flowable<V> running = inFlight.get(key);
+                if (running != null) {
+                    totalDeduplicated.incrementAndGet();
+                    return running;
+                }
+
+                AtomicReference<Flowable<V>> reference = new AtomicReference<>();
+                Flowable<V> shared = request.call()
+                        .doFinally(() -> remove(key, reference.get()))
+                        .replay()
+                        .refCount();
+
+                reference.set(shared);
+                inFlight.put(key, shared);
+                return shared;
+            }
+        });
+    }
+
+    /**
+     * Calls made through every registry since the process started
+     */
+    static long getTotalCalls() { return totalCalls.get(); }
+
+    /**
+     * Calls that joined a request already in flight instead of starting their own
+     */
+    static long getTotalDeduplicated() { return totalDeduplicated.get(); }
+
+    private void remove(K key, Flowable<V> shared) {
+        synchronized (inFlight) {
+            if (inFlight.get(key) == shared) inFlight.remove(key);
+        }
+    }
+}
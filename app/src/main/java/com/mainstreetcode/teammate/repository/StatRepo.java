@@ -26,18 +26,14 @@ package com.mainstreetcode.teammate.repository;
 
 
 import com.mainstreetcode.teammate.model.Game;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Stat;
-import com.mainstreetcode.teammate.model.Team;
-import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.persistence.StatDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
 import java.util.List;
 
 import androidx.annotation.Nullable;
@@ -46,9 +42,12 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 import static io.reactivex.schedulers.Schedulers.io;
 
-public class StatRepo extends QueryRepo<Stat, Game, Date> {
+public class StatRepo extends QueryRepo<Stat, Game, PageCursor> {
 
     private final TeammateApi api;
     private final StatDao statDao;
@@ -65,18 +64,14 @@ public class StatRepo extends QueryRepo<Stat, Game, Date> {
 
     @Override
     public Single<Stat> createOrUpdate(Stat stat) {
-        Single<Stat> statSingle = stat.isEmpty()
-                ? api.createStat(stat.getGame().getId(), stat).map(getLocalUpdateFunction(stat))
-                : api.updateStat(stat.getId(), stat)
-                .map(getLocalUpdateFunction(stat))
-                .doOnError(throwable -> deleteInvalidModel(stat, throwable));
-
-        return statSingle.map(getSaveFunction());
+        return stat.isEmpty()
+                ? api.createStat(stat.getGame().getId(), stat).map(getLocalUpdateFunction(stat)).map(getSaveFunction())
+                : Outbox.getInstance().put(this, stat, "api/stats/" + stat.getId(), stat.getGame().getId());
     }
 
     @Override
     public Flowable<Stat> get(String id) {
-        Maybe<Stat> local = statDao.get(id).subscribeOn(io());
+        Maybe<Stat> local = statDao.get(id).subscribeOn(reads());
         Maybe<Stat> remote = api.getStat(id).subscribeOn(io()).toMaybe();
 
         return fetchThenGetModel(local, remote);
@@ -84,43 +79,24 @@ public class StatRepo extends QueryRepo<Stat, Game, Date> {
 
     @Override
     public Single<Stat> delete(Stat stat) {
-        return api.deleteStat(stat.getId())
-                .map(this::deleteLocally)
-                .doOnError(throwable -> deleteInvalidModel(stat, throwable));
+        return Outbox.getInstance().delete(this, stat, "api/stats/" + stat.getId(), stat.getGame().getId());
     }
 
     @Override
-    Maybe<List<Stat>> localModelsBefore(Game game, @Nullable Date date) {
-        if (date == null) date = getFutureDate();
-        return statDao.getStats(game.getId(), date, DEF_QUERY_LIMIT).subscribeOn(io());
+    Maybe<List<Stat>> localModelsBefore(Game game, @Nullable PageCursor cursor, int limit) {
+        if (cursor == null) cursor = PageCursor.before(getFutureDate());
+        return statDao.getStats(game.getId(), cursor, limit).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Stat>> remoteModelsBefore(Game game, @Nullable Date date) {
-        return api.getStats(game.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction())
+    Maybe<List<Stat>> remoteModelsBefore(Game game, @Nullable PageCursor cursor, int limit) {
+        return api.getStats(game.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction())
                 .doOnSuccess(stats -> { for (Stat stat : stats) stat.getGame().update(game); })
                 .toMaybe();
     }
 
     @Override
     Function<List<Stat>, List<Stat>> provideSaveManyFunction() {
-        return models -> {
-            List<User> users = new ArrayList<>(models.size());
-            List<Team> teams = new ArrayList<>(models.size());
-            List<Game> games = new ArrayList<>(models.size());
-
-            for (Stat stat : models) {
-                users.add(stat.getUser());
-                teams.add(stat.getTeam());
-                games.add(stat.getGame());
-            }
-
-            RepoProvider.forModel(User.class).saveAsNested().apply(users);
-            RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-            RepoProvider.forModel(Game.class).saveAsNested().apply(games);
-            statDao.upsert(Collections.unmodifiableList(models));
-
-            return models;
-        };
+        return GraphWriter::write;
     }
 }
@@ -28,6 +28,7 @@ import androidx.annotation.Nullable;
 
 import com.mainstreetcode.teammate.model.JoinRequest;
 import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Role;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.TeamHost;
@@ -50,8 +51,10 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 import static com.mainstreetcode.teammate.repository.RepoProvider.forModel;
-import static io.reactivex.schedulers.Schedulers.io;
 
 public class TeamMemberRepo<T extends Model<T> & TeamHost & UserHost> extends TeamQueryRepo<TeamMember<T>> {
 
@@ -109,14 +112,14 @@ public class TeamMemberRepo<T extends Model<T> & TeamHost & UserHost> extends Te
     }
 
     @Override
-    Maybe<List<TeamMember<T>>> localModelsBefore(Team key, @Nullable Date date) {
-        if (date == null) date = new Date();
+    Maybe<List<TeamMember<T>>> localModelsBefore(Team key, @Nullable PageCursor cursor, int limit) {
+        if (cursor == null) cursor = PageCursor.before(new Date());
 
         AppDatabase database = AppDatabase.getInstance();
         String teamId = key.getId();
 
-        Maybe<List<Role>> rolesMaybe = database.roleDao().getRoles(key.getId(), date, DEF_QUERY_LIMIT).defaultIfEmpty(new ArrayList<>());
-        Maybe<List<JoinRequest>> requestsMaybe = database.joinRequestDao().getRequests(teamId, date, DEF_QUERY_LIMIT).defaultIfEmpty(new ArrayList<>());
+        Maybe<List<Role>> rolesMaybe = database.roleDao().getRoles(key.getId(), cursor, limit).defaultIfEmpty(new ArrayList<>()).subscribeOn(reads());
+        Maybe<List<JoinRequest>> requestsMaybe = database.joinRequestDao().getRequests(teamId, cursor, limit).defaultIfEmpty(new ArrayList<>()).subscribeOn(reads());
 
         Maybe<List<TeamMember>> listMaybe = Maybe.zip(rolesMaybe, requestsMaybe, (roles, requests) -> {
             List<TeamMember> result = new ArrayList<>(roles.size() + requests.size());
@@ -125,11 +128,20 @@ public class TeamMemberRepo<T extends Model<T> & TeamHost & UserHost> extends Te
             for (JoinRequest request : requests) result.add(TeamMember.fromModel(request));
 
             return result;
-        }).subscribeOn(io());
+        });
 
         return unsafeCastList(listMaybe);
     }
 
+    @Override
+    Flowable<List<TeamMember<T>>> observeModelsSince(Team key, PageCursor since) {
+        Flowable<List<TeamMember>> roles = AppDatabase.getInstance().roleDao().observeRolesSince(key.getId(), since.getDate())
+                .map(TeamMemberRepo::wrapRoles)
+                .subscribeOn(reads());
+
+        return roles.map(TeamMemberRepo::unsafeCastList);
+    }
+
     private Single<TeamMember<T>> createJoinRequest(JoinRequest request) {
         TeamMember<T> member = TeamMember.unsafeCast(TeamMember.fromModel(request));
         return forModel(JoinRequest.class).createOrUpdate(request).map(updated -> member);
@@ -157,8 +169,8 @@ public class TeamMemberRepo<T extends Model<T> & TeamHost & UserHost> extends Te
     }
 
     @Override
-    Maybe<List<TeamMember<T>>> remoteModelsBefore(Team key, @Nullable Date date) {
-        Maybe<List<TeamMember<T>>> maybe = TeamMemberRepo.unsafeCastList(api.getTeamMembers(key.getId(), date, DEF_QUERY_LIMIT).toMaybe());
+    Maybe<List<TeamMember<T>>> remoteModelsBefore(Team key, @Nullable PageCursor cursor, int limit) {
+        Maybe<List<TeamMember<T>>> maybe = TeamMemberRepo.unsafeCastList(api.getTeamMembers(key.getId(), dateOf(cursor), idOf(cursor), limit).toMaybe());
         return maybe.map(getSaveManyFunction());
     }
 
@@ -168,8 +180,7 @@ public class TeamMemberRepo<T extends Model<T> & TeamHost & UserHost> extends Te
             TeamMember.split(Collections.unmodifiableList(models), (roles, requests) -> {
                 deleteStaleJoinRequests(roles);
 
-                if (!requests.isEmpty()) forModel(JoinRequest.class).saveAsNested().apply(requests);
-                if (!roles.isEmpty()) forModel(Role.class).saveAsNested().apply(roles);
+                new GraphWriter().addAll(requests).addAll(roles).write();
             });
             return models;
         };
@@ -195,6 +206,12 @@ public class TeamMemberRepo<T extends Model<T> & TeamHost & UserHost> extends Te
         return single.map(TeamMemberRepo::unsafeCastList);
     }
 
+    private static List<TeamMember> wrapRoles(List<Role> roles) {
+        List<TeamMember> result = new ArrayList<>(roles.size());
+        for (Role role : roles) result.add(TeamMember.fromModel(role));
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     private static <S extends Model<S>> List<S> unsafeCastList(List<TeamMember> source) {
         return new ArrayList(source);
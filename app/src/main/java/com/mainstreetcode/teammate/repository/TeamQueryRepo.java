@@ -26,11 +26,10 @@ package com.mainstreetcode.teammate.repository;
 
 
 import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
 
-import java.util.Date;
-
-abstract class TeamQueryRepo<T extends Model<T>> extends QueryRepo<T, Team, Date> {
+abstract class TeamQueryRepo<T extends Model<T>> extends QueryRepo<T, Team, PageCursor> {
 
     TeamQueryRepo() {}
 }
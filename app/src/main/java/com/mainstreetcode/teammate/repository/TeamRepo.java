@@ -38,7 +38,6 @@ import com.mainstreetcode.teammate.persistence.TeamDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
-import java.util.Collections;
 import java.util.List;
 
 import io.reactivex.Flowable;
@@ -47,7 +46,7 @@ import io.reactivex.Single;
 import io.reactivex.functions.Function;
 import okhttp3.MultipartBody;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class TeamRepo extends ModelRepo<Team> {
 
@@ -71,6 +70,10 @@ public class TeamRepo extends ModelRepo<Team> {
 
     @Override
     public Single<Team> createOrUpdate(Team model) {
+        MultipartBody.Part body = getBody(model.getHeaderItem().getValue(), Team.PHOTO_UPLOAD_KEY);
+        if (!model.isEmpty() && body == null)
+            return Outbox.getInstance().put(this, model, "api/teams/" + model.getId());
+
         Single<Team> teamSingle = model.isEmpty()
                 ? api.createTeam(model).map(getLocalUpdateFunction(model))
                 .flatMap(team -> RepoProvider.forRepo(RoleRepo.class).getMyRoles().lastOrError())
@@ -78,7 +81,6 @@ public class TeamRepo extends ModelRepo<Team> {
                 : api.updateTeam(model.getId(), model).map(getLocalUpdateFunction(model))
                 .doOnError(throwable -> deleteInvalidModel(model, throwable));
 
-        MultipartBody.Part body = getBody(model.getHeaderItem().getValue(), Team.PHOTO_UPLOAD_KEY);
         if (body != null) {
             teamSingle = teamSingle.flatMap(put -> api.uploadTeamLogo(model.getId(), body).map(getLocalUpdateFunction(model)));
         }
@@ -88,36 +90,41 @@ public class TeamRepo extends ModelRepo<Team> {
 
     @Override
     public Flowable<Team> get(String id) {
-        Maybe<Team> local = teamDao.get(id).subscribeOn(io());
-        Maybe<Team> remote = api.getTeam(id).map(getSaveFunction()).toMaybe();
+        Maybe<Team> local = teamDao.get(id).subscribeOn(reads());
+        Maybe<Team> remote = api.getTeam(id).map(getDeferredSaveFunction()).toMaybe();
 
         return fetchThenGetModel(local, remote);
     }
 
     @Override
     public Single<Team> delete(Team team) {
-        return api.deleteTeam(team.getId())
-                .map(this::deleteLocally)
-                .doOnError(throwable -> deleteInvalidModel(team, throwable));
+        return Outbox.getInstance().delete(this, team, "api/teams/" + team.getId());
     }
 
     @Override
     Function<List<Team>, List<Team>> provideSaveManyFunction() {
-        return models -> {
-            teamDao.upsert(Collections.unmodifiableList(models));
-            return models;
-        };
+        return GraphWriter::write;
     }
 
     public Single<List<Team>> findTeams(TeamSearchRequest request) {
         return api.findTeam(request.getName(), request.getScreenName(), request.getSport());
     }
 
+    /**
+     * Cached teams matching the request first, then those merged with the remote matches
+     */
+    public Flowable<List<Team>> searchTeams(TeamSearchRequest request) {
+        String query = TextUtils.isEmpty(request.getName()) ? request.getScreenName() : request.getName();
+        Maybe<List<Team>> local = teamDao.search(query, request.getSport(), DEF_QUERY_LIMIT);
+
+        return searchThenMerge(local, findTeams(request));
+    }
+
     public Maybe<Team> getDefaultTeam() {
         SharedPreferences preferences = app.getSharedPreferences(TEAM_REPOSITORY_KEY, Context.MODE_PRIVATE);
         String defaultTeamId = preferences.getString(DEFAULT_TEAM, "");
 
-        return TextUtils.isEmpty(defaultTeamId) ? Maybe.empty() : teamDao.get(defaultTeamId).subscribeOn(io());
+        return TextUtils.isEmpty(defaultTeamId) ? Maybe.empty() : teamDao.get(defaultTeamId).subscribeOn(reads());
     }
 
     public void saveDefaultTeam(Team team) {
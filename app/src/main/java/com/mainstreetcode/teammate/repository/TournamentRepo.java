@@ -27,19 +27,16 @@ package com.mainstreetcode.teammate.repository;
 
 import androidx.annotation.Nullable;
 
-import com.mainstreetcode.teammate.model.Competitive;
 import com.mainstreetcode.teammate.model.Competitor;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.Tournament;
-import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.persistence.TournamentDao;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -49,7 +46,9 @@ import io.reactivex.Single;
 import io.reactivex.functions.Function;
 import okhttp3.MultipartBody;
 
-import static io.reactivex.schedulers.Schedulers.io;
+import static com.mainstreetcode.teammate.model.PageCursor.dateOf;
+import static com.mainstreetcode.teammate.model.PageCursor.idOf;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 
 public class TournamentRepo extends TeamQueryRepo<Tournament> {
 
@@ -90,8 +89,8 @@ public class TournamentRepo extends TeamQueryRepo<Tournament> {
 
     @Override
     public Flowable<Tournament> get(String id) {
-        Maybe<Tournament> local = tournamentDao.get(id).subscribeOn(io());
-        Maybe<Tournament> remote = api.getTournament(id).map(getSaveFunction()).toMaybe();
+        Maybe<Tournament> local = tournamentDao.get(id).subscribeOn(reads());
+        Maybe<Tournament> remote = api.getTournament(id).map(getDeferredSaveFunction()).toMaybe();
 
         return fetchThenGetModel(local, remote);
     }
@@ -104,48 +103,21 @@ public class TournamentRepo extends TeamQueryRepo<Tournament> {
     }
 
     @Override
-    Maybe<List<Tournament>> localModelsBefore(Team team, @Nullable Date date) {
-        if (date == null) date = getFutureDate();
+    Maybe<List<Tournament>> localModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        Date date = cursor == null ? getFutureDate() : cursor.getDate();
         // To concatenate team to account for the way the id is stored in the db to accommodate users and teams
         String teamId = team.getId();
-        return tournamentDao.getTournaments(teamId, date, DEF_QUERY_LIMIT).subscribeOn(io());
+        return tournamentDao.getTournaments(teamId, date, limit).subscribeOn(reads());
     }
 
     @Override
-    Maybe<List<Tournament>> remoteModelsBefore(Team team, @Nullable Date date) {
-        return api.getTournaments(team.getId(), date, DEF_QUERY_LIMIT).map(getSaveManyFunction()).toMaybe();
+    Maybe<List<Tournament>> remoteModelsBefore(Team team, @Nullable PageCursor cursor, int limit) {
+        return api.getTournaments(team.getId(), dateOf(cursor), idOf(cursor), limit).map(getDeferredSaveManyFunction()).toMaybe();
     }
 
     @Override
     Function<List<Tournament>, List<Tournament>> provideSaveManyFunction() {
-        return models -> {
-            int size = models.size();
-            List<User> users = new ArrayList<>(size);
-            List<Team> teams = new ArrayList<>(size);
-            List<Competitor> competitors = new ArrayList<>(size);
-
-            for (Tournament tournament : models) {
-                teams.add(tournament.getTeam());
-                Competitor competitor = tournament.getWinner();
-
-                if (competitor.isEmpty()) continue;
-                competitors.add(competitor);
-
-                Competitive competitive = competitor.getEntity();
-                if (competitive.isEmpty()) continue;
-
-                if (competitive instanceof User) users.add((User) competitive);
-                if (competitive instanceof Team) teams.add((Team) competitive);
-            }
-
-            RepoProvider.forModel(User.class).saveAsNested().apply(users);
-            RepoProvider.forModel(Team.class).saveAsNested().apply(teams);
-
-            tournamentDao.upsert(Collections.unmodifiableList(models));
-            RepoProvider.forModel(Competitor.class).saveAsNested().apply(competitors);
-
-            return models;
-        };
+        return GraphWriter::write;
     }
 
     @Override
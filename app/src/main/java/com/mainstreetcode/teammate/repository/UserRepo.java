@@ -32,17 +32,18 @@ import com.facebook.login.LoginResult;
 import com.google.gson.JsonObject;
 import com.mainstreetcode.teammate.App;
 import com.mainstreetcode.teammate.model.Device;
+import com.mainstreetcode.teammate.model.IdentityMap;
 import com.mainstreetcode.teammate.model.Message;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.persistence.AppDatabase;
 import com.mainstreetcode.teammate.persistence.EntityDao;
 import com.mainstreetcode.teammate.persistence.UserDao;
+import com.mainstreetcode.teammate.rest.HttpCache;
 import com.mainstreetcode.teammate.rest.TeammateApi;
 import com.mainstreetcode.teammate.rest.TeammateService;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.util.TeammateException;
 
-import java.util.Collections;
 import java.util.List;
 
 import androidx.annotation.NonNull;
@@ -55,6 +56,7 @@ import io.reactivex.functions.Function;
 import okhttp3.MultipartBody;
 
 import static android.content.Context.MODE_PRIVATE;
+import static com.mainstreetcode.teammate.persistence.DbSchedulers.reads;
 import static com.mainstreetcode.teammate.rest.TeammateService.SESSION_COOKIE;
 import static io.reactivex.Single.just;
 import static io.reactivex.schedulers.Schedulers.io;
@@ -73,7 +75,8 @@ public class UserRepo extends ModelRepo<User> {
 
     private User currentUser = User.empty();
 
-    private final Consumer<User> currentUserUpdater = updatedUser -> currentUser = updatedUser;
+    // Copied rather than shared, the current user is edited in place
+    private final Consumer<User> currentUserUpdater = updatedUser -> currentUser.update(updatedUser);
 
     UserRepo() {
         app = App.getInstance();
@@ -105,7 +108,7 @@ public class UserRepo extends ModelRepo<User> {
 
     @Override
     public Flowable<User> get(String id) {
-        Maybe<User> local = userDao.get(id).subscribeOn(io());
+        Maybe<User> local = userDao.get(id).subscribeOn(reads());
         Single<User> remote = api.getMe().map(getSaveFunction());
 
         if (id.equals(currentUser.getId())) {
@@ -127,10 +130,7 @@ public class UserRepo extends ModelRepo<User> {
 
     @Override
     Function<List<User>, List<User>> provideSaveManyFunction() {
-        return models -> {
-            userDao.upsert(Collections.unmodifiableList(models));
-            return models;
-        };
+        return GraphWriter::write;
     }
 
     public User getCurrentUser() {
@@ -176,6 +176,14 @@ public class UserRepo extends ModelRepo<User> {
         return api.findUser(screenName);
     }
 
+    /**
+     * Cached users matching the query first, then those merged with the remote matches
+     */
+    public Flowable<List<User>> searchUsers(String query) {
+        Maybe<List<User>> local = userDao.search(query, DEF_QUERY_LIMIT);
+        return searchThenMerge(local, findUser(query));
+    }
+
     public boolean isSignedIn() {
         return !TextUtils.isEmpty(getUserId());
     }
@@ -227,6 +235,11 @@ public class UserRepo extends ModelRepo<User> {
     }
 
     private Single<Boolean> clearTables() {
+        WriteBehindQueue.getInstance().clear();
+        FreshnessPolicy.getInstance().clear();
+        FeedCache.getInstance().clear();
+        HttpCache.evictAll();
+        IdentityMap.clear();
         AppDatabase database = AppDatabase.getInstance();
         return database.clearTables().flatMap(result -> clearUser()).onErrorReturn(throwable -> false);
     }
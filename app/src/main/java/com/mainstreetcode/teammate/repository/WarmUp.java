@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Runs the work that primes the app on start up as a graph of named tasks.
+ * <p>
+ * A task starts as soon as every task it depends on has finished, so independent tasks run
+ * in parallel. Tasks with a deadline are started first, and their dependents stop waiting on
+ * them once the deadline passes. Warm up is best effort: a task that fails is recorded and its
+ * dependents run regardless. The start offset and duration of every task are available from
+ * {@link #getTimings()} once the pipeline completes.
+ */
+public final class WarmUp {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final Scheduler clock;
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private final List<Timing> timings = new ArrayList<>();
+
+    private long startedAt;
+
+    public WarmUp() {
+        this(Schedulers.computation());
+    }
+
+    WarmUp(Scheduler clock) {
+        this.clock = clock;
+    }
+
+    public WarmUp task(String name, Completable work, String... dependencies) {
+        return task(name, NO_DEADLINE, work, dependencies);
+    }
+
+    /**
+     * Adds a task. Dependencies must have been added before the tasks that depend on them,
+     * which keeps the graph free of cycles.
+     *
+     * @param deadlineMillis how long after the pipeline starts dependents wait for this task
+     */
+    public WarmUp task(String name, long deadlineMillis, Completable work, String... dependencies) {
+        if (tasks.containsKey(name))
+            throw new IllegalArgumentException("Duplicate warm up task: " + name);
+
+        List<Task> upstream = new ArrayList<>(dependencies.length);
+        for (String dependency : dependencies) {
+            Task task = tasks.get(dependency);
+            if (task == null)
+                throw new IllegalArgumentException(name + " depends on an undeclared task: " + dependency);
+            upstream.add(task);
+        }
+
+        tasks.put(name, new Task(name, deadlineMillis, work, upstream));
+        return this;
+    }
+
+    public Completable start() {
+        return Completable.defer(() -> {
+            startedAt = clock.now(TimeUnit.MILLISECONDS);
+
+            // Stable, so tasks without a deadline keep their declaration order
+            List<Task> ordered = new ArrayList<>(tasks.values());
+            Collections.sort(ordered, (a, b) -> Long.compare(a.deadlineMillis, b.deadlineMillis));
+
+            List<Completable> completions = new ArrayList<>(ordered.size());
+            for (Task task : ordered) completions.add(task.completion);
+
+            return Completable.merge(completions);
+        });
+    }
+
+    public List<Timing> getTimings() {
+        synchronized (timings) {
+            return new ArrayList<>(timings);
+        }
+    }
+
+    private long elapsed() {
+        return clock.now(TimeUnit.MILLISECONDS) - startedAt;
+    }
+
+    private final class Task {
+        private final String name;
+        private final long deadlineMillis;
+        private final Completable completion;
+
+        private volatile long startMillis;
+
+        Task(String name, long deadlineMillis, Completable work, List<Task> upstream) {
+            this.name = name;
+            this.deadlineMillis = deadlineMillis;
+
+            List<Completable> awaited = new ArrayList<>(upstream.size());
+            for (Task task : upstream) awaited.add(task.awaited());
+
+            this.completion = Completable.merge(awaited)
+                    .andThen(work
+                            .doOnSubscribe(ignored -> startMillis = elapsed())
+                            .doOnComplete(() -> record(false))
+                            .doOnError(throwable -> record(true))
+                            .onErrorComplete())
+                    .cache();
+        }
+
+        private Completable awaited() {
+            return deadlineMillis == NO_DEADLINE ? completion : Completable.defer(() -> completion
+                    .timeout(Math.max(0, deadlineMillis - elapsed()), TimeUnit.MILLISECONDS, clock)
+                    .onErrorComplete());
+        }
+
+        private void record(boolean failed) {
+            long end = elapsed();
+            Timing timing = new Timing(name, startMillis, end - startMillis, failed, end > deadlineMillis);
+            synchronized (timings) { timings.add(timing); }
+        }
+    }
+
+    public static final class Timing {
+        private final String name;
+        private final long startMillis;
+        private final long durationMillis;
+        private final boolean failed;
+        private final boolean late;
+
+        Timing(String name, long startMillis, long durationMillis, boolean failed, boolean late) {
+            this.name = name;
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+            this.failed = failed;
+            this.late = late;
+        }
+
+        public String getName() { return name; }
+
+        public long getStartMillis() { return startMillis; }
+
+        public long getDurationMillis() { return durationMillis; }
+
+        public boolean isFailed() { return failed; }
+
+        public boolean isLate() { return late; }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return name + ": started at +" + startMillis + "ms, took " + durationMillis + "ms"
+                    + (failed ? ", failed" : "") + (late ? ", missed its deadline" : "");
+        }
+    }
+}
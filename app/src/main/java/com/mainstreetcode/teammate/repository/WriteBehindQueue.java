@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.persistence.AppDatabase;
+import com.mainstreetcode.teammate.persistence.DbSchedulers;
+import com.mainstreetcode.teammate.util.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.Nullable;
+import io.reactivex.Scheduler;
+
+/**
+ * Single writer that takes persisting network responses off the network to UI path.
+ * <p>
+ * Saves are coalesced by repository and model id so only the latest version of a model is
+ * written, and everything queued within a tick is flushed in one transaction. Local reads
+ * consult {@link #pending(ModelRepo, String)} so values that have not been flushed are still seen.
+ */
+@SuppressWarnings("unchecked")
+final class WriteBehindQueue {
+
+    private static final String TAG = "WriteBehindQueue";
+    private static final long FLUSH_DELAY_MILLIS = 50;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final WriteBehindQueue ourInstance = new WriteBehindQueue();
+
+    private final Object lock = new Object();
+    private final Scheduler writer;
+    private final List<Runnable> deferredDeletions = new ArrayList<>();
+    private final Map<ModelRepo, Integer> attempts = new HashMap<>();
+
+    private Map<ModelRepo, Map<String, Model>> pending = new LinkedHashMap<>();
+    private Map<ModelRepo, Map<String, Model>> flushing = Collections.emptyMap();
+    private boolean flushScheduled;
+    private long generation;
+
+    private WriteBehindQueue() {
+        writer = DbSchedulers.writes();
+    }
+
+    static WriteBehindQueue getInstance() { return ourInstance; }
+
+    <T extends Model<T>> List<T> enqueue(ModelRepo<T> repo, List<T> models) {
+        if (models.isEmpty()) return models;
+
+        synchronized (lock) {
+            Map<String, Model> byId = pending.get(repo);
+            if (byId == null) pending.put(repo, byId = new LinkedHashMap<>());
+            for (T model : models) byId.put(model.getId(), model);
+
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.scheduleDirect(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        return models;
+    }
+
+    @Nullable
+    <T extends Model<T>> T pending(ModelRepo<T> repo, String id) {
+        synchronized (lock) {
+            Model model = find(pending, repo, id);
+            if (model == null) model = find(flushing, repo, id);
+            return (T) model;
+        }
+    }
+
+    /**
+     * Drops a queued write for a model being deleted locally. If the model is in the batch
+     * currently being written, the deletion is repeated once that batch commits.
+     */
+    <T extends Model<T>> void discard(ModelRepo<T> repo, T model) {
+        synchronized (lock) {
+            Map<String, Model> byId = pending.get(repo);
+            if (byId != null) byId.remove(model.getId());
+            if (find(flushing, repo, model.getId()) != null)
+                deferredDeletions.add(() -> repo.deleteLocally(model));
+        }
+    }
+
+    /**
+     * Drops queued writes. A batch already being written belongs to an older generation, and
+     * discards itself instead of writing rows back after the database is wiped.
+     */
+    void clear() {
+        synchronized (lock) {
+            generation++;
+            pending.clear();
+            attempts.clear();
+            deferredDeletions.clear();
+        }
+    }
+
+    private void flush() {
+        Map<ModelRepo, Map<String, Model>> batch;
+        long batchGeneration;
+        synchronized (lock) {
+            batch = flushing = pending;
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+            batchGeneration = generation;
+        }
+
+        // A failing repository should not cost the others their writes, so on failure each is
+        // written on its own and only the ones that fail again are retried
+        if (write(batch.entrySet(), batchGeneration)) succeeded(batch.keySet());
+        else for (Map.Entry<ModelRepo, Map<String, Model>> entry : batch.entrySet()) {
+            if (write(Collections.singleton(entry), batchGeneration)) succeeded(Collections.singleton(entry.getKey()));
+            else retry(entry.getKey(), entry.getValue(), batchGeneration);
+        }
+
+        List<Runnable> deletions;
+        synchronized (lock) {
+            flushing = Collections.emptyMap();
+            deletions = new ArrayList<>(deferredDeletions);
+            deferredDeletions.clear();
+        }
+        for (Runnable deletion : deletions) deletion.run();
+    }
+
+    private boolean write(Collection<Map.Entry<ModelRepo, Map<String, Model>>> entries, long batchGeneration) {
+        try {
+            AppDatabase.getInstance().runInTransaction(() -> {
+                // Checked inside the transaction, which holds the only writable connection, so
+                // a wipe either runs after these rows commit or before this check
+                if (isStale(batchGeneration)) return null;
+                for (Map.Entry<ModelRepo, Map<String, Model>> entry : entries)
+                    entry.getKey().getSaveManyFunction().apply(new ArrayList<>(entry.getValue().values()));
+                return null;
+            });
+            return true;
+        }
+        catch (Exception e) {
+            Logger.log(TAG, "Unable to flush queued writes", e);
+            return false;
+        }
+    }
+
+    /**
+     * Queues a repository's failed writes again, behind any newer values queued since, until
+     * they have failed {@link #MAX_ATTEMPTS} times.
+     */
+    private void retry(ModelRepo repo, Map<String, Model> failed, long batchGeneration) {
+        synchronized (lock) {
+            if (generation != batchGeneration) return;
+
+            Integer count = attempts.get(repo);
+            int attempt = count == null ? 1 : count + 1;
+            if (attempt >= MAX_ATTEMPTS) {
+                attempts.remove(repo);
+                Logger.log(TAG, "Dropping " + failed.size() + " queued writes after " + attempt + " attempts");
+                return;
+            }
+            attempts.put(repo, attempt);
+
+            Map<String, Model> byId = pending.get(repo);
+            Map<String, Model> requeued = new LinkedHashMap<>(failed);
+            if (byId != null) requeued.putAll(byId);
+            pending.put(repo, requeued);
+
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.scheduleDirect(this::flush, RETRY_DELAY_MILLIS * attempt, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void succeeded(Collection<ModelRepo> repos) {
+        synchronized (lock) { attempts.keySet().removeAll(repos); }
+    }
+
+    private boolean isStale(long batchGeneration) {
+        synchronized (lock) { return generation != batchGeneration; }
+    }
+
+    @Nullable
+    private static Model find(Map<ModelRepo, Map<String, Model>> source, ModelRepo repo, String id) {
+        Map<String, Model> byId = source.get(repo);
+        return byId == null ? null : byId.get(id);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.rest;
+
+import androidx.annotation.NonNull;
+
+import com.mainstreetcode.teammate.util.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Disk cache for GET responses.
+ * <p>
+ * OkHttp stores responses that carry an ETag and revalidates them with If-None-Match. When the
+ * server answers 304, or the cached copy is still fresh, the body is read from disk and the
+ * object Retrofit converts it to is remembered, so repositories can ask
+ * {@link #consumeNotModified(Object)} and skip diffing data they already show.
+ * <p>
+ * The flag belongs to a single response. Converters may return an instance shared with earlier
+ * responses, a {@link com.mainstreetcode.teammate.model.IdentityMap interned} team for example,
+ * so a changed response clears any flag left on the object it converts to, and reading a flag
+ * clears it.
+ * <p>
+ * Calls are executed synchronously by the RxJava call adapter, so the interceptor and the
+ * converter for a response run on the same thread.
+ */
+public final class HttpCache {
+
+    private static final String TAG = "HttpCache";
+    private static final int MAX_TRACKED = 32;
+
+    private static final ThreadLocal<Boolean> notModified = new ThreadLocal<>();
+    private static final Deque<WeakReference<Object>> notModifiedBodies = new ArrayDeque<>();
+
+    private static Cache cache;
+    private static boolean evictOnCreate;
+
+    private HttpCache() {}
+
+    static synchronized Cache create(File directory, long maxSize) {
+        cache = new Cache(directory, maxSize);
+        if (evictOnCreate) evict(cache);
+        return cache;
+    }
+
+    /**
+     * Flags responses that were served from the cache, either directly or after a 304.
+     */
+    static Interceptor notModifiedInterceptor() {
+        return chain -> {
+            notModified.remove();
+            Response response = chain.proceed(chain.request());
+            Response networkResponse = response.networkResponse();
+
+            boolean fromCache = response.cacheResponse() != null && (networkResponse == null
+                    || networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED);
+
+            if (fromCache) notModified.set(true);
+            return response;
+        };
+    }
+
+    /**
+     * Wraps {@code delegate} so that bodies of responses flagged by
+     * {@link #notModifiedInterceptor()} are remembered once converted.
+     */
+    static Converter.Factory notModifiedConverterFactory(Converter.Factory delegate) {
+        return new Converter.Factory() {
+            @Override
+            public Converter<ResponseBody, ?> responseBodyConverter(@NonNull Type type, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+                Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+                if (converter == null) return null;
+
+                return body -> {
+                    Object converted = converter.convert(body);
+                    if (Boolean.TRUE.equals(notModified.get())) remember(converted);
+                    else forget(converted);
+                    notModified.remove();
+                    return converted;
+                };
+            }
+
+            @Override
+            public Converter<?, RequestBody> requestBodyConverter(@NonNull Type type, @NonNull Annotation[] parameterAnnotations, @NonNull Annotation[] methodAnnotations, @NonNull Retrofit retrofit) {
+                return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+            }
+
+            @Override
+            public Converter<?, String> stringConverter(@NonNull Type type, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+                return delegate.stringConverter(type, annotations, retrofit);
+            }
+        };
+    }
+
+    /**
+     * Whether {@code body} is exactly the object parsed from the last response for it, and that
+     * response did not change since it was last fetched. The flag is cleared once read.
+     */
+    public static boolean consumeNotModified(Object body) {
+        if (body == null) return false;
+        synchronized (notModifiedBodies) { return remove(body); }
+    }
+
+    /**
+     * Drops every cached response, so the next requests download full payloads. Used when the
+     * local database is cleared, as a 304 would otherwise leave nothing to show.
+     */
+    public static synchronized void evictAll() {
+        synchronized (notModifiedBodies) { notModifiedBodies.clear(); }
+        evictOnCreate = cache == null;
+        if (cache != null) evict(cache);
+    }
+
+    private static void evict(Cache cache) {
+        evictOnCreate = false;
+        try { cache.evictAll(); }
+        catch (IOException e) { Logger.log(TAG, "Unable to evict the HTTP cache", e); }
+    }
+
+    private static void remember(Object body) {
+        if (body == null) return;
+        synchronized (notModifiedBodies) {
+            remove(body);
+            if (notModifiedBodies.size() >= MAX_TRACKED) notModifiedBodies.removeFirst();
+            notModifiedBodies.addLast(new WeakReference<>(body));
+        }
+    }
+
+    private static void forget(Object body) {
+        if (body == null) return;
+        synchronized (notModifiedBodies) { remove(body); }
+    }
+
+    private static boolean remove(Object body) {
+        boolean removed = false;
+        Iterator<WeakReference<Object>> iterator = notModifiedBodies.iterator();
+        while (iterator.hasNext()) {
+            Object tracked = iterator.next().get();
+            if (tracked != body && tracked != null) continue;
+            iterator.remove();
+            removed |= tracked == body;
+        }
+        return removed;
+    }
+}
@@ -25,6 +25,7 @@
 package com.mainstreetcode.teammate.rest;
 
 import com.facebook.login.LoginResult;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mainstreetcode.teammate.model.BlockedUser;
 import com.mainstreetcode.teammate.model.Chat;
@@ -45,6 +46,7 @@ import com.mainstreetcode.teammate.model.Stat;
 import com.mainstreetcode.teammate.model.StatAggregate;
 import com.mainstreetcode.teammate.model.StatRank;
 import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.TeamChanges;
 import com.mainstreetcode.teammate.model.TeamMember;
 import com.mainstreetcode.teammate.model.Tournament;
 import com.mainstreetcode.teammate.model.User;
@@ -65,6 +67,7 @@ import retrofit2.http.PUT;
 import retrofit2.http.Part;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Url;
 
 /**
  * RESTful client implementation
@@ -82,7 +85,10 @@ public interface TeammateApi {
     String COMPETITOR_PATH = "competitorId";
 
     String DATE_QUERY = "date";
+    String LAST_ID_QUERY = "lastId";
     String LIMIT_QUERY = "limit";
+    String IDS_QUERY = "ids";
+    String SINCE_QUERY = "since";
 
     @GET("api/config")
     Single<Config> getConfig();
@@ -128,6 +134,9 @@ public interface TeammateApi {
     @GET("api/users")
     Single<List<User>> findUser(@Query("screenName") String teamName);
 
+    @GET("api/users")
+    Single<List<User>> getUsers(@Query(IDS_QUERY) String userIds);
+
     // =============================================================================================
     // Team endpoints
     // =============================================================================================
@@ -148,11 +157,17 @@ public interface TeammateApi {
     @DELETE("api/teams/{id}")
     Single<Team> deleteTeam(@Path(ID_PATH) String teamId);
 
+    @GET("api/teams")
+    Single<List<Team>> getTeams(@Query(IDS_QUERY) String teamIds);
+
     @GET("api/teams")
     Single<List<Team>> findTeam(@Query("name") String teamName, @Query("screenName") String screenName,@Query("sport") String sport);
 
     @GET("api/teams/{id}/members")
-    Single<List<TeamMember>> getTeamMembers(@Path(ID_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<TeamMember>> getTeamMembers(@Path(ID_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
+
+    @GET("api/teams/{id}/changes")
+    Single<TeamChanges> getTeamChanges(@Path(ID_PATH) String teamId, @Query(SINCE_QUERY) String token);
 
     // =============================================================================================
     // Role endpoints
@@ -201,7 +216,7 @@ public interface TeammateApi {
     // =============================================================================================
 
     @GET("/api/teams/{teamId}/events")
-    Single<List<Event>> getEvents(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<Event>> getEvents(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     @GET("/api/events/attending")
     Single<List<Event>> eventsAttending(@Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
@@ -223,7 +238,7 @@ public interface TeammateApi {
     Single<Event> getEvent(@Path(ID_PATH) String eventId);
 
     @GET("api/events/{id}/guests")
-    Single<List<Guest>> getEventGuests(@Path(ID_PATH) String eventId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<Guest>> getEventGuests(@Path(ID_PATH) String eventId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     @DELETE("api/events/{id}")
     Single<Event> deleteEvent(@Path(ID_PATH) String eventId);
@@ -245,7 +260,7 @@ public interface TeammateApi {
     Single<Chat> deleteChat(@Path(ID_PATH) String chatId);
 
     @GET("/api/teams/{teamId}/chats")
-    Single<List<Chat>> chatsBefore(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<Chat>> chatsBefore(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     // =============================================================================================
     // Team Media endpoints
@@ -261,7 +276,7 @@ public interface TeammateApi {
     Single<Media> deleteMedia(@Path("mediaId") String mediaId);
 
     @GET("/api/teams/{teamId}/media")
-    Single<List<Media>> getTeamMedia(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<Media>> getTeamMedia(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     @Multipart
     @POST("api/teams/{teamId}/media")
@@ -294,7 +309,7 @@ public interface TeammateApi {
     Single<BlockedUser> unblockUser(@Path(ID_PATH) String teamId, @Body BlockedUser blockedUser);
 
     @GET("api/teams/{id}/blocked")
-    Single<List<BlockedUser>> blockedUsers(@Path(ID_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<BlockedUser>> blockedUsers(@Path(ID_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     // =============================================================================================
     // Tournament endpoints
@@ -317,7 +332,7 @@ public interface TeammateApi {
     Single<Tournament> deleteTournament(@Path(ID_PATH) String tournamentId);
 
     @GET("api/teams/{teamId}/tournaments")
-    Single<List<Tournament>> getTournaments(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<Tournament>> getTournaments(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     @GET("api/tournaments/{tournamentId}/competitors")
     Single<List<Competitor>> getCompetitors(@Path(TOURNAMENT_PATH) String tournamentId);
@@ -348,7 +363,7 @@ public interface TeammateApi {
     Single<Game> deleteGame(@Path(GAME_PATH) String gameId);
 
     @GET("api/teams/{teamId}/games")
-    Single<List<Game>> getGames(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<Game>> getGames(@Path(TEAM_PATH) String teamId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     @GET("api/tournaments/{tournamentId}/games")
     Single<List<Game>> getGamesForRound(@Path(TOURNAMENT_PATH) String tournamentId, @Query("round") int round, @Query(LIMIT_QUERY) int limit);
@@ -369,6 +384,9 @@ public interface TeammateApi {
     @PUT("api/competitors/{competitorId}")
     Single<Competitor> updateCompetitor(@Path(COMPETITOR_PATH) String competitorId, @Body Competitor competitor);
 
+    @GET("api/competitors")
+    Single<List<Competitor>> getCompetitorsByIds(@Query(IDS_QUERY) String competitorIds);
+
     @GET("api/competitors")
     Single<List<Competitor>> getDeclinedCompetitors(@Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
 
@@ -389,8 +407,21 @@ public interface TeammateApi {
     Single<Stat> deleteStat(@Path(STAT_PATH) String statId);
 
     @GET("api/games/{gameId}/stats")
-    Single<List<Stat>> getStats(@Path(GAME_PATH) String gameId, @Query(DATE_QUERY) Date date, @Query(LIMIT_QUERY) int limit);
+    Single<List<Stat>> getStats(@Path(GAME_PATH) String gameId, @Query(DATE_QUERY) Date date, @Query(LAST_ID_QUERY) String lastId, @Query(LIMIT_QUERY) int limit);
 
     @POST("api/stats/aggregate")
     Single<StatAggregate.Result> statsAggregate(@Body StatAggregate.Request request);
+
+    // =============================================================================================
+    // Outbox endpoints, replaying mutations recorded while offline
+    // =============================================================================================
+
+    @GET
+    Single<JsonElement> replayGet(@Url String path);
+
+    @PUT
+    Single<JsonElement> replayPut(@Url String path, @Body JsonElement body);
+
+    @DELETE
+    Single<JsonElement> replayDelete(@Url String path);
 }
@@ -27,6 +27,7 @@ package com.mainstreetcode.teammate.rest;
 import android.content.Context;
 import android.content.SharedPreferences;
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 
 import com.facebook.login.LoginResult;
 import com.google.gson.Gson;
@@ -56,6 +57,7 @@ import com.mainstreetcode.teammate.model.Stat;
 import com.mainstreetcode.teammate.model.StatAggregate;
 import com.mainstreetcode.teammate.model.StatRank;
 import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.TeamChanges;
 import com.mainstreetcode.teammate.model.TeamMember;
 import com.mainstreetcode.teammate.model.Tournament;
 import com.mainstreetcode.teammate.model.User;
@@ -71,6 +73,7 @@ import com.mainstreetcode.teammate.model.enums.Visibility;
 import com.mainstreetcode.teammate.notifications.FeedItem;
 import com.mainstreetcode.teammate.util.Logger;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.KeyManagementException;
@@ -112,6 +115,7 @@ public class TeammateService {
     private static final String TAG = "API Service";
 
     public static final String SESSION_COOKIE = "linesman.id";
+    private static final String HTTP_CACHE_DIRECTORY = "http";
     private static final Gson GSON = getGson();
 
     private static TeammateApi api;
@@ -122,7 +126,11 @@ public class TeammateService {
             HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
             loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.NONE);
 
-            OkHttpClient.Builder builder = new OkHttpClient.Builder().cookieJar(new SessionCookieJar());
+            File cacheDirectory = new File(App.getInstance().getCacheDir(), HTTP_CACHE_DIRECTORY);
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .cookieJar(new SessionCookieJar())
+                    .cache(HttpCache.create(cacheDirectory, BuildConfig.HTTP_CACHE_SIZE))
+                    .addInterceptor(HttpCache.notModifiedInterceptor());
             if (BuildConfig.DEV) builder.addInterceptor(loggingInterceptor);
 
             httpClient = builder.build();
@@ -131,7 +139,7 @@ public class TeammateService {
                     .baseUrl(API_BASE_URL)
                     .client(httpClient)
                     .addCallAdapterFactory(RxJava2CallAdapterFactory.createWithScheduler(Schedulers.io()))
-                    .addConverterFactory(GsonConverterFactory.create(GSON))
+                    .addConverterFactory(HttpCache.notModifiedConverterFactory(GsonConverterFactory.create(GSON)))
                     .build()
                     .create(TeammateApi.class);
         }
@@ -140,7 +148,25 @@ public class TeammateService {
     }
 
     public static Gson getGson() {
+        return getTreeGsonBuilder()
+                .registerTypeAdapterFactory(new StreamingAdapterFactory()
+                        .register(Team.class, Team.GsonAdapter::read)
+                        .register(User.class, User.GsonAdapter::read)
+                        .register(Role.class, Role.GsonAdapter::read)
+                        .register(Game.class, Game.GsonAdapter::read)
+                        .register(Chat.class, Chat.GsonAdapter::read)
+                        .register(Event.class, Event.GsonAdapter::read)
+                        .register(Media.class, Media.GsonAdapter::read)
+                        .register(FeedItem.class, FeedItem.GsonAdapter::read))
+                .create();
+    }
 
+    /**
+     * Builds a {@link Gson} that deserializes every model from a {@link com.google.gson.JsonElement}
+     * tree. The streaming readers registered in {@link #getGson()} must produce the same models.
+     */
+    @VisibleForTesting
+    static GsonBuilder getTreeGsonBuilder() {
         return new GsonBuilder()
                 .registerTypeAdapter(Row.class, new Row.GsonAdapter())
                 .registerTypeAdapter(Team.class, new Team.GsonAdapter())
@@ -162,6 +188,7 @@ public class TeammateService {
                 .registerTypeAdapter(StatType.class, new StatType.GsonAdapter())
                 .registerTypeAdapter(Standings.class, new Standings.GsonAdapter())
                 .registerTypeAdapter(Tournament.class, new Tournament.GsonAdapter())
+                .registerTypeAdapter(TeamChanges.class, new TeamChanges.GsonAdapter())
                 .registerTypeAdapter(Competitor.class, new Competitor.GsonAdapter())
                 .registerTypeAdapter(Visibility.class, new Visibility.GsonAdapter())
                 .registerTypeAdapter(TeamMember.class, new TeamMember.GsonAdapter())
@@ -181,8 +208,7 @@ public class TeammateService {
                     JsonObject body = new JsonObject();
                     body.addProperty("access_token", src.getAccessToken().getToken());
                     return body;
-                })
-                .create();
+                });
     }
 
     public static OkHttpClient getHttpClient() {
@@ -31,7 +31,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.Flowable;
-import io.reactivex.Single;
 import io.reactivex.processors.PublishProcessor;
 
 import static io.reactivex.android.schedulers.AndroidSchedulers.mainThread;
@@ -39,10 +38,10 @@ import static io.reactivex.android.schedulers.AndroidSchedulers.mainThread;
 public class InstantSearch<T, R> {
 
     private static final int SEARCH_DEBOUNCE = 300;
-    private final Function<T, Single<List<R>>> searcher;
+    private final Function<T, Flowable<List<R>>> searcher;
     private AtomicReference<PublishProcessor<T>> searchRef;
 
-    public InstantSearch(Function<T, Single<List<R>>> searcher) {
+    public InstantSearch(Function<T, Flowable<List<R>>> searcher) {
         this.searcher = searcher;
         searchRef = new AtomicReference<>();
     }
@@ -52,7 +51,7 @@ public class InstantSearch<T, R> {
         return searchRef.get()
                 .debounce(SEARCH_DEBOUNCE, TimeUnit.MILLISECONDS)
                 .distinctUntilChanged()
-                .switchMap(debounced -> searcher.apply(debounced).toFlowable())
+                .switchMap(searcher::apply)
                 .doFinally(() -> searchRef.set(null))
                 .observeOn(mainThread());
     }
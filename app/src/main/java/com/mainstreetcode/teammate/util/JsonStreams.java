@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.util;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Reads values from a {@link JsonReader} with the same lenience as the {@link ModelUtils}
+ * accessors for {@link com.google.gson.JsonObject JsonObjects}, so a streaming adapter and a
+ * tree adapter produce the same model from the same payload. Values of an unexpected type are
+ * skipped and replaced with the same default the tree accessors would return.
+ */
+public final class JsonStreams {
+
+    private JsonStreams() {}
+
+    public static boolean isPrimitive(JsonToken token) {
+        return token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN;
+    }
+
+    /**
+     * @see ModelUtils#asString(String, com.google.gson.JsonObject)
+     */
+    public static String nextString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        switch (token) {
+            case STRING:
+            case NUMBER:
+                return in.nextString();
+            case BOOLEAN:
+                return String.valueOf(in.nextBoolean());
+            default:
+                in.skipValue();
+                return "";
+        }
+    }
+
+    /**
+     * @see ModelUtils#asFloat(String, com.google.gson.JsonObject)
+     */
+    public static float nextFloat(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            in.skipValue();
+            return 0;
+        }
+
+        String value = in.nextString();
+        try {return Float.parseFloat(value);}
+        catch (Exception e) {return 0;}
+    }
+
+    /**
+     * @see ModelUtils#asBoolean(String, com.google.gson.JsonObject)
+     */
+    public static boolean nextBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        switch (token) {
+            case BOOLEAN:
+                return in.nextBoolean();
+            case STRING:
+            case NUMBER:
+                return Boolean.parseBoolean(in.nextString());
+            default:
+                in.skipValue();
+                return false;
+        }
+    }
+
+    /**
+     * @see ModelUtils#parseCoordinates(String, com.google.gson.JsonElement)
+     */
+    @Nullable
+    public static LatLng nextCoordinates(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return null;
+        }
+
+        int size = 0;
+        boolean primitives = true;
+        String longitude = null;
+        String latitude = null;
+
+        in.beginArray();
+        while (in.hasNext()) {
+            boolean primitive = isPrimitive(in.peek());
+            String value = primitive ? nextString(in) : null;
+
+            if (!primitive) in.skipValue();
+            if (size == 0) longitude = value;
+            else if (size == 1) latitude = value;
+
+            primitives &= primitive;
+            size++;
+        }
+        in.endArray();
+
+        if (size != 2 || !primitives) return null;
+
+        try {return new LatLng(Double.parseDouble(latitude), Double.parseDouble(longitude));}
+        catch (Exception e) {return null;}
+    }
+}
@@ -24,43 +24,75 @@
 
 package com.mainstreetcode.teammate.util;
 
+import android.os.Looper;
 import android.util.Pair;
 
 import com.tunjid.androidbootstrap.functions.Function;
+import com.tunjid.androidbootstrap.functions.Supplier;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import androidx.annotation.NonNull;
 
+/**
+ * Maps model classes to singletons that are built on first use.
+ * <p>
+ * Each singleton is built at most once, under a lock private to its class, so building one
+ * does not block lookups of the others. The time each build takes, and whether it ran on the
+ * main thread, is logged under the cache's tag.
+ */
 public class SingletonCache<O, T> {
 
-    private final Map<Class<? extends T>, T> instanceMap = new HashMap<>();
+    private final String tag;
+    private final Map<Class<? extends T>, T> instanceMap = new ConcurrentHashMap<>();
+    private final Map<Class<? extends T>, Supplier<? extends T>> factoryMap = new HashMap<>();
     private final Function<Class<? extends O>, Class<? extends T>> function;
     private final Function<Class<? extends T>, T> defaultFunction;
 
     @SafeVarargs
-    public SingletonCache(Function<Class<? extends O>, Class<? extends T>> function,
+    public SingletonCache(String tag,
+                          Function<Class<? extends O>, Class<? extends T>> function,
                           Function<Class<? extends T>, T> defaultFunction,
-                          Pair<Class<? extends T>, T>... pairs) {
+                          Pair<Class<? extends T>, Supplier<? extends T>>... pairs) {
+        this.tag = tag;
         this.function = function;
         this.defaultFunction = defaultFunction;
-        for (Pair<Class<? extends T>, T> pair : pairs) instanceMap.put(pair.first, pair.second);
+        for (Pair<Class<? extends T>, Supplier<? extends T>> pair : pairs) factoryMap.put(pair.first, pair.second);
     }
 
     @NonNull
     @SuppressWarnings("unchecked")
     public T forInstance(Class<? extends T> itemClass) {
         T result = instanceMap.get(itemClass);
-        return result != null ? result : defaultFunction.apply(itemClass);
+        if (result != null) return result;
+
+        Supplier<? extends T> factory = factoryMap.get(itemClass);
+        if (factory == null) return defaultFunction.apply(itemClass);
+
+        synchronized (factory) {
+            result = instanceMap.get(itemClass);
+            if (result == null) instanceMap.put(itemClass, result = build(itemClass, factory));
+        }
+        return result;
     }
 
     @NonNull
     @SuppressWarnings("unchecked")
     public T forModel(Class<? extends O> itemClass) {
-        Class<? extends T> aClass = function.apply(itemClass);
-        T result = instanceMap.get(aClass);
-        return result != null ? result : forInstance(aClass);
+        return forInstance(function.apply(itemClass));
     }
 
+    private T build(Class<? extends T> itemClass, Supplier<? extends T> factory) {
+        long start = System.nanoTime();
+        T instance = factory.get();
+        long micros = (System.nanoTime() - start) / 1000;
+
+        boolean onMainThread = Looper.myLooper() == Looper.getMainLooper();
+        Logger.log(tag, "Built " + itemClass.getSimpleName() + " in " + micros + " us"
+                + (onMainThread ? " on the main thread" : " on " + Thread.currentThread().getName()));
+
+        return instance;
+    }
 }
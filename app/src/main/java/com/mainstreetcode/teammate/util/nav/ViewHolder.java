@@ -49,6 +49,7 @@ public class ViewHolder {
     private NavItem navItem;
     final View itemView;
     private final TextView title;
+    private final TextView badge;
     private final CircleImageView icon;
     private final ImageCallback callback;
     private final Runnable swipeRunnable;
@@ -58,6 +59,7 @@ public class ViewHolder {
         this.swipeRunnable = swipeRunnable;
         itemView = view;
         title = view.findViewById(R.id.item_title);
+        badge = view.findViewById(R.id.item_badge);
         icon = view.findViewById(R.id.thumbnail);
         icon.setDisableCircularTransformation(true);
         callback = new ImageCallback(this);
@@ -68,6 +70,11 @@ public class ViewHolder {
 
    public void setImageUrl(String imageUrl) { callback.loadUrl(imageUrl); }
 
+    public void setBadgeCount(int count) {
+        badge.setVisibility(count > 0 ? View.VISIBLE : View.GONE);
+        badge.setText(count > 99 ? "99+" : String.valueOf(count));
+    }
+
     void click() { itemView.performClick(); }
 
     void onSwipedUp() { swipeRunnable.run(); }
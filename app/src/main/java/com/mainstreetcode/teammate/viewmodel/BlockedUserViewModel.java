@@ -56,7 +56,7 @@ public class BlockedUserViewModel extends TeamMappedViewModel<BlockedUser> {
 
     @Override
     Flowable<List<BlockedUser>> fetch(Team key, boolean fetchLatest) {
-        return repository.modelsBefore(key, getQueryDate(fetchLatest, key, BlockedUser::getCreated));
+        return repository.modelsBefore(key, getQueryCursor(fetchLatest, key, BlockedUser::getCreated));
     }
 
     public Single<BlockedUser> blockUser(BlockedUser blockedUser) {
@@ -24,14 +24,20 @@
 
 package com.mainstreetcode.teammate.viewmodel;
 
+import android.annotation.SuppressLint;
+
 import com.mainstreetcode.teammate.App;
 import com.mainstreetcode.teammate.R;
 import com.mainstreetcode.teammate.model.Chat;
 import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.model.UnreadChats;
 import com.mainstreetcode.teammate.notifications.ChatNotifier;
 import com.mainstreetcode.teammate.notifications.NotifierProvider;
+import com.mainstreetcode.teammate.repository.ChangeSet;
 import com.mainstreetcode.teammate.repository.ChatRepo;
 import com.mainstreetcode.teammate.repository.RepoProvider;
+import com.mainstreetcode.teammate.util.ErrorHandler;
+import com.mainstreetcode.teammate.util.InstantSearch;
 import com.mainstreetcode.teammate.util.Logger;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
@@ -72,8 +78,10 @@ public class ChatViewModel extends TeamMappedViewModel<Chat> {
     @Override
     Class<Chat> valueClass() { return Chat.class; }
 
+    @SuppressLint("CheckResult")
+    @SuppressWarnings("ResultOfMethodCallIgnored")
     public void updateLastSeen(Team team) {
-        repository.updateLastSeen(team);
+        repository.updateLastSeen(team).subscribe(() -> {}, ErrorHandler.EMPTY);
 
         Chat chat = findFirst(getModelList(team), Chat.class);
         if (chat != null) clearNotifications(chat);
@@ -108,13 +116,29 @@ public class ChatViewModel extends TeamMappedViewModel<Chat> {
                 .observeOn(mainThread());
     }
 
+    /**
+     * Unread chats per team, emitted again as chats arrive and teams are seen
+     */
+    public Flowable<List<UnreadChats>> listenForUnreadChats() {
+        return repository.observeUnreadChats().observeOn(mainThread());
+    }
+
+    public InstantSearch<String, Chat> instantSearch(Team team) {
+        return new InstantSearch<>(query -> repository.searchChats(team, query));
+    }
+
     public Single<Chat> post(Chat chat) {
         return repository.createOrUpdate(chat).observeOn(mainThread());
     }
 
     @Override
     Flowable<List<Chat>> fetch(Team key, boolean fetchLatest) {
-        return repository.modelsBefore(key, getQueryDate(fetchLatest, key, Chat::getCreated));
+        return repository.modelsBefore(key, getQueryCursor(fetchLatest, key, Chat::getCreated));
+    }
+
+    @Override
+    Flowable<ChangeSet<Chat>> changes(Team key) {
+        return repository.changesSince(key, getObservedCursor(key, Chat::getCreated));
     }
 
     private Function<Throwable, Flowable<Chat>> listenRetryFunction(Team team) {
@@ -136,11 +160,8 @@ public class ChatViewModel extends TeamMappedViewModel<Chat> {
     }
 
     @Override
-    Date getQueryDate(boolean fetchLatest, Team key, Function<Chat, Date> dateFunction) {
-        if (fetchLatest) return null;
-
+    Chat getOldestLoaded(Team key) {
         // Chats use find first
-        Chat value = findFirst(getModelList(key), valueClass());
-        return value == null ? null : dateFunction.apply(value);
+        return findFirst(getModelList(key), valueClass());
     }
 }
@@ -40,6 +40,7 @@ import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.model.enums.BlockReason;
 import com.mainstreetcode.teammate.model.enums.Sport;
+import com.mainstreetcode.teammate.repository.ChangeSet;
 import com.mainstreetcode.teammate.repository.EventRepo;
 import com.mainstreetcode.teammate.repository.GuestRepo;
 import com.mainstreetcode.teammate.repository.RepoProvider;
@@ -126,7 +127,12 @@ public class EventViewModel extends TeamMappedViewModel<Event> {
 
     @Override
     Flowable<List<Event>> fetch(Team key, boolean fetchLatest) {
-        return repository.modelsBefore(key, getQueryDate(fetchLatest, key, Event::getStartDate));
+        return repository.modelsBefore(key, getQueryCursor(fetchLatest, key, Event::getStartDate));
+    }
+
+    @Override
+    Flowable<ChangeSet<Event>> changes(Team key) {
+        return repository.changesSince(key, getObservedCursor(key, Event::getStartDate));
     }
 
     private Flowable<Event> getEvent(Event event) {
@@ -32,13 +32,12 @@ import com.mainstreetcode.teammate.model.Model;
 import com.mainstreetcode.teammate.model.TeamMember;
 import com.mainstreetcode.teammate.notifications.FeedItem;
 import com.mainstreetcode.teammate.repository.CompetitorRepo;
+import com.mainstreetcode.teammate.repository.FeedCache;
 import com.mainstreetcode.teammate.repository.GuestRepo;
 import com.mainstreetcode.teammate.repository.JoinRequestRepo;
 import com.mainstreetcode.teammate.repository.RepoProvider;
 import com.mainstreetcode.teammate.repository.TeamMemberRepo;
 import com.mainstreetcode.teammate.repository.UserRepo;
-import com.mainstreetcode.teammate.rest.TeammateApi;
-import com.mainstreetcode.teammate.rest.TeammateService;
 import com.mainstreetcode.teammate.util.FunctionalDiff;
 import com.mainstreetcode.teammate.viewmodel.events.Alert;
 import com.tunjid.androidbootstrap.functions.BiFunction;
@@ -56,8 +55,6 @@ import io.reactivex.Single;
 
 public class FeedViewModel extends MappedViewModel<Class<FeedItem>, FeedItem> {
 
-    private final TeammateApi api = TeammateService.getApiInstance();
-
     private final GuestRepo guestRepository = RepoProvider.forRepo(GuestRepo.class);
     private final CompetitorRepo competitorRepository = RepoProvider.forRepo(CompetitorRepo.class);
     private final JoinRequestRepo joinRequestRepository = RepoProvider.forRepo(JoinRequestRepo.class);
@@ -97,7 +94,7 @@ public class FeedViewModel extends MappedViewModel<Class<FeedItem>, FeedItem> {
 
     @Override
     Flowable<List<FeedItem>> fetch(Class<FeedItem> key, boolean fetchLatest) {
-        return api.getFeed().toFlowable();
+        return FeedCache.getInstance().get();
     }
 
     public Single<DiffUtil.DiffResult> rsvpEvent(final FeedItem<Event> feedItem, boolean attending) {
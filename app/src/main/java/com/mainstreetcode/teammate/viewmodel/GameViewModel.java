@@ -27,6 +27,8 @@ package com.mainstreetcode.teammate.viewmodel;
 import android.annotation.SuppressLint;
 
 import com.mainstreetcode.teammate.model.Competitive;
+import com.mainstreetcode.teammate.repository.ChangeSet;
+import com.mainstreetcode.teammate.repository.DeltaSync;
 import com.mainstreetcode.teammate.repository.GameRepo;
 import com.mainstreetcode.teammate.repository.GameRoundRepo;
 import com.mainstreetcode.teammate.repository.RepoProvider;
@@ -99,10 +101,16 @@ public class GameViewModel extends TeamMappedViewModel<Game> {
 
     @Override
     Flowable<List<Game>> fetch(Team key, boolean fetchLatest) {
-        return gameRepository.modelsBefore(key, getQueryDate(fetchLatest, key, Game::getCreated))
+        return gameRepository.modelsBefore(key, getQueryCursor(fetchLatest, key, Game::getCreated))
                 .map(games -> filterDeclinedGamed(key, games));
     }
 
+    @Override
+    Flowable<ChangeSet<Game>> changes(Team key) {
+        return DeltaSync.getInstance().changes(key, Game.class).map(changes -> ChangeSet.of(
+                filterDeclinedGamed(key, new ArrayList<>(changes.getUpserted())), changes.getRemoved()));
+    }
+
     @SuppressLint("UseSparseArrays")
     public List<Differentiable> getGamesForRound(Tournament tournament, int round) {
         Map<Integer, List<Differentiable>> roundMap = ModelUtils.get(tournament, gameRoundMap, HashMap::new);
@@ -29,7 +29,10 @@ import android.annotation.SuppressLint;
 
 import com.mainstreetcode.teammate.model.Message;
 import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.notifications.NotifierProvider;
+import com.mainstreetcode.teammate.repository.ChangeSet;
+import com.mainstreetcode.teammate.repository.RepoProvider;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.util.FunctionalDiff;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
@@ -39,6 +42,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import androidx.annotation.Nullable;
 import androidx.arch.core.util.Function;
 import androidx.core.util.Pair;
 import androidx.recyclerview.widget.DiffUtil;
@@ -79,11 +83,31 @@ public abstract class MappedViewModel<K, V extends Differentiable> extends BaseV
     }
 
     public Flowable<DiffUtil.DiffResult> refresh(K key) {
-        return FunctionalDiff.of(fetch(key, true).map(this::toDifferentiable), getModelList(key), this::pullToRefresh)
+        Flowable<List<V>> fetched = Flowable.defer(() -> {
+            forceRefresh();
+            return fetch(key, true);
+        });
+        return FunctionalDiff.of(fetched.map(this::toDifferentiable), getModelList(key), this::pullToRefresh)
                 .doOnError(throwable -> checkForInvalidKey(throwable, key))
                 .doOnTerminate(() -> pullToRefreshCount.set(0));
     }
 
+    /**
+     * Applies local writes, socket pushes and deletions to the rows already paged in for
+     * {@code key} as they land in the database, without refetching the page.
+     */
+    public Flowable<DiffUtil.DiffResult> listenForChanges(K key) {
+        return changes(key).concatMap(changes -> FunctionalDiff.of(
+                Flowable.just(toDifferentiable(changes.getUpserted())),
+                getModelList(key),
+                (source, upserted) -> applyChanges(source, upserted, changes.getRemoved())))
+                .doOnError(throwable -> checkForInvalidKey(throwable, key));
+    }
+
+    Flowable<ChangeSet<V>> changes(K key) {
+        return Flowable.empty();
+    }
+
     private Flowable<DiffUtil.DiffResult> getLatest(K key) {
         return FunctionalDiff.of(fetch(key, true).map(this::toDifferentiable), getModelList(key), this::preserveList)
                 .doOnError(throwable -> checkForInvalidKey(throwable, key));
@@ -109,8 +133,23 @@ public abstract class MappedViewModel<K, V extends Differentiable> extends BaseV
         return source;
     }
 
+    private List<Differentiable> applyChanges(List<Differentiable> source, List<Differentiable> upserted, List<V> removed) {
+        source.removeAll(removed);
+        return preserveList(source, upserted);
+    }
+
     void afterPullToRefreshDiff(List<Differentiable> source) {}
 
+    /**
+     * Pull to refresh always goes to the network, so what the repository for {@link #valueClass()}
+     * fetched is marked stale first.
+     */
+    @SuppressWarnings("unchecked")
+    void forceRefresh() {
+        Class valueClass = valueClass();
+        if (Model.class.isAssignableFrom(valueClass)) RepoProvider.forModel(valueClass).forceRefresh();
+    }
+
     void onInvalidKey(K key) {}
 
     void onErrorMessage(Message message, K key, Differentiable invalid) {
@@ -134,13 +173,30 @@ public abstract class MappedViewModel<K, V extends Differentiable> extends BaseV
         if (message != null) onErrorMessage(message, key, model);
     }
 
+    @Nullable
+    V getOldestLoaded(K key) {
+        return findLast(getModelList(key), valueClass());
+    }
+
     Date getQueryDate(boolean fetchLatest, K key, Function<V, Date> dateFunction) {
         if (fetchLatest) return null;
 
-        V value = findLast(getModelList(key), valueClass());
+        V value = getOldestLoaded(key);
         return value == null ? null : dateFunction.apply(value);
     }
 
+    PageCursor getQueryCursor(boolean fetchLatest, K key, Function<V, Date> dateFunction) {
+        if (fetchLatest) return null;
+
+        V value = getOldestLoaded(key);
+        return value == null ? null : PageCursor.of(dateFunction.apply(value), value.getId());
+    }
+
+    PageCursor getObservedCursor(K key, Function<V, Date> dateFunction) {
+        PageCursor oldest = getQueryCursor(false, key, dateFunction);
+        return oldest == null ? PageCursor.before(new Date()) : oldest;
+    }
+
     private void checkForInvalidKey(Throwable throwable, K key) {
         Message message = fromThrowable(throwable);
         boolean isInvalidModel = message != null && !message.isValidModel();
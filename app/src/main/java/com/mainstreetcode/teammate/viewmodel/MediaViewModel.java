@@ -28,6 +28,7 @@ import com.mainstreetcode.teammate.App;
 import com.mainstreetcode.teammate.MediaTransferIntentService;
 import com.mainstreetcode.teammate.model.Media;
 import com.mainstreetcode.teammate.model.Team;
+import com.mainstreetcode.teammate.repository.ChangeSet;
 import com.mainstreetcode.teammate.repository.MediaRepo;
 import com.mainstreetcode.teammate.repository.RepoProvider;
 import com.mainstreetcode.teammate.util.ErrorHandler;
@@ -87,7 +88,12 @@ public class MediaViewModel extends TeamMappedViewModel<Media> {
 
     @Override
     Flowable<List<Media>> fetch(Team key, boolean fetchLatest) {
-        return repository.modelsBefore(key, getQueryDate(fetchLatest, key, Media::getCreated));
+        return repository.modelsBefore(key, getQueryCursor(fetchLatest, key, Media::getCreated));
+    }
+
+    @Override
+    Flowable<ChangeSet<Media>> changes(Team key) {
+        return repository.changesSince(key, getObservedCursor(key, Media::getCreated));
     }
 
     public Flowable<Media> getMedia(Media model) {
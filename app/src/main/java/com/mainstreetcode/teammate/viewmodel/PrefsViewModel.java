@@ -30,11 +30,11 @@ import com.mainstreetcode.teammate.repository.RepoProvider;
 
 public class PrefsViewModel extends BaseViewModel {
 
-    private Prefs prefs;
+    private final Prefs prefs = Prefs.empty();
     private final PrefsRepo prefsRepository = RepoProvider.forRepo(PrefsRepo.class);
 
     public PrefsViewModel() {
-        prefs = prefsRepository.getCurrent();
+        prefs.update(prefsRepository.getCurrent());
     }
     public boolean isOnBoarded() { return prefs.isOnBoarded(); }
 
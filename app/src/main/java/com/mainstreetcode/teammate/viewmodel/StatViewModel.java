@@ -81,7 +81,7 @@ public class StatViewModel extends MappedViewModel<Game, Stat> {
 
     @Override
     Flowable<List<Stat>> fetch(Game key, boolean fetchLatest) {
-        return repository.modelsBefore(key, getQueryDate(fetchLatest, key, Stat::getCreated));
+        return repository.modelsBefore(key, getQueryCursor(fetchLatest, key, Stat::getCreated));
     }
 
     public List<Differentiable> getModelList(Game game) {
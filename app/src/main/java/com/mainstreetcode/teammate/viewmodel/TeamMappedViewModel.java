@@ -29,6 +29,7 @@ import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 import com.mainstreetcode.teammate.model.Message;
 import com.mainstreetcode.teammate.model.Team;
 import com.mainstreetcode.teammate.model.TeamHost;
+import com.mainstreetcode.teammate.repository.DeltaSync;
 import com.mainstreetcode.teammate.util.ModelUtils;
 import com.mainstreetcode.teammate.viewmodel.events.Alert;
 
@@ -37,6 +38,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import androidx.recyclerview.widget.DiffUtil;
 import io.reactivex.Flowable;
 import io.reactivex.functions.Consumer;
 
@@ -51,6 +53,16 @@ public abstract class TeamMappedViewModel<V extends Differentiable & TeamHost> e
         Alert.matches(alert, Alert.of(Alert.Deletion.class, Team.class, modelListMap::remove));
     }
 
+    /**
+     * Also pulls what changed in the team on the server since it was last synced. The changes
+     * reach this stream through the database, or straight from the sync for lists that are not
+     * observed locally.
+     */
+    @Override
+    public Flowable<DiffUtil.DiffResult> listenForChanges(Team key) {
+        return super.listenForChanges(key).doOnSubscribe(ignored -> DeltaSync.getInstance().syncInBackground(key));
+    }
+
     public List<Differentiable> getModelList(Team team) {
         return ModelUtils.get(team, modelListMap, ArrayList::new);
     }
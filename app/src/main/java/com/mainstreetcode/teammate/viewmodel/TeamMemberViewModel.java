@@ -35,6 +35,7 @@ import com.mainstreetcode.teammate.model.TeamHost;
 import com.mainstreetcode.teammate.model.TeamMember;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.model.UserHost;
+import com.mainstreetcode.teammate.repository.ChangeSet;
 import com.mainstreetcode.teammate.repository.JoinRequestRepo;
 import com.mainstreetcode.teammate.repository.RepoProvider;
 import com.mainstreetcode.teammate.repository.RoleRepo;
@@ -95,7 +96,12 @@ public class TeamMemberViewModel extends TeamMappedViewModel<TeamMember> {
     @Override
     @SuppressWarnings("unchecked")
     Flowable<List<TeamMember>> fetch(Team key, boolean fetchLatest) {
-        return repository.modelsBefore(key, getQueryDate(fetchLatest, key, TeamMember::getCreated));
+        return repository.modelsBefore(key, getQueryCursor(fetchLatest, key, TeamMember::getCreated));
+    }
+
+    @Override
+    Flowable<ChangeSet<TeamMember>> changes(Team key) {
+        return repository.changesSince(key, getObservedCursor(key, TeamMember::getCreated));
     }
 
     public JoinRequestGofer gofer(JoinRequest joinRequest) {
@@ -84,7 +84,7 @@ public class TeamViewModel extends MappedViewModel<Class<Team>, Team> {
     }
 
     public InstantSearch<TeamSearchRequest, Team> instantSearch() {
-        return new InstantSearch<>(repository::findTeams);
+        return new InstantSearch<>(repository::searchTeams);
     }
 
     public Flowable<Team> getTeamChangeFlowable() {
@@ -27,7 +27,9 @@ package com.mainstreetcode.teammate.viewmodel;
 import androidx.recyclerview.widget.DiffUtil;
 
 import com.mainstreetcode.teammate.model.Competitor;
+import com.mainstreetcode.teammate.repository.ChangeSet;
 import com.mainstreetcode.teammate.repository.CompetitorRepo;
+import com.mainstreetcode.teammate.repository.DeltaSync;
 import com.mainstreetcode.teammate.repository.RepoProvider;
 import com.mainstreetcode.teammate.util.FunctionalDiff;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
@@ -84,7 +86,12 @@ public class TournamentViewModel extends TeamMappedViewModel<Tournament> {
 
     @Override
     Flowable<List<Tournament>> fetch(Team key, boolean fetchLatest) {
-        return repository.modelsBefore(key, getQueryDate(fetchLatest, key, Tournament::getCreated));
+        return repository.modelsBefore(key, getQueryCursor(fetchLatest, key, Tournament::getCreated));
+    }
+
+    @Override
+    Flowable<ChangeSet<Tournament>> changes(Team key) {
+        return DeltaSync.getInstance().changes(key, Tournament.class);
     }
 
     @Override
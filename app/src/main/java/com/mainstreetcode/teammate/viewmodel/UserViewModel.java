@@ -65,7 +65,7 @@ public class UserViewModel extends ViewModel {
     }
 
     public InstantSearch<String, User> instantSearch() {
-        return new InstantSearch<>(repository::findUser);
+        return new InstantSearch<>(repository::searchUsers);
     }
 
     public Single<User> signUp(String firstName, String lastName, String primaryEmail, String password) {
@@ -34,6 +34,7 @@ import com.mainstreetcode.teammate.repository.RepoProvider;
 import com.mainstreetcode.teammate.util.FunctionalDiff;
 import com.mainstreetcode.teammate.model.Guest;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
+import com.mainstreetcode.teammate.model.PageCursor;
 import com.mainstreetcode.teammate.model.User;
 import com.mainstreetcode.teammate.repository.GuestRepo;
 import com.mainstreetcode.teammate.util.ErrorHandler;
@@ -114,7 +115,7 @@ public class EventGofer extends TeamHostingGofer<Event> {
     Flowable<DiffUtil.DiffResult> fetch() {
         if (isSettingLocation) return Flowable.empty();
         Flowable<List<Differentiable>> eventFlowable = getFunction.apply(model).map(Event::asDifferentiables);
-        Flowable<List<Differentiable>> guestsFlowable = guestRepository.modelsBefore(model, new Date()).map(ModelUtils::asDifferentiables);
+        Flowable<List<Differentiable>> guestsFlowable = guestRepository.modelsBefore(model, PageCursor.before(new Date())).map(ModelUtils::asDifferentiables);
         Flowable<List<Differentiable>> sourceFlowable = Flowable.concatDelayError(Arrays.asList(eventFlowable, guestsFlowable));
         return FunctionalDiff.of(sourceFlowable, getItems(), this::preserveItems);
     }
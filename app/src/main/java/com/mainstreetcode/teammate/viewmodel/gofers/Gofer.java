@@ -32,6 +32,7 @@ import androidx.recyclerview.widget.DiffUtil;
 import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
 import com.mainstreetcode.teammate.model.ListableModel;
 import com.mainstreetcode.teammate.model.Model;
+import com.mainstreetcode.teammate.repository.Outbox;
 import com.mainstreetcode.teammate.util.ErrorHandler;
 import com.mainstreetcode.teammate.util.ModelUtils;
 
@@ -93,6 +94,15 @@ public abstract class Gofer<T extends Model<T> & ListableModel<T>> {
         return model.isEmpty() ? Flowable.empty() : fetch().doOnError(onError);
     }
 
+    /**
+     * Whether local changes to the model are still waiting to reach the server
+     */
+    public Flowable<Outbox.Status> syncStatus() {
+        return model.isEmpty()
+                ? Flowable.empty()
+                : Outbox.getInstance().observe(model.getId()).observeOn(mainThread());
+    }
+
     public final List<Differentiable> getItems() { return items; }
 
     @SuppressLint("CheckResult")
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.persistence.typeconverters;
+
+import com.mainstreetcode.teammate.model.enums.StatAttribute;
+import com.mainstreetcode.teammate.model.enums.StatAttributes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StatAttributesCodecTest {
+
+    private final StatAttributesCodec codec = StatAttributesCodec.INSTANCE;
+
+    @Test
+    public void roundTrips() {
+        StatAttributes attributes = attributes();
+        StatAttributes decoded = codec.decode(codec.encode(attributes));
+
+        assertEquals(attributes, decoded);
+        for (int i = 0; i < attributes.size(); i++)
+            assertEquals(attributes.get(i).getName().toString(), decoded.get(i).getName().toString());
+    }
+
+    @Test
+    public void nullAndEmptyDecodeToEmpty() {
+        assertNull(codec.encode(null));
+        assertTrue(codec.decode(null).isEmpty());
+        assertTrue(codec.decode(new byte[0]).isEmpty());
+        assertTrue(codec.decode(codec.encode(new StatAttributes())).isEmpty());
+    }
+
+    private static StatAttributes attributes() {
+        StatAttributes attributes = new StatAttributes();
+        attributes.add(StatAttribute.of("header", "Header"));
+        attributes.add(StatAttribute.of("left_foot", "Left foot"));
+        attributes.add(StatAttribute.of("penalty", "Penalty"));
+        return attributes;
+    }
+}
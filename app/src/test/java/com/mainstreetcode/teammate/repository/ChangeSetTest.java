@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mainstreetcode.teammate.repository;
+
+import com.tunjid.androidbootstrap.recyclerview.diff.Differentiable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChangeSetTest {
+
+    private final PublishProcessor<List<Row>> snapshots = PublishProcessor.create();
+    private final TestSubscriber<ChangeSet<Row>> changes = snapshots.compose(ChangeSet.<Row>diffed()).test();
+
+    @Test
+    public void firstSnapshotIsTheBaseline() {
+        snapshots.onNext(rows(row("a", "1"), row("b", "1")));
+
+        changes.assertNoValues();
+    }
+
+    @Test
+    public void insertsAreUpserted() {
+        snapshots.onNext(rows(row("a", "1")));
+        snapshots.onNext(rows(row("a", "1"), row("b", "1")));
+
+        assertChange(0, Collections.singletonList("b"), Collections.emptyList());
+    }
+
+    @Test
+    public void missingRowsAreRemoved() {
+        snapshots.onNext(rows(row("a", "1"), row("b", "1")));
+        snapshots.onNext(rows(row("b", "1")));
+
+        assertChange(0, Collections.emptyList(), Collections.singletonList("a"));
+    }
+
+    @Test
+    public void contentChangesAreMatchedById() {
+        snapshots.onNext(rows(row("a", "1"), row("b", "1")));
+        snapshots.onNext(rows(row("a", "2"), row("b", "1")));
+
+        assertChange(0, Collections.singletonList("a"), Collections.emptyList());
+        assertEquals("2", changes.values().get(0).getUpserted().get(0).content);
+    }
+
+    @Test
+    public void reorderingIsNotAChange() {
+        snapshots.onNext(rows(row("a", "1"), row("b", "1")));
+        snapshots.onNext(rows(row("b", "1"), row("a", "1")));
+
+        changes.assertNoValues();
+    }
+
+    @Test
+    public void eachChangeIsAgainstThePreviousSnapshot() {
+        snapshots.onNext(rows(row("a", "1")));
+        snapshots.onNext(rows(row("a", "1"), row("b", "1")));
+        snapshots.onNext(rows(row("b", "2"), row("c", "1")));
+
+        changes.assertValueCount(2);
+        assertChange(1, Arrays.asList("b", "c"), Collections.singletonList("a"));
+    }
+
+    @Test
+    public void eachSubscriberKeepsItsOwnBaseline() {
+        snapshots.onNext(rows(row("a", "1")));
+        TestSubscriber<ChangeSet<Row>> late = snapshots.compose(ChangeSet.<Row>diffed()).test();
+
+        snapshots.onNext(rows(row("a", "1"), row("b", "1")));
+
+        changes.assertValueCount(1);
+        late.assertNoValues();
+    }
+
+    private void assertChange(int index, List<String> upserted, List<String> removed) {
+        ChangeSet<Row> change = changes.values().get(index);
+        assertEquals(upserted, ids(change.getUpserted()));
+        assertEquals(removed, ids(change.getRemoved()));
+    }
+
+    private static List<String> ids(List<Row> rows) {
+        List<String> ids = new ArrayList<>();
+        for (Row row : rows) ids.add(row.getId());
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private static List<Row> rows(Row... rows) {
+        return Arrays.asList(rows);
+    }
+
+    private static Row row(String id, String content) {
+        return new Row(id, content);
+    }
+
+    private static final class Row implements Differentiable {
+
+        private final String id;
+        private final String content;
+
+        private Row(String id, String content) {
+            this.id = id;
+            this.content = content;
+        }
+
+        @Override
+        public String getId() { return id; }
+
+        @Override
+        public boolean areContentsTheSame(Differentiable other) {
+            return other instanceof Row && content.equals(((Row) other).content);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.mainstreetcode.teammate.repository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.Single;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IdBatcherTest {
+
+    private static final long WINDOW_MILLIS = 50;
+
+    private final MockWebServer server = new MockWebServer();
+    private Api api;
+
+    interface Api {
+        @GET("api/teams")
+        Single<List<Map<String, String>>> getTeams(@Query("ids") String ids);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String ids = request.getRequestUrl().queryParameter("ids");
+                if (ids == null) return new MockResponse().setResponseCode(500);
+
+                StringBuilder body = new StringBuilder("[");
+                for (String id : ids.split(",")) body.append(body.length() > 1 ? "," : "").append("{\"_id\":\"").append(id).append("\"}");
+                return new MockResponse().setBody(body.append("]").toString());
+            }
+        });
+        server.start();
+
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(Api.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void coalescesIdsWithinTheWindow() throws Exception {
+        IdBatcher<Map<String, String>> batcher = batcher(50);
+
+        Single<Map<String, Map<String, String>>> first = batcher.request(Arrays.asList("a", "b"));
+        Single<Map<String, Map<String, String>>> second = batcher.request(Arrays.asList("b", "c"));
+
+        assertEquals(3, first.blockingGet().size());
+        assertEquals(3, second.blockingGet().size());
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals("a,b,c", server.takeRequest().getRequestUrl().queryParameter("ids"));
+        assertEquals(1, batcher.getRequests());
+        assertEquals(3, batcher.getIdsRequested());
+    }
+
+    @Test
+    public void opensANewBatchOnceTheWindowCloses() {
+        IdBatcher<Map<String, String>> batcher = batcher(50);
+
+        batcher.request(Arrays.asList("a", "b")).blockingGet();
+        batcher.request(Arrays.asList("c")).blockingGet();
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void chunksLargeBatches() {
+        IdBatcher<Map<String, String>> batcher = batcher(2);
+
+        Map<String, Map<String, String>> fetched = batcher.request(Arrays.asList("a", "b", "c", "d", "e")).blockingGet();
+
+        assertEquals(5, fetched.size());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void failedBatchesResolveToNothing() {
+        List<Throwable> failures = new ArrayList<>();
+        IdBatcher<Map<String, String>> batcher = new IdBatcher<>(WINDOW_MILLIS, 50,
+                team -> team.get("_id"), ids -> api.getTeams(null), failures::add);
+
+        assertTrue(batcher.request(Arrays.asList("a", "b")).blockingGet().isEmpty());
+        assertEquals(1, failures.size());
+    }
+
+    private IdBatcher<Map<String, String>> batcher(int maxIdsPerRequest) {
+        return new IdBatcher<>(WINDOW_MILLIS, maxIdsPerRequest,
+                team -> team.get("_id"), ids -> api.getTeams(String.join(",", ids)), throwable -> {});
+    }
+}
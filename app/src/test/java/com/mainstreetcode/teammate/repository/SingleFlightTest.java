@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mainstreetcode.teammate.repository;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+
+import static org.junit.Assert.assertEquals;
+
+public class SingleFlightTest {
+
+    private static final String KEY = "key";
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private PublishProcessor<String> upstream = PublishProcessor.create();
+
+    @Test
+    public void concurrentJoinsShareOneUpstream() {
+        long deduplicated = SingleFlight.getTotalDeduplicated();
+
+        TestSubscriber<String> first = join().test();
+        TestSubscriber<String> second = join().test();
+
+        upstream.onNext("value");
+        upstream.onComplete();
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(1, SingleFlight.getTotalDeduplicated() - deduplicated);
+        first.assertResult("value");
+        second.assertResult("value");
+    }
+
+    @Test
+    public void lateJoinsReplayWhatWasEmitted() {
+        TestSubscriber<String> first = join().test();
+        upstream.onNext("early");
+
+        TestSubscriber<String> late = join().test();
+        upstream.onNext("late");
+        upstream.onComplete();
+
+        assertEquals(1, subscriptions.get());
+        first.assertResult("early", "late");
+        late.assertResult("early", "late");
+    }
+
+    @Test
+    public void joinsAfterCompletionStartANewUpstream() {
+        join().test();
+        upstream.onNext("first");
+        upstream.onComplete();
+
+        upstream = PublishProcessor.create();
+        TestSubscriber<String> next = join().test();
+        upstream.onNext("second");
+        upstream.onComplete();
+
+        assertEquals(2, subscriptions.get());
+        next.assertResult("second");
+    }
+
+    @Test
+    public void joinsAfterEverySubscriberLeftStartANewUpstream() {
+        join().test().cancel();
+
+        join().test();
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    public void keysDoNotShareUpstreams() {
+        join().test();
+        flights.join("other", this::request).test();
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    private Flowable<String> join() {
+        return flights.join(KEY, this::request);
+    }
+
+    private Flowable<String> request() {
+        PublishProcessor<String> current = upstream;
+        return Flowable.defer(() -> {
+            subscriptions.incrementAndGet();
+            return current;
+        });
+    }
+}
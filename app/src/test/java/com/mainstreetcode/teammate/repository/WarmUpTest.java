@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mainstreetcode.teammate.repository;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WarmUpTest {
+
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Test
+    public void runsIndependentTasksInParallel() {
+        WarmUp warmUp = new WarmUp(scheduler)
+                .task("me", delay(100))
+                .task("roles", delay(100))
+                .task("chats", delay(50), "roles")
+                .task("feed", delay(50), "me", "roles");
+
+        TestObserver<Void> observer = warmUp.start().test();
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertNotComplete();
+
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        observer.assertComplete();
+
+        Map<String, WarmUp.Timing> timings = timings(warmUp);
+        assertEquals(0, timings.get("me").getStartMillis());
+        assertEquals(0, timings.get("roles").getStartMillis());
+        assertEquals(100, timings.get("chats").getStartMillis());
+        assertEquals(100, timings.get("feed").getStartMillis());
+        assertEquals(50, timings.get("feed").getDurationMillis());
+    }
+
+    @Test
+    public void dependentsStopWaitingAtTheDeadline() {
+        WarmUp warmUp = new WarmUp(scheduler)
+                .task("roles", delay(10))
+                .task("config", 50, delay(200))
+                .task("chats", delay(10), "config", "roles");
+
+        TestObserver<Void> observer = warmUp.start().test();
+
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+        assertEquals(50, timings(warmUp).get("chats").getStartMillis());
+        observer.assertNotComplete();
+
+        scheduler.advanceTimeBy(140, TimeUnit.MILLISECONDS);
+        observer.assertComplete();
+
+        WarmUp.Timing config = timings(warmUp).get("config");
+        assertEquals(200, config.getDurationMillis());
+        assertTrue(config.isLate());
+        assertFalse(timings(warmUp).get("chats").isLate());
+    }
+
+    @Test
+    public void failedTasksDoNotBlockDependents() {
+        WarmUp warmUp = new WarmUp(scheduler)
+                .task("roles", Completable.error(new IllegalStateException()))
+                .task("chats", delay(10), "roles");
+
+        TestObserver<Void> observer = warmUp.start().test();
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+
+        observer.assertComplete();
+        assertTrue(timings(warmUp).get("roles").isFailed());
+        assertFalse(timings(warmUp).get("chats").isFailed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUndeclaredDependencies() {
+        new WarmUp(scheduler).task("chats", Completable.complete(), "roles");
+    }
+
+    private Completable delay(long millis) {
+        return Completable.timer(millis, TimeUnit.MILLISECONDS, scheduler);
+    }
+
+    private static Map<String, WarmUp.Timing> timings(WarmUp warmUp) {
+        Map<String, WarmUp.Timing> timings = new HashMap<>();
+        for (WarmUp.Timing timing : warmUp.getTimings()) timings.put(timing.getName(), timing);
+        return timings;
+    }
+}
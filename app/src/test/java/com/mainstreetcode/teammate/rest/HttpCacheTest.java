@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Adetunji Dahunsi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.mainstreetcode.teammate.rest;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HttpCacheTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String BODY = "{\"name\":\"Teammate\"}";
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private OkHttpClient client;
+    private Api api;
+
+    interface Api {
+        @GET("api/config")
+        Call<Map<String, String>> getConfig();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        server.start();
+
+        client = new OkHttpClient.Builder()
+                .cache(HttpCache.create(folder.newFolder("http"), 1024 * 1024))
+                .addInterceptor(HttpCache.notModifiedInterceptor())
+                .build();
+
+        api = create(GsonConverterFactory.create(new Gson()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void revalidatesWithETagAndFlagsNotModified() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", ETAG).setBody(BODY));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", ETAG));
+
+        Map<String, String> first = api.getConfig().execute().body();
+        Map<String, String> second = api.getConfig().execute().body();
+
+        RecordedRequest initial = server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest();
+
+        assertNull(initial.getHeader("If-None-Match"));
+        assertEquals(ETAG, revalidation.getHeader("If-None-Match"));
+
+        assertEquals("Teammate", second.get("name"));
+        assertFalse(HttpCache.consumeNotModified(first));
+        assertTrue(HttpCache.consumeNotModified(second));
+        assertFalse(HttpCache.consumeNotModified(second));
+    }
+
+    @Test
+    public void changedResponsesAreNotFlagged() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", ETAG).setBody(BODY));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("{\"name\":\"Changed\"}"));
+
+        api.getConfig().execute();
+        Map<String, String> changed = api.getConfig().execute().body();
+
+        server.takeRequest();
+        assertEquals(ETAG, server.takeRequest().getHeader("If-None-Match"));
+        assertEquals("Changed", changed.get("name"));
+        assertFalse(HttpCache.consumeNotModified(changed));
+    }
+
+    @Test
+    public void changedResponsesClearTheFlagOnSharedBodies() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", ETAG).setBody(BODY));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", ETAG));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("{\"name\":\"Changed\"}"));
+
+        Api sharing = create(new SharingConverterFactory());
+
+        sharing.getConfig().execute();
+        Map<String, String> notModified = sharing.getConfig().execute().body();
+        Map<String, String> changed = sharing.getConfig().execute().body();
+
+        assertSame(notModified, changed);
+        assertEquals("Changed", changed.get("name"));
+        assertFalse(HttpCache.consumeNotModified(changed));
+    }
+
+    private Api create(Converter.Factory delegate) {
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(HttpCache.notModifiedConverterFactory(delegate))
+                .build()
+                .create(Api.class);
+    }
+
+    /**
+     * Folds every parsed body into one map, the way interned models are shared.
+     */
+    private static class SharingConverterFactory extends Converter.Factory {
+
+        private final Map<String, String> shared = new HashMap<>();
+        private final Converter.Factory gson = GsonConverterFactory.create(new Gson());
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+            Converter<ResponseBody, ?> converter = gson.responseBodyConverter(type, annotations, retrofit);
+            return body -> {
+                shared.putAll((Map<String, String>) converter.convert(body));
+                return shared;
+            };
+        }
+    }
+}